@@ -2,13 +2,13 @@ package com.task.task_manager.AOP;
 
 import com.task.task_manager.Annotation.LogActivity;
 import com.task.task_manager.Model.ActivityLog;
-import com.task.task_manager.Model.User;
 import com.task.task_manager.Repo.ActivityLogRepo;
 import com.task.task_manager.Repo.UserRepo;
 import com.task.task_manager.Service.JwtService;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -25,15 +25,18 @@ public class ActivityLogAspect {
     @Autowired
     private  JwtService jwtService;
     @Autowired
-    private  UserRepo userRepo; // Add the user repository to fetch user details
+    private  UserRepo userRepo; // Add the user repository to update the user's last activity
 
     // Pointcut for methods annotated with @LogActivity
     @Pointcut("@annotation(logActivity)")
     public void loggableMethod(LogActivity logActivity) {}
 
-    // Intercept the method and log the activity
-    @AfterReturning(value = "loggableMethod(logActivity)", argNames = "joinPoint,logActivity")
-    public void logAfter(JoinPoint joinPoint, LogActivity logActivity) {
+    // Intercept the method and log the activity; a rejected request (an error ResponseEntity returned
+    // rather than thrown) changed nothing, so it is not logged.
+    @AfterReturning(value = "loggableMethod(logActivity)", returning = "result", argNames = "joinPoint,logActivity,result")
+    public void logAfter(JoinPoint joinPoint, LogActivity logActivity, Object result) {
+        if (result instanceof ResponseEntity<?> response && !response.getStatusCode().is2xxSuccessful()) return;
+
         ServletRequestAttributes attr = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
         if (attr == null) return;
 
@@ -46,21 +49,18 @@ public class ActivityLogAspect {
         String username = jwtService.extractUserName(token); // Username extracted from the JWT token
         if (username == null) return;
 
-        // Retrieve user from database using the username
-        User user = userRepo.findByUsername(username).orElse(null);
-        if (user == null) return;
-
         // Log action only if the request is an API call that modifies data (POST, PUT, DELETE)
         String action = logActivity.value();
         if (action == null || action.isEmpty()) return;
 
-         // Update last activity time
-           user.setLastActivity(LocalDateTime.now());
-           userRepo.save(user); // Save the user with updated lastActivity
-           
+        // Update last activity time in one statement; saving the loaded user would merge it and
+        // load every collection it cascades to.
+        Long userId = userRepo.touchLastActivity(username, LocalDateTime.now()).orElse(null);
+        if (userId == null) return;
+
         // Create and save the activity log
         ActivityLog log = ActivityLog.builder()
-            .user(user) // Use the User object retrieved from the database
+            .user(userRepo.getReferenceById(userId))
             .action(action)
             .timestamp(LocalDateTime.now())
             .build();
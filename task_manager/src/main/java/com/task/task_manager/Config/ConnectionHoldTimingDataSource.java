@@ -0,0 +1,84 @@
+package com.task.task_manager.Config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Times how long each pooled connection stays checked out, from getConnection() to close(),
+// tagged with the endpoint that held it. Hikari's own hikaricp.connections.usage has the same
+// number for the whole pool; this splits it by uri so the endpoints pinning the pool stand out.
+// Work outside a request (schedulers, startup) is tagged NONE, and lookups made before the
+// handler is resolved (the JWT filter) are tagged UNMAPPED.
+public class ConnectionHoldTimingDataSource extends DelegatingDataSource {
+
+    public static final String METRIC = "db.connection.hold";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ConnectionHoldTimingDataSource(DataSource target, ObjectProvider<MeterRegistry> meterRegistry) {
+        super(target);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timed(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timed(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection timed(Connection target) {
+        long start = System.nanoTime();
+        boolean[] closed = new boolean[1];
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && !closed[0]) {
+                        closed[0] = true;
+                        record(System.nanoTime() - start);
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private void record(long nanos) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        String method = "NONE";
+        String uri = "NONE";
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet) {
+            Object pattern = servlet.getRequest().getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            method = servlet.getRequest().getMethod();
+            uri = pattern == null ? "UNMAPPED" : pattern.toString();
+        }
+        Timer.builder(METRIC)
+                .description("Time a pooled JDBC connection is held, by endpoint")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,29 @@
+package com.task.task_manager.Config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class DataSourceConfig {
+
+    // Static so the post-processor exists before the DataSource is created. The registry is looked
+    // up on each close, since it may not be ready yet when the first connections are taken.
+    @Bean
+    public static BeanPostProcessor connectionHoldTimer(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionHoldTimingDataSource)) {
+                    return new ConnectionHoldTimingDataSource(dataSource, meterRegistry);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.task.task_manager.Controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.task.task_manager.DTO.ChangeFeedDTO;
+import com.task.task_manager.Security.AuthenticatedUser;
+import com.task.task_manager.Service.ChangeFeedService;
+
+@RestController
+public class ChangeFeedController {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    // Without "since" (or with an expired one) the response is a full snapshot; keep the returned cursor for the next call.
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeFeedDTO> getChanges(@RequestParam(required = false) String since) {
+        return ResponseEntity.ok(changeFeedService.getChanges(AuthenticatedUser.id(), since));
+    }
+}
@@ -7,22 +7,20 @@ import com.task.task_manager.DTO.EmailRequest;
 import com.task.task_manager.DTO.OtpRequest;
 import com.task.task_manager.DTO.PasswordRequest;
 import com.task.task_manager.Exception.UserNotFoundException;
-import com.task.task_manager.Model.ActivityLog;
-import com.task.task_manager.Model.ForgetPassword;
 import com.task.task_manager.Model.MailBody;
 import com.task.task_manager.Model.User;
-import com.task.task_manager.Repo.ActivityLogRepo;
-import com.task.task_manager.Repo.ForgetPasswordRepo;
 import com.task.task_manager.Repo.UserRepo;
 import com.task.task_manager.Service.EmailService;
 import com.task.task_manager.Service.ForgetPasswordService;
+import com.task.task_manager.Service.OtpStore;
+import com.task.task_manager.Service.OtpStore.Purpose;
+import com.task.task_manager.Service.OtpStore.Status;
+import com.task.task_manager.Service.OtpStore.Verification;
 import com.task.task_manager.Service.UserService;
 
 import jakarta.validation.Valid;
 
-import java.time.Instant;
-import java.time.LocalDateTime;
-import java.util.Date;
+import java.time.Duration;
 import java.util.Random;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,25 +38,23 @@ import org.springframework.web.bind.annotation.RequestBody;
 @RequestMapping("/forgetPassword")
 public class ForgetPasswordController {
 
+    private static final Duration OTP_TTL = Duration.ofMinutes(2);
+    private static final Duration VERIFIED_TTL = Duration.ofMinutes(10);
+
     @Autowired
     private UserRepo userRepo;
     @Autowired
     private EmailService emailService;
 
-    private User user;
-
     @Autowired
     private UserService userService;
  
     @Autowired
-    private ForgetPasswordRepo forgetPasswordRepo;
+    private OtpStore otpStore;
 
     @Autowired
     private ForgetPasswordService forgetPasswordService;
 
-    @Autowired
-    private ActivityLogRepo activityLogRepo;
-
     
     @PostMapping("/verifyMail")
     public ResponseEntity<?> verifyMail(@Valid @RequestBody EmailRequest emailRequest) {
@@ -70,8 +66,11 @@ public class ForgetPasswordController {
             .orElseThrow(() -> new UserNotFoundException("Please provide a valid email"));
     
 
-        forgetPasswordService.deleteByUser(user);
+        // A new request replaces any pending code. Nothing is written to the database until the
+        // password itself changes.
         int otp = otpGenerator();
+        otpStore.reissue(Purpose.PASSWORD_RESET, emailRequest.email(), String.valueOf(otp),
+                String.valueOf(user.getId()), OTP_TTL);
     
         MailBody mailBody = MailBody.builder()
             .to(emailRequest.email())
@@ -90,21 +89,7 @@ public class ForgetPasswordController {
             .subject("OTP for Forget Password Request")
             .build();
         emailService.sendHtmlMessage(mailBody);
-    
-        
-       ForgetPassword fp=new ForgetPassword();
-       fp.setOtp(otp);
-       fp.setExpirationTime(new Date(System.currentTimeMillis()+ 1000*60*2));
-       fp.setOtpVerified(false);
-       fp.setUser(user);
-       forgetPasswordRepo.save(fp);
-    
-        ActivityLog log = ActivityLog.builder()
-            .user(user)
-            .action("Sent OTP for forget password")
-            .timestamp(LocalDateTime.now())
-            .build();
-        activityLogRepo.save(log);
+
         return ResponseEntity.ok("Email sent for verification");
     }
     
@@ -115,28 +100,22 @@ public class ForgetPasswordController {
         if (!emailDomain.equals("gmail.com") && !emailDomain.equals("jadeglobal.com")) {
        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Please provide a valid Gmail address");
         }
-        
-        User user=userRepo.findByEmail(otpRequest.email())
-        .orElseThrow(()->new UserNotFoundException("Please provide a valid email"));
-        
-        ForgetPassword fp=forgetPasswordRepo.findByOtpAndUser(otpRequest.otp(), user)
-        .orElseThrow(()->new BadCredentialsException("Invalid otp for email:"+otpRequest.email()));
-
-        if(fp.getExpirationTime().before(Date.from(Instant.now())))
-        {
-            forgetPasswordService.deleteByUser(user);
+
+        // An unknown email simply has no pending code, so no user lookup is needed here.
+        Verification verification = otpStore.verify(Purpose.PASSWORD_RESET, otpRequest.email(),
+                String.valueOf(otpRequest.otp()));
+        if (verification.status() == Status.EXPIRED) {
             return new ResponseEntity<>("OTP has expired",HttpStatus.EXPECTATION_FAILED);
         }
+        if (verification.status() == Status.LOCKED) {
+            return new ResponseEntity<>("Too many invalid attempts. Please request a new OTP.",HttpStatus.TOO_MANY_REQUESTS);
+        }
+        if (verification.status() == Status.INVALID) {
+            throw new BadCredentialsException("Invalid otp for email:"+otpRequest.email());
+        }
 
-       
-        fp.setOtpVerified(true);
-        forgetPasswordRepo.save(fp);
-        ActivityLog log = ActivityLog.builder()
-            .user(user)
-            .action("Verified OTP for forget password")
-            .timestamp(LocalDateTime.now())
-            .build();
-        activityLogRepo.save(log);
+        // The verified state is one more entry holding the user id, consumed by changePassword.
+        otpStore.reissue(Purpose.PASSWORD_RESET_VERIFIED, otpRequest.email(), "", verification.payload(), VERIFIED_TTL);
         return ResponseEntity.ok("OTP verified");
     }
     
@@ -148,28 +127,16 @@ public class ForgetPasswordController {
          if (!emailDomain.equals("gmail.com") && !emailDomain.equals("jadeglobal.com")) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Please provide a valid Gmail address");
          }
-        user=userRepo.findByEmail(passwordRequest.email()).orElseThrow(()->new UserNotFoundException("Please provide a valid email"));
-        ForgetPassword fp=forgetPasswordRepo.findByUser(user)
-        .orElseThrow(()->new BadCredentialsException("OTP verification required before changing password"));
-        if (!fp.isOtpVerified()) {
-            return new ResponseEntity<>("OTP verification required before changing password", HttpStatus.FORBIDDEN);
-        }
-        if(passwordRequest.newPassword().equals(passwordRequest.confirmPassword()))
-        {
-          user.setPassword(passwordRequest.confirmPassword());
-          userService.saveUser(user);
-        }
-        else
+        if(!passwordRequest.newPassword().equals(passwordRequest.confirmPassword()))
         {
             return new ResponseEntity<>("Both the password should be same",HttpStatus.EXPECTATION_FAILED);
         }
-        forgetPasswordService.deleteByUser(user);
-        ActivityLog log = ActivityLog.builder()
-            .user(user)
-            .action("password changed after OTP verification")
-            .timestamp(LocalDateTime.now())
-            .build();
-        activityLogRepo.save(log);
+        String userId = otpStore.consume(Purpose.PASSWORD_RESET_VERIFIED, passwordRequest.email());
+        if (userId == null) {
+            throw new BadCredentialsException("OTP verification required before changing password");
+        }
+        String passwordHash = userService.encode(passwordRequest.confirmPassword());
+        forgetPasswordService.resetPassword(Long.parseLong(userId), passwordHash);
         return ResponseEntity.ok("Password Updated");
     }
     
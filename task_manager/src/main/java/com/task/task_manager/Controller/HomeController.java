@@ -32,8 +32,12 @@ import com.task.task_manager.Repo.ActivityLogRepo;
 import com.task.task_manager.Repo.UserRepo;
 import com.task.task_manager.Service.EmailService;
 import com.task.task_manager.Service.JwtService;
-import com.task.task_manager.Service.RedisService;
+import com.task.task_manager.Service.OtpStore;
+import com.task.task_manager.Service.OtpStore.Purpose;
+import com.task.task_manager.Service.OtpStore.Status;
+import com.task.task_manager.Service.OtpStore.Verification;
 import com.task.task_manager.Service.UserService;
+import com.task.task_manager.Service.UserService.Registration;
 
 import jakarta.validation.Valid;
 
@@ -41,6 +45,8 @@ import jakarta.validation.Valid;
 @RestController
 public class HomeController {
 
+    private static final Duration OTP_TTL = Duration.ofMinutes(2);
+
     @Autowired
     private UserRepo userRepo;
 
@@ -52,7 +58,7 @@ public class HomeController {
     private UserService userService;
 
     @Autowired
-    private RedisService redisService;
+    private OtpStore otpStore;
 
     @Autowired
     private EmailService emailService;
@@ -69,29 +75,25 @@ public ResponseEntity<?> register(@Valid @RequestBody UserRegisterDTO dto) throw
     }
 
     // 2. Check for existing username/email
-    if (userRepo.findByUsername(dto.username()).isPresent()) {
+    Registration availability = userService.checkAvailability(dto.username(), dto.email());
+    if (availability == Registration.USERNAME_TAKEN) {
         return ResponseEntity.status(HttpStatus.CONFLICT).body("Username already exists");
     }
-
-    if (userRepo.findByEmail(dto.email()).isPresent()) {
+    if (availability == Registration.EMAIL_TAKEN) {
         return ResponseEntity.status(HttpStatus.CONFLICT).body("Email already exists");
     }
 
-    // 3. Check if OTP already sent
-    String existingOtp = redisService.getOtp(dto.email());
-    if (existingOtp != null) {
-        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
-                .body("An OTP was already sent to this email. Please verify it or wait before retrying.");
-    }
-
-    // 4. Generate and save OTP
+    // 3. Store the OTP with the pending registration unless one is already pending
     String otp = String.valueOf(new Random().nextInt(900000) + 100000);
     ObjectMapper mapper = new ObjectMapper();
     String userJson = mapper.writeValueAsString(dto);
 
-    redisService.saveUserOtp(dto.email(), userJson, otp, 2); // valid for 10 minutes
+    if (!otpStore.issue(Purpose.REGISTRATION, dto.email(), otp, userJson, OTP_TTL)) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .body("An OTP was already sent to this email. Please verify it or wait before retrying.");
+    }
 
-    // 5. Send OTP email (HTML)
+    // 4. Send OTP email (HTML)
     MailBody mailBody = MailBody.builder()
         .to(dto.email())
         .subject("Verify your Email - TickIT")
@@ -136,39 +138,36 @@ public ResponseEntity<?> verifyOtp(@RequestBody Map<String, String> payload) thr
         return ResponseEntity.badRequest().body("Email and OTP are required.");
     }
 
-    // 1. Fetch OTP from Redis
-    String savedOtp = redisService.getOtp(email);
-    if (savedOtp == null) {
+    // 1. Check and consume the OTP; a match hands back the pending registration
+    Verification verification = otpStore.verify(Purpose.REGISTRATION, email, inputOtp);
+    if (verification.status() == Status.EXPIRED) {
         return ResponseEntity.status(HttpStatus.GONE).body("OTP expired or not requested.");
     }
-
-    if (!savedOtp.equals(inputOtp)) {
+    if (verification.status() == Status.INVALID) {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid OTP.");
     }
-
-    // 2. Fetch temp user from Redis
-    String userJson = redisService.getTempUser(email);
-    if (userJson == null) {
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Temporary user data not found.");
+    if (verification.status() == Status.LOCKED) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body("Too many invalid attempts. Please register again.");
     }
+    String userJson = verification.payload();
 
-    // 3. Convert JSON back to DTO
+    // 2. Convert JSON back to DTO
     ObjectMapper mapper = new ObjectMapper();
     UserRegisterDTO dto = mapper.readValue(userJson, UserRegisterDTO.class);
 
-    // 4. Save user to DB
-    if (userRepo.findByUsername(dto.username()).isPresent()) {
+    // 3. Hash outside the transaction, then insert the user and its activity log together.
+    // The insert itself reports a taken username or email.
+    String passwordHash = userService.encode(dto.password());
+    Registration registration = userService.createUser(dto.username(), dto.email(), passwordHash,
+            "User verified email and registered: " + dto.username());
+    if (registration == Registration.USERNAME_TAKEN) {
         return ResponseEntity.status(HttpStatus.CONFLICT).body("Username already taken.");
     }
-    if (userRepo.findByEmail(dto.email()).isPresent()) {
+    if (registration == Registration.EMAIL_TAKEN) {
         return ResponseEntity.status(HttpStatus.CONFLICT).body("Email already registered.");
     }
 
-    User user = new User();
-    user.setUsername(dto.username());
-    user.setEmail(dto.email());
-    user.setPassword(dto.password()); // assuming already encrypted
-    userService.saveUser(user);
+    // 4. Welcome mail once the user is committed; no connection is held during the SMTP call
     MailBody mailBody = MailBody.builder()
     .to(dto.email())
     .text("<!DOCTYPE html>" +
@@ -195,18 +194,6 @@ public ResponseEntity<?> verifyOtp(@RequestBody Map<String, String> payload) thr
     .subject("Registration Successful")
     .build();
 emailService.sendHtmlMessage(mailBody);
-    
-    // 5. Log the registration
-    ActivityLog log = ActivityLog.builder()
-        .user(user)
-        .action("User verified email and registered: " + dto.username())
-        .timestamp(LocalDateTime.now())
-        .build();
-    activityLogRepo.save(log);
-
-    // 6. Clean Redis
-    redisService.deleteOtp(email);
-    redisService.deleteTempUser(email);
 
     return ResponseEntity.ok("Email verified and user registered successfully.");
 }
@@ -0,0 +1,39 @@
+package com.task.task_manager.Controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.task.task_manager.DTO.HomeFeedDTO;
+import com.task.task_manager.Security.AuthenticatedUser;
+import com.task.task_manager.Service.DataVersionService;
+import com.task.task_manager.Service.HomeFeedService;
+
+@RestController
+public class HomeFeedController {
+
+    @Autowired
+    private HomeFeedService homeFeedService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    // Replaces the home page's separate /getTask, /getReminder, /getHabit and count calls. Like
+    // them it answers 304 while the user's data version is unchanged. A partial feed is marked
+    // no-store, so its ETag is never used to revalidate it.
+    @GetMapping("/home")
+    public ResponseEntity<HomeFeedDTO> home(WebRequest request) {
+        long userId = AuthenticatedUser.id();
+        if (dataVersionService.notModified(userId, request)) {
+            return null;
+        }
+        HomeFeedDTO feed = homeFeedService.load(userId);
+        if (!feed.unavailable().isEmpty()) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(feed);
+        }
+        return ResponseEntity.ok(feed);
+    }
+}
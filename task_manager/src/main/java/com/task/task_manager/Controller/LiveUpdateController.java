@@ -0,0 +1,23 @@
+package com.task.task_manager.Controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.task.task_manager.Security.AuthenticatedUser;
+import com.task.task_manager.Service.LiveUpdateHub;
+
+@RestController
+public class LiveUpdateController {
+
+    @Autowired
+    private LiveUpdateHub liveUpdateHub;
+
+    // Streams "change" events (type, id, operation) and "reminder" events for the caller.
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events() {
+        return liveUpdateHub.subscribe(AuthenticatedUser.id());
+    }
+}
@@ -4,7 +4,6 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.context.SecurityContextHolder;
 
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,22 +12,27 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.task.task_manager.Annotation.LogActivity;
 import com.task.task_manager.DTO.SubTaskDTO;
+import com.task.task_manager.DTO.TaskBatchRequest;
+import com.task.task_manager.DTO.TaskBatchResponseDTO;
 import com.task.task_manager.DTO.TaskAddDTO;
+import com.task.task_manager.DTO.TaskPageQuery;
 import com.task.task_manager.DTO.TaskSendDTO;
 import com.task.task_manager.DTO.TaskUpdateDTO;
 import com.task.task_manager.Exception.AccessDeniedException;
 import com.task.task_manager.Exception.ResourceNotFoundException;
-import com.task.task_manager.Exception.UserNotFoundException;
 import com.task.task_manager.Model.SubTask;
 import com.task.task_manager.Model.Task;
 import com.task.task_manager.Model.User;
-import com.task.task_manager.Repo.SubTaskRepo;
 import com.task.task_manager.Repo.TaskRepo;
 import com.task.task_manager.Repo.UserRepo;
+import com.task.task_manager.Security.AuthenticatedUser;
+import com.task.task_manager.Service.DataVersionService;
 import com.task.task_manager.Service.SubTaskService;
+import com.task.task_manager.Service.TaskBatchService;
 import com.task.task_manager.Service.TaskService;
 
 import jakarta.validation.Valid;
@@ -45,30 +49,22 @@ public class TaskController {
     @Autowired
     private SubTaskService subTaskService;
     @Autowired
-    private SubTaskRepo subTaskRepo;
-    @Autowired
     private TaskService taskService;
+    @Autowired
+    private DataVersionService dataVersionService;
+    @Autowired
+    private TaskBatchService taskBatchService;
 
     @LogActivity("Created a new task")
     @PostMapping("/addTask")
     public ResponseEntity<?> addTask(@Valid @RequestBody TaskAddDTO dto) {
 
-        System.out.println("Received priority: " + dto.priority());
-        if (!(dto.priority().equals("LOW") || dto.priority().equals("MEDIUM") || dto.priority().equals("HIGH"))) {
-            return ResponseEntity.badRequest().body("Priority should be either LOW, MEDIUM, or HIGH");
-        }
-        if (!(dto.status().equals("COMPLETED") || dto.status().equals("INCOMPLETE") || dto.status().equals("ONGOING"))) {
-            return ResponseEntity.badRequest().body("Task status should be either COMPLETED, INCOMPLETE, or ONGOING");
-        }
-       
-       
         if (dto.dueDate().isBefore(java.time.LocalDate.now())) {
             return ResponseEntity.badRequest().body("Task start date should be in the future");
         }
         
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepo.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        // Only the owner's id is written, so a reference is enough; no users row is read.
+        User user = userRepo.getReferenceById(AuthenticatedUser.id());
 
         taskService.createTask(dto, user);
         return ResponseEntity.ok("Task added successfully");
@@ -77,34 +73,17 @@ public class TaskController {
     @PutMapping("/updateTask")
     public ResponseEntity<?> updateTask(@Valid @RequestBody TaskUpdateDTO dto) {
        
-        if (!(dto.status().equals("COMPLETED") || dto.status().equals("INCOMPLETE") || dto.status().equals("ONGOING"))) {
-            return ResponseEntity.badRequest().body("Task status should be either COMPLETED, INCOMPLETE, or ONGOING");
-        }
-        if (!(dto.priority().equals("LOW") || dto.priority().equals("MEDIUM") || dto.priority().equals("HIGH"))) {
-            return ResponseEntity.badRequest().body("Priority should be either LOW, MEDIUM, or HIGH");
-        }
         if(dto.dueDate().isBefore(java.time.LocalDate.now().minusDays(1))) {
             return ResponseEntity.badRequest().body("Task Due date should be in the future");
         }
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-
-        taskService.updateTask(dto, username);
+        taskService.updateTask(dto, AuthenticatedUser.id());
         return ResponseEntity.ok("Task updated successfully");
     }
     @LogActivity("Deleted a Task")
     @DeleteMapping("/deleteTask/{id}")
     public ResponseEntity<?> deleteTask(@PathVariable long id)
     {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        Task task = taskRepo.findById(id)
-        .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
-
-            
-        if (!task.getUser().getUsername().equals(username)) {
-            throw new AccessDeniedException("You are not allowed to delete this task");
-        }
-
-       taskService.deleteTask(id);
+       taskService.deleteTask(id, AuthenticatedUser.id());
        return ResponseEntity.ok("Task deleted Successfully");
 
     }
@@ -114,14 +93,10 @@ public class TaskController {
     @PostMapping("/addSubTask")
     public ResponseEntity<?> addSubTask(@Valid @RequestBody SubTaskDTO subTaskDTO) {
         
-        if (!(subTaskDTO.status().equals("COMPLETED") || subTaskDTO.status().equals("INCOMPLETE") || subTaskDTO.status().equals("ONGOING"))) {
-            return ResponseEntity.badRequest().body("Task status should be either COMPLETED, INCOMPLETE, or ONGOING");
-        }
-        
-        String username = SecurityContextHolder.getContext().getAuthentication().getName(); 
         Task task=taskRepo.findById(subTaskDTO.id()).orElseThrow(()-> new ResourceNotFoundException("No Parent Task Exists "));
         
-        if (!task.getUser().getUsername().equals(username)) {
+        // The owner is a lazy proxy; comparing its id does not load the user row.
+        if (task.getUser().getId() != AuthenticatedUser.id()) {
             throw new AccessDeniedException("You are not allowed to add this task");
         }
         SubTask subTask =new SubTask();
@@ -135,11 +110,7 @@ public class TaskController {
     @PutMapping("/updateSubTask")
     public ResponseEntity<?> updateSubTask(@Valid @RequestBody SubTaskDTO dto) {
 
-        if (!(dto.status().equals("COMPLETED") || dto.status().equals("INCOMPLETE") || dto.status().equals("ONGOING"))) {
-            return ResponseEntity.badRequest().body("Task status should be either COMPLETED, INCOMPLETE, or ONGOING");
-        }
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        subTaskService.updateTask(dto, username);
+        subTaskService.updateTask(dto, AuthenticatedUser.id());
         return ResponseEntity.ok("SubTask updated successfully");
     }
 
@@ -147,39 +118,56 @@ public class TaskController {
     @DeleteMapping("/deleteSubTask/{id}")
     public ResponseEntity<?> deleteSubTask(@PathVariable long id)
     {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        SubTask subTask = subTaskRepo.findById(id)
-        .orElseThrow(() -> new ResourceNotFoundException("SubTask not found"));
+       subTaskService.deleteSubTask(id, AuthenticatedUser.id());
+       return ResponseEntity.ok("SubTask deleted Successfully");
 
-        Task task = subTask.getTask();
-    if (!task.getUser().getUsername().equals(username)) {
-        throw new AccessDeniedException("You are not allowed to delete this task");
     }
 
-       subTaskService.deleteSubTask(id);
-       return ResponseEntity.ok("SubTask deleted Successfully");
-
+    // Several task/subtask mutations in one request and one transaction; all are applied or none.
+    @LogActivity("Applied a task batch")
+    @PostMapping("/tasks:batch")
+    public ResponseEntity<?> applyBatch(@RequestBody TaskBatchRequest request) {
+        TaskBatchResponseDTO response = taskBatchService.apply(AuthenticatedUser.id(), request.operations());
+        return response.applied() ? ResponseEntity.ok(response) : ResponseEntity.badRequest().body(response);
     }
-   
+
     @GetMapping("/getTask")
-    public ResponseEntity<?> getUpcomingTasks() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        List<TaskSendDTO> tasks = taskService.getUpcomingTasks(username);
+    public ResponseEntity<?> getUpcomingTasks(TaskPageQuery query, WebRequest request) {
+        long userId = AuthenticatedUser.id();
+        if (dataVersionService.notModified(userId, request)) {
+            return null;
+        }
+        if (query.isPaged()) {
+            return ResponseEntity.ok(taskService.getUpcomingTaskPage(userId, query));
+        }
+        List<TaskSendDTO> tasks = taskService.getUpcomingTasks(userId);
         return ResponseEntity.ok(tasks);
     
     }
     @GetMapping("/getCompletedTask")
-    public ResponseEntity<?> getCompletedTasks() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        List<TaskSendDTO> tasks = taskService.getCompletedTasks(username);
+    public ResponseEntity<?> getCompletedTasks(TaskPageQuery query, WebRequest request) {
+        long userId = AuthenticatedUser.id();
+        if (dataVersionService.notModified(userId, request)) {
+            return null;
+        }
+        if (query.isPaged()) {
+            return ResponseEntity.ok(taskService.getCompletedTaskPage(userId, query));
+        }
+        List<TaskSendDTO> tasks = taskService.getCompletedTasks(userId);
         return ResponseEntity.ok(tasks);
     
     }
 
     @GetMapping("/getOldIncompleteTask")
-    public ResponseEntity<?> getIncompleteTasks() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        List<TaskSendDTO> tasks = taskService.getOldOngoingAndIncompleteTasks(username);
+    public ResponseEntity<?> getIncompleteTasks(TaskPageQuery query, WebRequest request) {
+        long userId = AuthenticatedUser.id();
+        if (dataVersionService.notModified(userId, request)) {
+            return null;
+        }
+        if (query.isPaged()) {
+            return ResponseEntity.ok(taskService.getOldOngoingAndIncompleteTaskPage(userId, query));
+        }
+        List<TaskSendDTO> tasks = taskService.getOldOngoingAndIncompleteTasks(userId);
         return ResponseEntity.ok(tasks);
     
     }
@@ -0,0 +1,18 @@
+package com.task.task_manager.DTO;
+
+import java.util.List;
+
+// snapshot = true means the lists start the user's complete data set and the client should replace
+// its copy; otherwise they are upserts and tombstones to apply, which is how the rest of a snapshot
+// that did not fit arrives. hasMore asks the client to call again with the returned cursor straight
+// away.
+public record ChangeFeedDTO(
+    boolean snapshot,
+    List<TaskSendDTO> tasks,
+    List<ReminderSendDTO> reminders,
+    List<HabitTrackerSendDTO> habits,
+    List<DeletedEntityDTO> deleted,
+    String cursor,
+    boolean hasMore
+) {
+}
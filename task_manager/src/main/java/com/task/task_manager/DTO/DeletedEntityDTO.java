@@ -0,0 +1,5 @@
+package com.task.task_manager.DTO;
+
+public record DeletedEntityDTO(String type, long id) {
+
+}
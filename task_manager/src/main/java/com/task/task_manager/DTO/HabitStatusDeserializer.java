@@ -0,0 +1,23 @@
+package com.task.task_manager.DTO;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.task.task_manager.Exception.InvalidTaskException;
+import com.task.task_manager.Model.TaskStatus;
+
+// Habit statuses in request bodies: COMPLETED, or INCOMPLETE as the habit endpoints return it and
+// INCOMPLETED as clients have always sent it.
+public class HabitStatusDeserializer extends JsonDeserializer<TaskStatus> {
+
+    @Override
+    public TaskStatus deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        TaskStatus status = TaskStatus.fromHabitName(parser.getValueAsString());
+        if (status == null) {
+            throw new InvalidTaskException(" Daily Task status should be either COMPLETED or INCOMPLETED");
+        }
+        return status;
+    }
+}
@@ -1,6 +1,7 @@
 package com.task.task_manager.DTO;
 
+import com.task.task_manager.Model.TaskStatus;
 
-public record HabitTrackerSendDTO(Long id,String title,String status) {
+public record HabitTrackerSendDTO(Long id,String title,TaskStatus status) {
 
 }
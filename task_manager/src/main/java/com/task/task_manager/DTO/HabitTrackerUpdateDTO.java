@@ -1,5 +1,8 @@
 package com.task.task_manager.DTO;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.task.task_manager.Model.TaskStatus;
+
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -8,7 +11,8 @@ public record HabitTrackerUpdateDTO(
 Long id,
 @NotBlank(message = "Title is required")
 String title,
-@NotBlank(message = "Status is required") 
-String status) {
+@NotNull(message = "Status is required")
+@JsonDeserialize(using = HabitStatusDeserializer.class)
+TaskStatus status) {
 
 }
@@ -0,0 +1,16 @@
+package com.task.task_manager.DTO;
+
+import java.util.List;
+import java.util.Map;
+
+// Everything the home page shows, in one response. A section that failed or ran out of time is
+// null and named in unavailable; an empty section is an empty list. counts holds "today" and
+// "pending" task counts by status.
+public record HomeFeedDTO(
+    List<TaskSendDTO> upcomingTasks,
+    List<ReminderSendDTO> reminders,
+    List<HabitTrackerSendDTO> habits,
+    Map<String, Map<String, Long>> counts,
+    List<String> unavailable
+) {
+}
@@ -2,10 +2,12 @@ package com.task.task_manager.DTO;
 
 import java.time.LocalDate;
 
+import com.task.task_manager.Model.TaskStatus;
+
 public record ReminderSendDTO(long id, 
 String title, 
 LocalDate date,  
 String time,
-String status) {
+TaskStatus status) {
 
 }
@@ -0,0 +1,22 @@
+package com.task.task_manager.DTO;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.task.task_manager.Exception.InvalidTaskException;
+import com.task.task_manager.Model.TaskStatus;
+
+// Reminders are only COMPLETED or INCOMPLETE. The message is the one the endpoints have always sent.
+public class ReminderStatusDeserializer extends JsonDeserializer<TaskStatus> {
+
+    @Override
+    public TaskStatus deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        TaskStatus status = TaskStatus.fromName(parser.getValueAsString());
+        if (status != TaskStatus.COMPLETED && status != TaskStatus.INCOMPLETE) {
+            throw new InvalidTaskException(" Daily Task status should be either COMPLETED or INCOMPLETED");
+        }
+        return status;
+    }
+}
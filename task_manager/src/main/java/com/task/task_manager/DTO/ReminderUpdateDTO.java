@@ -2,6 +2,9 @@ package com.task.task_manager.DTO;
 
 import java.time.LocalDate;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.task.task_manager.Model.TaskStatus;
+
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -12,7 +15,8 @@ String title,
 LocalDate date,
 @NotBlank(message = "Time is required")
 String time,
-@NotBlank(message = "Status is required") 
-String status) {
+@NotNull(message = "Status is required")
+@JsonDeserialize(using = ReminderStatusDeserializer.class)
+TaskStatus status) {
 
 }
@@ -1,5 +1,7 @@
 package com.task.task_manager.DTO;
 
+import com.task.task_manager.Model.TaskStatus;
+
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -8,7 +10,7 @@ public record SubTaskDTO(
 Long id,
 @NotBlank(message = "Title is required")
 String title,
-@NotBlank(message = "Status is required")
-String status) {
+@NotNull(message = "Status is required")
+TaskStatus status) {
 
 }
@@ -2,6 +2,9 @@ package com.task.task_manager.DTO;
 
 import java.time.LocalDate;
 
+import com.task.task_manager.Model.TaskPriority;
+import com.task.task_manager.Model.TaskStatus;
+
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
@@ -17,8 +20,8 @@ LocalDate dueDate,
 @NotBlank(message = "Time is required")
 @Pattern(regexp = "^(0[1-9]|1[0-2]):([0-5]\\d)\\s([APap][Mm])$", message = "Time must be in hh:mm a format (e.g., 03:30 PM)")
 String time,
-@NotBlank(message = "Priority is required")
-String priority,
-@NotBlank(message = "Status is required")
-String status ) {
+@NotNull(message = "Priority is required")
+TaskPriority priority,
+@NotNull(message = "Status is required")
+TaskStatus status ) {
 }
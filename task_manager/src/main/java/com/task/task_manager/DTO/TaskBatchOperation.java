@@ -0,0 +1,24 @@
+package com.task.task_manager.DTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// One entry of a /tasks:batch request. op is createTask, updateTask, deleteTask, createSubTask,
+// updateSubTask or deleteSubTask. id names the task or subtask to update/delete, taskId the parent
+// of a new subtask, and subTasks lets createTask add its subtasks in the same operation.
+public record TaskBatchOperation(
+    String op,
+    Long id,
+    Long taskId,
+    String title,
+    String description,
+    LocalDate dueDate,
+    String time,
+    String priority,
+    String status,
+    List<NewSubTask> subTasks
+) {
+
+    public record NewSubTask(String title, String status) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.task.task_manager.DTO;
+
+import java.util.List;
+
+public record TaskBatchRequest(List<TaskBatchOperation> operations) {
+
+}
@@ -0,0 +1,8 @@
+package com.task.task_manager.DTO;
+
+import java.util.List;
+
+// applied = false means at least one operation failed validation and nothing was written.
+public record TaskBatchResponseDTO(boolean applied, List<TaskBatchResultDTO> results) {
+
+}
@@ -0,0 +1,6 @@
+package com.task.task_manager.DTO;
+
+// id is the created, updated or deleted row; error is set only when the batch was rejected.
+public record TaskBatchResultDTO(int index, String op, Long id, String error) {
+
+}
@@ -0,0 +1,9 @@
+package com.task.task_manager.DTO;
+
+import java.util.List;
+
+public record TaskPageDTO(
+    List<TaskSendDTO> tasks,
+    String nextCursor
+) {
+}
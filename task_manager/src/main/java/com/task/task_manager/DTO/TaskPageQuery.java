@@ -0,0 +1,23 @@
+package com.task.task_manager.DTO;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+// Optional query params of the task list endpoints. When none of them is sent the
+// endpoints keep returning the full list, otherwise a TaskPageDTO is returned.
+public record TaskPageQuery(
+    Integer limit,
+    String cursor,
+    String priority,
+    String status,
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    LocalDate from,
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    LocalDate to
+) {
+
+    public boolean isPaged() {
+        return limit != null || cursor != null || priority != null || status != null || from != null || to != null;
+    }
+}
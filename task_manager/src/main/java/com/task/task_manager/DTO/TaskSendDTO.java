@@ -3,14 +3,17 @@ package com.task.task_manager.DTO;
 import java.time.LocalDate;
 import java.util.List;
 
+import com.task.task_manager.Model.TaskPriority;
+import com.task.task_manager.Model.TaskStatus;
+
 public record TaskSendDTO(
     long id,
     String title,
     String description,
     LocalDate dueDate,
     String time,
-    String priority,
-    String status,
+    TaskPriority priority,
+    TaskStatus status,
     List<SubTaskDTO> subTasks
 ) {
 }
@@ -4,7 +4,7 @@ public class AccessDeniedException extends RuntimeException{
 
     public AccessDeniedException(String msg)
     {
-        super(msg);
+        super(msg, null, false, false);
     }
 
 }
@@ -20,6 +20,8 @@ import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import jakarta.persistence.EntityNotFoundException;
 
+// The application's own exceptions are expected outcomes answered here with a status, never
+// logged, so they are created without a stack trace.
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -45,6 +47,10 @@ public ResponseEntity<?> handleHttpMessageNotReadable(HttpMessageNotReadableExce
                 Map.of("error", "Invalid date format: " + dateEx.getParsedString())
             );
         }
+        // An unknown status or priority name, rejected while the body was read.
+        if (cause instanceof InvalidTaskException invalid) {
+            return ResponseEntity.badRequest().body(invalid.getMessage());
+        }
         cause = cause.getCause();
     }
 
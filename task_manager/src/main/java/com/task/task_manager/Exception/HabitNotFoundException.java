@@ -2,7 +2,7 @@ package com.task.task_manager.Exception;
 
 public class HabitNotFoundException extends RuntimeException {
     public HabitNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
 }
@@ -4,7 +4,7 @@ public class InvalidTaskException extends RuntimeException{
 
     public InvalidTaskException(String msg)
     {
-        super(msg);
+        super(msg, null, false, false);
     }
 
 }
@@ -2,7 +2,7 @@ package com.task.task_manager.Exception;
 
 public class NoCompletedTasksException extends RuntimeException {
     public NoCompletedTasksException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
 }
@@ -4,7 +4,7 @@ public class NoUpcomingTasksException extends RuntimeException{
 
     public NoUpcomingTasksException(String msg)
     {
-        super(msg);
+        super(msg, null, false, false);
     }
 
 }
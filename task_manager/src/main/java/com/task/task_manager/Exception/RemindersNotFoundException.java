@@ -2,7 +2,7 @@ package com.task.task_manager.Exception;
 
 public class RemindersNotFoundException extends RuntimeException {
     public RemindersNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
 }
@@ -4,7 +4,7 @@ public class ResourceNotFoundException extends RuntimeException{
 
   public ResourceNotFoundException(String msg)
   {
-    super(msg);
+    super(msg, null, false, false);
   }
 
 }
@@ -4,6 +4,6 @@ public class UserNotFoundException extends RuntimeException {
 
     public UserNotFoundException(String msg)
     {
-        super(msg);
+        super(msg, null, false, false);
     }
 }
@@ -0,0 +1,81 @@
+package com.task.task_manager.Model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+// One row per write to a user's tasks, reminders or habits. Append-only; (txid, id) orders the feed.
+@Entity
+@Table(name = "change_log")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class ChangeLogEntry {
+
+    public enum EntityType { TASK, REMINDER, HABIT }
+
+    public enum Operation { UPSERT, DELETE }
+
+    // IDENTITY: ChangeLogService writes a transaction's rows with one multi-row insert, which takes
+    // the ids from the column default in row order.
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(name = "user_id", nullable = false)
+    private long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false)
+    private Operation operation;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    // Id of the writing transaction, filled in by the column default (V8). See ChangeFeedService.
+    @Column(name = "txid", nullable = false, insertable = false, updatable = false)
+    private long txid;
+
+    public ChangeLogEntry(long userId, EntityType entityType, long entityId, Operation operation) {
+        this.userId = userId;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.operation = operation;
+        this.changedAt = LocalDateTime.now();
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || Entities.classOf(this) != Entities.classOf(o)) {
+            return false;
+        }
+        return getId() != 0 && getId() == ((ChangeLogEntry) o).getId();
+    }
+
+    @Override
+    public final int hashCode() {
+        return Entities.classOf(this).hashCode();
+    }
+}
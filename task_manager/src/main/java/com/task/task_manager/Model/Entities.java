@@ -0,0 +1,18 @@
+package com.task.task_manager.Model;
+
+import org.hibernate.proxy.HibernateProxy;
+
+// Helpers for the hand-written entity equals/hashCode.
+final class Entities {
+
+    private Entities() {
+    }
+
+    // The entity class behind a possibly uninitialized or detached proxy, without touching the session.
+    // No entity here has subclasses, so the proxy's persistent class is the real one.
+    static Class<?> classOf(Object entity) {
+        return entity instanceof HibernateProxy proxy
+                ? proxy.getHibernateLazyInitializer().getPersistentClass()
+                : entity.getClass();
+    }
+}
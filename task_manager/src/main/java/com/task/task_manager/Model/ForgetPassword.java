@@ -1,42 +0,0 @@
-package com.task.task_manager.Model;
-
-import java.util.Date;
-
-import jakarta.persistence.Column;
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.ManyToOne;
-import jakarta.persistence.Table;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Entity
-@Table(name = "forget_password")
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class ForgetPassword {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Column(name = "forget_password_id")
-    private int id;
-
-    @Column(nullable = false)
-    private int otp;
-
-    @Column(nullable = false)
-    private Date expirationTime;
-
-    @Column(nullable = false)
-    private boolean otpVerified;
-
-    @ManyToOne
-    @JoinColumn(name = "user_id")
-    private User user;
-}
@@ -6,32 +6,56 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
-import lombok.Data;
+import jakarta.persistence.SequenceGenerator;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 @Entity
-@Data
+@Getter
+@Setter
+@ToString
 public class HabitTracker {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "habit_tracker_seq")
+    @SequenceGenerator(name = "habit_tracker_seq", sequenceName = "habit_tracker_seq", allocationSize = 50)
     private long id;
 
     @Column(nullable = false)
     private String title;
 
-    @Column(nullable = false)
-    private String status;
+    @Column(name = "status_code", nullable = false)
+    private TaskStatus status;
 
     @Column(nullable = false)
     private LocalDate date;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     @JsonBackReference
     private User user;
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || Entities.classOf(this) != Entities.classOf(o)) {
+            return false;
+        }
+        return getId() != 0 && getId() == ((HabitTracker) o).getId();
+    }
+
+    @Override
+    public final int hashCode() {
+        return Entities.classOf(this).hashCode();
+    }
 }
@@ -8,19 +8,26 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
-import lombok.Data;
+import jakarta.persistence.SequenceGenerator;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 @Entity
-@Data
+@Getter
+@Setter
+@ToString
 public class Reminder {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reminder_seq")
+    @SequenceGenerator(name = "reminder_seq", sequenceName = "reminder_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -33,11 +40,28 @@ public class Reminder {
     @Column(nullable = false)
     private LocalTime time;
 
-    @Column(nullable = false)
-    private String status;
+    @Column(name = "status_code", nullable = false)
+    private TaskStatus status;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     @JsonBackReference
     private User user;
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || Entities.classOf(this) != Entities.classOf(o)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((Reminder) o).getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return Entities.classOf(this).hashCode();
+    }
 }
@@ -11,20 +11,33 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
-import lombok.Data;
+import jakarta.persistence.SequenceGenerator;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
+// The list views render every task with its subtasks, so their queries fetch them through this graph.
 @Entity
-@Data
+@NamedEntityGraph(name = Task.WITH_SUB_TASKS, attributeNodes = @NamedAttributeNode("subTasks"))
+@Getter
+@Setter
+@ToString
 public class Task {
 
+    public static final String WITH_SUB_TASKS = "Task.withSubTasks";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private long id;
 
     @Column(nullable = false)
@@ -40,19 +53,37 @@ public class Task {
     private LocalTime timeToComplete;
   
 
-    @Column(nullable = false)
-    private String priority;
+    @Column(name = "priority_code", nullable = false)
+    private TaskPriority priority;
 
-    @Column(nullable = false)
-    private String status;
+    @Column(name = "status_code", nullable = false)
+    private TaskStatus status;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     @JsonBackReference
     private User user;
 
    
+    @ToString.Exclude
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL)
     @JsonManagedReference()
     private List<SubTask> subTasks = new ArrayList<>();
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || Entities.classOf(this) != Entities.classOf(o)) {
+            return false;
+        }
+        return getId() != 0 && getId() == ((Task) o).getId();
+    }
+
+    @Override
+    public final int hashCode() {
+        return Entities.classOf(this).hashCode();
+    }
 }
@@ -1,5 +1,53 @@
 package com.task.task_manager.Model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.task.task_manager.Exception.InvalidTaskException;
+
+// Stored as the smallint code; never reorder or reuse codes.
 public enum TaskPriority {
-     LOW,MEDIUM,HIGH
+    LOW((short) 0),
+    MEDIUM((short) 1),
+    HIGH((short) 2);
+
+    private final short code;
+
+    TaskPriority(short code) {
+        this.code = code;
+    }
+
+    public short code() {
+        return code;
+    }
+
+    public static TaskPriority fromCode(short code) {
+        return switch (code) {
+            case 0 -> LOW;
+            case 1 -> MEDIUM;
+            case 2 -> HIGH;
+            default -> throw new IllegalArgumentException("Unknown task priority code " + code);
+        };
+    }
+
+    // Returns null for unknown names so callers keep their own error messages.
+    public static TaskPriority fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        return switch (name) {
+            case "LOW" -> LOW;
+            case "MEDIUM" -> MEDIUM;
+            case "HIGH" -> HIGH;
+            default -> null;
+        };
+    }
+
+    // Request bodies carry the name; anything else is a 400 with this message (see GlobalExceptionHandler).
+    @JsonCreator
+    public static TaskPriority fromJson(String name) {
+        TaskPriority priority = fromName(name);
+        if (priority == null) {
+            throw new InvalidTaskException("Priority should be either LOW, MEDIUM, or HIGH");
+        }
+        return priority;
+    }
 }
@@ -0,0 +1,18 @@
+package com.task.task_manager.Model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class TaskPriorityConverter implements AttributeConverter<TaskPriority, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(TaskPriority priority) {
+        return priority == null ? null : priority.code();
+    }
+
+    @Override
+    public TaskPriority convertToEntityAttribute(Short code) {
+        return code == null ? null : TaskPriority.fromCode(code);
+    }
+}
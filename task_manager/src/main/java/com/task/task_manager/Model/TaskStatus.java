@@ -1,5 +1,62 @@
 package com.task.task_manager.Model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.task.task_manager.Exception.InvalidTaskException;
+
+// Status of tasks, subtasks, reminders and habits (the last two only use INCOMPLETE and COMPLETED).
+// Stored as the smallint code; never reorder or reuse codes.
 public enum TaskStatus {
-  PENDING,COMPLETED,ONGOING
+    INCOMPLETE((short) 0),
+    ONGOING((short) 1),
+    COMPLETED((short) 2);
+
+    private final short code;
+
+    TaskStatus(short code) {
+        this.code = code;
+    }
+
+    public short code() {
+        return code;
+    }
+
+    public static TaskStatus fromCode(short code) {
+        return switch (code) {
+            case 0 -> INCOMPLETE;
+            case 1 -> ONGOING;
+            case 2 -> COMPLETED;
+            default -> throw new IllegalArgumentException("Unknown task status code " + code);
+        };
+    }
+
+    // API values are the names. Returns null for anything else so callers keep their own error messages.
+    public static TaskStatus fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        return switch (name) {
+            case "INCOMPLETE" -> INCOMPLETE;
+            case "ONGOING" -> ONGOING;
+            case "COMPLETED" -> COMPLETED;
+            default -> null;
+        };
+    }
+
+    // Request bodies carry the name; anything else is a 400 with this message (see GlobalExceptionHandler).
+    @JsonCreator
+    public static TaskStatus fromJson(String name) {
+        TaskStatus status = fromName(name);
+        if (status == null) {
+            throw new InvalidTaskException("Task status should be either COMPLETED, INCOMPLETE, or ONGOING");
+        }
+        return status;
+    }
+
+    // The habit endpoints return INCOMPLETE and also take INCOMPLETED, which habits used to store.
+    public static TaskStatus fromHabitName(String name) {
+        if ("COMPLETED".equals(name)) {
+            return COMPLETED;
+        }
+        return "INCOMPLETE".equals(name) || "INCOMPLETED".equals(name) ? INCOMPLETE : null;
+    }
 }
@@ -0,0 +1,70 @@
+package com.task.task_manager.Model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+// Number of a user's tasks per (status code, due date), kept in step with the task table by TaskCounterService.
+@Entity
+@Table(name = "task_status_count")
+@IdClass(TaskStatusCounter.Key.class)
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatusCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private long userId;
+
+    @Id
+    @Column(name = "status")
+    private short status;
+
+    @Id
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+
+    // Equal when the key is; the count is mutable state.
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TaskStatusCounter other)) {
+            return false;
+        }
+        return userId == other.userId && status == other.status && Objects.equals(dueDate, other.dueDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, status, dueDate);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private long userId;
+        private short status;
+        private LocalDate dueDate;
+    }
+}
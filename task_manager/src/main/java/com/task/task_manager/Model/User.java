@@ -15,11 +15,15 @@ import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 @Entity
 @Table(name = "users")  // Changed from default "user" which is a reserved keyword in PostgreSQL
-@Data
+@Getter
+@Setter
+@ToString
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -32,6 +36,7 @@ public class User {
     @Column(name = "email", unique = true, nullable = false)
     private String email;
    
+    @ToString.Exclude
     @Column(name = "password", nullable = false)
     private String password;
 
@@ -41,22 +46,41 @@ public class User {
     @Column(name = "last_activity")
     private LocalDateTime lastActivity;
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
     @JsonManagedReference
     private List<Task> task = new ArrayList<>();
 
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
-    private List<ForgetPassword> forgetPassword = new ArrayList<>();
- 
+    @ToString.Exclude
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
     @JsonManagedReference
     private List<HabitTracker> habitTrackers = new ArrayList<>();
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
     @JsonManagedReference
     private List<Reminder> reminders = new ArrayList<>(); 
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
     @JsonManagedReference
     private List<ActivityLog> activityLogs = new ArrayList<>();
+
+    // Identity is the id. Final, and reading getId() rather than the field, so that Hibernate
+    // proxies run it themselves instead of loading the row first.
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || Entities.classOf(this) != Entities.classOf(o)) {
+            return false;
+        }
+        return getId() != 0 && getId() == ((User) o).getId();
+    }
+
+    @Override
+    public final int hashCode() {
+        return Entities.classOf(this).hashCode();
+    }
 }
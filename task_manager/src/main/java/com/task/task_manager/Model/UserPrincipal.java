@@ -27,6 +27,10 @@ public class UserPrincipal implements UserDetails{
         return user.getPassword();
     }
 
+    public long getId() {
+        return user.getId();
+    }
+
     @Override
     public String getUsername() {
         return user.getUsername();
@@ -0,0 +1,54 @@
+package com.task.task_manager.Repo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.task.task_manager.Model.ChangeLogEntry;
+
+public interface ChangeLogRepo extends JpaRepository<ChangeLogEntry, Long> {
+
+    // One transaction's changes in one statement, numbered in array order.
+    @Modifying
+    @Query(value = "INSERT INTO change_log (user_id, entity_type, entity_id, operation, changed_at)"
+            + " SELECT d.user_id, d.entity_type, d.entity_id, d.operation, d.changed_at"
+            + " FROM unnest(CAST(:userIds AS BIGINT[]), CAST(:entityTypes AS VARCHAR[]), CAST(:entityIds AS BIGINT[]),"
+            + " CAST(:operations AS VARCHAR[]), CAST(:changedAts AS TIMESTAMP[]))"
+            + " WITH ORDINALITY AS d(user_id, entity_type, entity_id, operation, changed_at, n) ORDER BY d.n",
+            nativeQuery = true)
+    void insertAll(@Param("userIds") Long[] userIds, @Param("entityTypes") String[] entityTypes,
+            @Param("entityIds") Long[] entityIds, @Param("operations") String[] operations,
+            @Param("changedAts") LocalDateTime[] changedAts);
+
+    // Entries after (txid, afterId) written by transactions older than the horizon, in feed order.
+    @Query("SELECT c FROM ChangeLogEntry c WHERE c.userId = :userId"
+            + " AND (c.txid > :txid OR (c.txid = :txid AND c.id > :afterId)) AND c.txid < :horizon"
+            + " ORDER BY c.txid, c.id")
+    List<ChangeLogEntry> findChangesAfter(@Param("userId") long userId, @Param("txid") long txid,
+            @Param("afterId") long afterId, @Param("horizon") long horizon, Pageable pageable);
+
+    // [horizon, lag seconds]: the oldest transaction still running, so every transaction with a lower id
+    // has committed or rolled back, and how long the oldest of them has been open. Transactions open
+    // longer than maxLagSeconds are stepped over, and so are any entries they commit later.
+    // pg_stat_activity only shows another role's transactions to a role with pg_read_all_stats; the
+    // ones it hides keep holding the horizon.
+    @Query(value = "WITH s AS (SELECT pg_current_snapshot() AS snap),"
+            + " running AS (SELECT CAST(CAST(x AS TEXT) AS BIGINT) AS txid, (SELECT MIN(a.xact_start) FROM pg_stat_activity a"
+            + " WHERE CAST(CAST(a.backend_xid AS TEXT) AS BIGINT) = CAST(CAST(x AS TEXT) AS BIGINT) % 4294967296) AS started"
+            + " FROM s, pg_snapshot_xip(s.snap) AS x)"
+            + " SELECT COALESCE((SELECT MIN(txid) FROM running"
+            + " WHERE started IS NULL OR started > now() - make_interval(secs => :maxLagSeconds)),"
+            + " (SELECT CAST(CAST(pg_snapshot_xmax(snap) AS TEXT) AS BIGINT) FROM s)),"
+            + " COALESCE((SELECT CAST(EXTRACT(EPOCH FROM now() - MIN(started)) AS BIGINT) FROM running), 0)",
+            nativeQuery = true)
+    List<Object[]> findCommittedHorizon(@Param("maxLagSeconds") long maxLagSeconds);
+
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry c WHERE c.changedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
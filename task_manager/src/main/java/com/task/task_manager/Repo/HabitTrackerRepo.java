@@ -1,16 +1,45 @@
 package com.task.task_manager.Repo;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.task.task_manager.Model.HabitTracker;
+import com.task.task_manager.Model.TaskStatus;
 import com.task.task_manager.Model.User;
 
 @Repository
 public interface HabitTrackerRepo extends JpaRepository<HabitTracker,Long>{
         List<HabitTracker> findByUserAndDate(User user, LocalDate date);
 
+        // Keyset page of the change feed snapshot, in id order.
+        @Query("SELECT h FROM HabitTracker h WHERE h.user.id = :userId AND h.id > :afterId ORDER BY h.id")
+        List<HabitTracker> findPageAfter(@Param("userId") long userId, @Param("afterId") long afterId, Pageable pageable);
+
+        @Query("SELECT h FROM HabitTracker h WHERE h.user.id = :userId AND h.id IN :ids")
+        List<HabitTracker> findByUserIdAndIds(@Param("userId") long userId, @Param("ids") Collection<Long> ids);
+
+        // Rows of [date, habits, habits with the given status] for every day from fromDate on.
+        @Query("SELECT h.date, COUNT(h), SUM(CASE WHEN h.status = :status THEN 1 ELSE 0 END) FROM HabitTracker h"
+                + " WHERE h.user.id = :userId AND h.date >= :fromDate GROUP BY h.date")
+        List<Object[]> countByDate(@Param("userId") long userId, @Param("fromDate") LocalDate fromDate,
+                @Param("status") TaskStatus status);
+
+        // Ownership-checked writes; 0 means the habit is missing or belongs to someone else.
+        @Modifying
+        @Query("UPDATE HabitTracker h SET h.title = :title, h.status = :status WHERE h.id = :id AND h.user.id = :userId")
+        int updateOwned(@Param("id") long id, @Param("userId") long userId,
+                @Param("title") String title, @Param("status") TaskStatus status);
+
+        @Modifying
+        @Query("DELETE FROM HabitTracker h WHERE h.id = :id AND h.user.id = :userId")
+        int deleteOwned(@Param("id") long id, @Param("userId") long userId);
+
 }
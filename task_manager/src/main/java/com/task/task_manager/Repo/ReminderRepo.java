@@ -1,16 +1,52 @@
 package com.task.task_manager.Repo;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.task.task_manager.Model.Reminder;
+import com.task.task_manager.Model.TaskStatus;
 import com.task.task_manager.Model.User;
 
 public interface ReminderRepo extends JpaRepository<Reminder, Long> {
     
     List<Reminder> findByUser(User user);
     List<Reminder> findByUserAndStatusAndDateGreaterThanEqualOrderByDateAscTimeAsc(
-    User user, String status, LocalDate date);
+    User user, TaskStatus status, LocalDate date);
+
+    // The publisher only needs r.user's id, which the lazy proxy holds, so the user is not joined.
+    @Query("SELECT r FROM Reminder r WHERE r.status = :status AND r.date = :date AND r.time BETWEEN :from AND :to")
+    List<Reminder> findDue(@Param("status") TaskStatus status, @Param("date") LocalDate date,
+            @Param("from") LocalTime from, @Param("to") LocalTime to);
+
+    // Keyset page of the change feed snapshot, in id order.
+    @Query("SELECT r FROM Reminder r WHERE r.user.id = :userId AND r.id > :afterId ORDER BY r.id")
+    List<Reminder> findPageAfter(@Param("userId") long userId, @Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT r FROM Reminder r WHERE r.user.id = :userId AND r.id IN :ids")
+    List<Reminder> findByUserIdAndIds(@Param("userId") long userId, @Param("ids") Collection<Long> ids);
+
+    // Open reminders at or after the given moment, earliest first; callers page it to the first one.
+    @Query("SELECT r FROM Reminder r WHERE r.user.id = :userId AND r.status = :status"
+        + " AND (r.date > :date OR (r.date = :date AND r.time >= :time)) ORDER BY r.date, r.time")
+    List<Reminder> findNext(@Param("userId") long userId, @Param("status") TaskStatus status,
+            @Param("date") LocalDate date, @Param("time") LocalTime time, Pageable page);
+
+    // Ownership-checked writes; 0 means the reminder is missing or belongs to someone else.
+    @Modifying
+    @Query("UPDATE Reminder r SET r.title = :title, r.date = :date, r.time = :time, r.status = :status"
+        + " WHERE r.id = :id AND r.user.id = :userId")
+    int updateOwned(@Param("id") long id, @Param("userId") long userId, @Param("title") String title,
+            @Param("date") LocalDate date, @Param("time") LocalTime time, @Param("status") TaskStatus status);
+
+    @Modifying
+    @Query("DELETE FROM Reminder r WHERE r.id = :id AND r.user.id = :userId")
+    int deleteOwned(@Param("id") long id, @Param("userId") long userId);
 }
@@ -1,9 +1,24 @@
 package com.task.task_manager.Repo;
 
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.task.task_manager.Model.SubTask;
 
 public interface SubTaskRepo extends JpaRepository<SubTask,Long>{
 
+    // Ownership goes through the parent task. Both return the parent's id, empty when nothing matched.
+    @Query(value = "UPDATE sub_task SET title = :title, status_code = :status FROM task"
+        + " WHERE sub_task.id = :id AND task.id = sub_task.task_id AND task.user_id = :userId RETURNING sub_task.task_id",
+        nativeQuery = true)
+    Optional<Long> updateOwned(@Param("id") long id, @Param("userId") long userId,
+            @Param("title") String title, @Param("status") short status);
+
+    @Query(value = "DELETE FROM sub_task USING task"
+        + " WHERE sub_task.id = :id AND task.id = sub_task.task_id AND task.user_id = :userId RETURNING sub_task.task_id",
+        nativeQuery = true)
+    Optional<Long> deleteOwned(@Param("id") long id, @Param("userId") long userId);
 }
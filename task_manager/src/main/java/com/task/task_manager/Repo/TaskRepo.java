@@ -2,40 +2,110 @@ package com.task.task_manager.Repo;
 
 
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.task.task_manager.Model.Task;
+import com.task.task_manager.Model.TaskPriority;
+import com.task.task_manager.Model.TaskStatus;
 
 public interface TaskRepo extends JpaRepository<Task,Long> {
 
-    @Query("SELECT t FROM Task t WHERE t.dueDate >= :yesterday AND t.user.username = :username AND t.status IN ('ONGOING', 'INCOMPLETE')")
-    List<Task> findRecentAndUpcomingTasks(@Param("yesterday") LocalDate yesterday, @Param("username") String username);
+    // user.id is the task's own user_id column, so these filters need no join to users.
+    // Statuses are bound as parameters so they go through TaskStatusConverter to their smallint codes.
+    @EntityGraph(Task.WITH_SUB_TASKS)
+    @Query("SELECT t FROM Task t WHERE t.dueDate >= :yesterday AND t.user.id = :userId AND t.status IN :statuses")
+    List<Task> findRecentAndUpcomingTasks(@Param("yesterday") LocalDate yesterday, @Param("userId") long userId,
+            @Param("statuses") Collection<TaskStatus> statuses);
     
-    @Query("SELECT t FROM Task t WHERE t.dueDate >= :sevenDaysAgo AND t.user.username = :username AND t.status = 'COMPLETED'")
-List<Task> findCompletedTasksFromLastSevenDays(@Param("sevenDaysAgo") LocalDate sevenDaysAgo, @Param("username") String username);
+    @EntityGraph(Task.WITH_SUB_TASKS)
+    @Query("SELECT t FROM Task t WHERE t.dueDate >= :sevenDaysAgo AND t.user.id = :userId AND t.status = :status")
+List<Task> findCompletedTasksFromLastSevenDays(@Param("sevenDaysAgo") LocalDate sevenDaysAgo, @Param("userId") long userId,
+        @Param("status") TaskStatus status);
 
-@Query("SELECT t FROM Task t WHERE t.dueDate >= :startDate AND t.dueDate < :endDate AND t.user.username = :username AND t.status IN ('INCOMPLETE', 'ONGOING')")
+@EntityGraph(Task.WITH_SUB_TASKS)
+@Query("SELECT t FROM Task t WHERE t.dueDate >= :startDate AND t.dueDate < :endDate AND t.user.id = :userId AND t.status IN :statuses")
 List<Task> findOldOngoingAndIncompleteTasks(
     @Param("startDate") LocalDate startDate, 
     @Param("endDate") LocalDate endDate, 
-    @Param("username") String username
+    @Param("userId") long userId,
+    @Param("statuses") Collection<TaskStatus> statuses
 );
     
-@Query("SELECT COUNT(t) FROM Task t WHERE t.user.username = :username AND t.status = 'INCOMPLETE' AND t.dueDate >= :today")
-Long countPendingTasks(@Param("username") String username, @Param("today") LocalDate today);
+// Keyset page ordered by (dueDate, timeToComplete, id): rows strictly after the cursor, so every page costs the same.
+// No entity graph: a collection fetch would defeat the LIMIT, so subtasks come in one batched
+// IN query instead (hibernate.default_batch_fetch_size).
+@Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.status IN :statuses AND t.priority IN :priorities"
+    + " AND t.dueDate >= :fromDate AND t.dueDate < :beforeDate"
+    + " AND (t.dueDate > :afterDate OR (t.dueDate = :afterDate AND (t.timeToComplete > :afterTime"
+    + " OR (t.timeToComplete = :afterTime AND t.id > :afterId))))"
+    + " ORDER BY t.dueDate, t.timeToComplete, t.id")
+List<Task> findTaskPage(
+    @Param("userId") long userId,
+    @Param("statuses") Collection<TaskStatus> statuses,
+    @Param("priorities") Collection<TaskPriority> priorities,
+    @Param("fromDate") LocalDate fromDate,
+    @Param("beforeDate") LocalDate beforeDate,
+    @Param("afterDate") LocalDate afterDate,
+    @Param("afterTime") LocalTime afterTime,
+    @Param("afterId") long afterId,
+    Pageable pageable
+);
+
+// Locks the caller's tasks a batch touches, in id order, so its counter deltas start from the values it
+// then reads. This stays separate from findForBatch on purpose: the load has to include other users'
+// tasks so they fail with the ownership error instead of "not found", but locking those rows would let
+// one user's batch block another's writes. Hibernate also refuses FOR UPDATE across the fetch join.
+@Query(value = "SELECT id FROM task WHERE user_id = :userId AND (id IN (:taskIds)"
+    + " OR id IN (SELECT task_id FROM sub_task WHERE id IN (:subTaskIds))) ORDER BY id FOR UPDATE",
+    nativeQuery = true)
+List<Long> lockForBatch(@Param("userId") long userId, @Param("taskIds") Collection<Long> taskIds,
+    @Param("subTaskIds") Collection<Long> subTaskIds);
+
+// Everything a batch touches in one round trip: the named tasks, the parents of the named subtasks
+// and all their subtasks. Ownership only needs t.user's id, which the lazy proxy already holds.
+@Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.subTasks"
+    + " WHERE t.id IN :taskIds OR t.id IN (SELECT s.task.id FROM SubTask s WHERE s.id IN :subTaskIds)")
+List<Task> findForBatch(@Param("taskIds") Collection<Long> taskIds, @Param("subTaskIds") Collection<Long> subTaskIds);
 
-@Query("SELECT COUNT(t) FROM Task t WHERE t.user.username = :username AND t.status = 'ONGOING' AND t.dueDate >= :today")
-Long countOngoingTasks(@Param("username") String username, @Param("today") LocalDate today);
+// Keyset page of the change feed snapshot, in id order; subtasks are batch-fetched like findTaskPage's.
+@Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.id > :afterId ORDER BY t.id")
+List<Task> findPageAfter(@Param("userId") long userId, @Param("afterId") long afterId, Pageable pageable);
 
-@Query("SELECT COUNT(t) FROM Task t WHERE t.user.username = :username AND t.status = 'INCOMPLETE' AND t.dueDate = CURRENT_DATE")
-Long countTodayPendingTasks(@Param("username") String username);
+@EntityGraph(Task.WITH_SUB_TASKS)
+@Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.id IN :ids")
+List<Task> findByUserIdAndIds(@Param("userId") long userId, @Param("ids") Collection<Long> ids);
 
-@Query("SELECT COUNT(t) FROM Task t WHERE t.user.username = :username AND t.status = 'ONGOING' AND t.dueDate = CURRENT_DATE")
-Long countTodayOngoingTasks(@Param("username") String username);
+// Ownership-checked writes: one statement each, matching no row when the task is missing or not the user's.
+// Both return the old [status_code, due_date] so the counters can be moved without loading the task.
+@Query(value = "WITH t AS (DELETE FROM task WHERE id = :id AND user_id = :userId RETURNING id, status_code, due_date),"
+    + " s AS (DELETE FROM sub_task WHERE task_id IN (SELECT id FROM t))"
+    + " SELECT status_code, due_date FROM t",
+    nativeQuery = true)
+List<Object[]> deleteOwned(@Param("id") long id, @Param("userId") long userId);
+
+@Query(value = "UPDATE task SET title = :title, description = :description, due_date = :dueDate,"
+    + " time_to_complete = :time, priority_code = :priority, status_code = :status"
+    + " FROM (SELECT id, status_code, due_date FROM task WHERE id = :id AND user_id = :userId FOR UPDATE) old"
+    + " WHERE task.id = old.id RETURNING old.status_code, old.due_date",
+    nativeQuery = true)
+List<Object[]> updateOwned(
+    @Param("id") long id,
+    @Param("userId") long userId,
+    @Param("title") String title,
+    @Param("description") String description,
+    @Param("dueDate") LocalDate dueDate,
+    @Param("time") LocalTime time,
+    @Param("priority") short priority,
+    @Param("status") short status
+);
 
 
     
@@ -0,0 +1,78 @@
+package com.task.task_manager.Repo;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.task.task_manager.Model.TaskStatusCounter;
+
+public interface TaskStatusCounterRepo extends JpaRepository<TaskStatusCounter, TaskStatusCounter.Key> {
+
+    // Applies one transaction's deltas for a user in one statement; the (status, due date) pairs must
+    // be distinct. Writers hold the user's counter lock shared and reconciliation holds it exclusively,
+    // so a rebuild never runs between a task write and its counter deltas. The lock is a
+    // transaction-level advisory lock in the two-int keyspace, class 1 for task counters and the user id
+    // as object, so it cannot meet the single-bigint session lock Flyway takes while migrating. Ids past
+    // 2^31 wrap and may share a lock with another user, which only makes one wait for the other.
+    @Modifying
+    @Query(value = "INSERT INTO task_status_count (user_id, status, due_date, task_count)"
+        + " SELECT :userId, d.status, d.due_date, d.delta FROM pg_advisory_xact_lock_shared(1, CAST(:userId % 2147483648 AS INTEGER)),"
+        + " unnest(CAST(:statuses AS SMALLINT[]), CAST(:dueDates AS DATE[]), CAST(:deltas AS BIGINT[])) AS d(status, due_date, delta)"
+        + " ON CONFLICT (user_id, status, due_date) DO UPDATE SET task_count = task_status_count.task_count + EXCLUDED.task_count",
+        nativeQuery = true)
+    void addAll(@Param("userId") long userId, @Param("statuses") Short[] statuses, @Param("dueDates") LocalDate[] dueDates,
+            @Param("deltas") Long[] deltas);
+
+    // Returns rows of [status code, count] for due dates in [fromDate, toDate].
+    @Query("SELECT c.status, SUM(c.taskCount) FROM TaskStatusCounter c WHERE c.userId = :userId"
+        + " AND c.dueDate >= :fromDate AND c.dueDate <= :toDate GROUP BY c.status")
+    List<Object[]> sumByStatus(@Param("userId") long userId, @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    // Returns rows of [status code, count] for due dates from fromDate on: the user's totals less the
+    // rows before fromDate, which the fold keeps to a few per status when fromDate is recent.
+    @Query(value = "SELECT t.status, t.task_count - COALESCE(SUM(c.task_count), 0) FROM task_status_total t"
+        + " LEFT JOIN task_status_count c ON c.user_id = t.user_id AND c.status = t.status AND c.due_date < :fromDate"
+        + " WHERE t.user_id = :userId GROUP BY t.status, t.task_count",
+        nativeQuery = true)
+    List<Object[]> sumByStatusFrom(@Param("userId") long userId, @Param("fromDate") LocalDate fromDate);
+
+    // Returns rows of [status code, due date, count] for due dates in [fromDate, toDate].
+    @Query("SELECT c.status, c.dueDate, SUM(c.taskCount) FROM TaskStatusCounter c WHERE c.userId = :userId"
+        + " AND c.dueDate >= :fromDate AND c.dueDate <= :toDate GROUP BY c.status, c.dueDate")
+    List<Object[]> sumByStatusAndDate(@Param("userId") long userId, @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    // Waits for the user's in-flight task writes to commit and keeps new ones out until this transaction ends.
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(1, CAST(:userId % 2147483648 AS INTEGER))", nativeQuery = true)
+    int lockForRebuild(@Param("userId") long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM task_status_count WHERE user_id = :userId", nativeQuery = true)
+    void deleteForUser(@Param("userId") long userId);
+
+    // Reconciliation: rebuild a user's counters from the task table with one GROUP BY, due dates up
+    // to foldDate counted on foldDate.
+    @Modifying
+    @Query(value = "INSERT INTO task_status_count (user_id, status, due_date, task_count)"
+        + " SELECT user_id, status_code, GREATEST(due_date, :foldDate), COUNT(*) FROM task WHERE user_id = :userId"
+        + " GROUP BY 1, 2, 3",
+        nativeQuery = true)
+    void rebuildForUser(@Param("userId") long userId, @Param("foldDate") LocalDate foldDate);
+
+    @Query(value = "SELECT DISTINCT user_id FROM task_status_count WHERE due_date < :foldDate", nativeQuery = true)
+    List<Long> findUserIdsWithCountsBefore(@Param("foldDate") LocalDate foldDate);
+
+    // Moves a user's rows due before foldDate onto foldDate, one row per status. Counts only move
+    // between rows, so totals and concurrent deltas stay right without the counter lock.
+    @Modifying
+    @Query(value = "WITH folded AS (DELETE FROM task_status_count WHERE user_id = :userId AND due_date < :foldDate"
+        + " RETURNING status, task_count)"
+        + " INSERT INTO task_status_count (user_id, status, due_date, task_count)"
+        + " SELECT :userId, status, :foldDate, SUM(task_count) FROM folded GROUP BY status"
+        + " ON CONFLICT (user_id, status, due_date) DO UPDATE SET task_count = task_status_count.task_count + EXCLUDED.task_count",
+        nativeQuery = true)
+    void foldBefore(@Param("userId") long userId, @Param("foldDate") LocalDate foldDate);
+}
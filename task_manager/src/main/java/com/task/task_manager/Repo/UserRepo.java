@@ -1,16 +1,21 @@
 package com.task.task_manager.Repo;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.task.task_manager.Model.User;
 
+import jakarta.transaction.Transactional;
+
 
 
 @Repository
@@ -18,6 +23,34 @@ public interface UserRepo  extends JpaRepository<User,Long>{
 
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
+
+    // Relies on the unique constraints on username and email: no row comes back when either is taken,
+    // and a concurrent registration of the same name waits for the other transaction instead of racing it.
+    @Query(value = """
+            INSERT INTO users (username, email, password) VALUES (:username, :email, :password)
+            ON CONFLICT DO NOTHING
+            RETURNING user_id
+            """, nativeQuery = true)
+    Optional<Long> insertIfAbsent(@Param("username") String username, @Param("email") String email,
+            @Param("password") String password);
+
+    // The user's id, or nothing when no user has the name.
+    @Transactional
+    @Query(value = "UPDATE users SET last_activity = :at WHERE username = :username RETURNING user_id", nativeQuery = true)
+    Optional<Long> touchLastActivity(@Param("username") String username, @Param("at") LocalDateTime at);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") long id, @Param("password") String password);
+
+    // Usernames of the users holding either name; one lookup tells which of the two is taken.
+    @Query("select u.username from User u where u.username = :username or u.email = :email")
+    List<String> findUsernamesHolding(@Param("username") String username, @Param("email") String email);
+
+    // Keyset pages of (id, username, email) for rebuilding RegisteredUserFilter.
+    @Query("select u.id, u.username, u.email from User u where u.id > :after order by u.id")
+    List<Object[]> findNamesAfter(@Param("after") long after, Pageable page);
     @Query(value = "SELECT * FROM users WHERE DATE(last_login) = :targetDate", nativeQuery = true)
     List<User> findUserByLoginDate(@Param("targetDate") LocalDate targetDate);
+    List<User> findByLastActivityAfter(LocalDateTime since);
 }
@@ -0,0 +1,30 @@
+package com.task.task_manager.Scheduler;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.task.task_manager.Repo.ChangeLogRepo;
+
+import jakarta.transaction.Transactional;
+
+@Component
+public class ChangeLogPruneScheduler {
+
+    @Autowired
+    private ChangeLogRepo changeLogRepo;
+
+    @Value("${app.change-feed.retention:P7D}")
+    private Duration retention;
+
+    // Clients with a cursor older than the retention window get a snapshot instead, so these rows are no longer read.
+    @Scheduled(cron = "0 0 4 * * ?") // Every day at 4 AM
+    @Transactional
+    public void pruneChangeLog() {
+        changeLogRepo.deleteOlderThan(LocalDateTime.now().minus(retention));
+    }
+}
@@ -0,0 +1,41 @@
+package com.task.task_manager.Scheduler;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.task.task_manager.Service.KeyValueStore;
+import com.task.task_manager.Service.ReminderService;
+
+@Component
+public class ReminderFireScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderFireScheduler.class);
+
+    @Autowired
+    private ReminderService reminderService;
+    @Autowired
+    private KeyValueStore keyValueStore;
+
+    // Pushes reminders due this minute to their owners' live streams.
+    // Every node runs the job; a per-minute key in the shared store lets exactly one of them fire.
+    @Scheduled(cron = "0 * * * * ?") // Every minute
+    public void fireDueReminders() {
+        LocalDateTime minute = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        try {
+            if (!keyValueStore.setIfAbsent("reminderfire:" + minute, "1", Duration.ofMinutes(5))) {
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not claim reminder firing for {}", minute, e);
+            return;
+        }
+        reminderService.publishDueReminders(minute);
+    }
+}
@@ -0,0 +1,67 @@
+package com.task.task_manager.Scheduler;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.task.task_manager.Model.User;
+import com.task.task_manager.Repo.TaskStatusCounterRepo;
+import com.task.task_manager.Repo.UserRepo;
+import com.task.task_manager.Service.KeyValueStore;
+import com.task.task_manager.Service.TaskCounterService;
+
+@Component
+public class TaskCounterReconcileScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskCounterReconcileScheduler.class);
+
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private TaskCounterService taskCounterService;
+    @Autowired
+    private TaskStatusCounterRepo counterRepo;
+    @Autowired
+    private KeyValueStore keyValueStore;
+
+    // Fold the day that has aged past the per-date window, one user per transaction.
+    @Scheduled(cron = "0 15 3 * * ?") // Every day at 3:15 AM
+    public void foldPastCounters() {
+        LocalDate foldDate = TaskCounterService.foldDate(LocalDate.now());
+        if (!claim("counterfold:" + foldDate)) {
+            return;
+        }
+        for (Long userId : counterRepo.findUserIdsWithCountsBefore(foldDate)) {
+            taskCounterService.fold(userId, foldDate);
+        }
+    }
+
+    // Rebuild counters of users who changed anything in the last day, in case a write path missed them.
+    @Scheduled(cron = "0 30 3 * * ?") // Every day at 3:30 AM
+    public void reconcileActiveUsers() {
+        if (!claim("counterreconcile:" + LocalDate.now())) {
+            return;
+        }
+        List<User> users = userRepo.findByLastActivityAfter(LocalDateTime.now().minusDays(1));
+        for (User user : users) {
+            taskCounterService.reconcile(user.getId());
+        }
+    }
+
+    // Every node runs the jobs; a per-day key in the shared store lets exactly one of them do the work.
+    private boolean claim(String key) {
+        try {
+            return keyValueStore.setIfAbsent(key, "1", Duration.ofDays(1));
+        } catch (RuntimeException e) {
+            log.warn("Could not claim {}", key, e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.task.task_manager.Security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.task.task_manager.Model.UserPrincipal;
+
+// Reads the caller from the principal jwtFilter put in the security context,
+// so per-user queries can filter on user_id without another users lookup.
+public final class AuthenticatedUser {
+
+    private AuthenticatedUser() {
+    }
+
+    public static long id() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return ((UserPrincipal) authentication.getPrincipal()).getId();
+    }
+}
@@ -0,0 +1,54 @@
+package com.task.task_manager.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.task.task_manager.Exception.InvalidTaskException;
+import com.task.task_manager.Model.ChangeLogEntry.EntityType;
+
+// Position in a user's change log: the transaction id and change id of the last change the client
+// has seen, and a time no later than any change after it. Entries older than the retention window
+// get pruned, so a cursor whose time falls outside the window may have gaps behind it and is
+// answered with a snapshot.
+// A snapshot that did not fit in one response also carries where it stopped: the type and id of
+// the last row sent. resumeType is null once the snapshot is complete.
+public record ChangeCursor(long txid, long changeId, LocalDateTime at, EntityType resumeType, long resumeAfter) {
+
+    public ChangeCursor(long txid, long changeId, LocalDateTime at) {
+        this(txid, changeId, at, null, 0);
+    }
+
+    public String encode() {
+        String raw = txid + "|" + changeId + "|" + at;
+        if (resumeType != null) {
+            raw += "|" + resumeType + "|" + resumeAfter;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns null for a cursor from before the transaction id was added ("changeId|at"); its
+    // client gets a snapshot, as it would without a cursor.
+    public static ChangeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length == 2) {
+                return null;
+            }
+            if (parts.length != 3 && parts.length != 5) {
+                throw new InvalidTaskException("Invalid change cursor");
+            }
+            long txid = Long.parseLong(parts[0]);
+            long changeId = Long.parseLong(parts[1]);
+            LocalDateTime at = LocalDateTime.parse(parts[2]);
+            if (parts.length == 3) {
+                return new ChangeCursor(txid, changeId, at);
+            }
+            return new ChangeCursor(txid, changeId, at, EntityType.valueOf(parts[3]), Long.parseLong(parts[4]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidTaskException("Invalid change cursor");
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.task.task_manager.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.task.task_manager.DTO.ChangeFeedDTO;
+import com.task.task_manager.DTO.DeletedEntityDTO;
+import com.task.task_manager.DTO.HabitTrackerSendDTO;
+import com.task.task_manager.DTO.ReminderSendDTO;
+import com.task.task_manager.DTO.TaskSendDTO;
+import com.task.task_manager.Model.ChangeLogEntry;
+import com.task.task_manager.Model.ChangeLogEntry.EntityType;
+import com.task.task_manager.Model.ChangeLogEntry.Operation;
+import com.task.task_manager.Repo.ChangeLogRepo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Read side of the change feed: turns the log entries after a cursor into upserts and tombstones,
+// or a full snapshot when there is no usable cursor.
+// Each call runs in one read-only REPEATABLE READ transaction whose first statement reads the
+// horizon, so the rows it loads are exactly those committed below it. A snapshot is sent in pages
+// of MAX_CHANGES rows, tasks then reminders then habits in id order; a later page reads a later
+// state, and whatever changed after the first page's horizon arrives again as a change.
+// Change ids are assigned at insert, not at commit, so a later id can commit first. Reads therefore
+// stop at the committed horizon, the oldest transaction still running, and order by (txid, id):
+// nothing can still commit behind a cursor. A write transaction open longer than max-horizon-lag
+// is stepped over, so it holds the feed back for at most that long; its age is change.feed.horizon.lag.
+@Service
+public class ChangeFeedService {
+
+    static final int MAX_CHANGES = 500;
+
+    @Autowired
+    private ChangeLogRepo changeLogRepo;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ReminderService reminderService;
+
+    @Autowired
+    private HabitTrackerService habitTrackerService;
+
+    @Value("${app.change-feed.retention:P7D}")
+    private Duration retention;
+
+    @Value("${app.change-feed.max-horizon-lag:PT1M}")
+    private Duration maxHorizonLag;
+
+    private final AtomicLong horizonLagSeconds = new AtomicLong();
+
+    @Autowired
+    void registerMetrics(MeterRegistry meterRegistry) {
+        meterRegistry.gauge("change.feed.horizon.lag", horizonLagSeconds);
+    }
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public ChangeFeedDTO getChanges(long userId, String since) {
+        LocalDateTime now = LocalDateTime.now();
+        ChangeCursor cursor = since == null ? null : ChangeCursor.decode(since);
+        if (cursor == null || cursor.at().isBefore(now.minus(retention))) {
+            return snapshot(userId, new ChangeCursor(committedHorizon(), 0, now), true);
+        }
+        if (cursor.resumeType() != null) {
+            return snapshot(userId, cursor, false);
+        }
+
+        long horizon = committedHorizon();
+        List<ChangeLogEntry> entries = changeLogRepo.findChangesAfter(userId, cursor.txid(), cursor.changeId(),
+                horizon, PageRequest.of(0, MAX_CHANGES + 1));
+        boolean hasMore = entries.size() > MAX_CHANGES;
+        if (hasMore) {
+            entries = entries.subList(0, MAX_CHANGES);
+        }
+
+        // Only the last operation on each entity matters; an upsert is sent as the current row.
+        Map<EntityType, Map<Long, Operation>> latest = new EnumMap<>(EntityType.class);
+        for (ChangeLogEntry entry : entries) {
+            latest.computeIfAbsent(entry.getEntityType(), type -> new LinkedHashMap<>())
+                    .put(entry.getEntityId(), entry.getOperation());
+        }
+
+        List<DeletedEntityDTO> deleted = new ArrayList<>();
+        List<TaskSendDTO> tasks = load(latest, EntityType.TASK,
+                ids -> taskService.getTasks(userId, ids), TaskSendDTO::id, deleted);
+        List<ReminderSendDTO> reminders = load(latest, EntityType.REMINDER,
+                ids -> reminderService.getReminders(userId, ids), ReminderSendDTO::id, deleted);
+        List<HabitTrackerSendDTO> habits = load(latest, EntityType.HABIT,
+                ids -> habitTrackerService.getHabits(userId, ids), HabitTrackerSendDTO::id, deleted);
+
+        // Mid-backlog the cursor is the last entry sent, with its own time. A caught-up one moves to the
+        // horizon, ahead of every transaction that has finished, and is stamped with the read time.
+        ChangeCursor next;
+        if (hasMore) {
+            ChangeLogEntry last = entries.get(entries.size() - 1);
+            next = new ChangeCursor(last.getTxid(), last.getId(), last.getChangedAt());
+        } else {
+            next = new ChangeCursor(Math.max(horizon, cursor.txid()), 0, now);
+        }
+        return new ChangeFeedDTO(false, tasks, reminders, habits, deleted, next.encode(), hasMore);
+    }
+
+    private long committedHorizon() {
+        Object[] row = changeLogRepo.findCommittedHorizon(maxHorizonLag.toSeconds()).get(0);
+        horizonLagSeconds.set(((Number) row[1]).longValue());
+        return ((Number) row[0]).longValue();
+    }
+
+    // The first page replaces the client's copy; later ones add to it and keep the first page's horizon
+    // and time, so the changes since then are still read once the snapshot is complete.
+    private ChangeFeedDTO snapshot(long userId, ChangeCursor position, boolean first) {
+        SnapshotPage page = new SnapshotPage(position);
+        List<TaskSendDTO> tasks = page.read(EntityType.TASK,
+                (afterId, limit) -> taskService.getTasksAfter(userId, afterId, limit), TaskSendDTO::id);
+        List<ReminderSendDTO> reminders = page.read(EntityType.REMINDER,
+                (afterId, limit) -> reminderService.getRemindersAfter(userId, afterId, limit), ReminderSendDTO::id);
+        List<HabitTrackerSendDTO> habits = page.read(EntityType.HABIT,
+                (afterId, limit) -> habitTrackerService.getHabitsAfter(userId, afterId, limit), HabitTrackerSendDTO::id);
+
+        boolean hasMore = page.stoppedAt != null;
+        ChangeCursor next = hasMore
+                ? new ChangeCursor(position.txid(), 0, position.at(), page.stoppedAt, page.lastId)
+                : new ChangeCursor(position.txid(), 0, position.at());
+        return new ChangeFeedDTO(first, tasks, reminders, habits, List.of(), next.encode(), hasMore);
+    }
+
+    // Loads the upserted rows of one type; deleted ones, and upserts whose row is already gone, become tombstones.
+    private <T> List<T> load(Map<EntityType, Map<Long, Operation>> latest, EntityType type,
+            Function<List<Long>, List<T>> loader, ToLongFunction<T> idOf, List<DeletedEntityDTO> deleted) {
+        Map<Long, Operation> changes = latest.getOrDefault(type, Map.of());
+        List<Long> upserted = new ArrayList<>();
+        changes.forEach((id, operation) -> {
+            if (operation == Operation.UPSERT) {
+                upserted.add(id);
+            } else {
+                deleted.add(new DeletedEntityDTO(type.name(), id));
+            }
+        });
+        if (upserted.isEmpty()) {
+            return List.of();
+        }
+
+        List<T> rows = loader.apply(upserted);
+        Set<Long> found = new HashSet<>();
+        rows.forEach(row -> found.add(idOf.applyAsLong(row)));
+        for (Long id : upserted) {
+            if (!found.contains(id)) {
+                deleted.add(new DeletedEntityDTO(type.name(), id));
+            }
+        }
+        return rows;
+    }
+
+    // Fills one response with snapshot rows, starting after the row a continuation cursor names.
+    private static final class SnapshotPage {
+
+        private final EntityType from;
+        private final long fromAfterId;
+        private int left = MAX_CHANGES;
+        private EntityType stoppedAt;
+        private long lastId;
+
+        SnapshotPage(ChangeCursor position) {
+            from = position.resumeType() == null ? EntityType.TASK : position.resumeType();
+            fromAfterId = position.resumeAfter();
+        }
+
+        <T> List<T> read(EntityType type, BiFunction<Long, Integer, List<T>> loader, ToLongFunction<T> idOf) {
+            if (stoppedAt != null || type.ordinal() < from.ordinal()) {
+                return List.of();
+            }
+            long afterId = type == from ? fromAfterId : 0;
+            // One row more than fits tells whether the type goes on past this page.
+            List<T> rows = loader.apply(afterId, left + 1);
+            if (rows.size() > left) {
+                rows = rows.subList(0, left);
+                stoppedAt = type;
+                lastId = rows.isEmpty() ? afterId : idOf.applyAsLong(rows.get(rows.size() - 1));
+            }
+            left -= rows.size();
+            return rows;
+        }
+    }
+}
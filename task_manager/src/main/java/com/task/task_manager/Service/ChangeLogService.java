@@ -0,0 +1,74 @@
+package com.task.task_manager.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.task.task_manager.Model.ChangeLogEntry;
+import com.task.task_manager.Model.ChangeLogEntry.EntityType;
+import com.task.task_manager.Model.ChangeLogEntry.Operation;
+import com.task.task_manager.Repo.ChangeLogRepo;
+
+// Write side of the change feed. Called from every task, subtask, reminder and habit mutation,
+// inside the mutation's transaction, so a change is logged exactly when it commits.
+// Subtasks are logged as an upsert of their parent task, whose DTO carries the subtask list.
+// The changes of a transaction are inserted with one statement just before it commits. Once it has
+// committed, each user's changes are pushed to their live streams as "change" events in one message.
+@Service
+public class ChangeLogService {
+
+    private static final Object PENDING_ENTRIES = new Object();
+    private static final Object PENDING_EVENTS = new Object();
+
+    @Autowired
+    private ChangeLogRepo changeLogRepo;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private LiveUpdateHub liveUpdateHub;
+
+    public void upserted(long userId, EntityType type, long entityId) {
+        record(userId, type, entityId, Operation.UPSERT);
+    }
+
+    public void deleted(long userId, EntityType type, long entityId) {
+        record(userId, type, entityId, Operation.DELETE);
+    }
+
+    private void record(long userId, EntityType type, long entityId, Operation operation) {
+        ChangeLogEntry entry = new ChangeLogEntry(userId, type, entityId, operation);
+        PerTransaction.add(PENDING_ENTRIES, PerTransaction.Phase.BEFORE_COMMIT, ArrayList<ChangeLogEntry>::new,
+                pending -> pending.add(entry), this::insert);
+        dataVersionService.bump(userId);
+        Map<String, Object> event = Map.of("type", type.name(), "id", entityId, "operation", operation.name());
+        PerTransaction.add(PENDING_EVENTS, PerTransaction.Phase.AFTER_COMMIT, LinkedHashMap<Long, List<Object>>::new,
+                pending -> pending.computeIfAbsent(userId, id -> new ArrayList<>()).add(event),
+                pending -> pending.forEach((id, events) -> liveUpdateHub.publishAll(id, "change", events)));
+    }
+
+    // Rows keep their order, so within a transaction the later change gets the higher id.
+    private void insert(List<ChangeLogEntry> entries) {
+        int size = entries.size();
+        Long[] userIds = new Long[size];
+        String[] entityTypes = new String[size];
+        Long[] entityIds = new Long[size];
+        String[] operations = new String[size];
+        LocalDateTime[] changedAts = new LocalDateTime[size];
+        for (int i = 0; i < size; i++) {
+            ChangeLogEntry entry = entries.get(i);
+            userIds[i] = entry.getUserId();
+            entityTypes[i] = entry.getEntityType().name();
+            entityIds[i] = entry.getEntityId();
+            operations[i] = entry.getOperation().name();
+            changedAts[i] = entry.getChangedAt();
+        }
+        changeLogRepo.insertAll(userIds, entityTypes, entityIds, operations, changedAts);
+    }
+}
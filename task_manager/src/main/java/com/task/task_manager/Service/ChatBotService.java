@@ -0,0 +1,195 @@
+package com.task.task_manager.Service;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongFunction;
+
+import org.springframework.stereotype.Service;
+
+// Answers chat messages. Every intent keyword is compiled into one KeywordAutomaton, so a message
+// is classified in a single pass however many intents there are, and the reply comes from that
+// intent's handler. Handlers get the caller's id as an argument; nothing per-user is kept here.
+// Every question about the user's own data is answered from their ChatStatsService snapshot, one
+// read of the shared store per message. The user's recent intents come from ConversationMemory, so
+// a follow-up ("and today?", "what about now?") keeps the subject of the question before it.
+// Only when the exact pass finds no intent are the message's words run through the typo-tolerant
+// FuzzyKeywordMatcher, so correctly spelled messages never pay for it.
+@Service
+public class ChatBotService {
+
+    private static final ChatIntent[] INTENTS = ChatIntent.values();
+    private static final DateTimeFormatter REMINDER_DATE = DateTimeFormatter.ofPattern("EEE, MMM d", Locale.ENGLISH);
+    private static final DateTimeFormatter REMINDER_TIME = DateTimeFormatter.ofPattern("hh:mm a", Locale.ENGLISH);
+    private static final List<String> FOLLOW_UP_OPENERS = List.of("and", "what about", "how about");
+    // Stats keywords this short are matched exactly only: "steak" is one edit from "streak".
+    private static final int EXACT_STATS_KEYWORD_LENGTH = 6;
+
+    // Questions about the user's data, the subjects a follow-up can carry on.
+    private static final Set<ChatIntent> SUBJECTS = EnumSet.of(ChatIntent.OVERDUE, ChatIntent.COMPLETED_THIS_WEEK,
+            ChatIntent.COMPLETED_TODAY, ChatIntent.DUE_THIS_WEEK, ChatIntent.HABIT_STREAK, ChatIntent.NEXT_REMINDER,
+            ChatIntent.TODAY, ChatIntent.TOMORROW, ChatIntent.PENDING);
+    // After a question about completed tasks, a follow-up naming a day asks for completed tasks that day.
+    private static final Map<ChatIntent, ChatIntent> COMPLETED_ON = Map.of(
+            ChatIntent.TODAY, ChatIntent.COMPLETED_TODAY,
+            ChatIntent.DUE_THIS_WEEK, ChatIntent.COMPLETED_THIS_WEEK);
+
+    private final ChatStatsService chatStatsService;
+    private final ConversationMemory conversationMemory;
+    private final KeywordAutomaton automaton;
+    private final FuzzyKeywordMatcher fuzzyMatcher;
+    // Indexed by intent ordinal, so in priority order: one mask per trigger, the keyword bits it needs.
+    private final long[][] triggerMasks = new long[INTENTS.length][];
+    private final Map<ChatIntent, LongFunction<String>> handlers = new EnumMap<>(ChatIntent.class);
+
+    public ChatBotService(ChatStatsService chatStatsService, ConversationMemory conversationMemory) {
+        this.chatStatsService = chatStatsService;
+        this.conversationMemory = conversationMemory;
+
+        List<String> keywords = new ArrayList<>();
+        List<String> fuzzyKeywords = new ArrayList<>();
+        for (ChatIntent intent : INTENTS) {
+            long[] masks = new long[intent.triggers().size()];
+            for (int t = 0; t < masks.length; t++) {
+                for (String keyword : intent.triggers().get(t).split("\\+")) {
+                    int bit = keywords.indexOf(keyword);
+                    if (bit < 0) {
+                        bit = keywords.size();
+                        keywords.add(keyword);
+                        boolean exactOnly = SUBJECTS.contains(intent) && keyword.length() <= EXACT_STATS_KEYWORD_LENGTH;
+                        fuzzyKeywords.add(exactOnly ? "" : keyword);   // the matcher skips "", keeping the indexes
+                    }
+                    masks[t] |= 1L << bit;
+                }
+            }
+            triggerMasks[intent.ordinal()] = masks;
+        }
+        this.automaton = new KeywordAutomaton(keywords);
+        this.fuzzyMatcher = new FuzzyKeywordMatcher(fuzzyKeywords);
+
+        handlers.put(ChatIntent.OVERDUE, userId -> openReply("Overdue Tasks", chatStatsService.stats(userId).overdue()));
+        handlers.put(ChatIntent.COMPLETED_THIS_WEEK, userId -> completedReply(chatStatsService.stats(userId).completedThisWeek(), "this week"));
+        handlers.put(ChatIntent.COMPLETED_TODAY, userId -> completedReply(chatStatsService.stats(userId).completedToday(), "today"));
+        handlers.put(ChatIntent.DUE_THIS_WEEK, userId -> openReply("Due This Week", chatStatsService.stats(userId).dueThisWeek()));
+        handlers.put(ChatIntent.HABIT_STREAK, this::habitStreakReply);
+        handlers.put(ChatIntent.NEXT_REMINDER, this::nextReminderReply);
+        handlers.put(ChatIntent.GREETING, userId -> "Hello! How can I help you today?");
+        handlers.put(ChatIntent.CREATE_TASK, userId -> "You can add a task by clicking + button on the Home Page.");
+        handlers.put(ChatIntent.VIEW, userId -> "You can view your Peformance on your dashboard.");
+        handlers.put(ChatIntent.DELETE, userId -> "Click on bin 🗑 to remove a task.");
+        handlers.put(ChatIntent.HELP, userId -> "I can assist with creating, viewing, or deleting tasks.");
+        handlers.put(ChatIntent.THANKS, userId -> "You're welcome! If you have more questions, feel free to ask.");
+        handlers.put(ChatIntent.BYE, userId -> "Goodbye! Have a great day!");
+        handlers.put(ChatIntent.TODAY, userId -> openReply("Today's Tasks", chatStatsService.stats(userId).today()));
+        handlers.put(ChatIntent.TOMORROW, userId -> openReply("Tomorrow's Tasks", chatStatsService.stats(userId).tomorrow()));
+        handlers.put(ChatIntent.PENDING, userId -> openReply(" Tasks To be completed", chatStatsService.stats(userId).pending()));
+        handlers.put(ChatIntent.COMPLETE, userId -> "Check the box to mark a task complete.");
+        handlers.put(ChatIntent.UNKNOWN, userId -> "Sorry, I didn't get that. Please ask about tasks.");
+    }
+
+    public String reply(long userId, String message) {
+        if (message == null || message.trim().isEmpty()) {
+            return "Please type something!";
+        }
+        ChatIntent intent = followUp(classify(message), message, conversationMemory.recent(userId));
+        conversationMemory.remember(userId, intent);
+        return handlers.get(intent).apply(userId);
+    }
+
+    // A message opening like a follow-up is read against the last subject the user asked about:
+    // with no intent of its own it repeats that question, and a day after a question about completed
+    // tasks asks for completed tasks that day. Anything else keeps its own intent.
+    private static ChatIntent followUp(ChatIntent intent, String message, List<ChatIntent> recent) {
+        String opening = message.trim().toLowerCase(Locale.ROOT);
+        if (FOLLOW_UP_OPENERS.stream().noneMatch(opener -> opensWith(opening, opener))) {
+            return intent;
+        }
+        ChatIntent subject = recent.stream().filter(SUBJECTS::contains).findFirst().orElse(null);
+        if (subject == null) {
+            return intent;
+        }
+        if (intent == ChatIntent.UNKNOWN) {
+            return subject;
+        }
+        boolean aboutCompleted = subject == ChatIntent.COMPLETED_TODAY || subject == ChatIntent.COMPLETED_THIS_WEEK;
+        return aboutCompleted ? COMPLETED_ON.getOrDefault(intent, intent) : intent;
+    }
+
+    public ChatIntent classify(String message) {
+        long found = automaton.match(message);
+        ChatIntent intent = resolve(found);
+        return intent != ChatIntent.UNKNOWN ? intent : resolve(found | correctedKeywords(message));
+    }
+
+    private ChatIntent resolve(long found) {
+        if (found != 0) {
+            for (int intent = 0; intent < triggerMasks.length; intent++) {
+                for (long mask : triggerMasks[intent]) {
+                    if ((found & mask) == mask) {
+                        return INTENTS[intent];
+                    }
+                }
+            }
+        }
+        return ChatIntent.UNKNOWN;
+    }
+
+    // Keyword bits for the message's words that are a typo or two away from a keyword.
+    private long correctedKeywords(String message) {
+        long found = 0;
+        char[] word = new char[32];
+        int length = 0;
+        for (int i = 0; i <= message.length(); i++) {
+            char c = i < message.length() ? Character.toLowerCase(message.charAt(i)) : ' ';
+            if (c >= 'a' && c <= 'z') {
+                if (length < word.length) {
+                    word[length] = c;
+                }
+                length++;
+            } else if (length > 0) {
+                int keyword = length <= word.length ? fuzzyMatcher.closest(word, length) : -1;
+                if (keyword >= 0) {
+                    found |= 1L << keyword;
+                }
+                length = 0;
+            }
+        }
+        return found;
+    }
+
+    private static boolean opensWith(String message, String word) {
+        return message.startsWith(word)
+                && (message.length() == word.length() || !Character.isLetter(message.charAt(word.length())));
+    }
+
+    private static String openReply(String title, ChatStatsService.OpenCounts counts) {
+        return String.format("%s\n\n- Incomplete: %d\n- Ongoing: %d\n", title, counts.incomplete(), counts.ongoing());
+    }
+
+    private static String completedReply(long completed, String when) {
+        return String.format("You have completed %d task%s due %s.", completed, completed == 1 ? "" : "s", when);
+    }
+
+    private String habitStreakReply(long userId) {
+        int streak = chatStatsService.stats(userId).habitStreak();
+        if (streak == 0) {
+            return "No habit streak yet. Complete all of today's habits to start one!";
+        }
+        String days = streak >= ChatStatsService.STREAK_DAYS ? streak + "+ days" : streak == 1 ? "1 day" : streak + " days";
+        return "You have completed all your habits " + days + " in a row. Keep it up!";
+    }
+
+    private String nextReminderReply(long userId) {
+        ChatStatsService.Stats stats = chatStatsService.stats(userId);
+        if (stats.nextReminderAt() == null) {
+            return "You have no upcoming reminders.";
+        }
+        return String.format("Your next reminder is \"%s\" on %s at %s.", stats.nextReminder(),
+                stats.nextReminderAt().format(REMINDER_DATE), stats.nextReminderAt().format(REMINDER_TIME));
+    }
+}
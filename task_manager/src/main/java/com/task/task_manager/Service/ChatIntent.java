@@ -0,0 +1,36 @@
+package com.task.task_manager.Service;
+
+import java.util.List;
+
+// What a chat message asks for, in priority order: the first intent with a matching trigger wins.
+// A trigger is one keyword or several joined by '+' that must all occur.
+public enum ChatIntent {
+    OVERDUE("overdue", "past due"),
+    COMPLETED_THIS_WEEK("completed+week", "finished+week"),
+    COMPLETED_TODAY,
+    DUE_THIS_WEEK("this+week"),
+    HABIT_STREAK("streak"),
+    NEXT_REMINDER("next+reminder", "upcoming+reminder"),
+    GREETING("hello", "hi"),
+    CREATE_TASK("create+task"),
+    VIEW("view", "show"),
+    DELETE("delete", "remove"),
+    HELP("help"),
+    THANKS("thanks", "thank you"),
+    BYE("bye", "exit"),
+    TODAY("today"),
+    TOMORROW("tomorrow"),
+    PENDING("pending", "incomplete", "ongoing", "in progress"),
+    COMPLETE("complete", "done"),
+    UNKNOWN;
+
+    private final List<String> triggers;
+
+    ChatIntent(String... triggers) {
+        this.triggers = List.of(triggers);
+    }
+
+    public List<String> triggers() {
+        return triggers;
+    }
+}
@@ -0,0 +1,368 @@
+package com.task.task_manager.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.task.task_manager.Model.Reminder;
+import com.task.task_manager.Model.TaskStatus;
+import com.task.task_manager.Repo.HabitTrackerRepo;
+import com.task.task_manager.Repo.ReminderRepo;
+import com.task.task_manager.Repo.TaskStatusCounterRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// The numbers the chatbot answers from, one hash per user and day in the shared store
+// (chatstats:<userId>:<date>) that task, habit and reminder writes keep current after their commit.
+@Service
+public class ChatStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatStatsService.class);
+    private static final String KEY_PREFIX = "chatstats:";
+    private static final String BEFORE = "before";
+    private static final String AFTER = "after";
+    private static final String STREAK = "streak";
+    private static final String REMINDER = "reminder";
+    private static final LocalDate NO_LOWER_BOUND = LocalDate.of(1, 1, 1);
+    private static final int WINDOW_DAYS = 8;   // Monday to the next Monday
+    private static final String BUSY_PREFIX = "chatstats:busy:";
+    private static final String GENERATION_PREFIX = "chatstats:gen:";
+    private static final int BUILD_ATTEMPTS = 3;
+    // Bounds how long a node that died mid-write keeps the user's rebuilds from being stored.
+    private static final Duration BUSY_TTL = Duration.ofMinutes(1);
+    private static final Object PENDING_MOVES = new Object();
+    private static final Object PENDING_WRITERS = new Object();
+
+    // Streaks are counted over this many days at most.
+    public static final int STREAK_DAYS = 60;
+
+    public record OpenCounts(long incomplete, long ongoing) {
+
+        OpenCounts plus(OpenCounts other) {
+            return new OpenCounts(incomplete + other.incomplete, ongoing + other.ongoing);
+        }
+    }
+
+    // Weeks run Monday to Sunday. Overdue is open and due before today; due this week is open and
+    // due from today to Sunday. There is no completion timestamp, so completedToday and
+    // completedThisWeek count completed tasks due today and this week. The streak is the run of
+    // days, ending today or yesterday while today is unfinished, on which every habit was completed.
+    // nextReminderAt is null when none is open.
+    public record Stats(OpenCounts today, OpenCounts tomorrow, OpenCounts pending, OpenCounts overdue,
+            OpenCounts dueThisWeek, long completedToday, long completedThisWeek, int habitStreak,
+            LocalDateTime nextReminderAt, String nextReminder) {}
+
+    private record TaskMove(TaskStatus oldStatus, LocalDate oldDueDate, TaskStatus status, LocalDate dueDate) {}
+
+    private final KeyValueStore keyValueStore;
+    private final TaskStatusCounterRepo counterRepo;
+    private final HabitTrackerRepo habitTrackerRepo;
+    private final ReminderRepo reminderRepo;
+    private final Duration ttl;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ChatStatsService(KeyValueStore keyValueStore, TaskStatusCounterRepo counterRepo,
+            HabitTrackerRepo habitTrackerRepo, ReminderRepo reminderRepo, MeterRegistry meterRegistry,
+            @Value("${app.chat.stats.ttl:PT30M}") Duration ttl) {
+        this.keyValueStore = keyValueStore;
+        this.counterRepo = counterRepo;
+        this.habitTrackerRepo = habitTrackerRepo;
+        this.reminderRepo = reminderRepo;
+        this.ttl = ttl;
+        this.hits = meterRegistry.counter("chat.stats.snapshot", "result", "hit");
+        this.misses = meterRegistry.counter("chat.stats.snapshot", "result", "miss");
+    }
+
+    public Stats stats(long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        String key = key(userId, today);
+        Map<String, String> fields = read(key);
+        if (fields.isEmpty()) {
+            misses.increment();
+            fields = buildAndStore(userId, key, today, now);
+        } else {
+            hits.increment();
+        }
+        Stats stats = parse(fields, today);
+        if (stats.nextReminderAt() != null && stats.nextReminderAt().isBefore(now.withSecond(0).withNano(0))) {
+            // The reminder has gone off since the snapshot was written; find the one after it.
+            String next = nextReminder(userId, now);
+            putIfPresent(key, Map.of(REMINDER, next));
+            fields = new HashMap<>(fields);
+            fields.put(REMINDER, next);
+            stats = parse(fields, today);
+        }
+        return stats;
+    }
+
+    // Mirrors TaskCounterService: called in the task write's transaction, applied once it commits.
+    // A null status is the missing side of an add or a remove.
+    public void tasksCounted(long userId, TaskStatus oldStatus, LocalDate oldDueDate, TaskStatus status, LocalDate dueDate) {
+        TaskMove move = new TaskMove(oldStatus, oldDueDate, status, dueDate);
+        PerTransaction.add(PENDING_MOVES, PerTransaction.Phase.AFTER_COMMIT, HashMap<Long, List<TaskMove>>::new,
+                pending -> pending.computeIfAbsent(userId, id -> new ArrayList<>()).add(move),
+                pending -> pending.forEach(this::applyMoves));
+        writing(userId);
+    }
+
+    // All moves of a transaction become one increment per user.
+    private void applyMoves(long userId, List<TaskMove> moves) {
+        LocalDate today = LocalDate.now();
+        Map<String, Long> deltas = new HashMap<>();
+        for (TaskMove move : moves) {
+            if (move.oldStatus() != null) {
+                deltas.merge(taskField(move.oldStatus(), bucket(move.oldDueDate(), today)), -1L, Long::sum);
+            }
+            if (move.status() != null) {
+                deltas.merge(taskField(move.status(), bucket(move.dueDate(), today)), 1L, Long::sum);
+            }
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            keyValueStore.hashIncrementIfPresent(key(userId, today), deltas);
+        } catch (RuntimeException e) {
+            log.warn("Could not update the chat stats of user {}", userId, e);
+        }
+    }
+
+    public void habitsChanged(long userId) {
+        AfterCommit.run(() -> {
+            LocalDate today = LocalDate.now();
+            putIfPresent(key(userId, today), Map.of(STREAK, String.valueOf(habitStreak(userId, today))));
+        });
+        writing(userId);
+    }
+
+    public void remindersChanged(long userId) {
+        AfterCommit.run(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            putIfPresent(key(userId, now.toLocalDate()), Map.of(REMINDER, nextReminder(userId, now)));
+        });
+        writing(userId);
+    }
+
+    // For counter reconciliation: the next read rebuilds from the corrected counters.
+    public void evict(long userId) {
+        AfterCommit.run(() -> {
+            try {
+                keyValueStore.delete(key(userId, LocalDate.now()));
+            } catch (RuntimeException e) {
+                log.warn("Could not evict the chat stats of user {}", userId, e);
+            }
+        });
+        writing(userId);
+    }
+
+    // Marks the user busy now, once per transaction, and releases the mark when the transaction has
+    // ended. Called after the write's own after-commit update is registered, so without a
+    // transaction the update is applied before the generation moves.
+    private void writing(long userId) {
+        PerTransaction.add(PENDING_WRITERS, PerTransaction.Phase.AFTER_COMPLETION, LinkedHashSet<Long>::new,
+                writers -> {
+                    if (writers.add(userId)) {
+                        addBusy(userId, 1);
+                    }
+                },
+                writers -> writers.forEach(this::written));
+    }
+
+    // The generation moves before the mark is cleared, so a rebuild never sees the user idle with
+    // the generation it noted while this write was still going on.
+    private void written(long userId) {
+        try {
+            keyValueStore.increment(GENERATION_PREFIX + userId);
+        } catch (RuntimeException e) {
+            log.warn("Could not bump the chat stats generation of user {}", userId, e);
+        }
+        addBusy(userId, -1);
+    }
+
+    private void addBusy(long userId, long delta) {
+        try {
+            keyValueStore.add(BUSY_PREFIX + userId, delta, BUSY_TTL);
+        } catch (RuntimeException e) {
+            log.warn("Could not mark the chat stats of user {} busy", userId, e);
+        }
+    }
+
+    // Another reader's stored build is as good as this one, so a refused store first looks for it.
+    private Map<String, String> buildAndStore(long userId, String key, LocalDate today, LocalDateTime now) {
+        Map<String, String> fields = Map.of();
+        for (int attempt = 0; attempt < BUILD_ATTEMPTS; attempt++) {
+            String generation = readGeneration(userId);
+            fields = build(userId, today, now);
+            if (generation == null) {
+                return fields;
+            }
+            // Busy is compared first; in the in-memory store the keys are read in this order.
+            Map<String, String> expected = new LinkedHashMap<>();
+            expected.put(BUSY_PREFIX + userId, "0");
+            expected.put(GENERATION_PREFIX + userId, generation);
+            try {
+                if (keyValueStore.hashCreate(key, fields, ttl, expected)) {
+                    return fields;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not store the chat stats of user {}", userId, e);
+                return fields;
+            }
+            Map<String, String> stored = read(key);
+            if (!stored.isEmpty()) {
+                return stored;
+            }
+        }
+        return fields;
+    }
+
+    // Null when the store cannot be read; the build is then served without being stored.
+    private String readGeneration(long userId) {
+        try {
+            String generation = keyValueStore.get(GENERATION_PREFIX + userId);
+            return generation == null ? "0" : generation;
+        } catch (RuntimeException e) {
+            log.warn("Chat stats generation read failed for user {}", userId, e);
+            return null;
+        }
+    }
+
+    private Map<String, String> read(String key) {
+        try {
+            return keyValueStore.hashGetAll(key);
+        } catch (RuntimeException e) {
+            log.warn("Chat stats read failed for {}", key, e);
+            return Map.of();
+        }
+    }
+
+    private void putIfPresent(String key, Map<String, String> fields) {
+        try {
+            keyValueStore.hashPutIfPresent(key, fields);
+        } catch (RuntimeException e) {
+            log.warn("Could not update the chat stats in {}", key, e);
+        }
+    }
+
+    private Map<String, String> build(long userId, LocalDate today, LocalDateTime now) {
+        LocalDate monday = today.with(DayOfWeek.MONDAY);
+        LocalDate last = monday.plusDays(WINDOW_DAYS - 1);
+        Map<String, String> fields = new HashMap<>();
+        // Before the window: the folded row and a few days. After it: the totals less the rest.
+        putCounts(fields, BEFORE, counterRepo.sumByStatus(userId, NO_LOWER_BOUND, monday.minusDays(1)));
+        putCounts(fields, AFTER, counterRepo.sumByStatusFrom(userId, last.plusDays(1)));
+        for (Object[] row : counterRepo.sumByStatusAndDate(userId, monday, last)) {
+            fields.put(taskField(statusOf(row[0]), dateOf(row[1]).toString()), String.valueOf(((Number) row[2]).longValue()));
+        }
+        fields.put(STREAK, String.valueOf(habitStreak(userId, today)));
+        fields.put(REMINDER, nextReminder(userId, now));
+        return fields;
+    }
+
+    private static void putCounts(Map<String, String> fields, String bucket, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            fields.put(taskField(statusOf(row[0]), bucket), String.valueOf(((Number) row[1]).longValue()));
+        }
+    }
+
+    private int habitStreak(long userId, LocalDate today) {
+        Map<LocalDate, Boolean> allDone = new HashMap<>();
+        for (Object[] row : habitTrackerRepo.countByDate(userId, today.minusDays(STREAK_DAYS), TaskStatus.COMPLETED)) {
+            allDone.put(dateOf(row[0]), ((Number) row[1]).longValue() == ((Number) row[2]).longValue());
+        }
+        LocalDate day = allDone.getOrDefault(today, false) ? today : today.minusDays(1);
+        int streak = 0;
+        while (streak < STREAK_DAYS && allDone.getOrDefault(day, false)) {
+            streak++;
+            day = day.minusDays(1);
+        }
+        return streak;
+    }
+
+    // "<date>T<time>|<title>", or empty when the user has no open reminder ahead.
+    private String nextReminder(long userId, LocalDateTime now) {
+        List<Reminder> next = reminderRepo.findNext(userId, TaskStatus.INCOMPLETE, now.toLocalDate(),
+                now.toLocalTime().withSecond(0).withNano(0), PageRequest.of(0, 1));
+        if (next.isEmpty()) {
+            return "";
+        }
+        Reminder reminder = next.get(0);
+        return LocalDateTime.of(reminder.getDate(), reminder.getTime()) + "|" + reminder.getTitle();
+    }
+
+    private static Stats parse(Map<String, String> fields, LocalDate today) {
+        LocalDate monday = today.with(DayOfWeek.MONDAY);
+        LocalDate nextMonday = monday.plusDays(7);
+        OpenCounts overdue = open(fields, BEFORE);
+        OpenCounts dueThisWeek = new OpenCounts(0, 0);
+        long completedThisWeek = 0;
+        for (LocalDate day = monday; day.isBefore(nextMonday); day = day.plusDays(1)) {
+            OpenCounts counts = open(fields, day.toString());
+            if (day.isBefore(today)) {
+                overdue = overdue.plus(counts);
+            } else {
+                dueThisWeek = dueThisWeek.plus(counts);
+            }
+            completedThisWeek += count(fields, TaskStatus.COMPLETED, day.toString());
+        }
+        OpenCounts pending = dueThisWeek.plus(open(fields, nextMonday.toString())).plus(open(fields, AFTER));
+
+        String reminder = fields.getOrDefault(REMINDER, "");
+        int separator = reminder.indexOf('|');
+        LocalDateTime nextReminderAt = separator < 0 ? null : LocalDateTime.parse(reminder.substring(0, separator));
+        String nextReminder = separator < 0 ? null : reminder.substring(separator + 1);
+        return new Stats(open(fields, today.toString()), open(fields, today.plusDays(1).toString()), pending, overdue,
+                dueThisWeek, count(fields, TaskStatus.COMPLETED, today.toString()), completedThisWeek,
+                Integer.parseInt(fields.getOrDefault(STREAK, "0")), nextReminderAt, nextReminder);
+    }
+
+    private static OpenCounts open(Map<String, String> fields, String bucket) {
+        return new OpenCounts(count(fields, TaskStatus.INCOMPLETE, bucket), count(fields, TaskStatus.ONGOING, bucket));
+    }
+
+    private static long count(Map<String, String> fields, TaskStatus status, String bucket) {
+        String value = fields.get(taskField(status, bucket));
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    private static String bucket(LocalDate dueDate, LocalDate today) {
+        LocalDate monday = today.with(DayOfWeek.MONDAY);
+        if (dueDate.isBefore(monday)) {
+            return BEFORE;
+        }
+        return dueDate.isAfter(monday.plusDays(WINDOW_DAYS - 1)) ? AFTER : dueDate.toString();
+    }
+
+    private static String taskField(TaskStatus status, String bucket) {
+        return status.name() + ":" + bucket;
+    }
+
+    private static String key(long userId, LocalDate day) {
+        return KEY_PREFIX + userId + ":" + day;
+    }
+
+    private static TaskStatus statusOf(Object code) {
+        return TaskStatus.fromCode(((Number) code).shortValue());
+    }
+
+    private static LocalDate dateOf(Object date) {
+        return date instanceof java.sql.Date sqlDate ? sqlDate.toLocalDate() : (LocalDate) date;
+    }
+}
@@ -0,0 +1,90 @@
+package com.task.task_manager.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Chat replies as Server-Sent Events: "chunk" events of {"text": ...}, a word at a time with the
+// whitespace after it so the chunks concatenate back to the reply, then an empty "done" event.
+// The reply is produced and sent on a small pool with a bounded queue, not on the request thread;
+// when the queue is full the stream gets a single "error" event instead of waiting.
+@Service
+public class ChatStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatStreamService.class);
+
+    private final ChatBotService chatBotService;
+    private final Duration emitterTimeout;
+    private final ThreadPoolExecutor sender;
+    private final Counter rejections;
+
+    public ChatStreamService(ChatBotService chatBotService, MeterRegistry meterRegistry,
+            @Value("${app.chat.stream.emitter-timeout:PT30S}") Duration emitterTimeout,
+            @Value("${app.chat.stream.threads:4}") int threads,
+            @Value("${app.chat.stream.queue-capacity:256}") int queueCapacity) {
+        this.chatBotService = chatBotService;
+        this.emitterTimeout = emitterTimeout;
+        this.sender = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity));
+        this.rejections = meterRegistry.counter("chat.stream.rejections");
+    }
+
+    public SseEmitter stream(long userId, String message) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        try {
+            sender.execute(() -> send(emitter, userId, message));
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            try {
+                emitter.send(SseEmitter.event().name("error").data(Map.of("text", "The assistant is busy, please try again."),
+                        MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException | IllegalStateException sendFailure) {
+                emitter.completeWithError(sendFailure);
+            }
+        }
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, long userId, String message) {
+        try {
+            for (String chunk : chunks(chatBotService.reply(userId, message))) {
+                emitter.send(SseEmitter.event().name("chunk").data(Map.of("text", chunk), MediaType.APPLICATION_JSON));
+            }
+            emitter.send(SseEmitter.event().name("done").data(""));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; nothing left to send to.
+            emitter.completeWithError(e);
+        } catch (RuntimeException e) {
+            log.warn("Chat reply for user {} failed", userId, e);
+            emitter.completeWithError(e);
+        }
+    }
+
+    // "Today's Tasks\n\n- Incomplete: 2" -> "Today's ", "Tasks\n\n", "- ", "Incomplete: ", "2".
+    public static List<String> chunks(String reply) {
+        return List.of(reply.split("(?<=\\s)(?=\\S)"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+    }
+}
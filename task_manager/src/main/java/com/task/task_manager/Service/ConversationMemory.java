@@ -0,0 +1,87 @@
+package com.task.task_manager.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// The last few intents of each user's chat, so a follow-up such as "and tomorrow?" can be read
+// against the question before it without the client resending history.
+// Each conversation is a fixed-size ring of intents, and the conversations live in a Caffeine cache
+// bounded by count and evicted after an idle period, so memory is at most max-users rings of
+// turns slots each; chat.context.bytes reports the current estimate.
+// Context is per node: a follow-up routed to another node is answered without it.
+@Service
+public class ConversationMemory {
+
+    // Object headers, the cache node and the boxed key; each turn adds one compressed reference.
+    // An estimate, not a measurement.
+    private static final long CONVERSATION_OVERHEAD_BYTES = 128;
+
+    private static final class Ring {
+        private final ChatIntent[] turns;
+        private int next;
+        private int size;
+
+        private Ring(int capacity) {
+            this.turns = new ChatIntent[capacity];
+        }
+
+        private synchronized void add(ChatIntent intent) {
+            turns[next] = intent;
+            next = (next + 1) % turns.length;
+            size = Math.min(size + 1, turns.length);
+        }
+
+        private synchronized List<ChatIntent> newestFirst() {
+            List<ChatIntent> recent = new ArrayList<>(size);
+            for (int i = 1; i <= size; i++) {
+                recent.add(turns[Math.floorMod(next - i, turns.length)]);
+            }
+            return recent;
+        }
+    }
+
+    private final int turns;
+    private final Cache<Long, Ring> conversations;
+
+    public ConversationMemory(MeterRegistry meterRegistry,
+            @Value("${app.chat.context.turns:8}") int turns,
+            @Value("${app.chat.context.max-users:100000}") long maxUsers,
+            @Value("${app.chat.context.idle-timeout:PT15M}") Duration idleTimeout) {
+        this.turns = turns;
+        this.conversations = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, conversations, "chat.context");
+        meterRegistry.gauge("chat.context.bytes", this, ConversationMemory::estimatedBytes);
+    }
+
+    public void remember(long userId, ChatIntent intent) {
+        conversations.get(userId, id -> new Ring(turns)).add(intent);
+    }
+
+    // The user's recent intents, newest first; empty once the conversation has been idle too long.
+    public List<ChatIntent> recent(long userId) {
+        Ring ring = conversations.getIfPresent(userId);
+        return ring == null ? List.of() : ring.newestFirst();
+    }
+
+    public long conversationCount() {
+        return conversations.estimatedSize();
+    }
+
+    public long estimatedBytes() {
+        return conversations.estimatedSize() * (CONVERSATION_OVERHEAD_BYTES + (long) turns * Integer.BYTES);
+    }
+}
@@ -0,0 +1,92 @@
+package com.task.task_manager.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
+
+// Per-user data version kept in the shared key-value store. Every task, subtask, reminder and habit write
+// replaces it, and the list GETs answer If-None-Match from it without running their queries.
+// A version is a random token seeded by the first read after a write, not a counter, so a store that was
+// flushed, evicted the key or restarted empty hands out new tags rather than counting back up to old ones.
+@Service
+public class DataVersionService {
+
+    private static final Logger log = LoggerFactory.getLogger(DataVersionService.class);
+    static final String KEY_PREFIX = "dataversion:";
+    private static final Duration TTL = Duration.ofDays(30);
+    private static final Object PENDING_BUMPS = new Object();
+
+    private final KeyValueStore keyValueStore;
+    // Users whose data changed but whose version could not be dropped; their tags are not trusted until it is.
+    private final Set<Long> unbumped = ConcurrentHashMap.newKeySet();
+
+    public DataVersionService(KeyValueStore keyValueStore) {
+        this.keyValueStore = keyValueStore;
+    }
+
+    // Once per user and transaction, after it commits, however many rows it wrote.
+    public void bump(long userId) {
+        PerTransaction.add(PENDING_BUMPS, PerTransaction.Phase.AFTER_COMMIT, LinkedHashSet<Long>::new,
+                pending -> pending.add(userId), pending -> pending.forEach(this::drop));
+    }
+
+    private boolean drop(long userId) {
+        try {
+            keyValueStore.delete(KEY_PREFIX + userId);
+            unbumped.remove(userId);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Could not bump data version of user {}", userId, e);
+            unbumped.add(userId);
+            return false;
+        }
+    }
+
+    // The user's version, seeding one when there is none. It is also what TaskViewCache keys its entries
+    // on, so a cached view is only served under the tag it was loaded with. Null when no version can be
+    // trusted: the store cannot be read, or a write's bump is still pending. Callers then neither cache
+    // nor answer 304.
+    public String current(long userId) {
+        if (unbumped.contains(userId) && !drop(userId)) {
+            return null;
+        }
+        String key = KEY_PREFIX + userId;
+        try {
+            String version = keyValueStore.get(key);
+            if (version != null) {
+                return version;
+            }
+            String seeded = Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36);
+            if (keyValueStore.setIfAbsent(key, seeded, TTL)) {
+                return seeded;
+            }
+            // Another reader seeded it first; a null here means a write dropped it again, and the next read reseeds.
+            version = keyValueStore.get(key);
+            return version == null ? seeded : version;
+        } catch (RuntimeException e) {
+            log.warn("Could not read data version of user {}", userId, e);
+            return null;
+        }
+    }
+
+    // The list views also depend on today's date, so it is part of the tag.
+    public String etag(long userId) {
+        String version = current(userId);
+        return version == null ? null : "W/\"" + version + "-" + LocalDate.now() + "\"";
+    }
+
+    // True when the client's copy is current; the response is then already a 304 with the ETag set.
+    // Otherwise the ETag header is set for the 200 that follows, unless there is no version to trust.
+    public boolean notModified(long userId, WebRequest request) {
+        String etag = etag(userId);
+        return etag != null && request.checkNotModified(etag);
+    }
+}
@@ -1,20 +1,37 @@
 package com.task.task_manager.Service;
 
+import java.time.LocalDateTime;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import com.task.task_manager.Model.User;
-import com.task.task_manager.Repo.ForgetPasswordRepo;
+import com.task.task_manager.Exception.UserNotFoundException;
+import com.task.task_manager.Model.ActivityLog;
+import com.task.task_manager.Repo.ActivityLogRepo;
+import com.task.task_manager.Repo.UserRepo;
 
 import jakarta.transaction.Transactional;
 
+// The reset codes live in the OtpStore; the only database work of the flow is this final write.
+// The caller hashes the new password before calling it.
 @Service
 public class ForgetPasswordService {
 
- @Autowired
-    private ForgetPasswordRepo forgetPasswordRepo;
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private ActivityLogRepo activityLogRepo;
+
     @Transactional
-    public void deleteByUser(User user) {
-        forgetPasswordRepo.deleteByUser(user);
+    public void resetPassword(long userId, String passwordHash) {
+        if (userRepo.updatePassword(userId, passwordHash) == 0) {
+            throw new UserNotFoundException("Please provide a valid email");
+        }
+        activityLogRepo.save(ActivityLog.builder()
+            .user(userRepo.getReferenceById(userId))
+            .action("password changed after OTP verification")
+            .timestamp(LocalDateTime.now())
+            .build());
     }
 }
@@ -0,0 +1,115 @@
+package com.task.task_manager.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Finds the keyword closest to a misspelled word. The vocabulary is compiled once into a trie, and
+// a lookup walks it carrying one row of the edit-distance table per trie depth. That is the
+// Levenshtein automaton of the word run over every keyword at once, shared prefixes included, and
+// a branch is abandoned as soon as no cell in its row is within the tolerance of the keywords below it.
+// Distance is optimal string alignment: an adjacent transposition ("todya") costs one edit.
+// How many edits a keyword tolerates grows with its length; short keywords are exact only, since
+// "how" is one edit from "show" and "edit" one from "exit".
+public final class FuzzyKeywordMatcher {
+
+    private static final int MAX_EDITS = 2;
+
+    private static final class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private int keyword = -1;
+        private int tolerance;   // most edits any keyword at or below this node allows
+
+        private Node child(char c) {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == c) {
+                    return children[i];
+                }
+            }
+            labels = Arrays.copyOf(labels, labels.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            labels[labels.length - 1] = c;
+            return children[children.length - 1] = new Node();
+        }
+    }
+
+    private final Node root = new Node();
+    private final int[] tolerance;
+    private final int maxLength;
+    // One row per trie depth, reused by every lookup on the thread.
+    private final ThreadLocal<int[][]> rows;
+
+    // Keywords that are not a single lowercase word, or too short to correct, are left out;
+    // lookups return the keyword's index in this list.
+    public FuzzyKeywordMatcher(List<String> keywords) {
+        this.tolerance = new int[keywords.size()];
+        int longest = 0;
+        for (int k = 0; k < keywords.size(); k++) {
+            String keyword = keywords.get(k);
+            tolerance[k] = editsAllowed(keyword.length());
+            if (tolerance[k] == 0 || !keyword.chars().allMatch(c -> c >= 'a' && c <= 'z')) {
+                continue;
+            }
+            Node node = root;
+            for (char c : keyword.toCharArray()) {
+                node = node.child(c);
+                node.tolerance = Math.max(node.tolerance, tolerance[k]);
+            }
+            node.keyword = k;
+            longest = Math.max(longest, keyword.length());
+        }
+        this.maxLength = longest;
+        int columns = longest + MAX_EDITS + 1;
+        this.rows = ThreadLocal.withInitial(() -> new int[columns][columns]);
+    }
+
+    private static int editsAllowed(int length) {
+        return length >= 8 ? 2 : length >= 5 ? 1 : 0;
+    }
+
+    // Index of the keyword nearest to word[0, length) within that keyword's tolerance, the earlier
+    // keyword on a tie, or -1. The word must already be lowercase.
+    public int closest(char[] word, int length) {
+        if (length < 4 || length > maxLength + MAX_EDITS) {
+            return -1;
+        }
+        int[][] rows = this.rows.get();
+        for (int j = 0; j <= length; j++) {
+            rows[0][j] = j;
+        }
+        long best = NONE;
+        for (int i = 0; i < root.labels.length; i++) {
+            best = walk(root.children[i], root.labels[i], (char) 0, 1, word, length, rows, best);
+        }
+        return best == NONE ? -1 : (int) best;
+    }
+
+    // The best match so far packed as distance << 32 | keyword, so the lower value is the better one.
+    private static final long NONE = Long.MAX_VALUE;
+
+    private long walk(Node node, char c, char previous, int depth, char[] word, int length, int[][] rows, long best) {
+        int[] above = rows[depth - 1];
+        int[] row = rows[depth];
+        row[0] = depth;
+        int smallest = row[0];
+        for (int j = 1; j <= length; j++) {
+            int cost = word[j - 1] == c ? 0 : 1;
+            int cell = Math.min(Math.min(above[j] + 1, row[j - 1] + 1), above[j - 1] + cost);
+            if (depth > 1 && j > 1 && word[j - 1] == previous && word[j - 2] == c) {
+                cell = Math.min(cell, rows[depth - 2][j - 2] + 1);
+            }
+            row[j] = cell;
+            smallest = Math.min(smallest, cell);
+        }
+        if (node.keyword >= 0 && row[length] <= tolerance[node.keyword]) {
+            best = Math.min(best, (long) row[length] << 32 | node.keyword);
+        }
+        if (smallest > node.tolerance) {
+            return best;
+        }
+        for (int i = 0; i < node.labels.length; i++) {
+            best = walk(node.children[i], node.labels[i], c, depth + 1, word, length, rows, best);
+        }
+        return best;
+    }
+}
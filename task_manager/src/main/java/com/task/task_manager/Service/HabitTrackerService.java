@@ -1,22 +1,29 @@
 package com.task.task_manager.Service;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.task.task_manager.DTO.HabitTrackerAddDTO;
 import com.task.task_manager.DTO.HabitTrackerSendDTO;
 import com.task.task_manager.DTO.HabitTrackerUpdateDTO;
+import com.task.task_manager.Exception.AccessDeniedException;
 import com.task.task_manager.Exception.HabitNotFoundException;
-import com.task.task_manager.Exception.UserNotFoundException;
+import com.task.task_manager.Exception.ResourceNotFoundException;
+import com.task.task_manager.Model.ChangeLogEntry.EntityType;
 import com.task.task_manager.Model.HabitTracker;
+import com.task.task_manager.Model.TaskStatus;
 import com.task.task_manager.Model.User;
 import com.task.task_manager.Repo.HabitTrackerRepo;
 import com.task.task_manager.Repo.UserRepo;
 
+import jakarta.transaction.Transactional;
+
 @Service
 public class HabitTrackerService {
 
@@ -26,44 +33,72 @@ public class HabitTrackerService {
     @Autowired
     private UserRepo userRepo;
 
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private ChatStatsService chatStatsService;
+
+    @Transactional
     public void createHabit(HabitTrackerAddDTO dto, User user) {
         
            HabitTracker habitTracker=new HabitTracker();
            habitTracker.setTitle(dto.title());
-           habitTracker.setStatus("INCOMPLETE");
+           habitTracker.setStatus(TaskStatus.INCOMPLETE);
            habitTracker.setDate(LocalDate.now());
            habitTracker.setUser(user);
 
            habitTrackerRepo.save(habitTracker);
+           changeLogService.upserted(user.getId(), EntityType.HABIT, habitTracker.getId());
+           chatStatsService.habitsChanged(user.getId());
     }
 
-    public void updateHabit(HabitTrackerUpdateDTO dto, User user) {
-        HabitTracker habitTracker = habitTrackerRepo.findById(dto.id())
-                .orElseThrow(() -> new HabitNotFoundException("Daily Task with ID " + dto.id() + " not found"));
-
-        habitTracker.setTitle(dto.title());
-        habitTracker.setStatus(dto.status());
-        habitTracker.setUser(user);
-
-        habitTrackerRepo.save(habitTracker);
+    @Transactional
+    public void updateHabit(HabitTrackerUpdateDTO dto, long userId) {
+        if (habitTrackerRepo.updateOwned(dto.id(), userId, dto.title(), dto.status()) == 0) {
+            if (habitTrackerRepo.existsById(dto.id())) {
+                throw new AccessDeniedException("You are not allowed to update this task");
+            }
+            throw new HabitNotFoundException("Daily Task with ID " + dto.id() + " not found");
+        }
+        changeLogService.upserted(userId, EntityType.HABIT, dto.id());
+        chatStatsService.habitsChanged(userId);
     }
 
-    public void deleteTask(long id) {
-        habitTrackerRepo.deleteById(id);
+    @Transactional
+    public void deleteTask(long id, long userId) {
+        if (habitTrackerRepo.deleteOwned(id, userId) == 0) {
+            if (habitTrackerRepo.existsById(id)) {
+                throw new AccessDeniedException("You are not allowed to delete this task");
+            }
+            throw new ResourceNotFoundException("Task not found");
+        }
+        changeLogService.deleted(userId, EntityType.HABIT, id);
+        chatStatsService.habitsChanged(userId);
     }
 
-    public List<HabitTrackerSendDTO> getTodayHabits(String username) {
+    public List<HabitTrackerSendDTO> getTodayHabits(long userId) {
     LocalDate today = LocalDate.now();
-    User user = userRepo.findByUsername(username)
-            .orElseThrow(() -> new UserNotFoundException("User not found"));
+    List<HabitTracker> habits = habitTrackerRepo.findByUserAndDate(userRepo.getReferenceById(userId), today);
 
-    List<HabitTracker> habits = habitTrackerRepo.findByUserAndDate(user, today);
-
-    return habits.stream()
-            .map(h -> new HabitTrackerSendDTO(h.getId(), h.getTitle(), h.getStatus()))
-            .collect(Collectors.toList());
+    return toSendDTOs(habits);
 }
 
+    // Snapshot pages and partial reads for the change feed.
+    public List<HabitTrackerSendDTO> getHabitsAfter(long userId, long afterId, int limit) {
+        return toSendDTOs(habitTrackerRepo.findPageAfter(userId, afterId, PageRequest.of(0, limit)));
+    }
+
+    public List<HabitTrackerSendDTO> getHabits(long userId, Collection<Long> ids) {
+        return toSendDTOs(habitTrackerRepo.findByUserIdAndIds(userId, ids));
+    }
+
+    private List<HabitTrackerSendDTO> toSendDTOs(List<HabitTracker> habits) {
+        return habits.stream()
+                .map(h -> new HabitTrackerSendDTO(h.getId(), h.getTitle(), h.getStatus()))
+                .collect(Collectors.toList());
+    }
+
  
     
 }
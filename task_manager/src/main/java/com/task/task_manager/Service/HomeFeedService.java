@@ -0,0 +1,117 @@
+package com.task.task_manager.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.task.task_manager.DTO.HabitTrackerSendDTO;
+import com.task.task_manager.DTO.HomeFeedDTO;
+import com.task.task_manager.DTO.ReminderSendDTO;
+import com.task.task_manager.DTO.TaskSendDTO;
+import com.task.task_manager.Exception.NoUpcomingTasksException;
+import com.task.task_manager.Exception.RemindersNotFoundException;
+import com.task.task_manager.Repo.UserRepo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Builds the home feed by running its sections' reads at the same time on a bounded pool, so the
+// page waits for the slowest section instead of the sum of them. Each section has its own timeout;
+// one that fails, times out or finds the pool full is left out and named in the feed's
+// unavailable list rather than failing the page. A timed-out read still finishes on its thread,
+// which is why the pool and its queue are bounded.
+@Service
+public class HomeFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(HomeFeedService.class);
+
+    private final TaskService taskService;
+    private final ReminderService reminderService;
+    private final HabitTrackerService habitTrackerService;
+    private final UserRepo userRepo;
+    private final MeterRegistry meterRegistry;
+    private final Duration sectionTimeout;
+    private final ThreadPoolExecutor executor;
+
+    public HomeFeedService(TaskService taskService, ReminderService reminderService,
+            HabitTrackerService habitTrackerService, UserRepo userRepo, MeterRegistry meterRegistry,
+            @Value("${app.home.section-timeout:PT2S}") Duration sectionTimeout,
+            @Value("${app.home.threads:8}") int threads,
+            @Value("${app.home.queue-capacity:256}") int queueCapacity) {
+        this.taskService = taskService;
+        this.reminderService = reminderService;
+        this.habitTrackerService = habitTrackerService;
+        this.userRepo = userRepo;
+        this.meterRegistry = meterRegistry;
+        this.sectionTimeout = sectionTimeout;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity));
+    }
+
+    public HomeFeedDTO load(long userId) {
+        Map<String, CompletableFuture<?>> sections = new LinkedHashMap<>();
+        CompletableFuture<List<TaskSendDTO>> upcomingTasks = section("upcomingTasks", sections, () -> {
+            // The list services only throw for an empty list in the 404 compatibility mode.
+            try {
+                return taskService.getUpcomingTasks(userId);
+            } catch (NoUpcomingTasksException e) {
+                return List.of();
+            }
+        });
+        CompletableFuture<List<ReminderSendDTO>> reminders = section("reminders", sections, () -> {
+            try {
+                return reminderService.getReminders(userRepo.getReferenceById(userId));
+            } catch (RemindersNotFoundException e) {
+                return List.of();
+            }
+        });
+        CompletableFuture<List<HabitTrackerSendDTO>> habits = section("habits", sections,
+                () -> habitTrackerService.getTodayHabits(userId));
+        CompletableFuture<Map<String, Map<String, Long>>> counts = section("counts", sections,
+                () -> Map.of("today", taskService.getTodayTaskStatusCounts(userId),
+                        "pending", taskService.getTaskStatusCounts(userId)));
+
+        CompletableFuture.allOf(sections.values().toArray(CompletableFuture[]::new)).join();
+        List<String> unavailable = sections.entrySet().stream()
+                .filter(section -> section.getValue().join() == null)
+                .map(Map.Entry::getKey)
+                .toList();
+        return new HomeFeedDTO(upcomingTasks.join(), reminders.join(), habits.join(), counts.join(), unavailable);
+    }
+
+    // Completes with the section's value, or with null once it has failed or timed out.
+    private <T> CompletableFuture<T> section(String name, Map<String, CompletableFuture<?>> sections, Supplier<T> read) {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(read, executor);
+        } catch (RejectedExecutionException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future = future
+                .orTimeout(sectionTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    log.warn("Home feed section {} unavailable", name, e);
+                    meterRegistry.counter("home.section.unavailable", "section", name).increment();
+                    return null;
+                });
+        sections.put(name, future);
+        return future;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
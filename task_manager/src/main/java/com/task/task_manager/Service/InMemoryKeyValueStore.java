@@ -0,0 +1,313 @@
+package com.task.task_manager.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+// Single-node backend: a ConcurrentHashMap of immutable entries, each replaced through compute so
+// every operation is atomic per key, the way a Redis command is.
+// Reads treat an entry past its deadline as missing, so expiry is exact. The memory is reclaimed
+// by a hashed timing wheel: a key with a TTL sits in the slot of its deadline tick, and one thread
+// advancing a slot per tick removes whatever in that slot has expired, touching only those keys
+// instead of scanning the map. A deadline more than a rotation away simply waits another round.
+// Pub/sub delivers synchronously to the subscribers on this node.
+@Service
+@ConditionalOnProperty(name = "app.kv.backend", havingValue = "memory")
+public class InMemoryKeyValueStore implements KeyValueStore {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryKeyValueStore.class);
+    private static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    // Exactly one of value and hash is set.
+    private record Entry(String value, Map<String, String> hash, long expiresAt) {
+
+        boolean liveAt(long now) {
+            return expiresAt > now;
+        }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, List<Consumer<String>>> subscribers = new ConcurrentHashMap<>();
+
+    private final long tickMillis;
+    private final Set<String>[] wheel;
+    private final ScheduledExecutorService expiry;
+    private long currentTick;   // only touched by the expiry thread
+
+    @SuppressWarnings("unchecked")
+    public InMemoryKeyValueStore(@Value("${app.kv.memory.tick:PT1S}") Duration tick,
+            @Value("${app.kv.memory.wheel-slots:512}") int wheelSlots) {
+        this.tickMillis = Math.max(1, tick.toMillis());
+        this.wheel = new Set[wheelSlots];
+        for (int i = 0; i < wheelSlots; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.currentTick = System.currentTimeMillis() / tickMillis;
+        this.expiry = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kv-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        expiry.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public String get(String key) {
+        Entry entry = live(key);
+        return entry == null ? null : entry.value();
+    }
+
+    @Override
+    public long increment(String key) {
+        long now = System.currentTimeMillis();
+        Entry updated = entries.compute(key, (k, entry) -> {
+            if (entry == null || !entry.liveAt(now)) {
+                return new Entry("1", null, NO_EXPIRY);
+            }
+            if (entry.value() == null) {
+                throw new IllegalStateException("Key " + k + " holds a hash, not a counter");
+            }
+            return new Entry(String.valueOf(Long.parseLong(entry.value()) + 1), null, entry.expiresAt());
+        });
+        return Long.parseLong(updated.value());
+    }
+
+    @Override
+    public long add(String key, long delta, Duration ttl) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttl.toMillis();
+        Entry updated = entries.compute(key, (k, entry) -> {
+            if (entry == null || !entry.liveAt(now)) {
+                return new Entry(String.valueOf(delta), null, expiresAt);
+            }
+            if (entry.value() == null) {
+                throw new IllegalStateException("Key " + k + " holds a hash, not a counter");
+            }
+            return new Entry(String.valueOf(Long.parseLong(entry.value()) + delta), null, expiresAt);
+        });
+        schedule(key, expiresAt);
+        return Long.parseLong(updated.value());
+    }
+
+    @Override
+    public boolean setIfAbsent(String key, String value, Duration ttl) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttl.toMillis();
+        boolean[] stored = new boolean[1];
+        entries.compute(key, (k, entry) -> {
+            if (entry != null && entry.liveAt(now)) {
+                return entry;
+            }
+            stored[0] = true;
+            return new Entry(value, null, expiresAt);
+        });
+        if (stored[0]) {
+            schedule(key, expiresAt);
+        }
+        return stored[0];
+    }
+
+    @Override
+    public void delete(String key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public String hashGet(String key, String field) {
+        Entry entry = live(key);
+        return entry == null || entry.hash() == null ? null : entry.hash().get(field);
+    }
+
+    @Override
+    public void hashPut(String key, String field, String value, Duration ttl) {
+        computeHash(key, ttl, hash -> {
+            Map<String, String> updated = hash == null ? new HashMap<>() : new HashMap<>(hash);
+            updated.put(field, value);
+            return updated;
+        });
+    }
+
+    // The expected keys are read inside the compute of the hash, so a write to the hash that follows
+    // a change of one of them (an eviction after its version bump) always lands after this put.
+    @Override
+    public boolean hashPutIfUnchanged(String key, String field, String value, Duration ttl, Map<String, String> expected) {
+        long now = System.currentTimeMillis();
+        boolean[] stored = new boolean[1];
+        Entry updated = entries.compute(key, (k, entry) -> {
+            Entry current = entry != null && entry.liveAt(now) ? entry : null;
+            if (current != null && current.hash() == null) {
+                throw new IllegalStateException("Key " + k + " holds a value, not a hash");
+            }
+            if (!holds(expected)) {
+                return current;
+            }
+            stored[0] = true;
+            Map<String, String> hash = current == null ? new HashMap<>() : new HashMap<>(current.hash());
+            hash.put(field, value);
+            return new Entry(null, Map.copyOf(hash), current != null ? current.expiresAt() : now + ttl.toMillis());
+        });
+        if (stored[0]) {
+            schedule(key, updated.expiresAt());
+        }
+        return stored[0];
+    }
+
+    @Override
+    public Map<String, String> hashGetAll(String key) {
+        Entry entry = live(key);
+        return entry == null || entry.hash() == null ? Map.of() : entry.hash();
+    }
+
+    // The expected keys are read inside the compute, in the map's order, like hashPutIfUnchanged.
+    @Override
+    public boolean hashCreate(String key, Map<String, String> fields, Duration ttl, Map<String, String> expected) {
+        boolean[] stored = new boolean[1];
+        computeHash(key, ttl, hash -> {
+            if (hash != null || !holds(expected)) {
+                return hash;
+            }
+            stored[0] = true;
+            return fields;
+        });
+        return stored[0];
+    }
+
+    @Override
+    public void hashIncrementIfPresent(String key, Map<String, Long> deltas) {
+        computeHash(key, null, hash -> {
+            if (hash == null) {
+                return null;
+            }
+            Map<String, String> updated = new HashMap<>(hash);
+            deltas.forEach((field, delta) ->
+                    updated.merge(field, String.valueOf(delta), (value, d) -> String.valueOf(Long.parseLong(value) + delta)));
+            return updated;
+        });
+    }
+
+    @Override
+    public void hashPutIfPresent(String key, Map<String, String> fields) {
+        computeHash(key, null, hash -> {
+            if (hash == null) {
+                return null;
+            }
+            Map<String, String> updated = new HashMap<>(hash);
+            updated.putAll(fields);
+            return updated;
+        });
+    }
+
+    // Replaces the hash at the key with update(current) in one atomic step; current is null when
+    // the key is missing or expired, and a null result deletes the key. Returning current itself
+    // leaves the entry untouched. A null ttl keeps the current deadline (none for a new key).
+    public Map<String, String> computeHash(String key, Duration ttl, UnaryOperator<Map<String, String>> update) {
+        long now = System.currentTimeMillis();
+        Entry updated = entries.compute(key, (k, entry) -> {
+            Entry current = entry != null && entry.liveAt(now) ? entry : null;
+            if (current != null && current.hash() == null) {
+                throw new IllegalStateException("Key " + k + " holds a value, not a hash");
+            }
+            Map<String, String> next = update.apply(current == null ? null : current.hash());
+            if (next == null) {
+                return null;
+            }
+            if (current != null && next == current.hash()) {
+                return current;
+            }
+            long expiresAt = ttl != null ? now + ttl.toMillis() : current != null ? current.expiresAt() : NO_EXPIRY;
+            return new Entry(null, Map.copyOf(next), expiresAt);
+        });
+        if (updated == null) {
+            return null;
+        }
+        schedule(key, updated.expiresAt());
+        return updated.hash();
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        for (Consumer<String> listener : subscribers.getOrDefault(channel, List.of())) {
+            try {
+                listener.accept(message);
+            } catch (RuntimeException e) {
+                log.warn("Subscriber of {} failed", channel, e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        subscribers.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    // Keys currently held, including expired ones the wheel has not reached yet.
+    public int size() {
+        return entries.size();
+    }
+
+    private boolean holds(Map<String, String> expected) {
+        for (Map.Entry<String, String> value : expected.entrySet()) {
+            Entry entry = live(value.getKey());
+            String current = entry == null || entry.value() == null ? "0" : entry.value();
+            if (!current.equals(value.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Entry live(String key) {
+        Entry entry = entries.get(key);
+        return entry == null || !entry.liveAt(System.currentTimeMillis()) ? null : entry;
+    }
+
+    private void schedule(String key, long expiresAt) {
+        if (expiresAt != NO_EXPIRY) {
+            wheel[(int) Math.floorMod(expiresAt / tickMillis, (long) wheel.length)].add(key);
+        }
+    }
+
+    // Sweeps every slot up to the current tick. A key is dropped from its slot before its entry is
+    // checked, and put back if it is still live, so a writer re-scheduling it concurrently is never lost.
+    private void advance() {
+        try {
+            long now = System.currentTimeMillis();
+            long nowTick = now / tickMillis;
+            for (; currentTick <= nowTick; currentTick++) {
+                Set<String> slot = wheel[(int) Math.floorMod(currentTick, (long) wheel.length)];
+                for (String key : new ArrayList<>(slot)) {
+                    slot.remove(key);
+                    Entry entry = entries.computeIfPresent(key, (k, e) -> e.liveAt(now) ? e : null);
+                    if (entry != null) {
+                        schedule(key, entry.expiresAt());
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Key expiry sweep failed", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        expiry.shutdownNow();
+    }
+}
@@ -0,0 +1,82 @@
+package com.task.task_manager.Service;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+// The same hash layout and rules as RedisOtpStore, each operation one computeHash call on the
+// in-memory store instead of a Lua script.
+@Service
+@ConditionalOnProperty(name = "app.kv.backend", havingValue = "memory")
+public class InMemoryOtpStore implements OtpStore {
+
+    private static final String KEY_PREFIX = "otp:";
+
+    private final InMemoryKeyValueStore store;
+
+    public InMemoryOtpStore(InMemoryKeyValueStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public boolean issue(Purpose purpose, String email, String code, String payload, Duration ttl) {
+        boolean[] stored = new boolean[1];
+        store.computeHash(key(purpose, email), ttl, current -> {
+            if (current != null) {
+                return current;
+            }
+            stored[0] = true;
+            return entry(code, payload);
+        });
+        return stored[0];
+    }
+
+    @Override
+    public void reissue(Purpose purpose, String email, String code, String payload, Duration ttl) {
+        store.computeHash(key(purpose, email), ttl, current -> entry(code, payload));
+    }
+
+    @Override
+    public Verification verify(Purpose purpose, String email, String code) {
+        Verification[] result = new Verification[1];
+        store.computeHash(key(purpose, email), null, current -> {
+            if (current == null) {
+                result[0] = new Verification(Status.EXPIRED, null);
+                return null;
+            }
+            if (current.get("code").equals(code)) {
+                result[0] = new Verification(Status.VERIFIED, current.get("payload"));
+                return null;
+            }
+            int attempts = Integer.parseInt(current.get("attempts")) + 1;
+            if (attempts >= MAX_ATTEMPTS) {
+                result[0] = new Verification(Status.LOCKED, null);
+                return null;
+            }
+            result[0] = new Verification(Status.INVALID, null);
+            return Map.of("code", current.get("code"), "payload", current.get("payload"),
+                    "attempts", String.valueOf(attempts));
+        });
+        return result[0];
+    }
+
+    @Override
+    public String consume(Purpose purpose, String email) {
+        String[] payload = new String[1];
+        store.computeHash(key(purpose, email), null, current -> {
+            payload[0] = current == null ? null : current.get("payload");
+            return null;
+        });
+        return payload[0];
+    }
+
+    private static Map<String, String> entry(String code, String payload) {
+        return Map.of("code", code, "payload", payload, "attempts", "0");
+    }
+
+    private static String key(Purpose purpose, String email) {
+        return KEY_PREFIX + purpose.key() + ":" + email;
+    }
+}
@@ -0,0 +1,54 @@
+package com.task.task_manager.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// The shared key-value operations the app needs: data versions, counters, locks, per-user hashes and
+// pub/sub. Chosen by app.kv.backend: "redis" (default) for multi-node deployments, "memory" for a
+// single node without Redis. Every operation is atomic on the key it touches.
+public interface KeyValueStore {
+
+    String get(String key);
+
+    // Adds one to the counter, starting from 0 when the key is missing; returns the new value.
+    long increment(String key);
+
+    // Adds delta to the counter, starting from 0 when the key is missing, and (re)starts its TTL;
+    // returns the new value.
+    long add(String key, long delta, Duration ttl);
+
+    // Stores the value with a TTL unless the key exists; returns whether it was stored.
+    boolean setIfAbsent(String key, String value, Duration ttl);
+
+    void delete(String key);
+
+    String hashGet(String key, String field);
+
+    // Sets one field and (re)starts the TTL of the whole hash.
+    void hashPut(String key, String field, String value, Duration ttl);
+
+    // Sets one field only while every key in expected still holds its value (a missing key reads as
+    // "0"); returns whether it was set. A new hash gets the TTL and an existing one keeps its own, so
+    // no field outlives the TTL counted from when the hash was created.
+    boolean hashPutIfUnchanged(String key, String field, String value, Duration ttl, Map<String, String> expected);
+
+    // Every field of the hash; empty when the key is missing.
+    Map<String, String> hashGetAll(String key);
+
+    // Stores the whole hash with a TTL unless the key exists or a key in expected no longer holds its
+    // value (a missing key reads as "0"); returns whether it was stored.
+    boolean hashCreate(String key, Map<String, String> fields, Duration ttl, Map<String, String> expected);
+
+    // Adds each delta to its field (a missing field counts as 0), but only if the hash exists.
+    // The TTL is left as it is.
+    void hashIncrementIfPresent(String key, Map<String, Long> deltas);
+
+    // Sets the fields only if the hash exists, leaving its TTL as it is.
+    void hashPutIfPresent(String key, Map<String, String> fields);
+
+    // Delivers to the subscribers of the channel on every node sharing the store.
+    void publish(String channel, String message);
+
+    void subscribe(String channel, Consumer<String> listener);
+}
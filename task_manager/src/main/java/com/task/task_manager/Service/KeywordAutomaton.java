@@ -0,0 +1,124 @@
+package com.task.task_manager.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+// Aho-Corasick automaton over up to 64 keywords, compiled to a dense transition table so a match
+// is one pass over the text with one array read per character and no allocation.
+// Matching is case-insensitive and finds keywords anywhere in the text, including inside words,
+// the same as String.contains on the lowercased text. The result has bit i set when keywords[i]
+// occurs. Immutable once built, so one instance can be shared by every request thread.
+public final class KeywordAutomaton {
+
+    private final char[] alphabet;      // sorted chars occurring in the keywords
+    private final int[] asciiIndex;     // column for chars below 128 in either case, 0 for chars in no keyword
+    private final int columns;          // a power of two, so a row offset maps back to its state by a shift
+    private final int shift;
+    private final int[] next;           // next[row + column] is the row offset (state * columns) to go to
+    private final long[] output;        // keywords ending at each state, through failure links
+
+    public KeywordAutomaton(List<String> keywords) {
+        if (keywords.size() > Long.SIZE) {
+            throw new IllegalArgumentException("At most 64 keywords, got " + keywords.size());
+        }
+        SortedSet<Character> chars = new TreeSet<>();
+        for (String keyword : keywords) {
+            for (char c : keyword.toCharArray()) {
+                chars.add(Character.toLowerCase(c));
+            }
+        }
+        this.alphabet = new char[chars.size()];
+        int n = 0;
+        for (char c : chars) {
+            alphabet[n++] = c;
+        }
+        this.columns = Integer.highestOneBit(Math.max(1, alphabet.length)) << 1;
+        this.shift = Integer.numberOfTrailingZeros(columns);
+        this.asciiIndex = new int[128];
+        for (char c = 0; c < 128; c++) {
+            int index = Arrays.binarySearch(alphabet, Character.toLowerCase(c));
+            asciiIndex[c] = index < 0 ? 0 : index + 1;
+        }
+
+        // Trie first, with -1 for missing edges.
+        List<int[]> trie = new ArrayList<>();
+        List<Long> ends = new ArrayList<>();
+        trie.add(emptyRow());
+        ends.add(0L);
+        for (int k = 0; k < keywords.size(); k++) {
+            int state = 0;
+            for (char c : keywords.get(k).toCharArray()) {
+                int column = column(c);
+                if (trie.get(state)[column] < 0) {
+                    trie.get(state)[column] = trie.size();
+                    trie.add(emptyRow());
+                    ends.add(0L);
+                }
+                state = trie.get(state)[column];
+            }
+            ends.set(state, ends.get(state) | 1L << k);
+        }
+
+        // Breadth-first, filling each missing edge from the failure state so the table is a full DFA.
+        int states = trie.size();
+        this.next = new int[states * columns];
+        this.output = new long[states];
+        int[] fail = new int[states];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int column = 0; column < columns; column++) {
+            int child = trie.get(0)[column];
+            next[column] = Math.max(child, 0);
+            if (child > 0) {
+                queue.add(child);
+            }
+        }
+        output[0] = ends.get(0);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            output[state] = ends.get(state) | output[fail[state]];
+            for (int column = 0; column < columns; column++) {
+                int child = trie.get(state)[column];
+                if (child >= 0) {
+                    fail[child] = next[fail[state] * columns + column];
+                    next[state * columns + column] = child;
+                    queue.add(child);
+                } else {
+                    next[state * columns + column] = next[fail[state] * columns + column];
+                }
+            }
+        }
+        // Store row offsets instead of state numbers, so the scan does one add per character.
+        for (int i = 0; i < next.length; i++) {
+            next[i] *= columns;
+        }
+    }
+
+    public long match(String text) {
+        long found = 0;
+        int row = 0;
+        for (int i = 0; i < text.length(); i++) {
+            row = next[row + column(text.charAt(i))];
+            found |= output[row >>> shift];
+        }
+        return found;
+    }
+
+    private int column(char c) {
+        if (c < 128) {
+            return asciiIndex[c];
+        }
+        int index = Arrays.binarySearch(alphabet, Character.toLowerCase(c));
+        return index < 0 ? 0 : index + 1;
+    }
+
+    private int[] emptyRow() {
+        int[] row = new int[columns];
+        Arrays.fill(row, -1);
+        return row;
+    }
+}
@@ -0,0 +1,197 @@
+package com.task.task_manager.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Per-user Server-Sent Events streams.
+// Connections are async servlet requests, so an idle subscriber holds a socket but no thread.
+// Every event goes through the shared store's pub/sub and each node delivers it to its own subscribers of that user.
+// Each connection has a bounded queue drained by a small sender pool; a subscriber that falls a whole
+// queue behind is disconnected and resyncs through /changes when it reconnects.
+@Service
+public class LiveUpdateHub {
+
+    public static final String CHANNEL = "live:events";
+
+    private static final Logger log = LoggerFactory.getLogger(LiveUpdateHub.class);
+
+    // One message carries one or more events of the same name for a user; a single object also
+    // reads as a list of one.
+    private record Envelope(long userId, String event,
+            @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY) List<JsonNode> data) {}
+
+    private final class Connection {
+        private final long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEventBuilder> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Connection(long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+    }
+
+    private final KeyValueStore keyValueStore;
+    private final ObjectMapper objectMapper;
+    private final Duration emitterTimeout;
+    private final int queueCapacity;
+    private final ExecutorService sender;
+
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Counter evictions;
+
+    public LiveUpdateHub(KeyValueStore keyValueStore, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${app.live.emitter-timeout:PT30M}") Duration emitterTimeout,
+            @Value("${app.live.queue-capacity:64}") int queueCapacity,
+            @Value("${app.live.send-threads:4}") int sendThreads) {
+        this.keyValueStore = keyValueStore;
+        this.objectMapper = objectMapper;
+        this.emitterTimeout = emitterTimeout;
+        this.queueCapacity = queueCapacity;
+        this.sender = Executors.newFixedThreadPool(sendThreads);
+        meterRegistry.gauge("live.connections", connectionCount);
+        this.evictions = meterRegistry.counter("live.evictions");
+        keyValueStore.subscribe(CHANNEL, this::onEvent);
+    }
+
+    public SseEmitter subscribe(long userId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Connection connection = new Connection(userId, emitter);
+        connections.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(connection);
+        connectionCount.incrementAndGet();
+
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(e -> remove(connection));
+
+        enqueue(connection, SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    // Sends to every subscriber of the user on every node. Falls back to local delivery when the store is down.
+    public void publish(long userId, String event, Object data) {
+        publishAll(userId, event, List.of(data));
+    }
+
+    // Several events in one message, delivered in order as separate SSE events.
+    public void publishAll(long userId, String event, List<?> data) {
+        List<JsonNode> nodes = data.stream().<JsonNode>map(objectMapper::valueToTree).toList();
+        Envelope envelope = new Envelope(userId, event, nodes);
+        try {
+            keyValueStore.publish(CHANNEL, objectMapper.writeValueAsString(envelope));
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Could not publish live event for user {}, delivering locally only", userId, e);
+            deliver(envelope);
+        }
+    }
+
+    private void onEvent(String body) {
+        try {
+            deliver(objectMapper.readValue(body, Envelope.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed live event '{}'", body);
+        }
+    }
+
+    // Lets proxies and the client notice dead connections; a failed write removes the subscriber.
+    @Scheduled(fixedRateString = "${app.live.heartbeat-interval:PT25S}")
+    public void heartbeat() {
+        connections.values().forEach(set -> set.forEach(connection ->
+                enqueue(connection, SseEmitter.event().comment("ping"))));
+    }
+
+    public int connectionCount() {
+        return connectionCount.get();
+    }
+
+    private void deliver(Envelope envelope) {
+        Set<Connection> subscribers = connections.get(envelope.userId());
+        if (subscribers == null) {
+            return;
+        }
+        for (Connection connection : subscribers) {
+            for (JsonNode data : envelope.data()) {
+                enqueue(connection, SseEmitter.event().name(envelope.event()).data(data));
+            }
+        }
+    }
+
+    private void enqueue(Connection connection, SseEventBuilder event) {
+        if (!connection.queue.offer(event)) {
+            evictions.increment();
+            log.info("Disconnecting slow live subscriber of user {}", connection.userId);
+            remove(connection);
+            connection.emitter.complete();
+            return;
+        }
+        scheduleDrain(connection);
+    }
+
+    private void scheduleDrain(Connection connection) {
+        if (connection.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(connection));
+        }
+    }
+
+    private void drain(Connection connection) {
+        try {
+            SseEventBuilder event;
+            while ((event = connection.queue.poll()) != null) {
+                connection.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            remove(connection);
+            connection.queue.clear();
+            return;
+        } finally {
+            connection.draining.set(false);
+        }
+        // An event may have been queued after the last poll but before the flag was cleared.
+        if (!connection.queue.isEmpty()) {
+            scheduleDrain(connection);
+        }
+    }
+
+    private void remove(Connection connection) {
+        connections.computeIfPresent(connection.userId, (id, set) -> {
+            if (set.remove(connection)) {
+                connectionCount.decrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+    }
+}
@@ -0,0 +1,47 @@
+package com.task.task_manager.Service;
+
+import java.time.Duration;
+
+// Pending one-time codes, one entry per purpose and email, each expiring on its own.
+// Issuing and verifying are each a single atomic operation, so two requests racing on the same
+// email cannot both issue a code or both consume one.
+public interface OtpStore {
+
+    enum Purpose {
+        REGISTRATION("register"),
+        PASSWORD_RESET("reset"),
+        // Left behind by a verified reset code; the password change consumes it.
+        PASSWORD_RESET_VERIFIED("reset-verified");
+
+        private final String key;
+
+        Purpose(String key) {
+            this.key = key;
+        }
+
+        public String key() {
+            return key;
+        }
+    }
+
+    enum Status { VERIFIED, INVALID, EXPIRED, LOCKED }
+
+    // payload is what the flow needs back once the code is verified; null unless VERIFIED.
+    record Verification(Status status, String payload) {}
+
+    // Wrong codes allowed before the pending entry is dropped and the flow has to start over.
+    int MAX_ATTEMPTS = 5;
+
+    // Stores the code and payload unless a code is already pending; returns whether it was stored.
+    boolean issue(Purpose purpose, String email, String code, String payload, Duration ttl);
+
+    // Stores the code and payload, replacing any pending code and its attempt count.
+    void reissue(Purpose purpose, String email, String code, String payload, Duration ttl);
+
+    // Checks the code and, when it matches, deletes the entry and returns its payload.
+    // A wrong code counts an attempt; the MAX_ATTEMPTS-th wrong one deletes the entry.
+    Verification verify(Purpose purpose, String email, String code);
+
+    // Deletes the pending entry whatever its code and returns its payload, or null if there was none.
+    String consume(Purpose purpose, String email);
+}
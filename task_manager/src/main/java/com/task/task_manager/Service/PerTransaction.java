@@ -0,0 +1,62 @@
+package com.task.task_manager.Service;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Collects side writes of a transaction so they are applied once for all of it instead of once per
+// call. The first call in a transaction binds a buffer under the key and registers its flush; later
+// calls add to the same buffer. Database writes flush before the commit, inside the transaction;
+// cache evictions and messages flush after it, like AfterCommit; releasing a mark the transaction
+// set flushes once it has ended either way, after every after-commit flush. Without a transaction
+// the buffer is flushed right away. A before-commit flush may only add to after-commit buffers: one
+// bound while the before-commit flushes are running would never be flushed.
+final class PerTransaction {
+
+    enum Phase { BEFORE_COMMIT, AFTER_COMMIT, AFTER_COMPLETION }
+
+    private PerTransaction() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> void add(Object key, Phase phase, Supplier<T> create, Consumer<T> add, Consumer<T> flush) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            T buffer = create.get();
+            add.accept(buffer);
+            flush.accept(buffer);
+            return;
+        }
+        T buffer = (T) TransactionSynchronizationManager.getResource(key);
+        if (buffer == null) {
+            T created = create.get();
+            TransactionSynchronizationManager.bindResource(key, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    if (phase == Phase.BEFORE_COMMIT) {
+                        flush.accept(created);
+                    }
+                }
+
+                @Override
+                public void afterCommit() {
+                    if (phase == Phase.AFTER_COMMIT) {
+                        flush.accept(created);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(key);
+                    if (phase == Phase.AFTER_COMPLETION) {
+                        flush.accept(created);
+                    }
+                }
+            });
+            buffer = created;
+        }
+        add.accept(buffer);
+    }
+}
@@ -0,0 +1,208 @@
+package com.task.task_manager.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+// The default backend. Subscriptions share the one listener container from RedisConfig, and plain
+// reads of hot keys go through the near cache.
+@Service
+@ConditionalOnProperty(name = "app.kv.backend", havingValue = "redis", matchIfMissing = true)
+public class RedisKeyValueStore implements KeyValueStore {
+
+    // The conditional hash writes are Lua scripts, so the existence check and the write are atomic.
+    // ARGV ends with field, value pairs. HASH_CREATE takes KEYS: the hash, then the keys to compare,
+    // and before the fields ARGV: the TTL in milliseconds and the expected values in key order.
+    private static final RedisScript<Long> HASH_CREATE = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            for i = 2, #KEYS do
+                if (redis.call('GET', KEYS[i]) or '0') ~= ARGV[i] then
+                    return 0
+                end
+            end
+            for i = #KEYS + 1, #ARGV, 2 do
+                redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    // KEYS: the hash, then the keys to compare. ARGV: TTL in milliseconds, field, value, then the
+    // expected values in the order of their keys.
+    private static final RedisScript<Long> HASH_PUT_IF_UNCHANGED = RedisScript.of("""
+            for i = 2, #KEYS do
+                if (redis.call('GET', KEYS[i]) or '0') ~= ARGV[i + 2] then
+                    return 0
+                end
+            end
+            redis.call('HSET', KEYS[1], ARGV[2], ARGV[3])
+            if redis.call('PTTL', KEYS[1]) < 0 then
+                redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            end
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> HASH_INCREMENT_IF_PRESENT = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            for i = 1, #ARGV, 2 do
+                redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> HASH_PUT_IF_PRESENT = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            for i = 1, #ARGV, 2 do
+                redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            return 1
+            """, Long.class);
+
+    // INCRBY and PEXPIRE in one round trip. ARGV: the delta, then the TTL in milliseconds.
+    private static final RedisScript<Long> ADD = RedisScript.of("""
+            local value = redis.call('INCRBY', KEYS[1], ARGV[1])
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return value
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final RedisNearCache nearCache;
+
+    public RedisKeyValueStore(StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer,
+            RedisNearCache nearCache) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.nearCache = nearCache;
+    }
+
+    @Override
+    public String get(String key) {
+        return nearCache.get(key);
+    }
+
+    @Override
+    public long increment(String key) {
+        Long value = redisTemplate.opsForValue().increment(key);
+        nearCache.evict(key);
+        return value == null ? 0 : value;
+    }
+
+    @Override
+    public long add(String key, long delta, Duration ttl) {
+        Long value = redisTemplate.execute(ADD, List.of(key), String.valueOf(delta), String.valueOf(ttl.toMillis()));
+        nearCache.evict(key);
+        return value == null ? 0 : value;
+    }
+
+    @Override
+    public boolean setIfAbsent(String key, String value, Duration ttl) {
+        boolean stored = Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, value, ttl));
+        nearCache.evict(key);
+        return stored;
+    }
+
+    @Override
+    public void delete(String key) {
+        redisTemplate.delete(key);
+        nearCache.evict(key);
+    }
+
+    @Override
+    public String hashGet(String key, String field) {
+        Object value = redisTemplate.opsForHash().get(key, field);
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public void hashPut(String key, String field, String value, Duration ttl) {
+        redisTemplate.opsForHash().put(key, field, value);
+        redisTemplate.expire(key, ttl);
+    }
+
+    @Override
+    public boolean hashPutIfUnchanged(String key, String field, String value, Duration ttl, Map<String, String> expected) {
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>(List.of(String.valueOf(ttl.toMillis()), field, value));
+        keys.add(key);
+        expected.forEach((expectedKey, expectedValue) -> {
+            keys.add(expectedKey);
+            args.add(expectedValue);
+        });
+        Long stored = redisTemplate.execute(HASH_PUT_IF_UNCHANGED, keys, args.toArray());
+        return stored != null && stored == 1;
+    }
+
+    @Override
+    public Map<String, String> hashGetAll(String key) {
+        Map<String, String> fields = new HashMap<>();
+        redisTemplate.opsForHash().entries(key).forEach((field, value) -> fields.put(field.toString(), value.toString()));
+        return fields;
+    }
+
+    @Override
+    public boolean hashCreate(String key, Map<String, String> fields, Duration ttl, Map<String, String> expected) {
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        keys.add(key);
+        args.add(String.valueOf(ttl.toMillis()));
+        expected.forEach((expectedKey, expectedValue) -> {
+            keys.add(expectedKey);
+            args.add(expectedValue);
+        });
+        fields.forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+        Long stored = redisTemplate.execute(HASH_CREATE, keys, args.toArray());
+        return stored != null && stored == 1;
+    }
+
+    @Override
+    public void hashIncrementIfPresent(String key, Map<String, Long> deltas) {
+        redisTemplate.execute(HASH_INCREMENT_IF_PRESENT, List.of(key), pairs(deltas));
+    }
+
+    @Override
+    public void hashPutIfPresent(String key, Map<String, String> fields) {
+        redisTemplate.execute(HASH_PUT_IF_PRESENT, List.of(key), pairs(fields));
+    }
+
+    private static Object[] pairs(Map<String, ?> fields) {
+        List<String> args = new ArrayList<>();
+        fields.forEach((field, value) -> {
+            args.add(field);
+            args.add(String.valueOf(value));
+        });
+        return args.toArray();
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        redisTemplate.convertAndSend(channel, message);
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        listenerContainer.addMessageListener(
+                (message, pattern) -> listener.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+    }
+}
@@ -0,0 +1,201 @@
+package com.task.task_manager.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.StringCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+
+// Near cache for hot read-mostly string keys (by default the per-user data versions every list GET
+// reads), using Redis client-side caching. Misses are read on one dedicated RESP3 connection with
+// CLIENT TRACKING on, so the server remembers which keys this node holds and pushes an
+// "invalidate" message when any client changes one; the entry is dropped when it arrives.
+// A value fetched while any invalidation arrived is not kept, since it may be the old one, and a
+// write made through this node evicts at once rather than waiting for its own push. Losing the
+// connection loses the tracking, so the cache is cleared and reads bypass it until tracking is
+// re-enabled. Everything else reads straight through the template.
+@Service
+@ConditionalOnProperty(name = "app.kv.backend", havingValue = "redis", matchIfMissing = true)
+public class RedisNearCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisNearCache.class);
+    private static final Duration RETRY = Duration.ofSeconds(30);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private final List<String> prefixes;
+    private final Cache<String, String> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Counter invalidationCounter;
+
+    private volatile boolean enabled;
+    private volatile boolean tracking;
+    private volatile long retryAt;
+    private StatefulRedisConnection<String, String> connection;
+
+    public RedisNearCache(StringRedisTemplate redisTemplate, RedisConnectionFactory connectionFactory,
+            MeterRegistry meterRegistry,
+            @Value("${app.kv.near-cache.enabled:true}") boolean enabled,
+            @Value("${app.kv.near-cache.prefixes:dataversion:}") List<String> prefixes,
+            @Value("${app.kv.near-cache.max-entries:100000}") long maxEntries,
+            @Value("${app.kv.near-cache.ttl:PT10M}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.connectionFactory = connectionFactory;
+        this.enabled = enabled;
+        this.prefixes = List.copyOf(prefixes);
+        // The TTL only bounds the damage of an invalidation that never arrived.
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "kv.near");
+        meterRegistry.gauge("kv.near.hit.ratio", cache, c -> c.stats().hitRate());
+        this.invalidationCounter = meterRegistry.counter("kv.near.invalidations");
+    }
+
+    public String get(String key) {
+        if (!enabled || !cached(key)) {
+            return redisTemplate.opsForValue().get(key);
+        }
+        String value = cache.getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        StatefulRedisConnection<String, String> tracked = trackingConnection();
+        if (tracked == null) {
+            return redisTemplate.opsForValue().get(key);
+        }
+        long seen = invalidations.get();
+        value = tracked.sync().get(key);
+        if (value != null) {
+            // Put first, then check: an invalidation after the check evicts the entry itself.
+            cache.put(key, value);
+            if (invalidations.get() != seen || !tracking) {
+                cache.invalidate(key);
+            }
+        }
+        return value;
+    }
+
+    // Called after this node writes the key.
+    public void evict(String key) {
+        if (enabled && cached(key)) {
+            invalidations.incrementAndGet();
+            cache.invalidate(key);
+        }
+    }
+
+    private boolean cached(String key) {
+        for (String prefix : prefixes) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private StatefulRedisConnection<String, String> trackingConnection() {
+        if (tracking) {
+            return connection;
+        }
+        if (System.currentTimeMillis() < retryAt) {
+            return null;
+        }
+        synchronized (this) {
+            if (tracking || System.currentTimeMillis() < retryAt) {
+                return tracking ? connection : null;
+            }
+            try {
+                if (connection == null) {
+                    connection = connect();
+                    if (connection == null) {
+                        return null;
+                    }
+                }
+                connection.sync().clientTracking(TrackingArgs.Builder.enabled());
+                invalidations.incrementAndGet();
+                cache.invalidateAll();
+                tracking = true;
+                return connection;
+            } catch (RedisCommandExecutionException e) {
+                // The server is older than Redis 6 or refuses tracking; it will not change its mind.
+                log.warn("Redis rejected client tracking, near cache disabled", e);
+                enabled = false;
+                return null;
+            } catch (RuntimeException e) {
+                log.warn("Could not enable Redis client tracking, retrying in {}", RETRY, e);
+                retryAt = System.currentTimeMillis() + RETRY.toMillis();
+                return null;
+            }
+        }
+    }
+
+    private StatefulRedisConnection<String, String> connect() {
+        if (!(connectionFactory instanceof LettuceConnectionFactory lettuce)
+                || !(lettuce.getRequiredNativeClient() instanceof RedisClient client)) {
+            log.info("Near cache needs a standalone Lettuce connection, disabled");
+            enabled = false;
+            return null;
+        }
+        StatefulRedisConnection<String, String> opened = client.connect(StringCodec.UTF8);
+        opened.addListener(this::onPush);
+        client.addListener(new RedisConnectionStateListener() {
+            @Override
+            public void onRedisDisconnected(RedisChannelHandler<?, ?> handler) {
+                if (handler == opened) {
+                    tracking = false;
+                    invalidations.incrementAndGet();
+                    cache.invalidateAll();
+                }
+            }
+        });
+        return opened;
+    }
+
+    private void onPush(PushMessage message) {
+        if (!"invalidate".equals(message.getType())) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        invalidationCounter.increment();
+        List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        if (content.size() > 1 && content.get(1) instanceof List<?> keys) {
+            keys.forEach(key -> cache.invalidate(String.valueOf(key)));
+        } else {
+            // A null key list means the server flushed or dropped its tracking table.
+            cache.invalidateAll();
+        }
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        tracking = false;
+        if (connection != null) {
+            connection.close();
+        }
+    }
+}
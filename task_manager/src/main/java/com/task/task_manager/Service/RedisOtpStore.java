@@ -0,0 +1,92 @@
+package com.task.task_manager.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+// One hash per pending code (fields code, payload, attempts) under otp:<purpose>:<email>, with the
+// TTL on the key. Every operation is a Lua script: one round trip each, and atomic on the server.
+@Service
+@ConditionalOnProperty(name = "app.kv.backend", havingValue = "redis", matchIfMissing = true)
+public class RedisOtpStore implements OtpStore {
+
+    private static final String KEY_PREFIX = "otp:";
+
+    private static final RedisScript<Long> ISSUE = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], 'code', ARGV[1], 'payload', ARGV[2], 'attempts', 0)
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> REISSUE = RedisScript.of("""
+            redis.call('DEL', KEYS[1])
+            redis.call('HSET', KEYS[1], 'code', ARGV[1], 'payload', ARGV[2], 'attempts', 0)
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return 1
+            """, Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> VERIFY = RedisScript.of("""
+            local entry = redis.call('HMGET', KEYS[1], 'code', 'payload')
+            if not entry[1] then
+                return {'EXPIRED'}
+            end
+            if entry[1] == ARGV[1] then
+                redis.call('DEL', KEYS[1])
+                return {'VERIFIED', entry[2]}
+            end
+            if redis.call('HINCRBY', KEYS[1], 'attempts', 1) >= tonumber(ARGV[2]) then
+                redis.call('DEL', KEYS[1])
+                return {'LOCKED'}
+            end
+            return {'INVALID'}
+            """, List.class);
+
+    private static final RedisScript<String> CONSUME = RedisScript.of("""
+            local payload = redis.call('HGET', KEYS[1], 'payload')
+            redis.call('DEL', KEYS[1])
+            return payload
+            """, String.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisOtpStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public boolean issue(Purpose purpose, String email, String code, String payload, Duration ttl) {
+        Long stored = redisTemplate.execute(ISSUE, List.of(key(purpose, email)),
+                code, payload, String.valueOf(ttl.toMillis()));
+        return stored != null && stored == 1;
+    }
+
+    @Override
+    public void reissue(Purpose purpose, String email, String code, String payload, Duration ttl) {
+        redisTemplate.execute(REISSUE, List.of(key(purpose, email)), code, payload, String.valueOf(ttl.toMillis()));
+    }
+
+    @Override
+    public Verification verify(Purpose purpose, String email, String code) {
+        List<?> result = redisTemplate.execute(VERIFY, List.of(key(purpose, email)),
+                code, String.valueOf(MAX_ATTEMPTS));
+        Status status = Status.valueOf((String) result.get(0));
+        return new Verification(status, status == Status.VERIFIED ? (String) result.get(1) : null);
+    }
+
+    @Override
+    public String consume(Purpose purpose, String email) {
+        return redisTemplate.execute(CONSUME, List.of(key(purpose, email)));
+    }
+
+    private static String key(Purpose purpose, String email) {
+        return KEY_PREFIX + purpose.key() + ":" + email;
+    }
+}
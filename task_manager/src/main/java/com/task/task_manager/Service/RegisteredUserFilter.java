@@ -0,0 +1,145 @@
+package com.task.task_manager.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.task.task_manager.Repo.UserRepo;
+
+// Bloom filter over every taken username and email, so the availability check before an OTP is
+// sent skips the database when a name was never registered, which is the usual case.
+// "Might be taken" falls through to a real lookup. A false "free" is possible for a name registered
+// on another node since this one last rebuilt (or racing a rebuild here); it costs nothing worse
+// than the insert at OTP verification reporting the conflict, since the unique constraints decide.
+// Until the first build finishes every name reads as "might be taken".
+@Service
+public class RegisteredUserFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RegisteredUserFilter.class);
+    private static final int PAGE_SIZE = 10_000;
+
+    private final UserRepo userRepo;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+
+    private volatile Bits bits;
+    private volatile Bits building;
+
+    public RegisteredUserFilter(UserRepo userRepo,
+            @Value("${app.registration.filter.expected-users:100000}") long expectedUsers,
+            @Value("${app.registration.filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepo = userRepo;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public boolean mightBeTaken(String username, String email) {
+        Bits current = bits;
+        return current == null || current.mightContain(usernameKey(username)) || current.mightContain(emailKey(email));
+    }
+
+    public void add(String username, String email) {
+        for (Bits target : new Bits[] {bits, building}) {
+            if (target != null) {
+                target.add(usernameKey(username));
+                target.add(emailKey(email));
+            }
+        }
+    }
+
+    // Rebuilt from the table at startup and then periodically, which also drops deleted users and
+    // resizes the filter as the table grows.
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.registration.filter.rebuild-interval:PT6H}")
+    public void rebuild() {
+        try {
+            Bits next = new Bits(Math.max(expectedUsers, 2 * userRepo.count()), falsePositiveRate);
+            building = next;
+            long after = 0;
+            List<Object[]> rows;
+            do {
+                rows = userRepo.findNamesAfter(after, PageRequest.of(0, PAGE_SIZE));
+                for (Object[] row : rows) {
+                    after = (Long) row[0];
+                    next.add(usernameKey((String) row[1]));
+                    next.add(emailKey((String) row[2]));
+                }
+            } while (rows.size() == PAGE_SIZE);
+            bits = next;
+        } catch (RuntimeException e) {
+            log.warn("Could not rebuild the registered user filter, keeping the previous one", e);
+        } finally {
+            building = null;
+        }
+    }
+
+    private static String usernameKey(String username) {
+        return "u:" + username;
+    }
+
+    private static String emailKey(String email) {
+        return "e:" + email;
+    }
+
+    // Fixed-size bit set probed at k positions derived from two halves of one 64-bit hash.
+    static final class Bits {
+
+        private final AtomicLongArray words;
+        private final long size;
+        private final int hashes;
+
+        Bits(long expectedInsertions, double falsePositiveRate) {
+            long n = Math.max(1, expectedInsertions * 2);   // a username and an email per user
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE, (m + 63) / 64));
+            this.size = words.length() * 64L;
+            this.hashes = Math.max(1, (int) Math.round((double) size / n * Math.log(2)));
+        }
+
+        void add(String key) {
+            long hash = hash(key);
+            for (int i = 0; i < hashes; i++) {
+                long bit = index(hash, i);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long value;
+                do {
+                    value = words.get(word);
+                } while ((value & mask) == 0 && !words.compareAndSet(word, value, value | mask));
+            }
+        }
+
+        boolean mightContain(String key) {
+            long hash = hash(key);
+            for (int i = 0; i < hashes; i++) {
+                long bit = index(hash, i);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long index(long hash, int i) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            return Integer.toUnsignedLong(h1 + i * h2) % size;
+        }
+
+        // FNV-1a over the chars followed by the SplitMix64 finalizer.
+        private static long hash(String key) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                h = (h ^ key.charAt(i)) * 0x100000001b3L;
+            }
+            h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+            h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+            return h ^ (h >>> 31);
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package com.task.task_manager.Service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.task.task_manager.DTO.ReminderAddDTO;
@@ -15,16 +19,34 @@ import com.task.task_manager.DTO.ReminderSendDTO;
 import com.task.task_manager.DTO.ReminderUpdateDTO;
 import com.task.task_manager.Exception.AccessDeniedException;
 import com.task.task_manager.Exception.RemindersNotFoundException;
+import com.task.task_manager.Model.ChangeLogEntry.EntityType;
 import com.task.task_manager.Model.Reminder;
+import com.task.task_manager.Model.TaskStatus;
 import com.task.task_manager.Model.User;
 import com.task.task_manager.Repo.ReminderRepo;
 
+import jakarta.transaction.Transactional;
+
 @Service
 public class ReminderService {
   
     @Autowired
     private ReminderRepo reminderRepo;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private ChatStatsService chatStatsService;
+
+    @Autowired
+    private LiveUpdateHub liveUpdateHub;
+
+    // See TaskService: 404 for no reminders only in the compatibility mode.
+    @Value("${app.api.empty-list-not-found:false}")
+    private boolean emptyListNotFound;
     
+    @Transactional
     public void createReminder(ReminderAddDTO reminderDTO, User user) {
                 
            Reminder reminder=new Reminder();
@@ -34,38 +56,67 @@ public class ReminderService {
             reminder.setStatus(reminderDTO.status());
             reminder.setUser(user);
             reminderRepo.save(reminder);
+            changeLogService.upserted(user.getId(), EntityType.REMINDER, reminder.getId());
+            chatStatsService.remindersChanged(user.getId());
     }
 
-    public void updateReminder(ReminderUpdateDTO reminderDTO, User user) {
-        Reminder reminder = reminderRepo.findById(reminderDTO.id())
-                .orElseThrow(() -> new RemindersNotFoundException("Reminder with ID " + reminderDTO.id() + " not found"));
-        
-        reminder.setTitle(reminderDTO.title());
-        reminder.setDate(reminderDTO.date());
-        reminder.setTime(LocalTime.parse(reminderDTO.time(), DateTimeFormatter.ofPattern("hh:mm a", Locale.ENGLISH)));
-        reminder.setStatus(reminderDTO.status());
-        reminder.setUser(user);
-        
-        reminderRepo.save(reminder);
+    @Transactional
+    public void updateReminder(ReminderUpdateDTO reminderDTO, long userId) {
+        int updated = reminderRepo.updateOwned(reminderDTO.id(), userId, reminderDTO.title(), reminderDTO.date(),
+                LocalTime.parse(reminderDTO.time(), DateTimeFormatter.ofPattern("hh:mm a", Locale.ENGLISH)),
+                reminderDTO.status());
+        if (updated == 0) {
+            if (reminderRepo.existsById(reminderDTO.id())) {
+                throw new AccessDeniedException("You do not have permission to update this reminder");
+            }
+            throw new RemindersNotFoundException("Reminder with ID " + reminderDTO.id() + " not found");
+        }
+        changeLogService.upserted(userId, EntityType.REMINDER, reminderDTO.id());
+        chatStatsService.remindersChanged(userId);
     }
 
-    public void deleteReminder(long id, User user){
-        Reminder reminder = reminderRepo.findById(id)
-                .orElseThrow(() -> new RemindersNotFoundException("Reminder with ID " + id + " not found"));
-                if (!reminder.getUser().equals(user)) {
-                    throw new AccessDeniedException("You do not have permission to delete this reminder");
-                }
-        reminderRepo.delete(reminder);
+    @Transactional
+    public void deleteReminder(long id, long userId){
+        if (reminderRepo.deleteOwned(id, userId) == 0) {
+            if (reminderRepo.existsById(id)) {
+                throw new AccessDeniedException("You do not have permission to delete this reminder");
+            }
+            throw new RemindersNotFoundException("Reminder with ID " + id + " not found");
+        }
+        changeLogService.deleted(userId, EntityType.REMINDER, id);
+        chatStatsService.remindersChanged(userId);
     }
 
     public List<ReminderSendDTO> getReminders(User user) {
         List<Reminder> reminders = reminderRepo
-            .findByUserAndStatusAndDateGreaterThanEqualOrderByDateAscTimeAsc(user, "INCOMPLETE", LocalDate.now());
+            .findByUserAndStatusAndDateGreaterThanEqualOrderByDateAscTimeAsc(user, TaskStatus.INCOMPLETE, LocalDate.now());
     
-        if (reminders.isEmpty()) {
+        if (emptyListNotFound && reminders.isEmpty()) {
             throw new RemindersNotFoundException("No reminders found for the user");
         }
     
+        return toSendDTOs(reminders);
+    }
+
+    // Snapshot pages and partial reads for the change feed.
+    public List<ReminderSendDTO> getRemindersAfter(long userId, long afterId, int limit) {
+        return toSendDTOs(reminderRepo.findPageAfter(userId, afterId, PageRequest.of(0, limit)));
+    }
+
+    public List<ReminderSendDTO> getReminders(long userId, Collection<Long> ids) {
+        return toSendDTOs(reminderRepo.findByUserIdAndIds(userId, ids));
+    }
+
+    // Sends a "reminder" event for every open reminder set within the given minute.
+    public void publishDueReminders(LocalDateTime minute) {
+        LocalTime from = minute.toLocalTime();
+        LocalTime to = from.plusMinutes(1).minusNanos(1);
+        for (Reminder reminder : reminderRepo.findDue(TaskStatus.INCOMPLETE, minute.toLocalDate(), from, to)) {
+            liveUpdateHub.publish(reminder.getUser().getId(), "reminder", toSendDTOs(List.of(reminder)).get(0));
+        }
+    }
+
+    private List<ReminderSendDTO> toSendDTOs(List<Reminder> reminders) {
         return reminders.stream()
             .map(reminder -> new ReminderSendDTO(
                 reminder.getId(),
@@ -5,40 +5,72 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.task.task_manager.DTO.SubTaskDTO;
+import com.task.task_manager.Exception.AccessDeniedException;
 import com.task.task_manager.Exception.InvalidTaskException;
+import com.task.task_manager.Exception.ResourceNotFoundException;
+import com.task.task_manager.Model.ChangeLogEntry.EntityType;
 import com.task.task_manager.Model.SubTask;
-import com.task.task_manager.Model.Task;
 import com.task.task_manager.Repo.SubTaskRepo;
 
+import jakarta.transaction.Transactional;
+
 @Service
 public class SubTaskService {
 
     @Autowired
     private SubTaskRepo subTaskRepo;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Transactional
      public void saveSubTask(SubTask subTask)
     {
         subTaskRepo.save(subTask);
+        changeLogService.upserted(subTask.getTask().getUser().getId(), EntityType.TASK, subTask.getTask().getId());
     }
 
-    public void deleteSubTask(long id)
+    // Ownership is checked through the parent task inside the statement; on a miss the
+    // subtask is looked up only to pick the error.
+    @Transactional
+    public void deleteSubTask(long id, long userId)
     {
-        subTaskRepo.deleteById(id);
+        Long taskId = subTaskRepo.deleteOwned(id, userId).orElseThrow(() -> subTaskRepo.existsById(id)
+                ? new AccessDeniedException("You are not allowed to delete this task")
+                : new ResourceNotFoundException("SubTask not found"));
+        changeLogService.upserted(userId, EntityType.TASK, taskId);
+    }
+
+    @Transactional
+     public void updateTask(SubTaskDTO dto, long userId) {
+    Long taskId = subTaskRepo.updateOwned(dto.id(), userId, dto.title(), dto.status().code())
+            .orElseThrow(() -> updateError(dto.id()));
+    changeLogService.upserted(userId, EntityType.TASK, taskId);
+}
+
+    // Batch versions for a subtask already loaded and ownership-checked in this transaction; see TaskService.
+    @Transactional
+    public void updateLoadedSubTask(SubTask subTask, SubTaskDTO dto) {
+        subTask.setTitle(dto.title());
+        subTask.setStatus(dto.status());
+        long userId = subTask.getTask().getUser().getId();
+        changeLogService.upserted(userId, EntityType.TASK, subTask.getTask().getId());
     }
 
-     public void updateTask(SubTaskDTO dto,String username) {
-    SubTask subTask = subTaskRepo.findById(dto.id())
-            .orElseThrow(() -> new InvalidTaskException("SubTask with ID " + dto.id() + " not found"));
-    
-     Task task= subTask.getTask();
-    if (task == null) {
-        throw new InvalidTaskException("SubTask with ID " + dto.id() + " does not belong to any task");
+    @Transactional
+    public void deleteLoadedSubTask(SubTask subTask) {
+        subTask.getTask().getSubTasks().remove(subTask);
+        subTaskRepo.delete(subTask);
+        long userId = subTask.getTask().getUser().getId();
+        changeLogService.upserted(userId, EntityType.TASK, subTask.getTask().getId());
     }
-    if (!task.getUser().getUsername().equals(username)) {
-        throw new InvalidTaskException("You are not allowed to update this task");
-    }           
-    subTask.setTitle(dto.title());
-    subTask.setStatus(dto.status());
 
-    subTaskRepo.save(subTask);
-}
+    private InvalidTaskException updateError(long id) {
+        SubTask subTask = subTaskRepo.findById(id)
+                .orElseThrow(() -> new InvalidTaskException("SubTask with ID " + id + " not found"));
+        if (subTask.getTask() == null) {
+            return new InvalidTaskException("SubTask with ID " + id + " does not belong to any task");
+        }
+        return new InvalidTaskException("You are not allowed to update this task");
+    }
 }
@@ -0,0 +1,322 @@
+package com.task.task_manager.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.task.task_manager.DTO.SubTaskDTO;
+import com.task.task_manager.DTO.TaskAddDTO;
+import com.task.task_manager.DTO.TaskBatchOperation;
+import com.task.task_manager.DTO.TaskBatchResponseDTO;
+import com.task.task_manager.DTO.TaskBatchResultDTO;
+import com.task.task_manager.DTO.TaskUpdateDTO;
+import com.task.task_manager.Exception.InvalidTaskException;
+import com.task.task_manager.Model.SubTask;
+import com.task.task_manager.Model.Task;
+import com.task.task_manager.Model.TaskPriority;
+import com.task.task_manager.Model.TaskStatus;
+import com.task.task_manager.Model.User;
+import com.task.task_manager.Repo.TaskRepo;
+import com.task.task_manager.Repo.UserRepo;
+
+import jakarta.transaction.Transactional;
+
+// Applies a list of task and subtask mutations as one unit.
+// The referenced rows are locked and loaded with one query each, and every operation is validated
+// before anything is written; a batch with any invalid operation is rejected whole. The writes then
+// change the loaded entities or persist new ones through TaskService/SubTaskService inside one
+// transaction, so no statement runs until the commit. There Hibernate flushes the inserts, updates
+// and deletes as JDBC batches (ids come from pooled sequences), the counter deltas and change-log
+// rows of the whole batch go out as one statement each, and after it the user's views, data version
+// and live stream are updated once.
+@Service
+public class TaskBatchService {
+
+    public static final int MAX_OPERATIONS = 100;
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("hh:mm a", Locale.ENGLISH);
+
+    @Autowired
+    private TaskRepo taskRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SubTaskService subTaskService;
+
+    @Transactional
+    public TaskBatchResponseDTO apply(long userId, List<TaskBatchOperation> operations) {
+        if (operations == null || operations.isEmpty() || operations.size() > MAX_OPERATIONS) {
+            throw new InvalidTaskException("A batch should contain between 1 and " + MAX_OPERATIONS + " operations");
+        }
+
+        Map<Long, Task> tasks = new HashMap<>();
+        Map<Long, SubTask> subTasks = new HashMap<>();
+        load(operations, userId, tasks, subTasks);
+
+        // Operations are validated in order against what the earlier ones leave behind: a task or subtask
+        // deleted by one operation, and the subtasks of a deleted task, cannot be used by a later one.
+        Set<Long> deletedTasks = new HashSet<>();
+        Set<Long> deletedSubTasks = new HashSet<>();
+        List<String> errors = new ArrayList<>();
+        boolean valid = true;
+        for (TaskBatchOperation operation : operations) {
+            String error = validate(operation, userId, tasks, subTasks, deletedTasks, deletedSubTasks);
+            errors.add(error);
+            valid &= error == null;
+            if (error != null) {
+                continue;
+            }
+            switch (operation.op()) {
+                case "deleteTask" -> deletedTasks.add(operation.id());
+                case "deleteSubTask" -> deletedSubTasks.add(operation.id());
+                default -> { }
+            }
+        }
+        if (!valid) {
+            List<TaskBatchResultDTO> results = new ArrayList<>();
+            for (int i = 0; i < operations.size(); i++) {
+                results.add(new TaskBatchResultDTO(i, opName(operations.get(i)), null, errors.get(i)));
+            }
+            return new TaskBatchResponseDTO(false, results);
+        }
+
+        User user = userRepo.getReferenceById(userId);
+        List<TaskBatchResultDTO> results = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            TaskBatchOperation operation = operations.get(i);
+            results.add(new TaskBatchResultDTO(i, operation.op(), execute(operation, user, tasks, subTasks), null));
+        }
+        return new TaskBatchResponseDTO(true, results);
+    }
+
+    private void load(List<TaskBatchOperation> operations, long userId, Map<Long, Task> tasks, Map<Long, SubTask> subTasks) {
+        List<Long> taskIds = new ArrayList<>();
+        List<Long> subTaskIds = new ArrayList<>();
+        for (TaskBatchOperation operation : operations) {
+            if (operation == null || operation.op() == null) {
+                continue;
+            }
+            switch (operation.op()) {
+                case "updateTask", "deleteTask" -> addIfPresent(taskIds, operation.id());
+                case "createSubTask" -> addIfPresent(taskIds, operation.taskId());
+                case "updateSubTask", "deleteSubTask" -> addIfPresent(subTaskIds, operation.id());
+                default -> { }
+            }
+        }
+        if (taskIds.isEmpty() && subTaskIds.isEmpty()) {
+            return;
+        }
+        // IN () is not valid SQL, so an unused list gets an id no row has.
+        taskRepo.lockForBatch(userId, orNone(taskIds), orNone(subTaskIds));
+        for (Task task : taskRepo.findForBatch(orNone(taskIds), orNone(subTaskIds))) {
+            tasks.put(task.getId(), task);
+            for (SubTask subTask : task.getSubTasks()) {
+                subTasks.put(subTask.getId(), subTask);
+            }
+        }
+    }
+
+    private String validate(TaskBatchOperation operation, long userId, Map<Long, Task> tasks, Map<Long, SubTask> subTasks,
+            Set<Long> deletedTasks, Set<Long> deletedSubTasks) {
+        if (operation == null || operation.op() == null) {
+            return "Operation is required";
+        }
+        return switch (operation.op()) {
+            case "createTask" -> firstError(
+                    validateTaskFields(operation, LocalDate.now(), "Task start date should be in the future"),
+                    validateNewSubTasks(operation.subTasks()));
+            case "updateTask" -> firstError(
+                    checkTask(operation.id(), userId, tasks, deletedTasks),
+                    validateTaskFields(operation, LocalDate.now().minusDays(1), "Task Due date should be in the future"));
+            case "deleteTask" -> checkTask(operation.id(), userId, tasks, deletedTasks);
+            case "createSubTask" -> firstError(
+                    checkTask(operation.taskId(), userId, tasks, deletedTasks),
+                    validateSubTaskFields(operation.title(), operation.status()));
+            case "updateSubTask" -> firstError(
+                    checkSubTask(operation.id(), userId, subTasks, deletedTasks, deletedSubTasks),
+                    validateSubTaskFields(operation.title(), operation.status()));
+            case "deleteSubTask" -> checkSubTask(operation.id(), userId, subTasks, deletedTasks, deletedSubTasks);
+            default -> "Unknown operation " + operation.op();
+        };
+    }
+
+    private Long execute(TaskBatchOperation operation, User user, Map<Long, Task> tasks, Map<Long, SubTask> subTasks) {
+        switch (operation.op()) {
+            case "createTask" -> {
+                Task task = taskService.createTask(new TaskAddDTO(operation.title(), operation.description(),
+                        operation.dueDate(), operation.time(), TaskPriority.fromName(operation.priority()),
+                        TaskStatus.fromName(operation.status())), user);
+                if (operation.subTasks() != null) {
+                    for (TaskBatchOperation.NewSubTask newSubTask : operation.subTasks()) {
+                        addSubTask(task, newSubTask.title(), newSubTask.status());
+                    }
+                }
+                return task.getId();
+            }
+            case "updateTask" -> {
+                taskService.updateLoadedTask(tasks.get(operation.id()), new TaskUpdateDTO(operation.id(), operation.title(),
+                        operation.description(), operation.dueDate(), operation.time(), TaskPriority.fromName(operation.priority()),
+                        TaskStatus.fromName(operation.status())));
+                return operation.id();
+            }
+            case "deleteTask" -> {
+                taskService.deleteLoadedTask(tasks.get(operation.id()));
+                return operation.id();
+            }
+            case "createSubTask" -> {
+                return addSubTask(tasks.get(operation.taskId()), operation.title(), operation.status()).getId();
+            }
+            case "updateSubTask" -> {
+                subTaskService.updateLoadedSubTask(subTasks.get(operation.id()),
+                        new SubTaskDTO(operation.id(), operation.title(), TaskStatus.fromName(operation.status())));
+                return operation.id();
+            }
+            case "deleteSubTask" -> {
+                subTaskService.deleteLoadedSubTask(subTasks.get(operation.id()));
+                return operation.id();
+            }
+            default -> throw new InvalidTaskException("Unknown operation " + operation.op());
+        }
+    }
+
+    private SubTask addSubTask(Task task, String title, String status) {
+        SubTask subTask = new SubTask();
+        subTask.setTitle(title);
+        subTask.setStatus(TaskStatus.fromName(status));
+        subTask.setTask(task);
+        task.getSubTasks().add(subTask);
+        subTaskService.saveSubTask(subTask);
+        return subTask;
+    }
+
+    private String checkTask(Long id, long userId, Map<Long, Task> tasks, Set<Long> deletedTasks) {
+        if (id == null) {
+            return "Task id is required";
+        }
+        Task task = tasks.get(id);
+        if (task == null) {
+            return "Task with ID " + id + " not found";
+        }
+        if (task.getUser().getId() != userId) {
+            return "You are not allowed to change this task";
+        }
+        return deletedTasks.contains(id) ? "Task with ID " + id + " is deleted earlier in the batch" : null;
+    }
+
+    private String checkSubTask(Long id, long userId, Map<Long, SubTask> subTasks, Set<Long> deletedTasks,
+            Set<Long> deletedSubTasks) {
+        if (id == null) {
+            return "SubTask id is required";
+        }
+        SubTask subTask = subTasks.get(id);
+        if (subTask == null) {
+            return "SubTask with ID " + id + " not found";
+        }
+        if (subTask.getTask().getUser().getId() != userId) {
+            return "You are not allowed to change this task";
+        }
+        if (deletedTasks.contains(subTask.getTask().getId())) {
+            return "Task with ID " + subTask.getTask().getId() + " is deleted earlier in the batch";
+        }
+        return deletedSubTasks.contains(id) ? "SubTask with ID " + id + " is deleted earlier in the batch" : null;
+    }
+
+    private String validateTaskFields(TaskBatchOperation operation, LocalDate earliestDueDate, String dueDateMessage) {
+        if (isBlank(operation.title())) {
+            return "Title is required";
+        }
+        if (isBlank(operation.description())) {
+            return "Description is required";
+        }
+        if (operation.dueDate() == null) {
+            return "Due date is required";
+        }
+        if (operation.dueDate().isBefore(earliestDueDate)) {
+            return dueDateMessage;
+        }
+        if (!isTime(operation.time())) {
+            return "Time must be in hh:mm a format (e.g., 03:30 PM)";
+        }
+        if (TaskPriority.fromName(operation.priority()) == null) {
+            return "Priority should be either LOW, MEDIUM, or HIGH";
+        }
+        if (!isTaskStatus(operation.status())) {
+            return "Task status should be either COMPLETED, INCOMPLETE, or ONGOING";
+        }
+        return null;
+    }
+
+    private String validateNewSubTasks(List<TaskBatchOperation.NewSubTask> newSubTasks) {
+        if (newSubTasks == null) {
+            return null;
+        }
+        for (TaskBatchOperation.NewSubTask newSubTask : newSubTasks) {
+            String error = newSubTask == null ? "SubTask is required" : validateSubTaskFields(newSubTask.title(), newSubTask.status());
+            if (error != null) {
+                return error;
+            }
+        }
+        return null;
+    }
+
+    private String validateSubTaskFields(String title, String status) {
+        if (isBlank(title)) {
+            return "Title is required";
+        }
+        return isTaskStatus(status) ? null : "Task status should be either COMPLETED, INCOMPLETE, or ONGOING";
+    }
+
+    private static boolean isTime(String time) {
+        if (time == null) {
+            return false;
+        }
+        try {
+            LocalTime.parse(time, TIME_FORMAT);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static boolean isTaskStatus(String status) {
+        return TaskStatus.fromName(status) != null;
+    }
+
+    private static String firstError(String first, String second) {
+        return first != null ? first : second;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String opName(TaskBatchOperation operation) {
+        return operation == null ? null : operation.op();
+    }
+
+    private static void addIfPresent(List<Long> ids, Long id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    private static List<Long> orNone(List<Long> ids) {
+        return ids.isEmpty() ? List.of(-1L) : ids;
+    }
+}
@@ -0,0 +1,122 @@
+package com.task.task_manager.Service;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.task.task_manager.Model.Task;
+import com.task.task_manager.Model.TaskStatus;
+import com.task.task_manager.Repo.TaskStatusCounterRepo;
+
+import jakarta.transaction.Transactional;
+
+// Per-user task counts by status and due date. Callers adjust the counters inside the same
+// transaction as the task write, so reads are a single small aggregate instead of COUNTs over task.
+// The deltas of a transaction are summed per (status, due date) and written just before it commits,
+// one upsert per user however many tasks it touched. Every delta is mirrored into the chatbot's
+// stats snapshot once the write commits.
+// Due dates more than FOLD_DAYS back share one row per status, dated foldDate, and a trigger keeps a
+// per-status total, so no read covers more than a few rows whatever the span of the user's due dates.
+@Service
+public class TaskCounterService {
+
+    private static final Object PENDING_DELTAS = new Object();
+    private static final int FOLD_DAYS = 7;
+
+    private record Bucket(short status, LocalDate dueDate) {}
+
+    @Autowired
+    private TaskStatusCounterRepo counterRepo;
+
+    @Autowired
+    private ChatStatsService chatStatsService;
+
+    public void taskAdded(long userId, Task task) {
+        adjust(userId, task.getStatus(), task.getDueDate(), 1);
+        chatStatsService.tasksCounted(userId, null, null, task.getStatus(), task.getDueDate());
+    }
+
+    public void taskRemoved(long userId, TaskStatus status, LocalDate dueDate) {
+        adjust(userId, status, dueDate, -1);
+        chatStatsService.tasksCounted(userId, status, dueDate, null, null);
+    }
+
+    public void taskMoved(long userId, TaskStatus oldStatus, LocalDate oldDueDate, TaskStatus status, LocalDate dueDate) {
+        if (oldStatus == status && oldDueDate.equals(dueDate)) {
+            return;
+        }
+        adjust(userId, oldStatus, oldDueDate, -1);
+        adjust(userId, status, dueDate, 1);
+        chatStatsService.tasksCounted(userId, oldStatus, oldDueDate, status, dueDate);
+    }
+
+    private void adjust(long userId, TaskStatus status, LocalDate dueDate, long delta) {
+        LocalDate foldDate = foldDate(LocalDate.now());
+        Bucket bucket = new Bucket(status.code(), dueDate.isAfter(foldDate) ? dueDate : foldDate);
+        PerTransaction.add(PENDING_DELTAS, PerTransaction.Phase.BEFORE_COMMIT, HashMap<Long, Map<Bucket, Long>>::new,
+                pending -> pending.computeIfAbsent(userId, id -> new HashMap<>()).merge(bucket, delta, Long::sum),
+                pending -> pending.forEach(this::apply));
+    }
+
+    private void apply(long userId, Map<Bucket, Long> deltas) {
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Short[] statuses = new Short[deltas.size()];
+        LocalDate[] dueDates = new LocalDate[deltas.size()];
+        Long[] values = new Long[deltas.size()];
+        int i = 0;
+        for (Map.Entry<Bucket, Long> entry : deltas.entrySet()) {
+            statuses[i] = entry.getKey().status();
+            dueDates[i] = entry.getKey().dueDate();
+            values[i++] = entry.getValue();
+        }
+        counterRepo.addAll(userId, statuses, dueDates, values);
+    }
+
+    // Day-by-day counts are exact for due dates after foldDate(today).
+    public static LocalDate foldDate(LocalDate today) {
+        return today.minusDays(FOLD_DAYS + 1);
+    }
+
+    public Map<TaskStatus, Long> countByStatus(long userId, LocalDate fromDate, LocalDate toDate) {
+        return byStatus(counterRepo.sumByStatus(userId, fromDate, toDate));
+    }
+
+    // Everything due from fromDate on, however far ahead.
+    public Map<TaskStatus, Long> countByStatusFrom(long userId, LocalDate fromDate) {
+        return byStatus(counterRepo.sumByStatusFrom(userId, fromDate));
+    }
+
+    private static Map<TaskStatus, Long> byStatus(List<Object[]> rows) {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (Object[] row : rows) {
+            counts.put(TaskStatus.fromCode(((Number) row[0]).shortValue()), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    // The rebuild runs under the user's exclusive counter lock. A task write that has already applied
+    // its deltas commits first and the rebuild counts its rows; any other write applies its deltas
+    // after the rebuild, which did not see its uncommitted rows.
+    @Transactional
+    public void reconcile(long userId) {
+        counterRepo.lockForRebuild(userId);
+        counterRepo.deleteForUser(userId);
+        counterRepo.rebuildForUser(userId, foldDate(LocalDate.now()));
+        chatStatsService.evict(userId);
+    }
+
+    // Nightly: the rows that have aged past the fold move onto it. Counts per status are unchanged,
+    // so the chat stats stay valid.
+    @Transactional
+    public void fold(long userId, LocalDate foldDate) {
+        counterRepo.foldBefore(userId, foldDate);
+    }
+}
@@ -0,0 +1,41 @@
+package com.task.task_manager.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.task.task_manager.Exception.InvalidTaskException;
+import com.task.task_manager.Model.Task;
+
+// Position of the last task of a page in (dueDate, timeToComplete, id) order.
+// Sent to clients as an opaque base64 token.
+public record TaskCursor(LocalDate dueDate, LocalTime time, long id) {
+
+    public static TaskCursor before(LocalDate date) {
+        return new TaskCursor(date.minusDays(1), LocalTime.MAX, Long.MAX_VALUE);
+    }
+
+    public static TaskCursor of(Task task) {
+        return new TaskCursor(task.getDueDate(), task.getTimeToComplete(), task.getId());
+    }
+
+    public String encode() {
+        String raw = dueDate + "|" + time + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new InvalidTaskException("Invalid page cursor");
+            }
+            return new TaskCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidTaskException("Invalid page cursor");
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.task.task_manager.Service;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -10,37 +11,76 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.task.task_manager.DTO.SubTaskDTO;
 import com.task.task_manager.DTO.TaskAddDTO;
+import com.task.task_manager.DTO.TaskPageDTO;
+import com.task.task_manager.DTO.TaskPageQuery;
 import com.task.task_manager.DTO.TaskSendDTO;
 import com.task.task_manager.DTO.TaskUpdateDTO;
+import com.task.task_manager.Exception.AccessDeniedException;
 import com.task.task_manager.Exception.InvalidTaskException;
+import com.task.task_manager.Exception.NoCompletedTasksException;
 import com.task.task_manager.Exception.NoOldIncompleteTasksException;
 import com.task.task_manager.Exception.NoUpcomingTasksException;
+import com.task.task_manager.Exception.ResourceNotFoundException;
+import com.task.task_manager.Model.ChangeLogEntry.EntityType;
 import com.task.task_manager.Model.Task;
+import com.task.task_manager.Model.TaskPriority;
+import com.task.task_manager.Model.TaskStatus;
 import com.task.task_manager.Model.User;
 import com.task.task_manager.Repo.TaskRepo;
 
+import jakarta.transaction.Transactional;
+
 
 @Service
 public class TaskService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final LocalDate NO_UPPER_BOUND = LocalDate.of(9999, 12, 31);
+    private static final List<TaskStatus> OPEN_STATUSES = List.of(TaskStatus.INCOMPLETE, TaskStatus.ONGOING);
+    private static final List<TaskPriority> ALL_PRIORITIES = List.of(TaskPriority.values());
+
      @Autowired
      private TaskRepo taskRepo;
 
-    public void saveTask(Task task)
-    {
-        taskRepo.save(task);
-    }
+     @Autowired
+     private TaskCounterService taskCounterService;
+
+     @Autowired
+     private TaskViewCache taskViewCache;
+
+     @Autowired
+     private ChangeLogService changeLogService;
+
+     // Compatibility with clients that expect 404 for an empty list; otherwise it is an empty 200.
+     @Value("${app.api.empty-list-not-found:false}")
+     private boolean emptyListNotFound;
 
-    public void deleteTask(long id)
+    // One statement deletes the task and its subtasks only if the user owns it. When nothing
+    // matched, the existence check picks between 404 and 403.
+    @Transactional
+    public void deleteTask(long id, long userId)
     {
-        taskRepo.deleteById(id);
+        List<Object[]> deleted = taskRepo.deleteOwned(id, userId);
+        if (deleted.isEmpty()) {
+            if (taskRepo.existsById(id)) {
+                throw new AccessDeniedException("You are not allowed to delete this task");
+            }
+            throw new ResourceNotFoundException("Task not found");
+        }
+        Object[] old = deleted.get(0);
+        taskCounterService.taskRemoved(userId, statusOf(old[0]), dateOf(old[1]));
+        changeLogService.deleted(userId, EntityType.TASK, id);
     }
 
-    public void createTask(TaskAddDTO dto, User user) {
+    @Transactional
+    public Task createTask(TaskAddDTO dto, User user) {
         Task task = new Task();
         task.setTitle(dto.title());
         task.setDescription(dto.description());
@@ -55,64 +95,185 @@ public class TaskService {
         
         // Save the task to the repository
         taskRepo.save(task);
+        taskCounterService.taskAdded(user.getId(), task);
+        changeLogService.upserted(user.getId(), EntityType.TASK, task.getId());
+        return task;
     }
     
 
-   public void updateTask(TaskUpdateDTO dto,String username) {
-    Task task = taskRepo.findById(dto.id())
-            .orElseThrow(() -> new InvalidTaskException("Task with ID " + dto.id() + " not found"));
-    if (!task.getUser().getUsername().equals(username)) {
-        throw new InvalidTaskException("You are not allowed to update this task");
+   @Transactional
+   public void updateTask(TaskUpdateDTO dto, long userId) {
+    TaskStatus status = dto.status();
+    LocalTime time = LocalTime.parse(dto.time(), DateTimeFormatter.ofPattern("hh:mm a", Locale.ENGLISH));
+    List<Object[]> updated = taskRepo.updateOwned(dto.id(), userId, dto.title(), dto.description(), dto.dueDate(),
+            time, dto.priority().code(), status.code());
+    if (updated.isEmpty()) {
+        if (taskRepo.existsById(dto.id())) {
+            throw new InvalidTaskException("You are not allowed to update this task");
+        }
+        throw new InvalidTaskException("Task with ID " + dto.id() + " not found");
     }
+    Object[] old = updated.get(0);
+    taskCounterService.taskMoved(userId, statusOf(old[0]), dateOf(old[1]), status, dto.dueDate());
+    changeLogService.upserted(userId, EntityType.TASK, dto.id());
+}
+
+// Batch versions of update and delete for a task already loaded and ownership-checked in this
+// transaction: the managed entity is changed, so its statement goes out with the transaction's
+// other writes in one JDBC batch at flush.
+@Transactional
+public void updateLoadedTask(Task task, TaskUpdateDTO dto) {
+    TaskStatus oldStatus = task.getStatus();
+    LocalDate oldDueDate = task.getDueDate();
     task.setTitle(dto.title());
     task.setDescription(dto.description());
     task.setDueDate(dto.dueDate());
     task.setTimeToComplete(LocalTime.parse(dto.time(), DateTimeFormatter.ofPattern("hh:mm a", Locale.ENGLISH)));
     task.setPriority(dto.priority());
     task.setStatus(dto.status());
+    long userId = task.getUser().getId();
+    taskCounterService.taskMoved(userId, oldStatus, oldDueDate, task.getStatus(), task.getDueDate());
+    changeLogService.upserted(userId, EntityType.TASK, task.getId());
+}
 
-    taskRepo.save(task);
+// Removes the subtasks with it (cascade).
+@Transactional
+public void deleteLoadedTask(Task task) {
+    long userId = task.getUser().getId();
+    taskRepo.delete(task);
+    taskCounterService.taskRemoved(userId, task.getStatus(), task.getDueDate());
+    changeLogService.deleted(userId, EntityType.TASK, task.getId());
+}
+
+// Columns of the native RETURNING rows.
+private static TaskStatus statusOf(Object code) {
+    return TaskStatus.fromCode(((Number) code).shortValue());
+}
+
+private static LocalDate dateOf(Object date) {
+    return date instanceof java.sql.Date sqlDate ? sqlDate.toLocalDate() : (LocalDate) date;
 }
   
-public List<TaskSendDTO> getUpcomingTasks(String username) {
+public List<TaskSendDTO> getUpcomingTasks(long userId) {
     LocalDate yesterday = LocalDate.now().minusDays(1);
-    List<Task> tasks = taskRepo.findRecentAndUpcomingTasks(yesterday, username);
+    List<TaskSendDTO> tasks = taskViewCache.get(userId, TaskViewCache.UPCOMING,
+            () -> toSendDTOs(taskRepo.findRecentAndUpcomingTasks(yesterday, userId, OPEN_STATUSES)));
 
-    if (tasks.isEmpty()) {
-        throw new NoUpcomingTasksException("No upcoming tasks found for user: " + username);
+    if (emptyListNotFound && tasks.isEmpty()) {
+        throw new NoUpcomingTasksException("No upcoming tasks found");
     }
 
-    return tasks.stream()
-    .map(task -> new TaskSendDTO(
-        task.getId(),
-        task.getTitle(),
-        task.getDescription(),
-        task.getDueDate(),
-        task.getTimeToComplete().format(DateTimeFormatter.ofPattern("hh:mm a", Locale.ENGLISH)),
-        task.getPriority(),
-        task.getStatus(),
-        task.getSubTasks().stream()
-            .map(subTask -> new SubTaskDTO(
-                subTask.getId(),
-                subTask.getTitle(),
-                subTask.getStatus()
-            ))
-            .collect(Collectors.toList())
-    ))
-    .collect(Collectors.toList());
+    return tasks;
 
 }
 
-public List<TaskSendDTO> getCompletedTasks(String username) {
+public List<TaskSendDTO> getCompletedTasks(long userId) {
     LocalDate sevenDagAgo = LocalDate.now().minusDays(7);
-    List<Task> tasks = taskRepo.findCompletedTasksFromLastSevenDays(sevenDagAgo, username);
+    List<TaskSendDTO> tasks = taskViewCache.get(userId, TaskViewCache.COMPLETED,
+            () -> toSendDTOs(taskRepo.findCompletedTasksFromLastSevenDays(sevenDagAgo, userId, TaskStatus.COMPLETED)));
+
+    if (emptyListNotFound && tasks.isEmpty()) {
+        throw new NoCompletedTasksException("No Completed tasks found");
+    }
+
+    return tasks;
+
+}
+public List<TaskSendDTO> getOldOngoingAndIncompleteTasks(long userId) {
+    LocalDate endDate = LocalDate.now().minusDays(1); 
+    LocalDate startDate = endDate.minusDays(7); 
+
+    List<TaskSendDTO> tasks = taskViewCache.get(userId, TaskViewCache.OLD_INCOMPLETE,
+            () -> toSendDTOs(taskRepo.findOldOngoingAndIncompleteTasks(startDate, endDate, userId, OPEN_STATUSES)));
+
+    if (emptyListNotFound && tasks.isEmpty()) {
+        throw new NoOldIncompleteTasksException("No tasks found between " + startDate + " and " + endDate.minusDays(1));
+    }
+
+    return tasks;
+}
+
+// Page reads batch-load subtasks lazily, so they run in a read transaction now that
+// open-in-view is off.
+@Transactional
+public TaskPageDTO getUpcomingTaskPage(long userId, TaskPageQuery query) {
+    LocalDate yesterday = LocalDate.now().minusDays(1);
+    return getTaskPage(userId, query, OPEN_STATUSES, yesterday, NO_UPPER_BOUND);
+}
+
+@Transactional
+public TaskPageDTO getCompletedTaskPage(long userId, TaskPageQuery query) {
+    LocalDate sevenDaysAgo = LocalDate.now().minusDays(7);
+    return getTaskPage(userId, query, List.of(TaskStatus.COMPLETED), sevenDaysAgo, NO_UPPER_BOUND);
+}
+
+@Transactional
+public TaskPageDTO getOldOngoingAndIncompleteTaskPage(long userId, TaskPageQuery query) {
+    LocalDate endDate = LocalDate.now().minusDays(1);
+    LocalDate startDate = endDate.minusDays(7);
+    return getTaskPage(userId, query, OPEN_STATUSES, startDate, endDate);
+}
+
+// Snapshot pages and partial reads for the change feed.
+public List<TaskSendDTO> getTasksAfter(long userId, long afterId, int limit) {
+    return toSendDTOs(taskRepo.findPageAfter(userId, afterId, PageRequest.of(0, limit)));
+}
+
+public List<TaskSendDTO> getTasks(long userId, Collection<Long> ids) {
+    return toSendDTOs(taskRepo.findByUserIdAndIds(userId, ids));
+}
 
-    if (tasks.isEmpty()) {
-        throw new NoUpcomingTasksException("No Completed tasks found for user: " + username);
+// Narrows the view's statuses and [fromDate, beforeDate) range by the optional filters and
+// reads one keyset page. One extra row is fetched to know whether a next page exists.
+private TaskPageDTO getTaskPage(long userId, TaskPageQuery query, List<TaskStatus> viewStatuses,
+        LocalDate fromDate, LocalDate beforeDate) {
+    int limit = query.limit() == null ? DEFAULT_PAGE_SIZE : query.limit();
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+        throw new InvalidTaskException("Page limit should be between 1 and " + MAX_PAGE_SIZE);
     }
+    TaskPriority priority = TaskPriority.fromName(query.priority());
+    if (query.priority() != null && priority == null) {
+        throw new InvalidTaskException("Priority should be either LOW, MEDIUM, or HIGH");
+    }
+    TaskStatus status = TaskStatus.fromName(query.status());
+    if (query.status() != null && status == null) {
+        throw new InvalidTaskException("Task status should be either COMPLETED, INCOMPLETE, or ONGOING");
+    }
+    List<TaskStatus> statuses = query.status() == null
+            ? viewStatuses
+            : viewStatuses.stream().filter(s -> s == status).toList();
+    List<TaskPriority> priorities = priority == null ? ALL_PRIORITIES : List.of(priority);
 
+    if (query.from() != null && query.from().isAfter(fromDate)) {
+        fromDate = query.from();
+    }
+    if (query.to() != null && query.to().plusDays(1).isBefore(beforeDate)) {
+        beforeDate = query.to().plusDays(1);
+    }
+    if (statuses.isEmpty() || !fromDate.isBefore(beforeDate)) {
+        return new TaskPageDTO(List.of(), null);
+    }
+
+    TaskCursor after = query.cursor() == null ? TaskCursor.before(fromDate) : TaskCursor.decode(query.cursor());
+    List<Task> tasks = taskRepo.findTaskPage(userId, statuses, priorities, fromDate, beforeDate,
+            after.dueDate(), after.time(), after.id(), PageRequest.of(0, limit + 1));
+
+    String nextCursor = null;
+    if (tasks.size() > limit) {
+        tasks = tasks.subList(0, limit);
+        nextCursor = TaskCursor.of(tasks.get(limit - 1)).encode();
+    }
+    return new TaskPageDTO(tasks.stream().map(this::toSendDTO).toList(), nextCursor);
+}
+
+private List<TaskSendDTO> toSendDTOs(List<Task> tasks) {
     return tasks.stream()
-    .map(task -> new TaskSendDTO(
+        .map(this::toSendDTO)
+        .collect(Collectors.toList());
+}
+
+private TaskSendDTO toSendDTO(Task task) {
+    return new TaskSendDTO(
         task.getId(),
         task.getTitle(),
         task.getDescription(),
@@ -127,62 +288,25 @@ public List<TaskSendDTO> getCompletedTasks(String username) {
                 subTask.getStatus()
             ))
             .collect(Collectors.toList())
-    ))
-    .collect(Collectors.toList());
-
+    );
 }
-public List<TaskSendDTO> getOldOngoingAndIncompleteTasks(String username) {
-    LocalDate endDate = LocalDate.now().minusDays(1); 
-    LocalDate startDate = endDate.minusDays(7); 
-
-    List<Task> tasks = taskRepo.findOldOngoingAndIncompleteTasks(startDate, endDate, username);
 
-    if (tasks.isEmpty()) {
-        throw new NoOldIncompleteTasksException("No tasks found between " + startDate + " and " + endDate.minusDays(1));
-    }
-
-    return tasks.stream()
-        .map(task -> new TaskSendDTO(
-            task.getId(),
-            task.getTitle(),
-            task.getDescription(),
-            task.getDueDate(),
-            task.getTimeToComplete().format(DateTimeFormatter.ofPattern("hh:mm a", Locale.ENGLISH)),
-            task.getPriority(),
-            task.getStatus(),
-            task.getSubTasks().stream()
-                .map(subTask -> new SubTaskDTO(
-                    subTask.getId(),
-                    subTask.getTitle(),
-                    subTask.getStatus()
-                ))
-                .collect(Collectors.toList())
-        ))
-        .collect(Collectors.toList());
+// Both counts read a fixed few counter rows: today's, or the user's totals less the rows before today.
+public Map<String, Long> getTaskStatusCounts(long userId) {
+    LocalDate today = LocalDate.now();
+    return statusCounts(taskCounterService.countByStatusFrom(userId, today));
 }
 
-public Map<String, Long> getTaskStatusCounts(String username) {
-    LocalDate today = LocalDate.now(); // <-- changed here
-    Long incomplete = taskRepo.countPendingTasks(username, today);
-    Long ongoing = taskRepo.countOngoingTasks(username, today);
-
-    Map<String, Long> counts = new HashMap<>();
-    counts.put("INCOMPLETE", incomplete);   // <-- Capital keys
-    counts.put("ONGOING", ongoing);
-    return counts;
+public Map<String, Long> getTodayTaskStatusCounts(long userId) {
+    LocalDate today = LocalDate.now();
+    return statusCounts(taskCounterService.countByStatus(userId, today, today));
 }
 
-public Map<String, Long> getTodayTaskStatusCounts(String username) {
-    Long incomplete = taskRepo.countTodayPendingTasks(username);
-    Long ongoing = taskRepo.countTodayOngoingTasks(username);
-
+private Map<String, Long> statusCounts(Map<TaskStatus, Long> byStatus) {
     Map<String, Long> counts = new HashMap<>();
-    counts.put("INCOMPLETE", incomplete);   // <-- Capital keys
-    counts.put("ONGOING", ongoing);
+    counts.put("INCOMPLETE", byStatus.getOrDefault(TaskStatus.INCOMPLETE, 0L));   // <-- Capital keys
+    counts.put("ONGOING", byStatus.getOrDefault(TaskStatus.ONGOING, 0L));
     return counts;
 }
 
-
-
-
 }
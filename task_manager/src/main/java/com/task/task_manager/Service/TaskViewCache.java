@@ -0,0 +1,149 @@
+package com.task.task_manager.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.task.task_manager.DTO.SubTaskDTO;
+import com.task.task_manager.DTO.TaskSendDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Two-tier cache for the per-user task list views (L1 in-process, L2 one hash per user in the shared
+// store), keyed on the user's data version so an entry written before a change is never served after it.
+@Service
+public class TaskViewCache {
+
+    public static final String UPCOMING = "upcoming";
+    public static final String COMPLETED = "completed";
+    public static final String OLD_INCOMPLETE = "oldIncomplete";
+    private static final List<String> VIEWS = List.of(UPCOMING, COMPLETED, OLD_INCOMPLETE);
+
+    private static final Logger log = LoggerFactory.getLogger(TaskViewCache.class);
+    private static final String KEY_PREFIX = "taskview:";
+    private static final TypeReference<List<TaskSendDTO>> TASK_LIST = new TypeReference<>() {};
+
+    private record ViewKey(long userId, String view) {}
+
+    // The data version read before the tasks were loaded.
+    private record Cached(String version, List<TaskSendDTO> tasks) {}
+
+    private final KeyValueStore keyValueStore;
+    private final DataVersionService dataVersionService;
+    private final ObjectMapper objectMapper;
+    private final Duration l2Ttl;
+    private final Cache<ViewKey, Cached> l1;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+
+    public TaskViewCache(KeyValueStore keyValueStore, DataVersionService dataVersionService, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.task-view.l1-max-bytes:16777216}") long l1MaxBytes,
+            @Value("${app.cache.task-view.l1-ttl:PT2M}") Duration l1Ttl,
+            @Value("${app.cache.task-view.l2-ttl:PT10M}") Duration l2Ttl) {
+        this.keyValueStore = keyValueStore;
+        this.dataVersionService = dataVersionService;
+        this.objectMapper = objectMapper;
+        this.l2Ttl = l2Ttl;
+        this.l1 = Caffeine.newBuilder()
+                .maximumWeight(l1MaxBytes)
+                .weigher((ViewKey key, Cached cached) -> estimateBytes(cached.tasks()))
+                .expireAfterWrite(l1Ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, l1, "task.view.l1");
+
+        this.l1Hits = meterRegistry.counter("task.view.cache", "tier", "l1", "result", "hit");
+        this.l1Misses = meterRegistry.counter("task.view.cache", "tier", "l1", "result", "miss");
+        this.l2Hits = meterRegistry.counter("task.view.cache", "tier", "l2", "result", "hit");
+        this.l2Misses = meterRegistry.counter("task.view.cache", "tier", "l2", "result", "miss");
+    }
+
+    // Views depend on today's date, so the date is part of the key and entries roll over at midnight.
+    // Without a version to check against, the view is loaded and served uncached.
+    public List<TaskSendDTO> get(long userId, String view, Supplier<List<TaskSendDTO>> loader) {
+        if (!VIEWS.contains(view)) {
+            throw new IllegalArgumentException("Unknown task view " + view);
+        }
+        String version = dataVersionService.current(userId);
+        if (version == null) {
+            return List.copyOf(loader.get());
+        }
+        ViewKey key = new ViewKey(userId, view + ":" + LocalDate.now());
+        Cached cached = l1.getIfPresent(key);
+        if (cached != null && cached.version().equals(version)) {
+            l1Hits.increment();
+            return cached.tasks();
+        }
+        l1Misses.increment();
+
+        String field = key.view() + ":" + version;
+        List<TaskSendDTO> tasks = readL2(userId, field);
+        if (tasks != null) {
+            l2Hits.increment();
+        } else {
+            l2Misses.increment();
+            tasks = List.copyOf(loader.get());
+            if (!writeL2(userId, field, tasks, version)) {
+                return tasks;
+            }
+        }
+        l1.put(key, new Cached(version, tasks));
+        return tasks;
+    }
+
+    private List<TaskSendDTO> readL2(long userId, String field) {
+        try {
+            String json = keyValueStore.hashGet(KEY_PREFIX + userId, field);
+            return json == null ? null : List.copyOf(objectMapper.readValue(json, TASK_LIST));
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Task view L2 read failed for user {}", userId, e);
+            return null;
+        }
+    }
+
+    // False when the user's data changed since the version was read, or the write failed. Fields of
+    // older versions are never read again and go with the hash's TTL.
+    private boolean writeL2(long userId, String field, List<TaskSendDTO> tasks, String version) {
+        try {
+            return keyValueStore.hashPutIfUnchanged(KEY_PREFIX + userId, field, objectMapper.writeValueAsString(tasks),
+                    l2Ttl, Map.of(DataVersionService.KEY_PREFIX + userId, version));
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Task view L2 write failed for user {}", userId, e);
+            return false;
+        }
+    }
+
+    // Rough heap size of a cached list: fixed object overhead plus two bytes per character.
+    private static int estimateBytes(List<TaskSendDTO> tasks) {
+        long bytes = 64;
+        for (TaskSendDTO task : tasks) {
+            bytes += 160 + 2L * (length(task.title()) + length(task.description()));
+            for (SubTaskDTO subTask : task.subTasks()) {
+                bytes += 80 + 2L * length(subTask.title());
+            }
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
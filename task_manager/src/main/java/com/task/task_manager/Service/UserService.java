@@ -1,26 +1,81 @@
 package com.task.task_manager.Service;
 
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.task.task_manager.Model.ActivityLog;
 import com.task.task_manager.Model.User;
+import com.task.task_manager.Repo.ActivityLogRepo;
 import com.task.task_manager.Repo.UserRepo;
 
+import jakarta.transaction.Transactional;
+
 @Service
 public class UserService {
- 
+
     @Autowired
    private UserRepo repo;
+
+    @Autowired
+   private ActivityLogRepo activityLogRepo;
+
+    @Autowired
+   private RegisteredUserFilter registeredUserFilter;
+
    private BCryptPasswordEncoder encoder=new BCryptPasswordEncoder(12);
 
-   public void saveUser(User user)
+   // BCrypt at cost 12 takes a few hundred milliseconds. Callers hash before opening a transaction
+   // so no pooled connection is held while it runs.
+   public String encode(String rawPassword)
+   {
+         return encoder.encode(rawPassword);
+   }
+
+   public enum Registration { OK, USERNAME_TAKEN, EMAIL_TAKEN }
+
+   // Pre-OTP check. Names the filter has never seen are free without a query; otherwise one
+   // lookup finds which of the two is taken.
+   public Registration checkAvailability(String username, String email)
+   {
+         if (!registeredUserFilter.mightBeTaken(username, email)) {
+               return Registration.OK;
+         }
+         return conflict(username, email);
+   }
+
+   // Inserts the verified user and its first activity log row in one short transaction. The insert
+   // is the real uniqueness check, so two signups racing for a name cannot both succeed.
+   @Transactional
+   public Registration createUser(String username, String email, String passwordHash, String action)
+   {
+         Optional<Long> id = repo.insertIfAbsent(username, email, passwordHash);
+         if (id.isEmpty()) {
+               Registration conflict = conflict(username, email);
+               // The holder was deleted between the insert and the lookup; report the name as taken anyway.
+               return conflict == Registration.OK ? Registration.USERNAME_TAKEN : conflict;
+         }
+         registeredUserFilter.add(username, email);
+         activityLogRepo.save(ActivityLog.builder()
+               .user(repo.getReferenceById(id.get()))
+               .action(action)
+               .timestamp(LocalDateTime.now())
+               .build());
+         return Registration.OK;
+   }
+
+   private Registration conflict(String username, String email)
    {
-         user.setPassword(encoder.encode(user.getPassword()));
-                user=repo.save(user);
+         List<String> holders = repo.findUsernamesHolding(username, email);
+         if (holders.isEmpty()) {
+               return Registration.OK;
+         }
+         return holders.contains(username) ? Registration.USERNAME_TAKEN : Registration.EMAIL_TAKEN;
    }
 
    public List<User> getData() {
@@ -0,0 +1,8 @@
+-- A counter below zero means a delta was missed. Writes that would take one there now fail instead of
+-- hiding the drift until the next reconcile. Rows already below zero are reset first; the total
+-- trigger moves task_status_total with them.
+
+UPDATE task_status_count SET task_count = 0 WHERE task_count < 0;
+
+ALTER TABLE task_status_count DROP CONSTRAINT IF EXISTS task_status_count_non_negative;
+ALTER TABLE task_status_count ADD CONSTRAINT task_status_count_non_negative CHECK (task_count >= 0);
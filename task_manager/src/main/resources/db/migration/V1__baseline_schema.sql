@@ -0,0 +1,61 @@
+-- Schema as generated by Hibernate before migrations were introduced.
+-- Every statement is idempotent so it is a no-op on databases created by ddl-auto.
+
+CREATE TABLE IF NOT EXISTS users (
+    user_id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email         VARCHAR(255) NOT NULL UNIQUE,
+    last_activity TIMESTAMP(6),
+    last_login    TIMESTAMP(6),
+    password      VARCHAR(255) NOT NULL,
+    username      VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS task (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    description      VARCHAR(255) NOT NULL,
+    due_date         DATE NOT NULL,
+    priority         VARCHAR(255) NOT NULL,
+    status           VARCHAR(255) NOT NULL,
+    time_to_complete TIME(6) NOT NULL,
+    title            VARCHAR(255) NOT NULL,
+    user_id          BIGINT REFERENCES users (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS sub_task (
+    id      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    status  VARCHAR(255) NOT NULL,
+    title   VARCHAR(255) NOT NULL,
+    task_id BIGINT REFERENCES task (id)
+);
+
+CREATE TABLE IF NOT EXISTS habit_tracker (
+    id      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    date    DATE NOT NULL,
+    status  VARCHAR(255) NOT NULL,
+    title   VARCHAR(255) NOT NULL,
+    user_id BIGINT REFERENCES users (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS reminder (
+    id      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    date    DATE NOT NULL,
+    status  VARCHAR(255) NOT NULL,
+    time    TIME(6) NOT NULL,
+    title   VARCHAR(255) NOT NULL,
+    user_id BIGINT REFERENCES users (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS activity_logs (
+    activity_log_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    action          VARCHAR(255) NOT NULL,
+    timestamp       TIMESTAMP(6) NOT NULL,
+    user_id         BIGINT REFERENCES users (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS forget_password (
+    forget_password_id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    expiration_time    TIMESTAMP(6) NOT NULL,
+    otp                INTEGER NOT NULL,
+    otp_verified       BOOLEAN NOT NULL,
+    user_id            BIGINT REFERENCES users (user_id)
+);
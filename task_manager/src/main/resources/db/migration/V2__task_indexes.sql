@@ -0,0 +1,14 @@
+-- TaskRepo filters on user_id, status and due_date. The composite serves the
+-- per-status counts as index-only scans; the partial index covers the open-task
+-- views and their (due_date, time_to_complete, id) keyset order.
+
+CREATE INDEX IF NOT EXISTS idx_task_user_status_due
+    ON task (user_id, status, due_date);
+
+CREATE INDEX IF NOT EXISTS idx_task_user_open_due
+    ON task (user_id, due_date, time_to_complete, id)
+    WHERE status IN ('ONGOING', 'INCOMPLETE');
+
+-- Postgres does not index foreign keys on its own; subtasks are always loaded by task.
+CREATE INDEX IF NOT EXISTS idx_sub_task_task
+    ON sub_task (task_id);
@@ -0,0 +1,16 @@
+-- Per-user task counts by (status, due_date), maintained by TaskCounterService.
+
+CREATE TABLE IF NOT EXISTS task_status_counter (
+    user_id    BIGINT NOT NULL REFERENCES users (user_id) ON DELETE CASCADE,
+    status     VARCHAR(255) NOT NULL,
+    due_date   DATE NOT NULL,
+    task_count BIGINT NOT NULL,
+    PRIMARY KEY (user_id, status, due_date)
+);
+
+INSERT INTO task_status_counter (user_id, status, due_date, task_count)
+SELECT user_id, status, due_date, COUNT(*)
+FROM task
+WHERE user_id IS NOT NULL
+GROUP BY user_id, status, due_date
+ON CONFLICT (user_id, status, due_date) DO NOTHING;
@@ -0,0 +1,14 @@
+-- Append-only per-user change log behind GET /changes, written by ChangeLogService.
+
+CREATE TABLE IF NOT EXISTS change_log (
+    id          BIGSERIAL PRIMARY KEY,
+    user_id     BIGINT NOT NULL REFERENCES users (user_id) ON DELETE CASCADE,
+    entity_type VARCHAR(16) NOT NULL,
+    entity_id   BIGINT NOT NULL,
+    operation   VARCHAR(16) NOT NULL,
+    changed_at  TIMESTAMP NOT NULL
+);
+
+-- Feed reads are "user's entries after id X in id order"; pruning scans by time.
+CREATE INDEX IF NOT EXISTS idx_change_log_user_id ON change_log (user_id, id);
+CREATE INDEX IF NOT EXISTS idx_change_log_changed_at ON change_log (changed_at);
@@ -0,0 +1,3 @@
+-- ReminderFireScheduler looks up open reminders due in the current minute.
+
+CREATE INDEX IF NOT EXISTS idx_reminder_open_due ON reminder (date, time) WHERE status = 'INCOMPLETE';
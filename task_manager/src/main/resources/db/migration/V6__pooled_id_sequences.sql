@@ -0,0 +1,37 @@
+-- Ids now come from sequences with a pooled optimizer (allocationSize 50) instead of IDENTITY,
+-- so Hibernate can batch inserts. INCREMENT BY must match allocationSize.
+-- Each identity is dropped first: that locks the table, so the max id read next is final. The
+-- sequence is set to it; the next nextval returns max + 50 and Hibernate hands out max + 1 .. max + 50.
+-- The column default becomes nextval of the same sequence, so nodes still on the previous release,
+-- which insert without an id, keep working during a rolling deploy: each value they get is the top
+-- of a block no node hands out, so it cannot collide with ids from the pooled optimizer.
+
+ALTER TABLE task ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS task_seq INCREMENT BY 50 OWNED BY task.id;
+SELECT setval('task_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM task), 1));
+ALTER TABLE task ALTER COLUMN id SET DEFAULT nextval('task_seq');
+
+ALTER TABLE sub_task ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS sub_task_seq INCREMENT BY 50 OWNED BY sub_task.id;
+SELECT setval('sub_task_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM sub_task), 1));
+ALTER TABLE sub_task ALTER COLUMN id SET DEFAULT nextval('sub_task_seq');
+
+ALTER TABLE habit_tracker ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS habit_tracker_seq INCREMENT BY 50 OWNED BY habit_tracker.id;
+SELECT setval('habit_tracker_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM habit_tracker), 1));
+ALTER TABLE habit_tracker ALTER COLUMN id SET DEFAULT nextval('habit_tracker_seq');
+
+ALTER TABLE reminder ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS reminder_seq INCREMENT BY 50 OWNED BY reminder.id;
+SELECT setval('reminder_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM reminder), 1));
+ALTER TABLE reminder ALTER COLUMN id SET DEFAULT nextval('reminder_seq');
+
+ALTER TABLE activity_logs ALTER COLUMN activity_log_id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS activity_logs_seq INCREMENT BY 50 OWNED BY activity_logs.activity_log_id;
+SELECT setval('activity_logs_seq', GREATEST((SELECT COALESCE(MAX(activity_log_id), 0) FROM activity_logs), 1));
+ALTER TABLE activity_logs ALTER COLUMN activity_log_id SET DEFAULT nextval('activity_logs_seq');
+
+ALTER TABLE forget_password ALTER COLUMN forget_password_id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS forget_password_seq INCREMENT BY 50 OWNED BY forget_password.forget_password_id;
+SELECT setval('forget_password_seq', GREATEST((SELECT COALESCE(MAX(forget_password_id), 0) FROM forget_password), 1));
+ALTER TABLE forget_password ALTER COLUMN forget_password_id SET DEFAULT nextval('forget_password_seq');
@@ -0,0 +1,182 @@
+-- Status and priority move from VARCHAR(255) names to SMALLINT codes (TaskStatus / TaskPriority).
+-- This is the expand half: the string columns stay and a trigger keeps both sides in step, so nodes
+-- still on the previous release keep working during a rolling deploy. A later migration drops the
+-- string columns, the triggers and their old indexes once no node reads them.
+-- Runs outside a transaction (see the .conf file) so the backfill can commit per batch and the
+-- indexes can be built CONCURRENTLY.
+
+ALTER TABLE task ADD COLUMN IF NOT EXISTS status_code SMALLINT;
+ALTER TABLE task ADD COLUMN IF NOT EXISTS priority_code SMALLINT;
+ALTER TABLE sub_task ADD COLUMN IF NOT EXISTS status_code SMALLINT;
+ALTER TABLE habit_tracker ADD COLUMN IF NOT EXISTS status_code SMALLINT;
+ALTER TABLE reminder ADD COLUMN IF NOT EXISTS status_code SMALLINT;
+
+-- Codes must match TaskStatus.code / TaskPriority.code. Both INCOMPLETE and INCOMPLETED map to 0:
+-- tasks, subtasks and reminders store INCOMPLETE, while habits are created as INCOMPLETE and
+-- updated to INCOMPLETED, so habit_tracker holds both.
+CREATE OR REPLACE FUNCTION status_to_code(name TEXT) RETURNS SMALLINT
+LANGUAGE SQL IMMUTABLE AS $$
+    SELECT CASE name WHEN 'INCOMPLETE' THEN 0 WHEN 'INCOMPLETED' THEN 0
+                     WHEN 'ONGOING' THEN 1 WHEN 'COMPLETED' THEN 2 END::SMALLINT
+$$;
+
+CREATE OR REPLACE FUNCTION code_to_status(code SMALLINT, incomplete_name TEXT) RETURNS TEXT
+LANGUAGE SQL IMMUTABLE AS $$
+    SELECT CASE code WHEN 0 THEN incomplete_name WHEN 1 THEN 'ONGOING' WHEN 2 THEN 'COMPLETED' END
+$$;
+
+CREATE OR REPLACE FUNCTION priority_to_code(name TEXT) RETURNS SMALLINT
+LANGUAGE SQL IMMUTABLE AS $$
+    SELECT CASE name WHEN 'LOW' THEN 0 WHEN 'MEDIUM' THEN 1 WHEN 'HIGH' THEN 2 END::SMALLINT
+$$;
+
+CREATE OR REPLACE FUNCTION code_to_priority(code SMALLINT) RETURNS TEXT
+LANGUAGE SQL IMMUTABLE AS $$
+    SELECT CASE code WHEN 0 THEN 'LOW' WHEN 1 THEN 'MEDIUM' WHEN 2 THEN 'HIGH' END
+$$;
+
+-- Old nodes write only the name, new nodes only the code. Whichever side changed wins.
+-- TG_ARGV[0] is the name written back for code 0.
+CREATE OR REPLACE FUNCTION sync_status_code() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        IF NEW.status_code IS NULL THEN
+            NEW.status_code := COALESCE(status_to_code(NEW.status), 0);
+        ELSIF NEW.status IS NULL THEN
+            NEW.status := code_to_status(NEW.status_code, TG_ARGV[0]);
+        END IF;
+    ELSIF NEW.status_code IS DISTINCT FROM OLD.status_code THEN
+        NEW.status := code_to_status(NEW.status_code, TG_ARGV[0]);
+    ELSIF NEW.status IS DISTINCT FROM OLD.status THEN
+        NEW.status_code := COALESCE(status_to_code(NEW.status), 0);
+    END IF;
+    RETURN NEW;
+END
+$$;
+
+CREATE OR REPLACE FUNCTION sync_priority_code() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        IF NEW.priority_code IS NULL THEN
+            NEW.priority_code := COALESCE(priority_to_code(NEW.priority), 1);
+        ELSIF NEW.priority IS NULL THEN
+            NEW.priority := code_to_priority(NEW.priority_code);
+        END IF;
+    ELSIF NEW.priority_code IS DISTINCT FROM OLD.priority_code THEN
+        NEW.priority := code_to_priority(NEW.priority_code);
+    ELSIF NEW.priority IS DISTINCT FROM OLD.priority THEN
+        NEW.priority_code := COALESCE(priority_to_code(NEW.priority), 1);
+    END IF;
+    RETURN NEW;
+END
+$$;
+
+DROP TRIGGER IF EXISTS trg_task_status_code ON task;
+CREATE TRIGGER trg_task_status_code BEFORE INSERT OR UPDATE ON task
+    FOR EACH ROW EXECUTE FUNCTION sync_status_code('INCOMPLETE');
+DROP TRIGGER IF EXISTS trg_task_priority_code ON task;
+CREATE TRIGGER trg_task_priority_code BEFORE INSERT OR UPDATE ON task
+    FOR EACH ROW EXECUTE FUNCTION sync_priority_code();
+DROP TRIGGER IF EXISTS trg_sub_task_status_code ON sub_task;
+CREATE TRIGGER trg_sub_task_status_code BEFORE INSERT OR UPDATE ON sub_task
+    FOR EACH ROW EXECUTE FUNCTION sync_status_code('INCOMPLETE');
+DROP TRIGGER IF EXISTS trg_habit_tracker_status_code ON habit_tracker;
+CREATE TRIGGER trg_habit_tracker_status_code BEFORE INSERT OR UPDATE ON habit_tracker
+    FOR EACH ROW EXECUTE FUNCTION sync_status_code('INCOMPLETED');
+DROP TRIGGER IF EXISTS trg_reminder_status_code ON reminder;
+CREATE TRIGGER trg_reminder_status_code BEFORE INSERT OR UPDATE ON reminder
+    FOR EACH ROW EXECUTE FUNCTION sync_status_code('INCOMPLETE');
+
+-- Backfill in id ranges of 5000, committing after each so no long lock or huge transaction is held.
+-- Unknown names fall back to INCOMPLETE / MEDIUM.
+DO $$
+DECLARE
+    tbl TEXT;
+    max_id BIGINT;
+    lo BIGINT;
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY['task', 'sub_task', 'habit_tracker', 'reminder'] LOOP
+        EXECUTE format('SELECT COALESCE(MAX(id), 0) FROM %I', tbl) INTO max_id;
+        lo := 0;
+        WHILE lo <= max_id LOOP
+            IF tbl = 'task' THEN
+                UPDATE task
+                SET status_code = COALESCE(status_to_code(status), 0),
+                    priority_code = COALESCE(priority_to_code(priority), 1)
+                WHERE id > lo AND id <= lo + 5000 AND (status_code IS NULL OR priority_code IS NULL);
+            ELSE
+                EXECUTE format('UPDATE %I SET status_code = COALESCE(status_to_code(status), 0)'
+                    || ' WHERE id > $1 AND id <= $1 + 5000 AND status_code IS NULL', tbl) USING lo;
+            END IF;
+            COMMIT;
+            lo := lo + 5000;
+        END LOOP;
+    END LOOP;
+END
+$$;
+
+-- SET NOT NULL skips its full-table scan when a validated CHECK already proves it,
+-- and VALIDATE only takes a SHARE UPDATE EXCLUSIVE lock. Each CHECK is dropped first, so a rerun
+-- after a failure here does not stop on one left behind.
+ALTER TABLE task DROP CONSTRAINT IF EXISTS task_status_code_nn;
+ALTER TABLE task ADD CONSTRAINT task_status_code_nn CHECK (status_code IS NOT NULL) NOT VALID;
+ALTER TABLE task VALIDATE CONSTRAINT task_status_code_nn;
+ALTER TABLE task ALTER COLUMN status_code SET NOT NULL;
+ALTER TABLE task DROP CONSTRAINT task_status_code_nn;
+
+ALTER TABLE task DROP CONSTRAINT IF EXISTS task_priority_code_nn;
+ALTER TABLE task ADD CONSTRAINT task_priority_code_nn CHECK (priority_code IS NOT NULL) NOT VALID;
+ALTER TABLE task VALIDATE CONSTRAINT task_priority_code_nn;
+ALTER TABLE task ALTER COLUMN priority_code SET NOT NULL;
+ALTER TABLE task DROP CONSTRAINT task_priority_code_nn;
+
+ALTER TABLE sub_task DROP CONSTRAINT IF EXISTS sub_task_status_code_nn;
+ALTER TABLE sub_task ADD CONSTRAINT sub_task_status_code_nn CHECK (status_code IS NOT NULL) NOT VALID;
+ALTER TABLE sub_task VALIDATE CONSTRAINT sub_task_status_code_nn;
+ALTER TABLE sub_task ALTER COLUMN status_code SET NOT NULL;
+ALTER TABLE sub_task DROP CONSTRAINT sub_task_status_code_nn;
+
+ALTER TABLE habit_tracker DROP CONSTRAINT IF EXISTS habit_tracker_status_code_nn;
+ALTER TABLE habit_tracker ADD CONSTRAINT habit_tracker_status_code_nn CHECK (status_code IS NOT NULL) NOT VALID;
+ALTER TABLE habit_tracker VALIDATE CONSTRAINT habit_tracker_status_code_nn;
+ALTER TABLE habit_tracker ALTER COLUMN status_code SET NOT NULL;
+ALTER TABLE habit_tracker DROP CONSTRAINT habit_tracker_status_code_nn;
+
+ALTER TABLE reminder DROP CONSTRAINT IF EXISTS reminder_status_code_nn;
+ALTER TABLE reminder ADD CONSTRAINT reminder_status_code_nn CHECK (status_code IS NOT NULL) NOT VALID;
+ALTER TABLE reminder VALIDATE CONSTRAINT reminder_status_code_nn;
+ALTER TABLE reminder ALTER COLUMN status_code SET NOT NULL;
+ALTER TABLE reminder DROP CONSTRAINT reminder_status_code_nn;
+
+-- Code-based twins of the V2 and V5 indexes. The string ones serve old nodes until the contract step.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_user_status_code_due
+    ON task (user_id, status_code, due_date);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_user_open_code_due
+    ON task (user_id, due_date, time_to_complete, id)
+    WHERE status_code IN (0, 1);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reminder_open_code_due
+    ON reminder (date, time) WHERE status_code = 0;
+
+-- Counters keyed by status code, counted from task now that every row has its code. They replace
+-- task_status_counter, which only this release's own code used. The previous release keeps no counters;
+-- tasks its nodes write during the deploy are counted by the nightly reconcile.
+CREATE TABLE IF NOT EXISTS task_status_count (
+    user_id    BIGINT NOT NULL REFERENCES users (user_id) ON DELETE CASCADE,
+    status     SMALLINT NOT NULL,
+    due_date   DATE NOT NULL,
+    task_count BIGINT NOT NULL,
+    PRIMARY KEY (user_id, status, due_date)
+);
+
+INSERT INTO task_status_count (user_id, status, due_date, task_count)
+SELECT user_id, status_code, due_date, COUNT(*)
+FROM task
+WHERE user_id IS NOT NULL
+GROUP BY 1, 2, 3
+ON CONFLICT (user_id, status, due_date) DO NOTHING;
+
+DROP TABLE IF EXISTS task_status_counter;
@@ -0,0 +1,13 @@
+-- The feed cursor moves from the change id to (writing transaction id, change id). Ids are handed out
+-- at insert, not at commit, so a transaction can commit a lower id after a reader has moved past it;
+-- readers now only return rows written by transactions older than the oldest one still running.
+-- Runs outside a transaction (see the .conf file) so the index can be built CONCURRENTLY.
+
+-- Existing rows keep txid 0, which sorts them before anything written from now on. The constant
+-- default avoids a table rewrite; the per-row default is set separately and applies to new rows,
+-- including those written by nodes still on the previous release.
+ALTER TABLE change_log ADD COLUMN IF NOT EXISTS txid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE change_log ALTER COLUMN txid SET DEFAULT CAST(CAST(pg_current_xact_id() AS TEXT) AS BIGINT);
+
+-- idx_change_log_user_id serves nodes still reading by id until a later migration drops it.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_change_log_user_txid ON change_log (user_id, txid, id);
@@ -0,0 +1,44 @@
+-- Per-user task totals by status, so "due from X on" is the total minus the few rows before X instead
+-- of a sum over every future due date. A trigger on task_status_count keeps them in step inside the
+-- statement that changes a counter row.
+
+CREATE TABLE IF NOT EXISTS task_status_total (
+    user_id    BIGINT NOT NULL REFERENCES users (user_id) ON DELETE CASCADE,
+    status     SMALLINT NOT NULL,
+    task_count BIGINT NOT NULL,
+    PRIMARY KEY (user_id, status)
+);
+
+-- Counter rows never change key, only task_count. A deleted row always has its total, so deletes
+-- only update: when a user is deleted the cascade may already have removed the total.
+CREATE OR REPLACE FUNCTION add_to_task_status_total() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        UPDATE task_status_total SET task_count = task_count - OLD.task_count
+        WHERE user_id = OLD.user_id AND status = OLD.status;
+    ELSIF TG_OP = 'INSERT' OR NEW.task_count <> OLD.task_count THEN
+        INSERT INTO task_status_total (user_id, status, task_count)
+        VALUES (NEW.user_id, NEW.status, NEW.task_count - CASE TG_OP WHEN 'UPDATE' THEN OLD.task_count ELSE 0 END)
+        ON CONFLICT (user_id, status) DO UPDATE SET task_count = task_status_total.task_count + EXCLUDED.task_count;
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+-- Writers wait out the few statements below, so no counter change lands between the trigger and the backfill.
+LOCK TABLE task_status_count IN SHARE ROW EXCLUSIVE MODE;
+
+DROP TRIGGER IF EXISTS trg_task_status_total ON task_status_count;
+CREATE TRIGGER trg_task_status_total AFTER INSERT OR UPDATE OR DELETE ON task_status_count
+    FOR EACH ROW EXECUTE FUNCTION add_to_task_status_total();
+
+INSERT INTO task_status_total (user_id, status, task_count)
+SELECT user_id, status, SUM(task_count)
+FROM task_status_count
+GROUP BY user_id, status
+ON CONFLICT (user_id, status) DO NOTHING;
+
+-- Range reads over all statuses ("everything due before X"); the primary key leads with status.
+CREATE INDEX IF NOT EXISTS idx_task_status_count_user_due
+    ON task_status_count (user_id, due_date) INCLUDE (status, task_count);
@@ -0,0 +1,71 @@
+package com.task.task_manager;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.task.task_manager.AOP.ActivityLogAspect;
+import com.task.task_manager.Annotation.LogActivity;
+import com.task.task_manager.Controller.TaskController;
+import com.task.task_manager.DTO.TaskBatchRequest;
+import com.task.task_manager.Model.ActivityLog;
+import com.task.task_manager.Repo.ActivityLogRepo;
+import com.task.task_manager.Repo.UserRepo;
+import com.task.task_manager.Service.JwtService;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityLogAspectTest {
+
+    @Mock private ActivityLogRepo activityLogRepo;
+    @Mock private JwtService jwtService;
+    @Mock private UserRepo userRepo;
+
+    @InjectMocks
+    private ActivityLogAspect activityLogAspect;
+
+    private LogActivity logActivity;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        logActivity = TaskController.class.getMethod("applyBatch", TaskBatchRequest.class).getAnnotation(LogActivity.class);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("POST", "/tasks:batch")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testAppliedRequestIsLogged() {
+        when(jwtService.extractToken(any())).thenReturn("token");
+        when(jwtService.extractUserName("token")).thenReturn("alice");
+        when(userRepo.touchLastActivity(eq("alice"), any(LocalDateTime.class))).thenReturn(Optional.of(7L));
+
+        activityLogAspect.logAfter(null, logActivity, ResponseEntity.ok().build());
+
+        verify(activityLogRepo).save(any(ActivityLog.class));
+    }
+
+    @Test
+    void testRejectedRequestIsNotLogged() {
+        activityLogAspect.logAfter(null, logActivity, ResponseEntity.badRequest().build());
+
+        verifyNoInteractions(jwtService, userRepo, activityLogRepo);
+    }
+}
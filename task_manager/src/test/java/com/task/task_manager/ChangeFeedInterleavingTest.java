@@ -0,0 +1,115 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.task.task_manager.DTO.ChangeFeedDTO;
+import com.task.task_manager.DTO.DeletedEntityDTO;
+import com.task.task_manager.Model.ChangeLogEntry.EntityType;
+import com.task.task_manager.Model.User;
+import com.task.task_manager.Repo.UserRepo;
+import com.task.task_manager.Service.ChangeFeedService;
+import com.task.task_manager.Service.ChangeLogService;
+
+class ChangeFeedInterleavingTest extends PostgresTest {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void testChangeCommittedBehindTheCursorIsStillDelivered() throws Exception {
+        User user = user();
+        String cursor = changeFeedService.getChanges(user.getId(), null).cursor();
+        Set<DeletedEntityDTO> delivered = new HashSet<>();
+
+        // The first transaction takes the lower change id and stays open while the second one,
+        // with the higher id, commits and the client syncs.
+        try (Connection first = dataSource.getConnection()) {
+            first.setAutoCommit(false);
+            try (PreparedStatement insert = first.prepareStatement("INSERT INTO change_log"
+                    + " (user_id, entity_type, entity_id, operation, changed_at) VALUES (?, 'TASK', 1001, 'DELETE', ?)")) {
+                insert.setLong(1, user.getId());
+                insert.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                insert.executeUpdate();
+            }
+
+            transactionTemplate.executeWithoutResult(status ->
+                    changeLogService.deleted(user.getId(), EntityType.TASK, 1002L));
+
+            ChangeFeedDTO during = changeFeedService.getChanges(user.getId(), cursor);
+            delivered.addAll(during.deleted());
+            cursor = during.cursor();
+
+            first.commit();
+        }
+
+        ChangeFeedDTO after = changeFeedService.getChanges(user.getId(), cursor);
+        delivered.addAll(after.deleted());
+
+        assertEquals(Set.of(new DeletedEntityDTO("TASK", 1001L), new DeletedEntityDTO("TASK", 1002L)), delivered);
+    }
+
+    @Test
+    void testTransactionOpenPastTheLagCapNoLongerHoldsTheFeed() throws Exception {
+        User user = user();
+        String cursor = changeFeedService.getChanges(user.getId(), null).cursor();
+        ReflectionTestUtils.setField(AopTestUtils.getTargetObject(changeFeedService), "maxHorizonLag", Duration.ZERO);
+        try (Connection stalled = dataSource.getConnection()) {
+            stalled.setAutoCommit(false);
+            try (PreparedStatement insert = stalled.prepareStatement("INSERT INTO change_log"
+                    + " (user_id, entity_type, entity_id, operation, changed_at) VALUES (?, 'TASK', 1001, 'DELETE', ?)")) {
+                insert.setLong(1, user.getId());
+                insert.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                insert.executeUpdate();
+            }
+
+            transactionTemplate.executeWithoutResult(status ->
+                    changeLogService.deleted(user.getId(), EntityType.TASK, 1002L));
+
+            ChangeFeedDTO during = changeFeedService.getChanges(user.getId(), cursor);
+
+            assertEquals(List.of(new DeletedEntityDTO("TASK", 1002L)), during.deleted());
+            stalled.rollback();
+        } finally {
+            ReflectionTestUtils.setField(AopTestUtils.getTargetObject(changeFeedService), "maxHorizonLag", Duration.ofMinutes(1));
+        }
+    }
+
+    private User user() {
+        String name = "feed-" + UUID.randomUUID();
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("secret");
+        return userRepo.save(user);
+    }
+}
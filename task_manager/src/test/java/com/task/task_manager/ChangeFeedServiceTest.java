@@ -0,0 +1,190 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.task.task_manager.DTO.ChangeFeedDTO;
+import com.task.task_manager.DTO.DeletedEntityDTO;
+import com.task.task_manager.DTO.ReminderSendDTO;
+import com.task.task_manager.DTO.TaskSendDTO;
+import com.task.task_manager.Model.ChangeLogEntry;
+import com.task.task_manager.Model.ChangeLogEntry.EntityType;
+import com.task.task_manager.Model.ChangeLogEntry.Operation;
+import com.task.task_manager.Model.TaskPriority;
+import com.task.task_manager.Model.TaskStatus;
+import com.task.task_manager.Repo.ChangeLogRepo;
+import com.task.task_manager.Service.ChangeCursor;
+import com.task.task_manager.Service.ChangeFeedService;
+import com.task.task_manager.Service.HabitTrackerService;
+import com.task.task_manager.Service.ReminderService;
+import com.task.task_manager.Service.TaskService;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeFeedServiceTest {
+
+    @Mock
+    private ChangeLogRepo changeLogRepo;
+    @Mock
+    private TaskService taskService;
+    @Mock
+    private ReminderService reminderService;
+    @Mock
+    private HabitTrackerService habitTrackerService;
+
+    @InjectMocks
+    private ChangeFeedService changeFeedService;
+
+    private final TaskSendDTO task = new TaskSendDTO(1L, "Task", "Description", LocalDate.now(), "10:00 AM", TaskPriority.HIGH, TaskStatus.ONGOING, List.of());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(changeFeedService, "retention", Duration.ofDays(7));
+        ReflectionTestUtils.setField(changeFeedService, "maxHorizonLag", Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testNoCursorReturnsSnapshot() {
+        when(changeLogRepo.findCommittedHorizon(60L)).thenReturn(horizon(42L));
+        when(taskService.getTasksAfter(7L, 0L, 501)).thenReturn(List.of(task));
+
+        ChangeFeedDTO feed = changeFeedService.getChanges(7L, null);
+
+        assertTrue(feed.snapshot());
+        assertEquals(List.of(task), feed.tasks());
+        assertFalse(feed.hasMore());
+        assertEquals(42L, ChangeCursor.decode(feed.cursor()).txid());
+        assertNull(ChangeCursor.decode(feed.cursor()).resumeType());
+        verify(reminderService).getRemindersAfter(7L, 0L, 500);
+        verify(habitTrackerService).getHabitsAfter(7L, 0L, 500);
+        verify(changeLogRepo, never()).findChangesAfter(anyLong(), anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void testCursorWithoutTxidReturnsSnapshot() {
+        String since = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("5|" + LocalDateTime.now()).getBytes(StandardCharsets.UTF_8));
+
+        ChangeFeedDTO feed = changeFeedService.getChanges(7L, since);
+
+        assertTrue(feed.snapshot());
+        verify(taskService).getTasksAfter(7L, 0L, 501);
+    }
+
+    @Test
+    void testExpiredCursorReturnsSnapshot() {
+        String since = new ChangeCursor(30L, 5L, LocalDateTime.now().minusDays(8)).encode();
+
+        ChangeFeedDTO feed = changeFeedService.getChanges(7L, since);
+
+        assertTrue(feed.snapshot());
+        verify(taskService).getTasksAfter(7L, 0L, 501);
+    }
+
+    @Test
+    void testSnapshotThatDoesNotFitContinuesAfterTheLastRowSent() {
+        LocalDateTime at = LocalDateTime.now().minusMinutes(1);
+        String since = new ChangeCursor(42L, 0L, at, EntityType.REMINDER, 0L).encode();
+        List<ReminderSendDTO> reminders = new ArrayList<>();
+        for (long id = 1; id <= 501; id++) {
+            reminders.add(new ReminderSendDTO(id, "Reminder", LocalDate.now(), "10:00 AM", TaskStatus.ONGOING));
+        }
+        when(reminderService.getRemindersAfter(7L, 0L, 501)).thenReturn(reminders);
+
+        ChangeFeedDTO feed = changeFeedService.getChanges(7L, since);
+
+        // A later page adds to the snapshot and keeps its horizon; no type before the one it stopped at is read again.
+        assertFalse(feed.snapshot());
+        assertTrue(feed.hasMore());
+        assertEquals(500, feed.reminders().size());
+        assertEquals(new ChangeCursor(42L, 0L, at, EntityType.REMINDER, 500L), ChangeCursor.decode(feed.cursor()));
+        verify(taskService, never()).getTasksAfter(anyLong(), anyLong(), anyInt());
+        verify(habitTrackerService, never()).getHabitsAfter(anyLong(), anyLong(), anyInt());
+        verify(changeLogRepo, never()).findCommittedHorizon(anyLong());
+
+        when(reminderService.getRemindersAfter(7L, 500L, 501)).thenReturn(reminders.subList(500, 501));
+        when(habitTrackerService.getHabitsAfter(7L, 0L, 500)).thenReturn(List.of());
+
+        ChangeFeedDTO last = changeFeedService.getChanges(7L, feed.cursor());
+
+        assertFalse(last.hasMore());
+        assertEquals(reminders.subList(500, 501), last.reminders());
+        assertEquals(new ChangeCursor(42L, 0L, at), ChangeCursor.decode(last.cursor()));
+    }
+
+    @Test
+    void testDeltaReturnsLatestUpsertsAndTombstones() {
+        String since = new ChangeCursor(30L, 5L, LocalDateTime.now().minusMinutes(1)).encode();
+        when(changeLogRepo.findCommittedHorizon(60L)).thenReturn(horizon(40L));
+        when(changeLogRepo.findChangesAfter(eq(7L), eq(30L), eq(5L), eq(40L), any())).thenReturn(List.of(
+                entry(6L, EntityType.TASK, 1L, Operation.UPSERT),
+                entry(7L, EntityType.TASK, 2L, Operation.UPSERT),
+                entry(8L, EntityType.TASK, 2L, Operation.DELETE),
+                entry(9L, EntityType.REMINDER, 3L, Operation.UPSERT)));
+        when(taskService.getTasks(7L, List.of(1L))).thenReturn(List.of(task));
+        when(reminderService.getReminders(7L, List.of(3L))).thenReturn(List.of());
+
+        ChangeFeedDTO feed = changeFeedService.getChanges(7L, since);
+
+        assertFalse(feed.snapshot());
+        assertFalse(feed.hasMore());
+        assertEquals(List.of(task), feed.tasks());
+        assertEquals(List.of(new DeletedEntityDTO("TASK", 2L), new DeletedEntityDTO("REMINDER", 3L)), feed.deleted());
+        ChangeCursor next = ChangeCursor.decode(feed.cursor());
+        assertEquals(40L, next.txid());
+        assertEquals(0L, next.changeId());
+        verify(habitTrackerService, never()).getHabits(anyLong(), any());
+    }
+
+    @Test
+    void testBacklogCursorStopsAtLastEntrySent() {
+        String since = new ChangeCursor(30L, 5L, LocalDateTime.now().minusMinutes(1)).encode();
+        List<ChangeLogEntry> backlog = new ArrayList<>();
+        for (long id = 6; id <= 506; id++) {
+            backlog.add(entry(id, EntityType.TASK, id, Operation.DELETE));
+        }
+        when(changeLogRepo.findCommittedHorizon(60L)).thenReturn(horizon(40L));
+        when(changeLogRepo.findChangesAfter(eq(7L), eq(30L), eq(5L), eq(40L), any())).thenReturn(backlog);
+
+        ChangeFeedDTO feed = changeFeedService.getChanges(7L, since);
+
+        assertTrue(feed.hasMore());
+        assertEquals(500, feed.deleted().size());
+        ChangeCursor next = ChangeCursor.decode(feed.cursor());
+        assertEquals(31L, next.txid());
+        assertEquals(505L, next.changeId());
+    }
+
+    private static List<Object[]> horizon(long txid) {
+        return List.<Object[]>of(new Object[] {txid, 0L});
+    }
+
+    private ChangeLogEntry entry(long id, EntityType type, long entityId, Operation operation) {
+        ChangeLogEntry entry = new ChangeLogEntry(7L, type, entityId, operation);
+        entry.setId(id);
+        entry.setTxid(31L);
+        return entry;
+    }
+}
@@ -1,12 +1,25 @@
 package com.task.task_manager;
 
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,12 +30,23 @@ import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.task.task_manager.Controller.ChatBotController;
-import com.task.task_manager.Service.TaskService;
+import com.task.task_manager.Model.User;
+import com.task.task_manager.Model.UserPrincipal;
+import com.task.task_manager.Service.ChatBotService;
+import com.task.task_manager.Service.ChatStatsService;
+import com.task.task_manager.Service.ChatStatsService.OpenCounts;
+import com.task.task_manager.Service.ChatStatsService.Stats;
+import com.task.task_manager.Service.ChatStreamService;
+import com.task.task_manager.Service.ConversationMemory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 class ChatBotControllerTest {
 
@@ -30,7 +54,7 @@ class ChatBotControllerTest {
     private ObjectMapper objectMapper = new ObjectMapper();
 
     @Mock
-    private TaskService taskService;
+    private ChatStatsService chatStatsService;
 
     @Mock
     private SecurityContext securityContext;
@@ -44,10 +68,20 @@ class ChatBotControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ChatBotService chatBotService = new ChatBotService(chatStatsService,
+                new ConversationMemory(meterRegistry, 8, 1000, Duration.ofMinutes(15)));
+        ReflectionTestUtils.setField(chatBotController, "chatBotService", chatBotService);
+        ReflectionTestUtils.setField(chatBotController, "chatStreamService",
+                new ChatStreamService(chatBotService, meterRegistry, Duration.ofSeconds(10), 1, 16));
         mockMvc = MockMvcBuilders.standaloneSetup(chatBotController).build();
 
         when(securityContext.getAuthentication()).thenReturn(authentication);
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("testuser");
         when(authentication.getName()).thenReturn("testuser");
+        when(authentication.getPrincipal()).thenReturn(new UserPrincipal(user));
         SecurityContextHolder.setContext(securityContext);
     }
 
@@ -80,11 +114,7 @@ void testChatTodayTasks() throws Exception {
     Map<String, String> request = new HashMap<>();
     request.put("message", "today's tasks"); // Changed to only use "today" keyword
 
-    Map<String, Long> taskCounts = new HashMap<>();
-    taskCounts.put("INCOMPLETE", 2L);
-    taskCounts.put("ONGOING", 1L);
-
-    when(taskService.getTodayTaskStatusCounts("testuser")).thenReturn(taskCounts);
+    when(chatStatsService.stats(7L)).thenReturn(stats(new OpenCounts(2, 1), new OpenCounts(0, 0)));
 
     mockMvc.perform(post("/api/chatbot/chat")
             .contentType(MediaType.APPLICATION_JSON)
@@ -98,11 +128,7 @@ void testChatPendingTasks() throws Exception {
     Map<String, String> request = new HashMap<>();
     request.put("message", "pending tasks"); // Changed to only use "pending" keyword
 
-    Map<String, Long> taskCounts = new HashMap<>();
-    taskCounts.put("INCOMPLETE", 3L);
-    taskCounts.put("ONGOING", 2L);
-
-    when(taskService.getTaskStatusCounts("testuser")).thenReturn(taskCounts);
+    when(chatStatsService.stats(7L)).thenReturn(stats(new OpenCounts(0, 0), new OpenCounts(3, 2)));
 
     mockMvc.perform(post("/api/chatbot/chat")
             .contentType(MediaType.APPLICATION_JSON)
@@ -111,6 +137,48 @@ void testChatPendingTasks() throws Exception {
             .andExpect(jsonPath("$.reply").value(" Tasks To be completed\n\n- Incomplete: 3\n- Ongoing: 2\n"));
 }
 
+    @Test
+    void testChatStatsIntentsReadOneSnapshot() throws Exception {
+        when(chatStatsService.stats(7L)).thenReturn(new Stats(new OpenCounts(1, 0), new OpenCounts(0, 0),
+                new OpenCounts(4, 1), new OpenCounts(2, 1), new OpenCounts(3, 0), 0, 5, 12, LocalDateTime.of(2026, 10, 21, 9, 30), "Standup"));
+
+        Map<String, String> expected = Map.of(
+                "what's overdue?", "Overdue Tasks\n\n- Incomplete: 2\n- Ongoing: 1\n",
+                "due this week", "Due This Week\n\n- Incomplete: 3\n- Ongoing: 0\n",
+                "what have I completed this week", "You have completed 5 tasks due this week.",
+                "my habit streak", "You have completed all your habits 12 days in a row. Keep it up!",
+                "next reminder", "Your next reminder is \"Standup\" on Wed, Oct 21 at 09:30 AM.");
+        for (Map.Entry<String, String> chat : expected.entrySet()) {
+            mockMvc.perform(post("/api/chatbot/chat")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Map.of("message", chat.getKey()))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.reply").value(chat.getValue()));
+        }
+        verify(chatStatsService, times(expected.size())).stats(7L);
+    }
+
+    @Test
+    void testChatStreamSendsTheReplyInChunks() throws Exception {
+        when(chatStatsService.stats(7L)).thenReturn(stats(new OpenCounts(2, 1), new OpenCounts(0, 0)));
+
+        MvcResult result = mockMvc.perform(post("/api/chatbot/chat/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("message", "today's tasks"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = awaitContaining(result, "event:done");
+        StringBuilder reply = new StringBuilder();
+        for (String line : body.split("\n")) {
+            if (line.startsWith("data:{")) {
+                reply.append(objectMapper.readTree(line.substring("data:".length())).get("text").asText());
+            }
+        }
+        assertEquals("Today's Tasks\n\n- Incomplete: 2\n- Ongoing: 1\n", reply.toString());
+        assertTrue(body.indexOf("event:chunk") < body.indexOf("event:done"));
+    }
+
     @Test
     void testChatHelp() throws Exception {
         Map<String, String> request = new HashMap<>();
@@ -134,4 +202,60 @@ void testChatPendingTasks() throws Exception {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.reply").value("Sorry, I didn't get that. Please ask about tasks."));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testConcurrentUsersGetTheirOwnCounts() throws Exception {
+        when(chatStatsService.stats(anyLong())).thenAnswer(invocation -> {
+            long userId = invocation.getArgument(0);
+            Thread.sleep(1);   // widen the window a shared caller field would race in
+            return stats(new OpenCounts(0, 0), new OpenCounts(userId, 0));
+        });
+        int users = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (long userId = 1; userId <= users; userId++) {
+            long id = userId;
+            Callable<List<String>> chats = () -> {
+                User user = new User();
+                user.setId(id);
+                Authentication caller = mock(Authentication.class);
+                when(caller.getPrincipal()).thenReturn(new UserPrincipal(user));
+                SecurityContextHolder.setContext(SecurityContextHolder.createEmptyContext());
+                SecurityContextHolder.getContext().setAuthentication(caller);
+                start.await();
+                List<String> replies = new ArrayList<>();
+                for (int i = 0; i < 50; i++) {
+                    replies.add(chatBotController.chat(Map.of("message", "pending tasks")).get("reply"));
+                }
+                return replies;
+            };
+            results.add(pool.submit(chats));
+        }
+        start.countDown();
+
+        for (int userId = 1; userId <= users; userId++) {
+            String expected = " Tasks To be completed\n\n- Incomplete: " + userId + "\n- Ongoing: 0\n";
+            for (String reply : results.get(userId - 1).get(30, TimeUnit.SECONDS)) {
+                assertEquals(expected, reply);
+            }
+        }
+        pool.shutdown();
+    }
+
+    private static Stats stats(OpenCounts today, OpenCounts pending) {
+        OpenCounts none = new OpenCounts(0, 0);
+        return new Stats(today, none, pending, none, none, 0, 0, 0, null, null);
+    }
+
+    private String awaitContaining(MvcResult result, String text) throws Exception {
+        for (int i = 0; i < 100; i++) {
+            String body = result.getResponse().getContentAsString();
+            if (body.contains(text)) {
+                return body;
+            }
+            Thread.sleep(20);
+        }
+        return result.getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,131 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.task.task_manager.Service.ChatBotService;
+import com.task.task_manager.Service.ChatStatsService;
+import com.task.task_manager.Service.ChatStatsService.OpenCounts;
+import com.task.task_manager.Service.ChatStatsService.Stats;
+import com.task.task_manager.Service.ConversationMemory;
+import com.task.task_manager.Service.ChatIntent;
+import com.task.task_manager.Service.KeywordAutomaton;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ChatBotServiceTest {
+
+    private final ChatStatsService chatStatsService = mock(ChatStatsService.class);
+    private final ConversationMemory conversationMemory =
+            new ConversationMemory(new SimpleMeterRegistry(), 4, 1000, Duration.ofMinutes(15));
+    private final ChatBotService chatBotService = new ChatBotService(chatStatsService, conversationMemory);
+
+    @Test
+    void testAutomatonFindsOverlappingKeywords() {
+        KeywordAutomaton automaton = new KeywordAutomaton(List.of("he", "she", "his", "hers"));
+
+        assertEquals(0b1011, automaton.match("uSHErs"));   // she, he and hers end inside each other
+        assertEquals(0b0100, automaton.match("this"));
+        assertEquals(0, automaton.match("ОТЧЁТ h-e"));
+    }
+
+    @Test
+    void testClassificationMatchesThePreviousContainsChain() {
+        List<String> corpus = List.of(
+                "hello", "Hi there", "this is it", "create a task", "create", "my task", "show me today's tasks",
+                "view performance", "delete this task", "please REMOVE it", "help", "thank you", "thanks!", "bye",
+                "exit", "what is due today", "pending tasks", "tasks in progress", "incomplete", "ongoing work",
+                "mark complete", "done", "unknown command", "what?", "create task today",
+                "create a task for next week", "how do I delete a reminder", "show my habits", "remove a habit",
+                "view my reminders", "create a task to renew my habit tracker every week");
+        for (String message : corpus) {
+            assertEquals(containsChain(message), chatBotService.classify(message), message);
+        }
+    }
+
+    @Test
+    void testMisspelledKeywordsAreCorrected() {
+        assertEquals(ChatIntent.PENDING, chatBotService.classify("pendng tasks"));
+        assertEquals(ChatIntent.TODAY, chatBotService.classify("what's due todya"));
+        assertEquals(ChatIntent.DELETE, chatBotService.classify("how do I delte a task"));
+        assertEquals(ChatIntent.CREATE_TASK, chatBotService.classify("creat a task"));
+        assertEquals(ChatIntent.PENDING, chatBotService.classify("Incompleet"));   // two edits on a long keyword
+        assertEquals(ChatIntent.GREETING, chatBotService.classify("helo"));      // hello is one deletion away
+    }
+
+    @Test
+    void testShortWordsAndFarWordsAreNotCorrected() {
+        assertEquals(ChatIntent.UNKNOWN, chatBotService.classify("how are you"));   // one edit from "show"
+        assertEquals(ChatIntent.UNKNOWN, chatBotService.classify("edit"));          // one edit from "exit"
+        assertEquals(ChatIntent.UNKNOWN, chatBotService.classify("tdoya"));         // two edits from "today"
+        assertEquals(ChatIntent.UNKNOWN, chatBotService.classify("weather forecast"));
+        assertEquals(ChatIntent.UNKNOWN, chatBotService.classify("steak for dinner"));   // one edit from "streak"
+    }
+
+    @Test
+    void testStatsQuestionsOutrankGeneralIntents() {
+        assertEquals(ChatIntent.OVERDUE, chatBotService.classify("show me what's overdue"));
+        assertEquals(ChatIntent.DUE_THIS_WEEK, chatBotService.classify("what is due this week?"));
+        assertEquals(ChatIntent.COMPLETED_THIS_WEEK, chatBotService.classify("How many tasks have I completed this week"));
+        assertEquals(ChatIntent.HABIT_STREAK, chatBotService.classify("hi, how long is my streak"));
+        assertEquals(ChatIntent.NEXT_REMINDER, chatBotService.classify("when is my next reminder"));
+        assertEquals(ChatIntent.OVERDUE, chatBotService.classify("ovredue tasks?"));   // corrected typo
+        assertEquals(ChatIntent.TOMORROW, chatBotService.classify("Tomorrow"));
+        assertEquals(ChatIntent.BYE, chatBotService.classify("I'm done for the week, bye"));
+    }
+
+    @Test
+    void testFollowUpsKeepTheSubjectOfTheLastQuestion() {
+        OpenCounts none = new OpenCounts(0, 0);
+        when(chatStatsService.stats(7L)).thenReturn(new Stats(new OpenCounts(2, 1), new OpenCounts(4, 0), none, none,
+                none, 3, 5, 0, null, null));
+        when(chatStatsService.stats(8L)).thenReturn(new Stats(new OpenCounts(1, 1), none, none, none,
+                none, 0, 0, 0, null, null));
+
+        assertEquals("You have completed 5 tasks due this week.", chatBotService.reply(7L, "What have I completed this week?"));
+        assertEquals("You have completed 3 tasks due today.", chatBotService.reply(7L, "and today?"));
+        assertEquals("You're welcome! If you have more questions, feel free to ask.", chatBotService.reply(7L, "thanks"));
+        assertEquals("You have completed 3 tasks due today.", chatBotService.reply(7L, "what about now"));
+        assertEquals("Today's Tasks\n\n- Incomplete: 2\n- Ongoing: 1\n", chatBotService.reply(7L, "today's tasks"));
+        assertEquals("Tomorrow's Tasks\n\n- Incomplete: 4\n- Ongoing: 0\n", chatBotService.reply(7L, "And tomorrow?"));
+
+        // Another user's conversation is separate, and "android" does not open a follow-up.
+        assertEquals("Today's Tasks\n\n- Incomplete: 1\n- Ongoing: 1\n", chatBotService.reply(8L, "and today?"));
+        assertEquals("Sorry, I didn't get that. Please ask about tasks.", chatBotService.reply(7L, "android"));
+    }
+
+    @Test
+    void testConversationKeepsOnlyTheLastTurns() {
+        List.of(ChatIntent.TODAY, ChatIntent.OVERDUE, ChatIntent.HELP, ChatIntent.BYE, ChatIntent.TOMORROW, ChatIntent.PENDING)
+                .forEach(intent -> conversationMemory.remember(9L, intent));
+
+        assertEquals(List.of(ChatIntent.PENDING, ChatIntent.TOMORROW, ChatIntent.BYE, ChatIntent.HELP),
+                conversationMemory.recent(9L));
+        assertEquals(List.of(), conversationMemory.recent(10L));
+        assertEquals(1, conversationMemory.conversationCount());
+        assertEquals(128 + 4 * 4, conversationMemory.estimatedBytes());
+    }
+
+    // The if/else chain the automaton replaced.
+    private static ChatIntent containsChain(String message) {
+        String lower = message.toLowerCase();
+        if (lower.contains("hello") || lower.contains("hi")) return ChatIntent.GREETING;
+        if (lower.contains("create") && lower.contains("task")) return ChatIntent.CREATE_TASK;
+        if (lower.contains("view") || lower.contains("show")) return ChatIntent.VIEW;
+        if (lower.contains("delete") || lower.contains("remove")) return ChatIntent.DELETE;
+        if (lower.contains("help")) return ChatIntent.HELP;
+        if (lower.contains("thanks") || lower.contains("thank you")) return ChatIntent.THANKS;
+        if (lower.contains("bye") || lower.contains("exit")) return ChatIntent.BYE;
+        if (lower.contains("today")) return ChatIntent.TODAY;
+        if (lower.contains("pending") || lower.contains("incomplete") || lower.contains("ongoing")
+                || lower.contains("in progress")) return ChatIntent.PENDING;
+        if (lower.contains("complete") || lower.contains("done")) return ChatIntent.COMPLETE;
+        return ChatIntent.UNKNOWN;
+    }
+}
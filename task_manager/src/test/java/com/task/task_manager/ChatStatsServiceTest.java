@@ -0,0 +1,179 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.task.task_manager.Model.Reminder;
+import com.task.task_manager.Model.TaskStatus;
+import com.task.task_manager.Repo.HabitTrackerRepo;
+import com.task.task_manager.Repo.ReminderRepo;
+import com.task.task_manager.Repo.TaskStatusCounterRepo;
+import com.task.task_manager.Service.ChatStatsService;
+import com.task.task_manager.Service.ChatStatsService.OpenCounts;
+import com.task.task_manager.Service.ChatStatsService.Stats;
+import com.task.task_manager.Service.InMemoryKeyValueStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ChatStatsServiceTest {
+
+    private final LocalDate today = LocalDate.now();
+    private final LocalDate monday = today.with(DayOfWeek.MONDAY);
+
+    private InMemoryKeyValueStore store;
+    private TaskStatusCounterRepo counterRepo;
+    private HabitTrackerRepo habitTrackerRepo;
+    private ReminderRepo reminderRepo;
+    private ChatStatsService chatStatsService;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryKeyValueStore(Duration.ofSeconds(1), 64);
+        counterRepo = mock(TaskStatusCounterRepo.class);
+        habitTrackerRepo = mock(HabitTrackerRepo.class);
+        reminderRepo = mock(ReminderRepo.class);
+        chatStatsService = new ChatStatsService(store, counterRepo, habitTrackerRepo, reminderRepo,
+                new SimpleMeterRegistry(), Duration.ofMinutes(30));
+
+        // Four incomplete tasks due before this week, two ongoing after the next Monday, three
+        // incomplete due today and one completed on Monday; every habit done yesterday and the day
+        // before, not yet today.
+        when(counterRepo.sumByStatus(eq(7L), any(), eq(monday.minusDays(1))))
+                .thenReturn(rows(new Object[] {TaskStatus.INCOMPLETE.code(), 4L}));
+        when(counterRepo.sumByStatusFrom(7L, monday.plusDays(8)))
+                .thenReturn(rows(new Object[] {TaskStatus.ONGOING.code(), 2L}));
+        when(counterRepo.sumByStatusAndDate(7L, monday, monday.plusDays(7))).thenReturn(rows(
+                new Object[] {TaskStatus.INCOMPLETE.code(), today, 3L},
+                new Object[] {TaskStatus.COMPLETED.code(), monday, 1L}));
+        when(habitTrackerRepo.countByDate(eq(7L), any(), eq(TaskStatus.COMPLETED))).thenReturn(rows(
+                new Object[] {today, 2L, 1L},
+                new Object[] {today.minusDays(1), 1L, 1L},
+                new Object[] {today.minusDays(2), 2L, 2L}));
+    }
+
+    @Test
+    void testSnapshotIsBuiltOnceAndServedFromTheStore() {
+        Stats first = chatStatsService.stats(7L);
+        Stats second = chatStatsService.stats(7L);
+
+        assertEquals(first, second);
+        assertEquals(new OpenCounts(3, 0), second.today());
+        assertEquals(new OpenCounts(4, 0), second.overdue());
+        assertEquals(new OpenCounts(3, 0), second.dueThisWeek());
+        assertEquals(new OpenCounts(3, 2), second.pending());
+        assertEquals(1, second.completedThisWeek());
+        assertEquals(2, second.habitStreak());
+        verify(counterRepo, times(1)).sumByStatusAndDate(anyLong(), any(), any());
+    }
+
+    @Test
+    void testWritesUpdateAnExistingSnapshotWithoutRebuildingIt() {
+        chatStatsService.tasksCounted(8L, null, null, TaskStatus.INCOMPLETE, today);   // no snapshot: nothing stored
+        assertTrue(store.hashGetAll("chatstats:8:" + today).isEmpty());
+
+        chatStatsService.stats(7L);
+        chatStatsService.tasksCounted(7L, TaskStatus.INCOMPLETE, today, TaskStatus.COMPLETED, today);
+        chatStatsService.tasksCounted(7L, null, null, TaskStatus.ONGOING, monday.minusDays(30));
+        when(habitTrackerRepo.countByDate(eq(7L), any(), eq(TaskStatus.COMPLETED))).thenReturn(rows(
+                new Object[] {today, 2L, 2L},
+                new Object[] {today.minusDays(1), 1L, 1L},
+                new Object[] {today.minusDays(2), 2L, 2L}));
+        chatStatsService.habitsChanged(7L);
+
+        Stats stats = chatStatsService.stats(7L);
+        assertEquals(new OpenCounts(2, 0), stats.today());
+        assertEquals(new OpenCounts(4, 1), stats.overdue());
+        assertEquals(2, stats.completedThisWeek());
+        assertEquals(3, stats.habitStreak());
+        verify(counterRepo, times(1)).sumByStatusAndDate(anyLong(), any(), any());
+    }
+
+    @Test
+    void testRebuildThatAWriteCommittedDuringIsBuiltAgain() {
+        // The write commits after the build has read the day counts, and finds no hash to update.
+        int[] reads = new int[1];
+        when(counterRepo.sumByStatusAndDate(7L, monday, monday.plusDays(7))).thenAnswer(invocation -> {
+            if (reads[0]++ == 0) {
+                chatStatsService.tasksCounted(7L, null, null, TaskStatus.INCOMPLETE, today);
+                return rows(new Object[] {TaskStatus.INCOMPLETE.code(), today, 3L});
+            }
+            return rows(new Object[] {TaskStatus.INCOMPLETE.code(), today, 4L});
+        });
+
+        assertEquals(new OpenCounts(4, 0), chatStatsService.stats(7L).today());
+        assertEquals(new OpenCounts(4, 0), chatStatsService.stats(7L).today());
+        verify(counterRepo, times(2)).sumByStatusAndDate(anyLong(), any(), any());
+    }
+
+    @Test
+    void testRebuildIsNotStoredWhileAWriteIsUnfinished() {
+        // The write's rows are committed and counted by the build, but its update is yet to run.
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            chatStatsService.tasksCounted(7L, TaskStatus.INCOMPLETE, today, TaskStatus.COMPLETED, today);
+            when(counterRepo.sumByStatusAndDate(7L, monday, monday.plusDays(7))).thenReturn(rows(
+                    new Object[] {TaskStatus.INCOMPLETE.code(), today, 2L},
+                    new Object[] {TaskStatus.COMPLETED.code(), today, 1L}));
+
+            assertEquals(new OpenCounts(2, 0), chatStatsService.stats(7L).today());
+            assertTrue(store.hashGetAll("chatstats:7:" + today).isEmpty());
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Stats stats = chatStatsService.stats(7L);
+        assertEquals(new OpenCounts(2, 0), stats.today());
+        assertEquals(1, stats.completedToday());
+        assertEquals(stats, chatStatsService.stats(7L));
+        assertEquals("0", store.get("chatstats:busy:7"));
+    }
+
+    @Test
+    void testReminderThatHasGoneOffIsReplacedOnRead() {
+        LocalDateTime gone = LocalDateTime.now().minusMinutes(5).withSecond(0).withNano(0);
+        LocalDateTime next = LocalDateTime.now().plusDays(1).withSecond(0).withNano(0);
+        when(reminderRepo.findNext(eq(7L), eq(TaskStatus.INCOMPLETE), any(), any(), any()))
+                .thenReturn(List.of(reminder("Standup", gone)), List.of(reminder("Dentist", next)));
+
+        Stats stats = chatStatsService.stats(7L);
+        assertEquals("Dentist", stats.nextReminder());
+        assertEquals(next, stats.nextReminderAt());
+
+        assertEquals("Dentist", chatStatsService.stats(7L).nextReminder());
+        verify(reminderRepo, times(2)).findNext(anyLong(), any(), any(), any(), any());
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return List.of(rows);
+    }
+
+    private static Reminder reminder(String title, LocalDateTime at) {
+        Reminder reminder = new Reminder();
+        reminder.setTitle(title);
+        reminder.setDate(at.toLocalDate());
+        reminder.setTime(at.toLocalTime());
+        return reminder;
+    }
+}
@@ -0,0 +1,80 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.task.task_manager.Config.ConnectionHoldTimingDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConnectionHoldTimingDataSourceTest {
+
+    private SimpleMeterRegistry registry;
+    private Connection target;
+    private ConnectionHoldTimingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        registry = new SimpleMeterRegistry();
+        target = mock(Connection.class);
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenReturn(target);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("meterRegistry", registry);
+        dataSource = new ConnectionHoldTimingDataSource(pool, beans.getBeanProvider(MeterRegistry.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void holdTimeIsTaggedWithTheMatchedEndpoint() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/verify-otp");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/verify-otp");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+        connection.close();
+        connection.close();
+
+        verify(target).setAutoCommit(false);
+        verify(target, times(2)).close();
+        assertEquals(1, registry.get(ConnectionHoldTimingDataSource.METRIC)
+                .tag("method", "POST").tag("uri", "/verify-otp").timer().count());
+    }
+
+    @Test
+    void connectionsOutsideARequestAreTaggedNone() throws Exception {
+        dataSource.getConnection().close();
+
+        assertEquals(1, registry.get(ConnectionHoldTimingDataSource.METRIC).tag("uri", "NONE").timer().count());
+    }
+
+    @Test
+    void nothingIsRecordedUntilTheConnectionIsReturned() throws Exception {
+        dataSource.getConnection();
+
+        assertNull(registry.find(ConnectionHoldTimingDataSource.METRIC).timer());
+    }
+}
@@ -0,0 +1,123 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.task.task_manager.Service.DataVersionService;
+import com.task.task_manager.Service.InMemoryKeyValueStore;
+import com.task.task_manager.Service.KeyValueStore;
+
+class DataVersionServiceTest {
+
+    private KeyValueStore keyValueStore;
+    private DataVersionService dataVersionService;
+
+    @BeforeEach
+    void setUp() {
+        keyValueStore = mock(KeyValueStore.class);
+        dataVersionService = new DataVersionService(keyValueStore);
+    }
+
+    @Test
+    void testMatchingETagShortCircuitsTo304() {
+        when(keyValueStore.get("dataversion:7")).thenReturn("3");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/getTask");
+        request.addHeader("If-None-Match", "W/\"3-" + LocalDate.now() + "\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(dataVersionService.notModified(7L, new ServletWebRequest(request, response)));
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    void testStaleETagGetsCurrentTag() {
+        when(keyValueStore.get("dataversion:7")).thenReturn("4");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/getTask");
+        request.addHeader("If-None-Match", "W/\"3-" + LocalDate.now() + "\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(dataVersionService.notModified(7L, new ServletWebRequest(request, response)));
+        assertEquals("W/\"4-" + LocalDate.now() + "\"", response.getHeader("ETag"));
+    }
+
+    @Test
+    void testRedisFailureDisablesShortcut() {
+        when(keyValueStore.get("dataversion:7")).thenThrow(new RedisConnectionFailureException("down"));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/getTask");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(dataVersionService.notModified(7L, new ServletWebRequest(request, response)));
+    }
+
+    @Test
+    void testBumpDropsVersion() {
+        dataVersionService.bump(7L);
+
+        verify(keyValueStore).delete("dataversion:7");
+    }
+
+    @Test
+    void testMissingVersionIsSeeded() {
+        when(keyValueStore.setIfAbsent(eq("dataversion:7"), anyString(), any())).thenReturn(true);
+
+        String seeded = dataVersionService.current(7L);
+
+        verify(keyValueStore).setIfAbsent(eq("dataversion:7"), eq(seeded), any());
+    }
+
+    @Test
+    void testFailedBumpDisablesShortcutUntilRetried() {
+        when(keyValueStore.get("dataversion:7")).thenReturn("3");
+        doThrow(new RedisConnectionFailureException("down")).when(keyValueStore).delete("dataversion:7");
+        dataVersionService.bump(7L);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/getTask");
+        request.addHeader("If-None-Match", "W/\"3-" + LocalDate.now() + "\"");
+
+        assertFalse(dataVersionService.notModified(7L, new ServletWebRequest(request, new MockHttpServletResponse())));
+
+        doNothing().when(keyValueStore).delete("dataversion:7");
+        when(keyValueStore.get("dataversion:7")).thenReturn(null, "9");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(dataVersionService.notModified(7L, new ServletWebRequest(request, response)));
+        assertEquals("W/\"9-" + LocalDate.now() + "\"", response.getHeader("ETag"));
+    }
+
+    @Test
+    void testPendingBumpLeavesNoVersionToCacheUnder() {
+        when(keyValueStore.get("dataversion:7")).thenReturn("3");
+        doThrow(new RedisConnectionFailureException("down")).when(keyValueStore).delete("dataversion:7");
+        dataVersionService.bump(7L);
+
+        assertNull(dataVersionService.current(7L));
+    }
+
+    @Test
+    void testResetStoreNeverReissuesAnOldTag() {
+        DataVersionService before = new DataVersionService(new InMemoryKeyValueStore(Duration.ofSeconds(1), 64));
+        before.bump(7L);
+        String oldTag = before.etag(7L);
+
+        // Same user, same number of writes, but the store came back empty.
+        DataVersionService after = new DataVersionService(new InMemoryKeyValueStore(Duration.ofSeconds(1), 64));
+        after.bump(7L);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/getTask");
+        request.addHeader("If-None-Match", oldTag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(after.notModified(7L, new ServletWebRequest(request, response)));
+        assertEquals(200, response.getStatus());
+    }
+}
@@ -0,0 +1,174 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.task_manager.DTO.HabitTrackerAddDTO;
+import com.task.task_manager.DTO.ReminderAddDTO;
+import com.task.task_manager.DTO.TaskBatchOperation;
+import com.task.task_manager.DTO.TaskBatchResultDTO;
+import com.task.task_manager.Model.TaskStatus;
+import com.task.task_manager.Model.User;
+import com.task.task_manager.Repo.UserRepo;
+import com.task.task_manager.Service.HabitTrackerService;
+import com.task.task_manager.Service.JwtService;
+import com.task.task_manager.Service.ReminderService;
+import com.task.task_manager.Service.TaskBatchService;
+
+// Pins the statements Hibernate prepares for one request to each endpoint, through the whole stack:
+// the JWT filter's user lookup, the controller, the service, the DTO mapping and, for writes, the
+// activity log. The user has four tasks with two subtasks each, so an N+1 shows up as at least four
+// more. Statements on the scheduler threads running in the same context are left out, and so are
+// sequence reads, which pooled ids only make now and then. FetchPlanTest pins the repository reads
+// underneath on H2.
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.task.task_manager.EndpointStatementsTest$Statements")
+class EndpointStatementsTest extends PostgresTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private HabitTrackerService habitTrackerService;
+
+    @Autowired
+    private ReminderService reminderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+    private User user;
+    private String token;
+    private long taskId;
+    private long subTaskId;
+
+    public static final class Statements implements StatementInspector {
+
+        private static final AtomicLong COUNT = new AtomicLong();
+
+        @Override
+        public String inspect(String sql) {
+            if (!Thread.currentThread().getName().startsWith("scheduling-") && !sql.startsWith("select nextval(")) {
+                COUNT.incrementAndGet();
+            }
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        String name = "statements-" + UUID.randomUUID();
+        User created = new User();
+        created.setUsername(name);
+        created.setEmail(name + "@example.com");
+        created.setPassword("secret");
+        user = userRepo.save(created);
+        token = jwtService.generateAccessToken(name);
+
+        LocalDate today = LocalDate.now();
+        List<TaskBatchOperation.NewSubTask> subTasks = List.of(new TaskBatchOperation.NewSubTask("One", "INCOMPLETE"),
+                new TaskBatchOperation.NewSubTask("Two", "COMPLETED"));
+        List<TaskBatchOperation> tasks = List.of(
+                createTask(today, "INCOMPLETE", subTasks),
+                createTask(today.plusDays(1), "ONGOING", subTasks),
+                createTask(today, "COMPLETED", subTasks),
+                createTask(today, "ONGOING", subTasks));
+        List<TaskBatchResultDTO> results = taskBatchService.apply(user.getId(), tasks).results();
+        taskId = results.get(0).id();
+        // Tasks can only be created from today on; the old incomplete list needs one already overdue.
+        jdbcTemplate.update("UPDATE task SET due_date = ? WHERE id IN (?, ?)", today.minusDays(3), results.get(2).id(),
+                results.get(3).id());
+        subTaskId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM sub_task WHERE task_id = ?", Long.class, taskId);
+        habitTrackerService.createHabit(new HabitTrackerAddDTO("Habit"), user);
+        reminderService.createReminder(new ReminderAddDTO("Reminder", today.plusDays(1), "09:00 AM", TaskStatus.INCOMPLETE), user);
+    }
+
+    @Test
+    void taskListsReadTasksWithTheirSubTasksInOneStatement() throws Exception {
+        assertEquals(2, statements(get("/getTask")));
+        assertEquals(2, statements(get("/getCompletedTask")));
+        assertEquals(2, statements(get("/getOldIncompleteTask")));
+    }
+
+    @Test
+    void taskPageBatchesItsSubTasks() throws Exception {
+        assertEquals(3, statements(get("/getTask").param("limit", "3")));
+    }
+
+    @Test
+    void habitsAndRemindersReadOneStatementEach() throws Exception {
+        assertEquals(2, statements(get("/getHabit")));
+        assertEquals(2, statements(get("/getReminder")));
+    }
+
+    @Test
+    void homeFeedReadsEachPartOnce() throws Exception {
+        assertEquals(6, statements(get("/home")));
+    }
+
+    @Test
+    void changeFeedSnapshotPageReadsEachEntityTypeOnce() throws Exception {
+        // The horizon, then a page of each type; subtasks come in one batch, as a fetch join cannot be limited.
+        assertEquals(6, statements(get("/changes")));
+    }
+
+    @Test
+    void taskWritesDoNotReloadWhatTheyChange() throws Exception {
+        assertEquals(6, statements(post("/addTask").contentType(MediaType.APPLICATION_JSON).content(json(Map.of(
+                "title", "Title", "description", "Description", "dueDate", LocalDate.now().plusDays(2).toString(),
+                "time", "10:00 AM", "priority", "HIGH", "status", "INCOMPLETE")))));
+        assertEquals(6, statements(put("/updateTask").contentType(MediaType.APPLICATION_JSON).content(json(Map.of(
+                "id", taskId, "title", "Title", "description", "Description", "dueDate", LocalDate.now().plusDays(2).toString(),
+                "time", "10:00 AM", "priority", "LOW", "status", "COMPLETED")))));
+        assertEquals(5, statements(put("/updateSubTask").contentType(MediaType.APPLICATION_JSON).content(json(Map.of(
+                "id", subTaskId, "title", "Renamed", "status", "COMPLETED")))));
+    }
+
+    private static TaskBatchOperation createTask(LocalDate dueDate, String status, List<TaskBatchOperation.NewSubTask> subTasks) {
+        return new TaskBatchOperation("createTask", null, null, "Title", "Description", dueDate, "10:00 AM", "MEDIUM",
+                status, subTasks);
+    }
+
+    private String json(Map<String, ?> body) throws Exception {
+        return mapper.writeValueAsString(body);
+    }
+
+    private long statements(MockHttpServletRequestBuilder request) throws Exception {
+        long before = Statements.COUNT.get();
+        mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)).andExpect(status().is2xxSuccessful());
+        return Statements.COUNT.get() - before;
+    }
+}
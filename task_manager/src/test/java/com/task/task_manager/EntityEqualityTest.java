@@ -0,0 +1,134 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.task.task_manager.Model.Reminder;
+import com.task.task_manager.Model.SubTask;
+import com.task.task_manager.Model.Task;
+import com.task.task_manager.Model.TaskPriority;
+import com.task.task_manager.Model.TaskStatus;
+import com.task.task_manager.Model.User;
+
+// Entity equals/hashCode/toString must compare ids only and never initialize a lazy collection.
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class EntityEqualityTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+    private long userId;
+    private long taskId;
+    private long reminderId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        User user = new User();
+        user.setUsername("testuser");
+        user.setEmail("test@gmail.com");
+        user.setPassword("secret");
+        entityManager.persist(user);
+
+        Task task = new Task();
+        task.setTitle("Title");
+        task.setDescription("Description");
+        task.setDueDate(LocalDate.now());
+        task.setTimeToComplete(LocalTime.NOON);
+        task.setPriority(TaskPriority.HIGH);
+        task.setStatus(TaskStatus.ONGOING);
+        task.setUser(user);
+        entityManager.persist(task);
+
+        SubTask subTask = new SubTask();
+        subTask.setTitle("Sub");
+        subTask.setStatus(TaskStatus.INCOMPLETE);
+        subTask.setTask(task);
+        entityManager.persist(subTask);
+
+        Reminder reminder = new Reminder();
+        reminder.setTitle("Reminder");
+        reminder.setDate(LocalDate.now());
+        reminder.setTime(LocalTime.NOON);
+        reminder.setStatus(TaskStatus.INCOMPLETE);
+        reminder.setUser(user);
+        entityManager.persist(reminder);
+
+        entityManager.flush();
+        entityManager.clear();
+        userId = user.getId();
+        taskId = task.getId();
+        reminderId = reminder.getId();
+    }
+
+    @Test
+    void equalityChecksIssueNoSql() {
+        Reminder reminder = entityManager.find(Reminder.class, reminderId);
+        Task task = entityManager.find(Task.class, taskId);
+        entityManager.clear();
+        User detachedUser = entityManager.find(User.class, userId);
+
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(reminder.getUser(), detachedUser);
+        assertEquals(reminder.getUser().hashCode(), detachedUser.hashCode());
+        assertNotEquals(task, reminder);
+        Set<Task> tasks = new HashSet<>();
+        tasks.add(task);
+        assertTrue(tasks.contains(task));
+        String logged = reminder + " " + task + " " + detachedUser;
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertFalse(Hibernate.isInitialized(detachedUser.getTask()));
+        assertFalse(Hibernate.isInitialized(detachedUser.getReminders()));
+        assertFalse(Hibernate.isInitialized(task.getSubTasks()));
+        assertFalse(logged.contains("secret"));
+    }
+
+    @Test
+    void proxyEqualsLoadedEntityWithoutLoading() {
+        User proxy = entityManager.getEntityManager().getReference(User.class, userId);
+        User loaded = new User();
+        loaded.setId(userId);
+
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(loaded, proxy);
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertFalse(Hibernate.isInitialized(proxy));
+    }
+
+    @Test
+    void unsavedEntitiesAreOnlyEqualToThemselves() {
+        Task first = new Task();
+        Task second = new Task();
+
+        assertEquals(first, first);
+        assertNotEquals(first, second);
+    }
+}
@@ -0,0 +1,221 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import com.task.task_manager.Model.HabitTracker;
+import com.task.task_manager.Model.Reminder;
+import com.task.task_manager.Model.SubTask;
+import com.task.task_manager.Model.Task;
+import com.task.task_manager.Model.TaskPriority;
+import com.task.task_manager.Model.TaskStatus;
+import com.task.task_manager.Model.User;
+import com.task.task_manager.Repo.HabitTrackerRepo;
+import com.task.task_manager.Repo.ReminderRepo;
+import com.task.task_manager.Repo.TaskRepo;
+import com.task.task_manager.Repo.UserRepo;
+
+// Pins the number of statements the repository reads behind the list endpoints prepare on H2,
+// including everything their DTO mapping touches, so an association that silently turns into N+1
+// fails here. The whole request, filter and activity log included, is counted in EndpointStatementsTest.
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.default_batch_fetch_size=100"
+})
+class FetchPlanTest {
+
+    private static final List<TaskStatus> OPEN = List.of(TaskStatus.INCOMPLETE, TaskStatus.ONGOING);
+    private static final LocalTime DUE_TIME = LocalTime.of(9, 30);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepo taskRepo;
+
+    @Autowired
+    private ReminderRepo reminderRepo;
+
+    @Autowired
+    private HabitTrackerRepo habitTrackerRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    private Statistics statistics;
+    private long userId;
+    private List<Long> taskIds;
+    private long subTaskId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        User user = new User();
+        user.setUsername("testuser");
+        user.setEmail("test@gmail.com");
+        user.setPassword("secret");
+        entityManager.persist(user);
+
+        LocalDate today = LocalDate.now();
+        Task first = task(user, today, TaskStatus.INCOMPLETE);
+        Task second = task(user, today, TaskStatus.ONGOING);
+        Task third = task(user, today.minusDays(2), TaskStatus.COMPLETED);
+        Task old = task(user, today.minusDays(3), TaskStatus.ONGOING);
+        for (Task task : List.of(first, second, third, old)) {
+            subTaskId = subTask(task, "One").getId();
+            subTask(task, "Two");
+        }
+
+        HabitTracker habit = new HabitTracker();
+        habit.setTitle("Habit");
+        habit.setStatus(TaskStatus.INCOMPLETE);
+        habit.setDate(today);
+        habit.setUser(user);
+        entityManager.persist(habit);
+
+        Reminder reminder = new Reminder();
+        reminder.setTitle("Reminder");
+        reminder.setDate(today);
+        reminder.setTime(DUE_TIME);
+        reminder.setStatus(TaskStatus.INCOMPLETE);
+        reminder.setUser(user);
+        entityManager.persist(reminder);
+
+        entityManager.flush();
+        entityManager.clear();
+        userId = user.getId();
+        taskIds = List.of(first.getId(), second.getId(), third.getId(), old.getId());
+    }
+
+    @Test
+    void upcomingTasksLoadSubTasksInTheSameQuery() {
+        assertStatements(1, () -> render(taskRepo.findRecentAndUpcomingTasks(LocalDate.now().minusDays(1), userId, OPEN)));
+    }
+
+    @Test
+    void completedTasksLoadSubTasksInTheSameQuery() {
+        assertStatements(1, () -> render(taskRepo.findCompletedTasksFromLastSevenDays(
+                LocalDate.now().minusDays(7), userId, TaskStatus.COMPLETED)));
+    }
+
+    @Test
+    void oldIncompleteTasksLoadSubTasksInTheSameQuery() {
+        assertStatements(1, () -> render(taskRepo.findOldOngoingAndIncompleteTasks(
+                LocalDate.now().minusDays(8), LocalDate.now().minusDays(1), userId, OPEN)));
+    }
+
+    @Test
+    void taskPageBatchesSubTasksIntoOneQuery() {
+        LocalDate from = LocalDate.now().minusDays(7);
+        assertStatements(2, () -> render(taskRepo.findTaskPage(userId, List.of(TaskStatus.values()),
+                List.of(TaskPriority.values()), from, LocalDate.of(9999, 12, 31),
+                from.minusDays(1), LocalTime.MIN, 0L, PageRequest.of(0, 3))));
+    }
+
+    @Test
+    void changeFeedReadsOneQueryPerEntityType() {
+        assertStatements(1, () -> render(taskRepo.findByUserIdAndIds(userId, taskIds)));
+        // A snapshot page batches subtasks like the task page does.
+        assertStatements(2, () -> render(taskRepo.findPageAfter(userId, 0L, PageRequest.of(0, 501))));
+        assertStatements(1, () -> reminderRepo.findPageAfter(userId, 0L, PageRequest.of(0, 501)).size());
+        assertStatements(1, () -> habitTrackerRepo.findPageAfter(userId, 0L, PageRequest.of(0, 501)).size());
+    }
+
+    @Test
+    void habitsAndRemindersDoNotReadTheUser() {
+        assertStatements(1, () -> habitTrackerRepo.findByUserAndDate(userRepo.getReferenceById(userId), LocalDate.now())
+                .stream().map(HabitTracker::getTitle).toList());
+        assertStatements(1, () -> reminderRepo.findByUserAndStatusAndDateGreaterThanEqualOrderByDateAscTimeAsc(
+                userRepo.getReferenceById(userId), TaskStatus.INCOMPLETE, LocalDate.now())
+                .stream().map(Reminder::getTitle).toList());
+    }
+
+    @Test
+    void dueRemindersUseTheOwnerIdWithoutLoadingTheUser() {
+        LocalDateTime minute = LocalDateTime.of(LocalDate.now(), DUE_TIME);
+        List<Reminder> due = assertStatements(1, () -> reminderRepo.findDue(TaskStatus.INCOMPLETE,
+                minute.toLocalDate(), DUE_TIME, DUE_TIME.plusSeconds(59)));
+        assertStatements(0, () -> due.get(0).getUser().getId());
+        assertFalse(Hibernate.isInitialized(due.get(0).getUser()));
+    }
+
+    @Test
+    void batchLoadsTasksAndSubTasksInOneQuery() {
+        List<Task> tasks = assertStatements(1, () -> taskRepo.findForBatch(taskIds.subList(0, 1), List.of(subTaskId)));
+        assertStatements(0, () -> tasks.stream()
+                .mapToLong(task -> task.getUser().getId() + task.getSubTasks().size()).sum());
+    }
+
+    @Test
+    void subTaskOwnerCheckReadsOnlyTheTask() {
+        assertStatements(1, () -> taskRepo.findById(taskIds.get(0)).orElseThrow().getUser().getId());
+    }
+
+    @Test
+    void creatingWithTheCallerAsOwnerReadsNothing() {
+        assertStatements(0, () -> userRepo.getReferenceById(userId).getId());
+    }
+
+    private <T> T assertStatements(long expected, Supplier<T> work) {
+        entityManager.clear();
+        long before = statistics.getPrepareStatementCount();
+        T result = work.get();
+        assertEquals(expected, statistics.getPrepareStatementCount() - before);
+        return result;
+    }
+
+    // What TaskService.toSendDTO reads: the task's own columns and every subtask.
+    private static int render(List<Task> tasks) {
+        int fields = 0;
+        for (Task task : tasks) {
+            fields += task.getTitle().length();
+            for (SubTask subTask : task.getSubTasks()) {
+                fields += subTask.getTitle().length() + subTask.getStatus().ordinal();
+            }
+        }
+        return fields;
+    }
+
+    private Task task(User user, LocalDate dueDate, TaskStatus status) {
+        Task task = new Task();
+        task.setTitle("Title");
+        task.setDescription("Description");
+        task.setDueDate(dueDate);
+        task.setTimeToComplete(DUE_TIME);
+        task.setPriority(TaskPriority.MEDIUM);
+        task.setStatus(status);
+        task.setUser(user);
+        entityManager.persist(task);
+        return task;
+    }
+
+    private SubTask subTask(Task task, String title) {
+        SubTask subTask = new SubTask();
+        subTask.setTitle(title);
+        subTask.setStatus(TaskStatus.INCOMPLETE);
+        subTask.setTask(task);
+        entityManager.persist(subTask);
+        return subTask;
+    }
+}
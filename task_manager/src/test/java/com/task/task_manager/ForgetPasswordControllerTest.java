@@ -5,17 +5,21 @@ import com.task.task_manager.Controller.ForgetPasswordController;
 import com.task.task_manager.DTO.EmailRequest;
 import com.task.task_manager.DTO.OtpRequest;
 import com.task.task_manager.DTO.PasswordRequest;
-import com.task.task_manager.Model.ForgetPassword;
+import com.task.task_manager.Exception.GlobalExceptionHandler;
+import com.task.task_manager.Model.MailBody;
 import com.task.task_manager.Model.User;
-import com.task.task_manager.Repo.ActivityLogRepo;
-import com.task.task_manager.Repo.ForgetPasswordRepo;
 import com.task.task_manager.Repo.UserRepo;
 import com.task.task_manager.Service.EmailService;
 import com.task.task_manager.Service.ForgetPasswordService;
+import com.task.task_manager.Service.OtpStore;
+import com.task.task_manager.Service.OtpStore.Purpose;
+import com.task.task_manager.Service.OtpStore.Status;
+import com.task.task_manager.Service.OtpStore.Verification;
 import com.task.task_manager.Service.UserService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -24,7 +28,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
-import java.util.Date;
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.mockito.Mockito.*;
@@ -38,9 +42,8 @@ class ForgetPasswordControllerTest {
     @Mock private UserRepo userRepo;
     @Mock private EmailService emailService;
     @Mock private UserService userService;
-    @Mock private ForgetPasswordRepo forgetPasswordRepo;
+    @Mock private OtpStore otpStore;
     @Mock private ForgetPasswordService forgetPasswordService;
-    @Mock private ActivityLogRepo activityLogRepo;
 
     @InjectMocks private ForgetPasswordController controller;
 
@@ -51,8 +54,11 @@ class ForgetPasswordControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
         testUser = new User();
+        testUser.setId(42L);
         testUser.setEmail("test@gmail.com");
         testUser.setUsername("testuser");
     }
@@ -62,45 +68,104 @@ class ForgetPasswordControllerTest {
         EmailRequest request = new EmailRequest("test@gmail.com");
 
         when(userRepo.findByEmail("test@gmail.com")).thenReturn(Optional.of(testUser));
-        doNothing().when(forgetPasswordService).deleteByUser(testUser);
 
         mockMvc.perform(post("/forgetPassword/verifyMail")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
                 .andExpect(content().string("Email sent for verification"));
+
+        // The code replaces any pending one and is stored before the mail goes out.
+        InOrder inOrder = inOrder(otpStore, emailService);
+        inOrder.verify(otpStore).reissue(eq(Purpose.PASSWORD_RESET), eq("test@gmail.com"), anyString(), eq("42"),
+                eq(Duration.ofMinutes(2)));
+        inOrder.verify(emailService).sendHtmlMessage(any(MailBody.class));
+        verifyNoInteractions(forgetPasswordService);
     }
 
     @Test
     void testVerifyOtpSuccess() throws Exception {
         OtpRequest request = new OtpRequest("test@gmail.com", 123456);
-        ForgetPassword fp = new ForgetPassword();
-        fp.setExpirationTime(new Date(System.currentTimeMillis() + 10000)); // valid
-        fp.setOtpVerified(false);
-
-        when(userRepo.findByEmail("test@gmail.com")).thenReturn(Optional.of(testUser));
-        when(forgetPasswordRepo.findByOtpAndUser(123456, testUser)).thenReturn(Optional.of(fp));
+        when(otpStore.verify(Purpose.PASSWORD_RESET, "test@gmail.com", "123456"))
+                .thenReturn(new Verification(Status.VERIFIED, "42"));
 
         mockMvc.perform(post("/forgetPassword/verifyOtp")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
                 .andExpect(content().string("OTP verified"));
+
+        verify(otpStore).reissue(eq(Purpose.PASSWORD_RESET_VERIFIED), eq("test@gmail.com"), anyString(), eq("42"), any());
+        verifyNoInteractions(userRepo, forgetPasswordService);
+    }
+
+    @Test
+    void testVerifyOtpInvalid() throws Exception {
+        OtpRequest request = new OtpRequest("test@gmail.com", 111111);
+        when(otpStore.verify(Purpose.PASSWORD_RESET, "test@gmail.com", "111111"))
+                .thenReturn(new Verification(Status.INVALID, null));
+
+        mockMvc.perform(post("/forgetPassword/verifyOtp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(otpStore, never()).reissue(any(), anyString(), anyString(), anyString(), any());
+    }
+
+    @Test
+    void testVerifyOtpExpired() throws Exception {
+        OtpRequest request = new OtpRequest("test@gmail.com", 123456);
+        when(otpStore.verify(Purpose.PASSWORD_RESET, "test@gmail.com", "123456"))
+                .thenReturn(new Verification(Status.EXPIRED, null));
+
+        mockMvc.perform(post("/forgetPassword/verifyOtp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isExpectationFailed())
+                .andExpect(content().string("OTP has expired"));
     }
 
     @Test
     void testChangePasswordSuccess() throws Exception {
         PasswordRequest request = new PasswordRequest("test@gmail.com", "newPass1", "newPass1");
-        ForgetPassword fp = new ForgetPassword();
-        fp.setOtpVerified(true);
-
-        when(userRepo.findByEmail("test@gmail.com")).thenReturn(Optional.of(testUser));
-        when(forgetPasswordRepo.findByUser(testUser)).thenReturn(Optional.of(fp));
+        when(otpStore.consume(Purpose.PASSWORD_RESET_VERIFIED, "test@gmail.com")).thenReturn("42");
+        when(userService.encode("newPass1")).thenReturn("hash");
 
         mockMvc.perform(post("/forgetPassword/changePassword")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
                 .andExpect(content().string("Password Updated"));
+
+        InOrder inOrder = inOrder(userService, forgetPasswordService);
+        inOrder.verify(userService).encode("newPass1");
+        inOrder.verify(forgetPasswordService).resetPassword(42L, "hash");
+        verifyNoInteractions(userRepo);
+    }
+
+    @Test
+    void testChangePasswordRequiresVerifiedOtp() throws Exception {
+        PasswordRequest request = new PasswordRequest("test@gmail.com", "newPass1", "newPass1");
+        when(otpStore.consume(Purpose.PASSWORD_RESET_VERIFIED, "test@gmail.com")).thenReturn(null);
+
+        mockMvc.perform(post("/forgetPassword/changePassword")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(forgetPasswordService);
+    }
+
+    @Test
+    void testChangePasswordMismatchKeepsTheVerification() throws Exception {
+        PasswordRequest request = new PasswordRequest("test@gmail.com", "newPass1", "newPass2");
+
+        mockMvc.perform(post("/forgetPassword/changePassword")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isExpectationFailed());
+
+        verify(otpStore, never()).consume(any(), anyString());
     }
 }
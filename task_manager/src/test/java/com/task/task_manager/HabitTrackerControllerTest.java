@@ -7,6 +7,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -26,11 +27,15 @@ import com.task.task_manager.Controller.HabitTrackerController;
 import com.task.task_manager.DTO.HabitTrackerAddDTO;
 import com.task.task_manager.DTO.HabitTrackerSendDTO;
 import com.task.task_manager.DTO.HabitTrackerUpdateDTO;
+import com.task.task_manager.Exception.AccessDeniedException;
 import com.task.task_manager.Exception.GlobalExceptionHandler;
 import com.task.task_manager.Model.HabitTracker;
+import com.task.task_manager.Model.TaskStatus;
 import com.task.task_manager.Model.User;
+import com.task.task_manager.Model.UserPrincipal;
 import com.task.task_manager.Repo.HabitTrackerRepo;
 import com.task.task_manager.Repo.UserRepo;
+import com.task.task_manager.Service.DataVersionService;
 import com.task.task_manager.Service.HabitTrackerService;
 
 class HabitTrackerControllerTest {
@@ -38,6 +43,9 @@ class HabitTrackerControllerTest {
     private MockMvc mockMvc;
     private ObjectMapper objectMapper = new ObjectMapper();
 
+    @Mock
+    private DataVersionService dataVersionService;
+
     @Mock
     private UserRepo userRepo;
 
@@ -67,17 +75,19 @@ class HabitTrackerControllerTest {
         .build();
 
         testUser = new User();
+        testUser.setId(7L);
         testUser.setUsername("testuser");
         testUser.setEmail("test@gmail.com");
 
         testHabit = new HabitTracker();
         testHabit.setId(1L);
         testHabit.setTitle("Test Habit");
-        testHabit.setStatus("INCOMPLETE");
+        testHabit.setStatus(TaskStatus.INCOMPLETE);
         testHabit.setUser(testUser);
 
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getName()).thenReturn("testuser");
+        when(authentication.getPrincipal()).thenReturn(new UserPrincipal(testUser));
         SecurityContextHolder.setContext(securityContext);
     }
 
@@ -85,7 +95,7 @@ class HabitTrackerControllerTest {
     void testAddHabitSuccess() throws Exception {
         HabitTrackerAddDTO dto = new HabitTrackerAddDTO("Test Habit");
         
-        when(userRepo.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(userRepo.getReferenceById(7L)).thenReturn(testUser);
         doNothing().when(habitTrackerService).createHabit(any(HabitTrackerAddDTO.class), any(User.class));
 
         mockMvc.perform(post("/addHabit")
@@ -97,10 +107,9 @@ class HabitTrackerControllerTest {
 
     @Test
     void testUpdateHabitSuccess() throws Exception {
-        HabitTrackerUpdateDTO dto = new HabitTrackerUpdateDTO(1L, "Updated Habit", "COMPLETED");
+        HabitTrackerUpdateDTO dto = new HabitTrackerUpdateDTO(1L, "Updated Habit", TaskStatus.COMPLETED);
         
-        when(userRepo.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        doNothing().when(habitTrackerService).updateHabit(any(HabitTrackerUpdateDTO.class), any(User.class));
+        doNothing().when(habitTrackerService).updateHabit(any(HabitTrackerUpdateDTO.class), eq(7L));
 
         mockMvc.perform(put("/updateHabit")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -111,19 +120,30 @@ class HabitTrackerControllerTest {
 
     @Test
     void testUpdateHabitInvalidStatus() throws Exception {
-        HabitTrackerUpdateDTO dto = new HabitTrackerUpdateDTO(1L, "Updated Habit", "INVALID");
-
         mockMvc.perform(put("/updateHabit")
                 .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(dto)))
+                .content("{\"id\":1,\"title\":\"Updated Habit\",\"status\":\"INVALID\"}"))
                 .andExpect(status().isBadRequest())
                 .andExpect(content().string(" Daily Task status should be either COMPLETED or INCOMPLETED"));
+        verify(habitTrackerService, never()).updateHabit(any(), anyLong());
+    }
+
+    // GET returns INCOMPLETE, which a client may send straight back; INCOMPLETED is what habits used to store.
+    @Test
+    void testUpdateHabitTakesBothIncompleteNames() throws Exception {
+        for (String name : List.of("INCOMPLETE", "INCOMPLETED")) {
+            mockMvc.perform(put("/updateHabit")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"id\":1,\"title\":\"Updated Habit\",\"status\":\"" + name + "\"}"))
+                    .andExpect(status().isOk());
+        }
+        verify(habitTrackerService, times(2)).updateHabit(
+                argThat(dto -> dto.status() == TaskStatus.INCOMPLETE), eq(7L));
     }
 
     @Test
     void testDeleteHabitSuccess() throws Exception {
-        when(habitTrackerRepo.findById(1L)).thenReturn(Optional.of(testHabit));
-        doNothing().when(habitTrackerService).deleteTask(1L);
+        doNothing().when(habitTrackerService).deleteTask(1L, 7L);
 
         mockMvc.perform(delete("/deleteHabit/1"))
                 .andExpect(status().isOk())
@@ -132,10 +152,10 @@ class HabitTrackerControllerTest {
 
     @Test
     void testGetHabits() throws Exception {
-        HabitTrackerSendDTO habit1 = new HabitTrackerSendDTO(1L, "Habit 1", "INCOMPLETE");
-        HabitTrackerSendDTO habit2 = new HabitTrackerSendDTO(2L, "Habit 2", "COMPLETED");
+        HabitTrackerSendDTO habit1 = new HabitTrackerSendDTO(1L, "Habit 1", TaskStatus.INCOMPLETE);
+        HabitTrackerSendDTO habit2 = new HabitTrackerSendDTO(2L, "Habit 2", TaskStatus.COMPLETED);
 
-        when(habitTrackerService.getTodayHabits("testuser"))
+        when(habitTrackerService.getTodayHabits(7L))
                 .thenReturn(Arrays.asList(habit1, habit2));
 
         mockMvc.perform(get("/getHabit"))
@@ -147,12 +167,8 @@ class HabitTrackerControllerTest {
 
     @Test
 void testDeleteHabitUnauthorized() throws Exception {
-    HabitTracker unauthorizedHabit = new HabitTracker();
-    User otherUser = new User();
-    otherUser.setUsername("otheruser");
-    unauthorizedHabit.setUser(otherUser);
-
-    when(habitTrackerRepo.findById(1L)).thenReturn(Optional.of(unauthorizedHabit));
+    doThrow(new AccessDeniedException("You are not allowed to delete this task"))
+            .when(habitTrackerService).deleteTask(1L, 7L);
 
     mockMvc.perform(delete("/deleteHabit/1"))
             .andExpect(status().isForbidden())
@@ -11,11 +11,16 @@ import com.task.task_manager.Repo.ActivityLogRepo;
 import com.task.task_manager.Repo.UserRepo;
 import com.task.task_manager.Service.EmailService;
 import com.task.task_manager.Service.JwtService;
-import com.task.task_manager.Service.RedisService;
+import com.task.task_manager.Service.OtpStore;
+import com.task.task_manager.Service.OtpStore.Purpose;
+import com.task.task_manager.Service.OtpStore.Status;
+import com.task.task_manager.Service.OtpStore.Verification;
 import com.task.task_manager.Service.UserService;
+import com.task.task_manager.Service.UserService.Registration;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -27,6 +32,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -58,7 +64,7 @@ public class HomeControllerTest {
     private ActivityLogRepo activityLogRepo;
 
     @Mock
-    private RedisService redisService;
+    private OtpStore otpStore;
 
     @InjectMocks
     private HomeController homeController;
@@ -77,15 +83,12 @@ public class HomeControllerTest {
     void testRegisterSuccess() throws Exception {
         UserRegisterDTO dto = new UserRegisterDTO("testuser", "testuser@gmail.com", "testpass123");
 
-        // Mock dependencies for checking existing user/email
-        when(userRepo.findByUsername(dto.username())).thenReturn(Optional.empty());
-        when(userRepo.findByEmail(dto.email())).thenReturn(Optional.empty());
-        
-        // Mock Redis service - OTP should not exist yet
-        when(redisService.getOtp(dto.email())).thenReturn(null);
+        // Availability comes from the user service (Bloom filter, then at most one lookup)
+        when(userService.checkAvailability(dto.username(), dto.email())).thenReturn(Registration.OK);
         
-        // Mock the save operation
-        doNothing().when(redisService).saveUserOtp(eq(dto.email()), anyString(), anyString(), anyInt());
+        // No OTP pending yet, so the store accepts the new one
+        when(otpStore.issue(eq(Purpose.REGISTRATION), eq(dto.email()), anyString(), anyString(), eq(Duration.ofMinutes(2))))
+                .thenReturn(true);
         doNothing().when(emailService).sendHtmlMessage(any(MailBody.class));
 
         mockMvc.perform(post("/register")
@@ -94,15 +97,45 @@ public class HomeControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("OTP sent to your email. Please verify."));
 
-        // Verify Redis operations
-        verify(redisService).getOtp(dto.email());
-        verify(redisService).saveUserOtp(eq(dto.email()), anyString(), anyString(), eq(2));
+        // One atomic store call checks for a pending OTP and saves the new one with the user
+        verify(otpStore).issue(eq(Purpose.REGISTRATION), eq(dto.email()), anyString(),
+                contains("\"username\":\"testuser\""), eq(Duration.ofMinutes(2)));
         
         // Verify email was sent
         verify(emailService).sendHtmlMessage(any(MailBody.class));
         
         // Verify user was NOT saved yet (happens after OTP verification)
-        verify(userService, never()).saveUser(any(User.class));
+        verify(userService, never()).createUser(anyString(), anyString(), anyString(), anyString());
+        verifyNoInteractions(userRepo);
+    }
+
+    @Test
+    void testRegisterFailsWhenUsernameTaken() throws Exception {
+        UserRegisterDTO dto = new UserRegisterDTO("testuser", "testuser@gmail.com", "testpass123");
+        when(userService.checkAvailability(dto.username(), dto.email())).thenReturn(Registration.USERNAME_TAKEN);
+
+        mockMvc.perform(post("/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("Username already exists"));
+
+        verifyNoInteractions(otpStore);
+        verify(emailService, never()).sendHtmlMessage(any(MailBody.class));
+    }
+
+    @Test
+    void testRegisterFailsWhenOtpAlreadyPending() throws Exception {
+        UserRegisterDTO dto = new UserRegisterDTO("testuser", "testuser@gmail.com", "testpass123");
+        when(userService.checkAvailability(dto.username(), dto.email())).thenReturn(Registration.OK);
+        when(otpStore.issue(any(), anyString(), anyString(), anyString(), any())).thenReturn(false);
+
+        mockMvc.perform(post("/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isTooManyRequests());
+
+        verify(emailService, never()).sendHtmlMessage(any(MailBody.class));
     }
 
     @Test
@@ -115,7 +148,7 @@ public class HomeControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(content().string("Please provide a valid Gmail address"));
 
-        verify(userService, never()).saveUser(any(User.class));
+        verify(userService, never()).createUser(anyString(), anyString(), anyString(), anyString());
         verify(emailService, never()).sendHtmlMessage(any(MailBody.class));
     }
 
@@ -163,13 +196,11 @@ public class HomeControllerTest {
         String otp = "123456";
         String userJson = "{\"username\":\"testuser\",\"email\":\"test@gmail.com\",\"password\":\"testpass123\"}";
 
-        // Mock Redis operations
-        when(redisService.getOtp(email)).thenReturn(otp);
-        when(redisService.getTempUser(email)).thenReturn(userJson);
-        when(userRepo.findByUsername("testuser")).thenReturn(Optional.empty());
-        when(userRepo.findByEmail(email)).thenReturn(Optional.empty());
-        doNothing().when(redisService).deleteOtp(email);
-        doNothing().when(redisService).deleteTempUser(email);
+        // The store consumes the OTP and hands back the pending user
+        when(otpStore.verify(Purpose.REGISTRATION, email, otp)).thenReturn(new Verification(Status.VERIFIED, userJson));
+        when(userService.encode("testpass123")).thenReturn("hash");
+        when(userService.createUser("testuser", email, "hash", "User verified email and registered: testuser"))
+                .thenReturn(Registration.OK);
         doNothing().when(emailService).sendHtmlMessage(any(MailBody.class));
 
         Map<String, String> payload = new HashMap<>();
@@ -182,11 +213,30 @@ public class HomeControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("Email verified and user registered successfully."));
 
-        verify(userService).saveUser(any(User.class));
-        verify(emailService).sendHtmlMessage(any(MailBody.class));
-        verify(redisService).deleteOtp(email);
-        verify(redisService).deleteTempUser(email);
-        verify(activityLogRepo).save(any(ActivityLog.class));
+        // The password is hashed before the insert transaction and the mail is sent after it.
+        InOrder inOrder = inOrder(userService, emailService);
+        inOrder.verify(userService).encode("testpass123");
+        inOrder.verify(userService).createUser(eq("testuser"), eq(email), any(),
+                eq("User verified email and registered: testuser"));
+        inOrder.verify(emailService).sendHtmlMessage(any(MailBody.class));
+        verify(activityLogRepo, never()).save(any(ActivityLog.class));
+        verifyNoInteractions(userRepo);
+    }
+
+    @Test
+    void testVerifyOtpReportsConflictFromTheInsert() throws Exception {
+        String email = "test@gmail.com";
+        String userJson = "{\"username\":\"testuser\",\"email\":\"test@gmail.com\",\"password\":\"testpass123\"}";
+        when(otpStore.verify(Purpose.REGISTRATION, email, "123456")).thenReturn(new Verification(Status.VERIFIED, userJson));
+        when(userService.createUser(eq("testuser"), eq(email), any(), anyString())).thenReturn(Registration.EMAIL_TAKEN);
+
+        mockMvc.perform(post("/verify-otp")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("email", email, "otp", "123456"))))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("Email already registered."));
+
+        verify(emailService, never()).sendHtmlMessage(any(MailBody.class));
     }
 
     @Test
@@ -194,8 +244,8 @@ public class HomeControllerTest {
         String email = "test@gmail.com";
         String otp = "123456";
         
-        // Mock Redis to return different OTP
-        when(redisService.getOtp(email)).thenReturn("654321");
+        // The stored OTP is different
+        when(otpStore.verify(Purpose.REGISTRATION, email, otp)).thenReturn(new Verification(Status.INVALID, null));
 
         Map<String, String> payload = new HashMap<>();
         payload.put("email", email);
@@ -207,7 +257,7 @@ public class HomeControllerTest {
                 .andExpect(status().isUnauthorized())
                 .andExpect(content().string("Invalid OTP."));
 
-        verify(userService, never()).saveUser(any(User.class));
+        verify(userService, never()).createUser(anyString(), anyString(), anyString(), anyString());
     }
 
     @Test
@@ -215,8 +265,8 @@ public class HomeControllerTest {
         String email = "test@gmail.com";
         String otp = "123456";
         
-        // Mock Redis to return null (expired OTP)
-        when(redisService.getOtp(email)).thenReturn(null);
+        // Nothing pending (expired OTP)
+        when(otpStore.verify(Purpose.REGISTRATION, email, otp)).thenReturn(new Verification(Status.EXPIRED, null));
 
         Map<String, String> payload = new HashMap<>();
         payload.put("email", email);
@@ -228,7 +278,21 @@ public class HomeControllerTest {
                 .andExpect(status().isGone())
                 .andExpect(content().string("OTP expired or not requested."));
 
-        verify(userService, never()).saveUser(any(User.class));
+        verify(userService, never()).createUser(anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void testVerifyOtpLockedAfterTooManyAttempts() throws Exception {
+        String email = "test@gmail.com";
+        when(otpStore.verify(Purpose.REGISTRATION, email, "000000")).thenReturn(new Verification(Status.LOCKED, null));
+
+        mockMvc.perform(post("/verify-otp")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("email", email, "otp", "000000"))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(content().string("Too many invalid attempts. Please register again."));
+
+        verify(userService, never()).createUser(anyString(), anyString(), anyString(), anyString());
     }
 
     @Test
@@ -243,6 +307,6 @@ public class HomeControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(content().string("Email and OTP are required."));
 
-        verify(userService, never()).saveUser(any(User.class));
+        verify(userService, never()).createUser(anyString(), anyString(), anyString(), anyString());
     }
 }
\ No newline at end of file
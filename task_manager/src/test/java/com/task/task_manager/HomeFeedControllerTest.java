@@ -0,0 +1,154 @@
+package com.task.task_manager;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.task.task_manager.Controller.HomeFeedController;
+import com.task.task_manager.DTO.HabitTrackerSendDTO;
+import com.task.task_manager.DTO.ReminderSendDTO;
+import com.task.task_manager.Exception.NoUpcomingTasksException;
+import com.task.task_manager.Model.TaskStatus;
+import com.task.task_manager.Model.User;
+import com.task.task_manager.Model.UserPrincipal;
+import com.task.task_manager.Repo.UserRepo;
+import com.task.task_manager.Service.DataVersionService;
+import com.task.task_manager.Service.HabitTrackerService;
+import com.task.task_manager.Service.HomeFeedService;
+import com.task.task_manager.Service.ReminderService;
+import com.task.task_manager.Service.TaskService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HomeFeedControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private ReminderService reminderService;
+
+    @Mock
+    private HabitTrackerService habitTrackerService;
+
+    @Mock
+    private UserRepo userRepo;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @InjectMocks
+    private HomeFeedController homeFeedController;
+
+    private HomeFeedService homeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        homeFeedService = new HomeFeedService(taskService, reminderService, habitTrackerService, userRepo,
+                new SimpleMeterRegistry(), Duration.ofMillis(300), 4, 16);
+        ReflectionTestUtils.setField(homeFeedController, "homeFeedService", homeFeedService);
+        mockMvc = MockMvcBuilders.standaloneSetup(homeFeedController).build();
+
+        SecurityContext securityContext = mock(SecurityContext.class);
+        Authentication authentication = mock(Authentication.class);
+        User user = new User();
+        user.setId(7L);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getPrincipal()).thenReturn(new UserPrincipal(user));
+        SecurityContextHolder.setContext(securityContext);
+
+        when(userRepo.getReferenceById(7L)).thenReturn(user);
+        when(taskService.getTodayTaskStatusCounts(7L)).thenReturn(Map.of("INCOMPLETE", 2L, "ONGOING", 1L));
+        when(taskService.getTaskStatusCounts(7L)).thenReturn(Map.of("INCOMPLETE", 5L, "ONGOING", 1L));
+        when(habitTrackerService.getTodayHabits(7L)).thenReturn(List.of(new HabitTrackerSendDTO(3L, "Read", TaskStatus.INCOMPLETE)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testHomeReturnsEverySectionAndEmptyListsForEmptySections() throws Exception {
+        when(taskService.getUpcomingTasks(7L)).thenThrow(new NoUpcomingTasksException("No upcoming tasks found"));
+        when(reminderService.getReminders(any(User.class)))
+                .thenReturn(List.of(new ReminderSendDTO(4L, "Call", LocalDate.of(2026, 10, 20), "09:00 AM", TaskStatus.INCOMPLETE)));
+
+        mockMvc.perform(get("/home"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Cache-Control"))
+                .andExpect(jsonPath("$.upcomingTasks").isEmpty())
+                .andExpect(jsonPath("$.reminders[0].title").value("Call"))
+                .andExpect(jsonPath("$.habits[0].title").value("Read"))
+                .andExpect(jsonPath("$.counts.today.INCOMPLETE").value(2))
+                .andExpect(jsonPath("$.counts.pending.INCOMPLETE").value(5))
+                .andExpect(jsonPath("$.unavailable").isEmpty());
+    }
+
+    @Test
+    void testSlowOrFailingSectionsAreLeftOutOfAPartialFeed() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(taskService.getUpcomingTasks(7L)).thenThrow(new IllegalStateException("database down"));
+        when(reminderService.getReminders(any(User.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);   // far past the 300 ms section timeout
+            return List.of();
+        });
+
+        try {
+            mockMvc.perform(get("/home"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Cache-Control", "no-store"))
+                    .andExpect(jsonPath("$.upcomingTasks").doesNotExist())
+                    .andExpect(jsonPath("$.reminders").doesNotExist())
+                    .andExpect(jsonPath("$.habits[0].title").value("Read"))
+                    .andExpect(jsonPath("$.counts.today.ONGOING").value(1))
+                    .andExpect(jsonPath("$.unavailable[0]").value("upcomingTasks"))
+                    .andExpect(jsonPath("$.unavailable[1]").value("reminders"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testSectionsAreReadInParallel() throws Exception {
+        CountDownLatch allStarted = new CountDownLatch(3);
+        when(taskService.getUpcomingTasks(7L)).thenAnswer(invocation -> awaitOthers(allStarted));
+        when(reminderService.getReminders(any(User.class))).thenAnswer(invocation -> awaitOthers(allStarted));
+        when(habitTrackerService.getTodayHabits(7L)).thenAnswer(invocation -> awaitOthers(allStarted));
+
+        // Each read waits for the other two, so only running them at the same time completes all three in time.
+        mockMvc.perform(get("/home"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.unavailable").isEmpty());
+    }
+
+    private static List<Object> awaitOthers(CountDownLatch allStarted) throws InterruptedException {
+        allStarted.countDown();
+        allStarted.await(1, TimeUnit.SECONDS);
+        return List.of();
+    }
+}
@@ -0,0 +1,117 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.task.task_manager.Service.InMemoryKeyValueStore;
+
+class InMemoryKeyValueStoreTest {
+
+    private InMemoryKeyValueStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryKeyValueStore(Duration.ofMillis(10), 8);
+    }
+
+    @Test
+    void testEntriesExpireOnReadAndAreSweptByTheWheel() throws Exception {
+        assertTrue(store.setIfAbsent("lock", "1", Duration.ofMillis(50)));
+        store.hashPut("view", "upcoming", "[]", Duration.ofMillis(50));
+        // Far enough out to take more than one rotation of the 8-slot wheel.
+        store.hashPut("kept", "upcoming", "[]", Duration.ofSeconds(5));
+        assertFalse(store.setIfAbsent("lock", "2", Duration.ofMillis(50)));
+
+        Thread.sleep(60);
+        assertNull(store.get("lock"));
+        assertNull(store.hashGet("view", "upcoming"));
+        assertTrue(store.setIfAbsent("lock", "3", Duration.ofMillis(20)));
+
+        for (int i = 0; i < 100 && store.size() > 1; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, store.size());
+        assertEquals("[]", store.hashGet("kept", "upcoming"));
+    }
+
+    @Test
+    void testConcurrentIncrementsAndClaimsAreAtomic() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        AtomicInteger claims = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    store.increment("counter");
+                    if (store.setIfAbsent("claim:" + i, "1", Duration.ofMinutes(1))) {
+                        claims.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals("8000", store.get("counter"));
+        assertEquals(1000, claims.get());
+    }
+
+    @Test
+    void testPublishReachesOnlyThatChannel() {
+        List<String> received = new ArrayList<>();
+        store.subscribe("a", received::add);
+        store.subscribe("b", message -> received.add("b:" + message));
+
+        store.publish("a", "7");
+
+        assertEquals(List.of("7"), received);
+    }
+
+    @Test
+    void testHashPutIfUnchangedComparesTheOtherKeys() {
+        assertTrue(store.hashPutIfUnchanged("view", "a", "1", Duration.ofMinutes(1), Map.of("generation", "0")));
+        store.increment("generation");
+
+        assertFalse(store.hashPutIfUnchanged("view", "b", "2", Duration.ofMinutes(1), Map.of("generation", "0")));
+        assertTrue(store.hashPutIfUnchanged("view", "b", "2", Duration.ofMinutes(1), Map.of("generation", "1")));
+        assertEquals(Map.of("a", "1", "b", "2"), store.hashGetAll("view"));
+    }
+
+    @Test
+    void testHashCreateComparesTheOtherKeys() {
+        store.add("busy", 1, Duration.ofMinutes(1));
+
+        assertFalse(store.hashCreate("stats", Map.of("a", "1"), Duration.ofMinutes(1), Map.of("busy", "0", "generation", "0")));
+        store.add("busy", -1, Duration.ofMinutes(1));
+        assertTrue(store.hashCreate("stats", Map.of("a", "1"), Duration.ofMinutes(1), Map.of("busy", "0", "generation", "0")));
+        assertFalse(store.hashCreate("stats", Map.of("a", "2"), Duration.ofMinutes(1), Map.of("busy", "0", "generation", "0")));
+        assertEquals(Map.of("a", "1"), store.hashGetAll("stats"));
+    }
+
+    @Test
+    void testAddedCounterExpires() throws Exception {
+        assertEquals(2, store.add("busy", 2, Duration.ofMillis(30)));
+        assertEquals(1, store.add("busy", -1, Duration.ofMillis(30)));
+
+        Thread.sleep(50);
+        assertNull(store.get("busy"));
+        assertEquals(-1, store.add("busy", -1, Duration.ofMillis(30)));
+    }
+}
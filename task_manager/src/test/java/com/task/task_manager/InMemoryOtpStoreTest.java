@@ -0,0 +1,64 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.task.task_manager.Service.InMemoryKeyValueStore;
+import com.task.task_manager.Service.InMemoryOtpStore;
+import com.task.task_manager.Service.OtpStore;
+import com.task.task_manager.Service.OtpStore.Purpose;
+import com.task.task_manager.Service.OtpStore.Status;
+
+class InMemoryOtpStoreTest {
+
+    private static final Duration TTL = Duration.ofMinutes(2);
+
+    private OtpStore otpStore;
+
+    @BeforeEach
+    void setUp() {
+        otpStore = new InMemoryOtpStore(new InMemoryKeyValueStore(Duration.ofSeconds(1), 64));
+    }
+
+    @Test
+    void testIssueKeepsThePendingCodeAndVerifyConsumesIt() {
+        assertTrue(otpStore.issue(Purpose.REGISTRATION, "a@gmail.com", "123456", "{}", TTL));
+        assertFalse(otpStore.issue(Purpose.REGISTRATION, "a@gmail.com", "654321", "{}", TTL));
+
+        assertEquals(Status.INVALID, otpStore.verify(Purpose.REGISTRATION, "a@gmail.com", "654321").status());
+        assertEquals("{}", otpStore.verify(Purpose.REGISTRATION, "a@gmail.com", "123456").payload());
+        assertEquals(Status.EXPIRED, otpStore.verify(Purpose.REGISTRATION, "a@gmail.com", "123456").status());
+    }
+
+    @Test
+    void testTooManyWrongCodesLockTheEntry() {
+        otpStore.issue(Purpose.REGISTRATION, "a@gmail.com", "123456", "{}", TTL);
+        for (int i = 1; i < OtpStore.MAX_ATTEMPTS; i++) {
+            assertEquals(Status.INVALID, otpStore.verify(Purpose.REGISTRATION, "a@gmail.com", "000000").status());
+        }
+
+        assertEquals(Status.LOCKED, otpStore.verify(Purpose.REGISTRATION, "a@gmail.com", "000000").status());
+        assertEquals(Status.EXPIRED, otpStore.verify(Purpose.REGISTRATION, "a@gmail.com", "123456").status());
+    }
+
+    @Test
+    void testReissueReplacesAndConsumeDeletes() throws Exception {
+        otpStore.issue(Purpose.PASSWORD_RESET, "a@gmail.com", "111111", "42", TTL);
+        otpStore.reissue(Purpose.PASSWORD_RESET, "a@gmail.com", "222222", "42", Duration.ofMillis(30));
+        assertEquals(Status.INVALID, otpStore.verify(Purpose.PASSWORD_RESET, "a@gmail.com", "111111").status());
+
+        Thread.sleep(50);
+        assertEquals(Status.EXPIRED, otpStore.verify(Purpose.PASSWORD_RESET, "a@gmail.com", "222222").status());
+
+        otpStore.reissue(Purpose.PASSWORD_RESET_VERIFIED, "a@gmail.com", "", "42", TTL);
+        assertEquals("42", otpStore.consume(Purpose.PASSWORD_RESET_VERIFIED, "a@gmail.com"));
+        assertNull(otpStore.consume(Purpose.PASSWORD_RESET_VERIFIED, "a@gmail.com"));
+    }
+}
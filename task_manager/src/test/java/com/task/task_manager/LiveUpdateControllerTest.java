@@ -0,0 +1,105 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.task_manager.Controller.LiveUpdateController;
+import com.task.task_manager.Model.User;
+import com.task.task_manager.Model.UserPrincipal;
+import com.task.task_manager.Service.KeyValueStore;
+import com.task.task_manager.Service.LiveUpdateHub;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LiveUpdateControllerTest {
+
+    private MockMvc mockMvc;
+    private KeyValueStore keyValueStore;
+    private LiveUpdateHub liveUpdateHub;
+
+    @BeforeEach
+    void setUp() {
+        keyValueStore = mock(KeyValueStore.class);
+        liveUpdateHub = new LiveUpdateHub(keyValueStore, new ObjectMapper(), new SimpleMeterRegistry(),
+                Duration.ofMinutes(1), 16, 1);
+        LiveUpdateController controller = new LiveUpdateController();
+        ReflectionTestUtils.setField(controller, "liveUpdateHub", liveUpdateHub);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        SecurityContext securityContext = mock(SecurityContext.class);
+        Authentication authentication = mock(Authentication.class);
+        User user = new User();
+        user.setId(7L);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getPrincipal()).thenReturn(new UserPrincipal(user));
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testPublishedEventReachesOnlyThatUsersStream() throws Exception {
+        MvcResult result = mockMvc.perform(get("/events")).andExpect(request().asyncStarted()).andReturn();
+        assertEquals(1, liveUpdateHub.connectionCount());
+
+        liveUpdateHub.publish(8L, "change", Map.of("type", "TASK", "id", 1, "operation", "UPSERT"));
+        liveUpdateHub.publish(7L, "change", Map.of("type", "TASK", "id", 2, "operation", "DELETE"));
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        verify(keyValueStore, times(2)).publish(eq(LiveUpdateHub.CHANNEL), published.capture());
+        ArgumentCaptor<Consumer<String>> subscriber = ArgumentCaptor.captor();
+        verify(keyValueStore).subscribe(eq(LiveUpdateHub.CHANNEL), subscriber.capture());
+        published.getAllValues().forEach(subscriber.getValue());
+
+        String body = awaitContaining(result, "DELETE");
+        assertTrue(body.contains("event:change"));
+        assertFalse(body.contains("UPSERT"));
+    }
+
+    @Test
+    void testRedisFailureDeliversLocally() throws Exception {
+        doThrow(new RedisConnectionFailureException("down")).when(keyValueStore).publish(anyString(), anyString());
+        MvcResult result = mockMvc.perform(get("/events")).andExpect(request().asyncStarted()).andReturn();
+
+        liveUpdateHub.publish(7L, "reminder", Map.of("id", 3, "title", "Call"));
+
+        assertTrue(awaitContaining(result, "event:reminder").contains("\"title\":\"Call\""));
+    }
+
+    private String awaitContaining(MvcResult result, String text) throws Exception {
+        for (int i = 0; i < 100; i++) {
+            String body = result.getResponse().getContentAsString();
+            if (body.contains(text)) {
+                return body;
+            }
+            Thread.sleep(20);
+        }
+        return result.getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,146 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.task_manager.Config.ConnectionHoldTimingDataSource;
+import com.task.task_manager.Model.MailBody;
+import com.task.task_manager.Service.EmailService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// A mixed load over the endpoints that send mail or hash passwords: USERS clients at once, each
+// registering, verifying the OTP, asking for a password reset mail and logging in, ROUNDS times.
+// The SMTP send is stubbed to take MAIL_MILLIS. Logs db.connection.hold per endpoint and the pool
+// use it adds up to (connection-seconds held per second of load), and checks that no mail endpoint
+// keeps its connection through the send. Run it with -Dspring.jpa.open-in-view=true for the old
+// behaviour: every endpoint then holds its connection to the end of the request and the check fails.
+@AutoConfigureMockMvc
+class MixedLoadConnectionHoldTest extends PostgresTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MixedLoadConnectionHoldTest.class);
+
+    private static final int USERS = 12;
+    private static final int ROUNDS = 2;
+    private static final long MAIL_MILLIS = 300;
+    private static final Pattern OTP = Pattern.compile("class='otp'>(\\d{6})<");
+    private static final List<String> MAIL_ENDPOINTS = List.of("/register", "/verify-otp", "/forgetPassword/verifyMail");
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, String> mailbox = new ConcurrentHashMap<>();
+
+    @Test
+    void testMailEndpointsReleaseTheirConnectionBeforeSending() throws Exception {
+        doAnswer(invocation -> {
+            MailBody mail = invocation.getArgument(0);
+            mailbox.put(mail.getTo(), mail.getText());
+            Thread.sleep(MAIL_MILLIS);
+            return null;
+        }).when(emailService).sendHtmlMessage(any());
+
+        Map<String, double[]> before = holds();
+        long start = System.nanoTime();
+        ExecutorService clients = Executors.newFixedThreadPool(USERS);
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (int i = 0; i < USERS * ROUNDS; i++) {
+                runs.add(clients.submit(() -> {
+                    client();
+                    return null;
+                }));
+            }
+            for (Future<?> run : runs) {
+                run.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, double[]> held = holds();
+        held.replaceAll((uri, hold) -> {
+            double[] was = before.getOrDefault(uri, new double[2]);
+            return new double[] {hold[0] - was[0], hold[1] - was[1]};
+        });
+        held.values().removeIf(hold -> hold[0] == 0);
+        double totalMillis = held.values().stream().mapToDouble(hold -> hold[1]).sum();
+        StringBuilder report = new StringBuilder(String.format("%d clients x %d rounds in %.1f s, mail %d ms;"
+                + " connections busy on average: %.2f", USERS, ROUNDS, seconds, MAIL_MILLIS,
+                totalMillis / 1000 / seconds));
+        held.forEach((uri, hold) -> report.append(String.format("%n  %-28s %4d holds, mean %7.1f ms, total %8.0f ms",
+                uri, (long) hold[0], hold[1] / hold[0], hold[1])));
+        log.info(report.toString());
+
+        // /register only reaches the database when the signup filter reports a possible clash.
+        assertTrue(held.containsKey("/verify-otp"));
+        for (String uri : MAIL_ENDPOINTS) {
+            double[] hold = held.get(uri);
+            assertTrue(hold == null || hold[1] / hold[0] < MAIL_MILLIS, uri + " held its connection through the mail send");
+        }
+    }
+
+    private void client() throws Exception {
+        String name = "load-" + UUID.randomUUID().toString().substring(0, 8);
+        String email = name + "@gmail.com";
+        String password = "secret1";
+
+        send("/register", Map.of("username", name, "email", email, "password", password));
+        Matcher otp = OTP.matcher(mailbox.remove(email));
+        assertTrue(otp.find());
+        send("/verify-otp", Map.of("email", email, "otp", otp.group(1)));
+        send("/forgetPassword/verifyMail", Map.of("email", email));
+        send("/login", Map.of("username", name, "password", password));
+    }
+
+    private void send(String uri, Map<String, String> body) throws Exception {
+        mockMvc.perform(post(uri).contentType(MediaType.APPLICATION_JSON).content(mapper.writeValueAsString(body)))
+                .andExpect(status().isOk());
+    }
+
+    // Count and total milliseconds of connection holds per endpoint so far.
+    private Map<String, double[]> holds() {
+        Map<String, double[]> holds = new TreeMap<>();
+        for (Timer timer : meterRegistry.find(ConnectionHoldTimingDataSource.METRIC).timers()) {
+            double[] hold = holds.computeIfAbsent(timer.getId().getTag("uri"), uri -> new double[2]);
+            hold[0] += timer.count();
+            hold[1] += timer.totalTime(TimeUnit.MILLISECONDS);
+        }
+        return holds;
+    }
+}
@@ -0,0 +1,189 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.task.task_manager.DTO.TaskBatchOperation;
+import com.task.task_manager.DTO.TaskBatchResponseDTO;
+import com.task.task_manager.Model.TaskPriority;
+import com.task.task_manager.Model.TaskStatus;
+import com.task.task_manager.Model.User;
+import com.task.task_manager.Repo.SubTaskRepo;
+import com.task.task_manager.Repo.TaskRepo;
+import com.task.task_manager.Repo.UserRepo;
+import com.task.task_manager.Service.TaskBatchService;
+
+// The ownership-checked native writes of TaskRepo and SubTaskRepo. They are queries, not @Modifying
+// updates, because they return the old values, so they run as the services run them: inside a
+// read-write transaction. Rows are read back with plain JDBC, past the persistence context.
+class OwnedWriteQueriesTest extends PostgresTest {
+
+    @Autowired
+    private TaskRepo taskRepo;
+
+    @Autowired
+    private SubTaskRepo subTaskRepo;
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final LocalDate due = LocalDate.now().plusDays(4);
+    private User owner;
+    private User other;
+    private long taskId;
+    private long subTaskId;
+
+    @BeforeEach
+    void setUp() {
+        owner = user();
+        other = user();
+        TaskBatchResponseDTO created = taskBatchService.apply(owner.getId(), List.of(new TaskBatchOperation(
+                "createTask", null, null, "Title", "Description", due, "10:00 AM", "HIGH", "INCOMPLETE",
+                List.of(new TaskBatchOperation.NewSubTask("Subtask", "INCOMPLETE")))));
+        taskId = created.results().get(0).id();
+        subTaskId = jdbcTemplate.queryForObject("SELECT id FROM sub_task WHERE task_id = ?", Long.class, taskId);
+    }
+
+    @Test
+    void testUpdateOwnedTaskReturnsTheOldStatusAndDueDate() {
+        List<Object[]> updated = inTransaction(() -> taskRepo.updateOwned(taskId, owner.getId(), "New title",
+                "New description", due.plusDays(1), LocalTime.of(9, 30), TaskPriority.LOW.code(),
+                TaskStatus.COMPLETED.code()));
+
+        assertEquals(1, updated.size());
+        assertEquals(TaskStatus.INCOMPLETE.code(), ((Number) updated.get(0)[0]).shortValue());
+        assertEquals(due, ((Date) updated.get(0)[1]).toLocalDate());
+        Map<String, Object> row = task();
+        assertEquals("New title", row.get("title"));
+        assertEquals(TaskStatus.COMPLETED.code(), ((Number) row.get("status_code")).shortValue());
+        assertEquals(due.plusDays(1), ((Date) row.get("due_date")).toLocalDate());
+    }
+
+    @Test
+    void testUpdateTaskOfAnotherUserMatchesNothing() {
+        List<Object[]> updated = inTransaction(() -> taskRepo.updateOwned(taskId, other.getId(), "New title",
+                "New description", due.plusDays(1), LocalTime.of(9, 30), TaskPriority.LOW.code(),
+                TaskStatus.COMPLETED.code()));
+
+        assertTrue(updated.isEmpty());
+        Map<String, Object> row = task();
+        assertEquals("Title", row.get("title"));
+        assertEquals(TaskStatus.INCOMPLETE.code(), ((Number) row.get("status_code")).shortValue());
+    }
+
+    @Test
+    void testDeleteOwnedTaskRemovesItsSubTasks() {
+        List<Object[]> deleted = inTransaction(() -> taskRepo.deleteOwned(taskId, owner.getId()));
+
+        assertEquals(1, deleted.size());
+        assertEquals(TaskStatus.INCOMPLETE.code(), ((Number) deleted.get(0)[0]).shortValue());
+        assertEquals(due, ((Date) deleted.get(0)[1]).toLocalDate());
+        assertEquals(0, count("SELECT count(*) FROM task WHERE id = ?", taskId));
+        assertEquals(0, count("SELECT count(*) FROM sub_task WHERE task_id = ?", taskId));
+    }
+
+    @Test
+    void testDeleteTaskOfAnotherUserMatchesNothing() {
+        List<Object[]> deleted = inTransaction(() -> taskRepo.deleteOwned(taskId, other.getId()));
+
+        assertTrue(deleted.isEmpty());
+        assertEquals(1, count("SELECT count(*) FROM task WHERE id = ?", taskId));
+        assertEquals(1, count("SELECT count(*) FROM sub_task WHERE task_id = ?", taskId));
+    }
+
+    @Test
+    void testUpdateOwnedSubTaskReturnsItsTask() {
+        Optional<Long> updated = inTransaction(() -> subTaskRepo.updateOwned(subTaskId, owner.getId(),
+                "Renamed", TaskStatus.COMPLETED.code()));
+
+        assertEquals(Optional.of(taskId), updated);
+        Map<String, Object> row = subTask();
+        assertEquals("Renamed", row.get("title"));
+        assertEquals(TaskStatus.COMPLETED.code(), ((Number) row.get("status_code")).shortValue());
+    }
+
+    @Test
+    void testUpdateSubTaskOfAnotherUserMatchesNothing() {
+        Optional<Long> updated = inTransaction(() -> subTaskRepo.updateOwned(subTaskId, other.getId(),
+                "Renamed", TaskStatus.COMPLETED.code()));
+
+        assertEquals(Optional.empty(), updated);
+        Map<String, Object> row = subTask();
+        assertEquals("Subtask", row.get("title"));
+        assertEquals(TaskStatus.INCOMPLETE.code(), ((Number) row.get("status_code")).shortValue());
+    }
+
+    @Test
+    void testDeleteOwnedSubTaskReturnsItsTask() {
+        Optional<Long> deleted = inTransaction(() -> subTaskRepo.deleteOwned(subTaskId, owner.getId()));
+
+        assertEquals(Optional.of(taskId), deleted);
+        assertEquals(0, count("SELECT count(*) FROM sub_task WHERE id = ?", subTaskId));
+        assertEquals(1, count("SELECT count(*) FROM task WHERE id = ?", taskId));
+    }
+
+    @Test
+    void testDeleteSubTaskOfAnotherUserMatchesNothing() {
+        Optional<Long> deleted = inTransaction(() -> subTaskRepo.deleteOwned(subTaskId, other.getId()));
+
+        assertEquals(Optional.empty(), deleted);
+        assertEquals(1, count("SELECT count(*) FROM sub_task WHERE id = ?", subTaskId));
+    }
+
+    @Test
+    void testBatchLockTakesOnlyTheCallersTasks() {
+        // FOR UPDATE locks exactly the rows returned, so an empty result left the task unlocked.
+        assertEquals(List.of(), inTransaction(() -> taskRepo.lockForBatch(other.getId(), List.of(taskId), List.of(-1L))));
+        assertEquals(List.of(), inTransaction(() -> taskRepo.lockForBatch(other.getId(), List.of(-1L), List.of(subTaskId))));
+        assertEquals(List.of(taskId), inTransaction(() -> taskRepo.lockForBatch(owner.getId(), List.of(-1L), List.of(subTaskId))));
+    }
+
+    private <T> T inTransaction(Supplier<T> write) {
+        return transactionTemplate.execute(status -> write.get());
+    }
+
+    private Map<String, Object> task() {
+        return jdbcTemplate.queryForMap("SELECT title, status_code, due_date FROM task WHERE id = ?", taskId);
+    }
+
+    private Map<String, Object> subTask() {
+        return jdbcTemplate.queryForMap("SELECT title, status_code FROM sub_task WHERE id = ?", subTaskId);
+    }
+
+    private long count(String sql, long id) {
+        return jdbcTemplate.queryForObject(sql, Long.class, id);
+    }
+
+    private User user() {
+        String name = "owned-" + UUID.randomUUID();
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("secret");
+        return userRepo.save(user);
+    }
+}
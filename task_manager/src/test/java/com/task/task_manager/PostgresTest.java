@@ -0,0 +1,68 @@
+package com.task.task_manager;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+// Base for tests that need a real Postgres rather than H2: the native statements use ON CONFLICT,
+// DELETE ... RETURNING in a CTE, row and advisory locks and snapshot functions, and the schema is
+// built by the Flyway migrations. Runs against -Dtest.postgres.url (with test.postgres.username and
+// test.postgres.password, default postgres) when it is set, otherwise in a postgres:16 container;
+// without either the tests are skipped. Each test works on its own user, so runs can share a database.
+@SpringBootTest(properties = {
+    "app.kv.backend=memory",
+    "management.health.redis.enabled=false",
+    "spring.data.redis.host=localhost",
+    "spring.data.redis.port=6379",
+    "spring.data.redis.password=",
+    "spring.mail.host=localhost",
+    "spring.mail.username=test",
+    "spring.mail.password=test"
+})
+@ExtendWith(PostgresTest.Available.class)
+abstract class PostgresTest {
+
+    private static final String URL = System.getProperty("test.postgres.url");
+
+    private static PostgreSQLContainer<?> container;
+
+    // Evaluated before the Spring context is loaded, so a missing database skips instead of failing.
+    static final class Available implements ExecutionCondition {
+
+        @Override
+        public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+            return URL != null || DockerClientFactory.instance().isDockerAvailable()
+                    ? ConditionEvaluationResult.enabled("Postgres is available")
+                    : ConditionEvaluationResult.disabled("Neither -Dtest.postgres.url nor Docker is available");
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        if (URL != null) {
+            registry.add("spring.datasource.url", () -> URL);
+            registry.add("spring.datasource.username", () -> System.getProperty("test.postgres.username", "postgres"));
+            registry.add("spring.datasource.password", () -> System.getProperty("test.postgres.password", "postgres"));
+            return;
+        }
+        PostgreSQLContainer<?> postgres = container();
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    // One container for every test class; it is stopped with the JVM.
+    private static synchronized PostgreSQLContainer<?> container() {
+        if (container == null) {
+            container = new PostgreSQLContainer<>("postgres:16-alpine");
+            container.start();
+        }
+        return container;
+    }
+}
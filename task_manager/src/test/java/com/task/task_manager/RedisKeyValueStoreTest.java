@@ -0,0 +1,123 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.task.task_manager.Service.RedisKeyValueStore;
+import com.task.task_manager.Service.RedisNearCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// The conditional hash writes and the counter with a TTL, each a Lua script, on a real Redis: what
+// they store, when they leave the key alone, and which TTL the key ends up with.
+class RedisKeyValueStoreTest extends RedisTest {
+
+    private static final Duration TTL = Duration.ofMinutes(2);
+
+    private StringRedisTemplate redisTemplate;
+    private RedisKeyValueStore store;
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = redisTemplate();
+        RedisNearCache nearCache = new RedisNearCache(redisTemplate, redisTemplate.getConnectionFactory(),
+                new SimpleMeterRegistry(), false, List.of(), 1, Duration.ofMinutes(1));
+        // No subscriptions here, so no listener container.
+        store = new RedisKeyValueStore(redisTemplate, null, nearCache);
+        key = prefix + "hash";
+    }
+
+    @Test
+    void testHashCreateStoresWithTheTtlOnlyWhenTheKeyIsMissing() {
+        assertTrue(store.hashCreate(key, Map.of("a", "1", "b", "2"), TTL, Map.of()));
+        assertEquals(Map.of("a", "1", "b", "2"), store.hashGetAll(key));
+        assertTtlAtMost(TTL);
+
+        assertFalse(store.hashCreate(key, Map.of("a", "9"), Duration.ofMinutes(10), Map.of()));
+        assertEquals(Map.of("a", "1", "b", "2"), store.hashGetAll(key));
+        assertTtlAtMost(TTL);
+    }
+
+    @Test
+    void testHashCreateComparesTheOtherKeys() {
+        String busy = prefix + "busy";
+        String generation = prefix + "generation";
+        store.add(busy, 1, TTL);
+        store.increment(generation);
+
+        assertFalse(store.hashCreate(key, Map.of("a", "1"), TTL, Map.of(busy, "0", generation, "0")));
+        assertFalse(redisTemplate.hasKey(key));
+        // The counter back at 0 matches; the generation has moved.
+        store.add(busy, -1, TTL);
+        assertFalse(store.hashCreate(key, Map.of("a", "1"), TTL, Map.of(busy, "0", generation, "0")));
+
+        assertTrue(store.hashCreate(key, Map.of("a", "1"), TTL, Map.of(busy, "0", generation, "1")));
+        assertEquals(Map.of("a", "1"), store.hashGetAll(key));
+        assertTtlAtMost(TTL);
+    }
+
+    @Test
+    void testAddCountsFromZeroAndRestartsTheTtl() {
+        String counter = prefix + "counter";
+        assertEquals(2, store.add(counter, 2, Duration.ofMillis(500)));
+        assertEquals(-1, store.add(counter, -3, TTL));
+        long left = redisTemplate.getExpire(counter, TimeUnit.MILLISECONDS);
+        assertTrue(left > 500 && left <= TTL.toMillis(), "TTL left: " + left);
+    }
+
+    @Test
+    void testHashIncrementIfPresentAddsToExistingFieldsAndNewOnes() {
+        store.hashIncrementIfPresent(key, Map.of("a", 1L));
+        assertFalse(redisTemplate.hasKey(key));
+
+        store.hashCreate(key, Map.of("a", "1"), TTL, Map.of());
+        store.hashIncrementIfPresent(key, Map.of("a", 2L, "b", -1L));
+        assertEquals(Map.of("a", "3", "b", "-1"), store.hashGetAll(key));
+        assertTtlAtMost(TTL);
+    }
+
+    @Test
+    void testHashPutIfPresentKeepsTheTtl() {
+        store.hashPutIfPresent(key, Map.of("a", "1"));
+        assertFalse(redisTemplate.hasKey(key));
+
+        store.hashCreate(key, Map.of("a", "1"), TTL, Map.of());
+        store.hashPutIfPresent(key, Map.of("a", "2", "b", "3"));
+        assertEquals(Map.of("a", "2", "b", "3"), store.hashGetAll(key));
+        assertTtlAtMost(TTL);
+    }
+
+    @Test
+    void testHashPutIfUnchangedComparesTheOtherKeys() {
+        String generation = prefix + "generation";
+
+        // A missing key reads as "0"; a new hash gets the TTL.
+        assertTrue(store.hashPutIfUnchanged(key, "a", "1", TTL, Map.of(generation, "0")));
+        assertTtlAtMost(TTL);
+
+        redisTemplate.opsForValue().increment(generation);
+        assertFalse(store.hashPutIfUnchanged(key, "b", "2", TTL, Map.of(generation, "0")));
+        assertEquals(Map.of("a", "1"), store.hashGetAll(key));
+
+        // An existing hash keeps the TTL it was created with.
+        assertTrue(store.hashPutIfUnchanged(key, "b", "2", Duration.ofMinutes(10), Map.of(generation, "1")));
+        assertEquals(Map.of("a", "1", "b", "2"), store.hashGetAll(key));
+        assertTtlAtMost(TTL);
+    }
+
+    private void assertTtlAtMost(Duration ttl) {
+        long left = redisTemplate.getExpire(key, TimeUnit.MILLISECONDS);
+        assertTrue(left > 0 && left <= ttl.toMillis(), "TTL left: " + left);
+    }
+}
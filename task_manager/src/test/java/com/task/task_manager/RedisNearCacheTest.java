@@ -0,0 +1,104 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import com.task.task_manager.Service.RedisNearCache;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushListener;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.RedisCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RedisNearCacheTest {
+
+    private ValueOperations<String, String> valueOperations;
+    private StatefulRedisConnection<String, String> connection;
+    private RedisCommands<String, String> commands;
+    private SimpleMeterRegistry meterRegistry;
+    private RedisNearCache nearCache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        LettuceConnectionFactory connectionFactory = mock(LettuceConnectionFactory.class);
+        RedisClient client = mock(RedisClient.class);
+        connection = mock(StatefulRedisConnection.class);
+        commands = mock(RedisCommands.class);
+        when(connectionFactory.getRequiredNativeClient()).thenReturn(client);
+        when(client.connect(any(RedisCodec.class))).thenReturn(connection);
+        when(connection.sync()).thenReturn(commands);
+
+        meterRegistry = new SimpleMeterRegistry();
+        nearCache = new RedisNearCache(redisTemplate, connectionFactory, meterRegistry, true,
+                List.of("dataversion:"), 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void testTrackedKeyIsServedLocallyUntilInvalidated() {
+        when(commands.get("dataversion:7")).thenReturn("3", "4");
+
+        assertEquals("3", nearCache.get("dataversion:7"));
+        assertEquals("3", nearCache.get("dataversion:7"));
+        verify(commands, times(1)).get("dataversion:7");
+        verify(commands).clientTracking(any(TrackingArgs.class));
+
+        pushInvalidation("dataversion:7");
+        assertEquals("4", nearCache.get("dataversion:7"));
+        assertEquals(1.0, meterRegistry.counter("kv.near.invalidations").count());
+        assertEquals(1.0 / 3, meterRegistry.get("kv.near.hit.ratio").gauge().value(), 1e-9);
+    }
+
+    @Test
+    void testValueRacingAnInvalidationIsNotKept() {
+        when(commands.get("dataversion:7")).thenAnswer(invocation -> {
+            pushInvalidation("dataversion:7");
+            return "3";
+        }).thenReturn("4");
+
+        assertEquals("3", nearCache.get("dataversion:7"));
+        assertEquals("4", nearCache.get("dataversion:7"));
+    }
+
+    @Test
+    void testLocalWriteEvictsAndOtherKeysReadThrough() {
+        when(commands.get("dataversion:7")).thenReturn("3", "4");
+        when(valueOperations.get("reminderfire:x")).thenReturn("1");
+
+        nearCache.get("dataversion:7");
+        nearCache.evict("dataversion:7");
+
+        assertEquals("4", nearCache.get("dataversion:7"));
+        assertEquals("1", nearCache.get("reminderfire:x"));
+        verify(commands, never()).get("reminderfire:x");
+    }
+
+    // Delivers what Redis pushes on the tracking connection when another client changes the key.
+    private void pushInvalidation(String key) {
+        ArgumentCaptor<PushListener> listener = ArgumentCaptor.forClass(PushListener.class);
+        verify(connection).addListener(listener.capture());
+        PushMessage message = mock(PushMessage.class);
+        when(message.getType()).thenReturn("invalidate");
+        when(message.getContent(any())).thenReturn(List.<Object>of("invalidate", List.of(key)));
+        listener.getValue().onPushMessage(message);
+    }
+}
@@ -0,0 +1,105 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.task.task_manager.Service.OtpStore;
+import com.task.task_manager.Service.OtpStore.Purpose;
+import com.task.task_manager.Service.OtpStore.Status;
+import com.task.task_manager.Service.RedisOtpStore;
+
+// The ISSUE, REISSUE, VERIFY and CONSUME scripts on a real Redis, with the hash they leave behind.
+class RedisOtpStoreTest extends RedisTest {
+
+    private static final Duration TTL = Duration.ofMinutes(2);
+
+    private StringRedisTemplate redisTemplate;
+    private OtpStore otpStore;
+    private String email;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = redisTemplate();
+        otpStore = new RedisOtpStore(redisTemplate);
+        email = prefix + "a@gmail.com";
+    }
+
+    @Test
+    void testIssueStoresTheCodeWithItsTtlUnlessOneIsPending() {
+        assertTrue(otpStore.issue(Purpose.REGISTRATION, email, "123456", "{}", TTL));
+        long ttl = redisTemplate.getExpire(key(Purpose.REGISTRATION), TimeUnit.MILLISECONDS);
+        assertTrue(ttl > 0 && ttl <= TTL.toMillis());
+        assertEquals(Map.of("code", "123456", "payload", "{}", "attempts", "0"), hash(Purpose.REGISTRATION));
+
+        assertFalse(otpStore.issue(Purpose.REGISTRATION, email, "654321", "[]", Duration.ofMinutes(10)));
+        assertEquals("123456", hash(Purpose.REGISTRATION).get("code"));
+        assertTrue(redisTemplate.getExpire(key(Purpose.REGISTRATION), TimeUnit.MILLISECONDS) <= TTL.toMillis());
+    }
+
+    @Test
+    void testVerifyCountsWrongCodesAndDeletesOnTheRightOne() {
+        otpStore.issue(Purpose.REGISTRATION, email, "123456", "{}", TTL);
+
+        assertEquals(Status.INVALID, otpStore.verify(Purpose.REGISTRATION, email, "654321").status());
+        assertEquals("1", hash(Purpose.REGISTRATION).get("attempts"));
+        assertEquals("{}", otpStore.verify(Purpose.REGISTRATION, email, "123456").payload());
+        assertFalse(redisTemplate.hasKey(key(Purpose.REGISTRATION)));
+        assertEquals(Status.EXPIRED, otpStore.verify(Purpose.REGISTRATION, email, "123456").status());
+        // A verify of a missing entry must not leave an attempts-only hash behind.
+        assertFalse(redisTemplate.hasKey(key(Purpose.REGISTRATION)));
+    }
+
+    @Test
+    void testTooManyWrongCodesLockTheEntry() {
+        otpStore.issue(Purpose.REGISTRATION, email, "123456", "{}", TTL);
+        for (int i = 1; i < OtpStore.MAX_ATTEMPTS; i++) {
+            assertEquals(Status.INVALID, otpStore.verify(Purpose.REGISTRATION, email, "000000").status());
+        }
+
+        assertEquals(Status.LOCKED, otpStore.verify(Purpose.REGISTRATION, email, "000000").status());
+        assertFalse(redisTemplate.hasKey(key(Purpose.REGISTRATION)));
+        assertEquals(Status.EXPIRED, otpStore.verify(Purpose.REGISTRATION, email, "123456").status());
+    }
+
+    @Test
+    void testReissueReplacesTheCodeAttemptsAndTtl() throws Exception {
+        otpStore.issue(Purpose.PASSWORD_RESET, email, "111111", "42", TTL);
+        otpStore.verify(Purpose.PASSWORD_RESET, email, "000000");
+
+        otpStore.reissue(Purpose.PASSWORD_RESET, email, "222222", "43", Duration.ofMillis(200));
+        assertEquals(Map.of("code", "222222", "payload", "43", "attempts", "0"), hash(Purpose.PASSWORD_RESET));
+        assertTrue(redisTemplate.getExpire(key(Purpose.PASSWORD_RESET), TimeUnit.MILLISECONDS) <= 200);
+        assertEquals(Status.INVALID, otpStore.verify(Purpose.PASSWORD_RESET, email, "111111").status());
+
+        Thread.sleep(300);
+        assertEquals(Status.EXPIRED, otpStore.verify(Purpose.PASSWORD_RESET, email, "222222").status());
+    }
+
+    @Test
+    void testConsumeReturnsThePayloadOnce() {
+        assertNull(otpStore.consume(Purpose.PASSWORD_RESET_VERIFIED, email));
+
+        otpStore.reissue(Purpose.PASSWORD_RESET_VERIFIED, email, "", "42", TTL);
+        assertEquals("42", otpStore.consume(Purpose.PASSWORD_RESET_VERIFIED, email));
+        assertFalse(redisTemplate.hasKey(key(Purpose.PASSWORD_RESET_VERIFIED)));
+        assertNull(otpStore.consume(Purpose.PASSWORD_RESET_VERIFIED, email));
+    }
+
+    private String key(Purpose purpose) {
+        return "otp:" + purpose.key() + ":" + email;
+    }
+
+    private Map<Object, Object> hash(Purpose purpose) {
+        return redisTemplate.opsForHash().entries(key(purpose));
+    }
+}
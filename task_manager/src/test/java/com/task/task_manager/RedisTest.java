@@ -0,0 +1,61 @@
+package com.task.task_manager;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+
+// Base for tests of the Lua scripts, which only a real Redis runs. Connects to -Dtest.redis.url
+// (redis://host:port) when it is set, otherwise to a redis:7 container; without either the tests
+// are skipped. No Spring context: the stores are built on a template of their own. Each test
+// works under its own key prefix, so runs can share a server.
+@ExtendWith(RedisTest.Available.class)
+abstract class RedisTest {
+
+    private static final String URL = System.getProperty("test.redis.url");
+
+    private static GenericContainer<?> container;
+    private static StringRedisTemplate redisTemplate;
+
+    protected String prefix;
+
+    // Evaluated before the test instance is set up, so a missing server skips instead of failing.
+    static final class Available implements ExecutionCondition {
+
+        @Override
+        public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+            return URL != null || DockerClientFactory.instance().isDockerAvailable()
+                    ? ConditionEvaluationResult.enabled("Redis is available")
+                    : ConditionEvaluationResult.disabled("Neither -Dtest.redis.url nor Docker is available");
+        }
+    }
+
+    @BeforeEach
+    void newPrefix() {
+        prefix = "test:" + UUID.randomUUID() + ":";
+    }
+
+    // One connection for every test class; it is closed with the JVM, like the container.
+    protected static synchronized StringRedisTemplate redisTemplate() {
+        if (redisTemplate == null) {
+            String url = URL;
+            if (url == null) {
+                container = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+                container.start();
+                url = "redis://" + container.getHost() + ":" + container.getMappedPort(6379);
+            }
+            LettuceConnectionFactory connectionFactory =
+                    new LettuceConnectionFactory(LettuceConnectionFactory.createRedisConfiguration(url));
+            connectionFactory.afterPropertiesSet();
+            redisTemplate = new StringRedisTemplate(connectionFactory);
+        }
+        return redisTemplate;
+    }
+}
@@ -0,0 +1,73 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import com.task.task_manager.Repo.UserRepo;
+import com.task.task_manager.Service.RegisteredUserFilter;
+
+class RegisteredUserFilterTest {
+
+    private UserRepo userRepo;
+    private RegisteredUserFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        userRepo = mock(UserRepo.class);
+        filter = new RegisteredUserFilter(userRepo, 1000, 0.01);
+    }
+
+    @Test
+    void everyNameMightBeTakenUntilTheFirstBuild() {
+        assertTrue(filter.mightBeTaken("fresh", "fresh@gmail.com"));
+    }
+
+    @Test
+    void registeredNamesAreNeverReportedFree() {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            rows.add(new Object[] {id, "user" + id, "user" + id + "@gmail.com"});
+        }
+        when(userRepo.count()).thenReturn(500L);
+        when(userRepo.findNamesAfter(eq(0L), any(Pageable.class))).thenReturn(rows);
+
+        filter.rebuild();
+        filter.add("late", "late@gmail.com");
+
+        for (long id = 1; id <= 500; id++) {
+            assertTrue(filter.mightBeTaken("user" + id, "other@gmail.com"));
+            assertTrue(filter.mightBeTaken("other", "user" + id + "@gmail.com"));
+        }
+        assertTrue(filter.mightBeTaken("late", "other@gmail.com"));
+        // Usernames and emails are hashed apart: a taken email is not a taken username.
+        assertFalse(filter.mightBeTaken("user1@gmail.com", "fresh@gmail.com"));
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightBeTaken("free" + i, "free" + i + "@gmail.com")) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 500, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void failedRebuildKeepsAnsweringMaybe() {
+        when(userRepo.count()).thenThrow(new IllegalStateException("database down"));
+
+        filter.rebuild();
+
+        assertTrue(filter.mightBeTaken("fresh", "fresh@gmail.com"));
+    }
+}
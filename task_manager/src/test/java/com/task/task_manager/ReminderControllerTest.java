@@ -27,8 +27,11 @@ import com.task.task_manager.Controller.ReminderController;
 import com.task.task_manager.DTO.ReminderAddDTO;
 import com.task.task_manager.DTO.ReminderSendDTO;
 import com.task.task_manager.DTO.ReminderUpdateDTO;
+import com.task.task_manager.Model.TaskStatus;
 import com.task.task_manager.Model.User;
+import com.task.task_manager.Model.UserPrincipal;
 import com.task.task_manager.Repo.UserRepo;
+import com.task.task_manager.Service.DataVersionService;
 import com.task.task_manager.Service.ReminderService;
 
 class ReminderControllerTest {
@@ -36,6 +39,9 @@ class ReminderControllerTest {
     private MockMvc mockMvc;
     private ObjectMapper objectMapper = new ObjectMapper();
 
+    @Mock
+    private DataVersionService dataVersionService;
+
     @Mock
     private UserRepo userRepo;
 
@@ -60,11 +66,13 @@ class ReminderControllerTest {
         objectMapper.findAndRegisterModules(); // For LocalDate serialization
 
         testUser = new User();
+        testUser.setId(7L);
         testUser.setUsername("testuser");
         testUser.setEmail("test@gmail.com");
 
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getName()).thenReturn("testuser");
+        when(authentication.getPrincipal()).thenReturn(new UserPrincipal(testUser));
         SecurityContextHolder.setContext(securityContext);
     }
 
@@ -74,10 +82,10 @@ class ReminderControllerTest {
             "Test Reminder",
             LocalDate.now(),
             "03:00 PM",
-            "INCOMPLETE"
+            TaskStatus.INCOMPLETE
         );
 
-        when(userRepo.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(userRepo.getReferenceById(7L)).thenReturn(testUser);
         doNothing().when(reminderService).createReminder(any(ReminderAddDTO.class), any(User.class));
 
         mockMvc.perform(post("/addReminder")
@@ -93,10 +101,10 @@ class ReminderControllerTest {
             "Test Reminder",
             LocalDate.now().minusDays(1),
             "03:00 PM",
-            "INCOMPLETE"
+            TaskStatus.INCOMPLETE
         );
 
-        when(userRepo.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(userRepo.getReferenceById(7L)).thenReturn(testUser);
 
         mockMvc.perform(post("/addReminder")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -112,11 +120,10 @@ class ReminderControllerTest {
             "Updated Title",
             LocalDate.now().plusDays(1),
             "04:00 PM",
-            "COMPLETED"
+            TaskStatus.COMPLETED
         );
 
-        when(userRepo.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        doNothing().when(reminderService).updateReminder(any(ReminderUpdateDTO.class), any(User.class));
+        doNothing().when(reminderService).updateReminder(any(ReminderUpdateDTO.class), eq(7L));
 
         mockMvc.perform(put("/updateReminder")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -127,8 +134,7 @@ class ReminderControllerTest {
 
     @Test
     void testDeleteReminderSuccess() throws Exception {
-        when(userRepo.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        doNothing().when(reminderService).deleteReminder(anyLong(), any(User.class));
+        doNothing().when(reminderService).deleteReminder(anyLong(), eq(7L));
 
         mockMvc.perform(delete("/deleteReminder/1"))
                 .andExpect(status().isOk())
@@ -137,9 +143,9 @@ class ReminderControllerTest {
 
     @Test
     void testGetReminders() throws Exception {
-        ReminderSendDTO reminder1 = new ReminderSendDTO(1L, "Test Reminder 1", LocalDate.now(), "03:00 PM", "INCOMPLETE");
-        ReminderSendDTO reminder2 = new ReminderSendDTO(2L, "Test Reminder 2", LocalDate.now().plusDays(1), "04:00 PM", "COMPLETED");
-        when(userRepo.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        ReminderSendDTO reminder1 = new ReminderSendDTO(1L, "Test Reminder 1", LocalDate.now(), "03:00 PM", TaskStatus.INCOMPLETE);
+        ReminderSendDTO reminder2 = new ReminderSendDTO(2L, "Test Reminder 2", LocalDate.now().plusDays(1), "04:00 PM", TaskStatus.COMPLETED);
+        when(userRepo.getReferenceById(7L)).thenReturn(testUser);
         when(reminderService.getReminders(any(User.class))).thenReturn(Arrays.asList(reminder1, reminder2));
 
         mockMvc.perform(get("/getReminder"))
@@ -0,0 +1,166 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.task.task_manager.DTO.TaskAddDTO;
+import com.task.task_manager.DTO.TaskBatchOperation;
+import com.task.task_manager.DTO.TaskBatchResponseDTO;
+import com.task.task_manager.DTO.TaskUpdateDTO;
+import com.task.task_manager.Exception.InvalidTaskException;
+import com.task.task_manager.Model.SubTask;
+import com.task.task_manager.Model.Task;
+import com.task.task_manager.Model.User;
+import com.task.task_manager.Repo.TaskRepo;
+import com.task.task_manager.Repo.UserRepo;
+import com.task.task_manager.Service.SubTaskService;
+import com.task.task_manager.Service.TaskBatchService;
+import com.task.task_manager.Service.TaskService;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBatchServiceTest {
+
+    @Mock
+    private TaskRepo taskRepo;
+    @Mock
+    private UserRepo userRepo;
+    @Mock
+    private TaskService taskService;
+    @Mock
+    private SubTaskService subTaskService;
+
+    @InjectMocks
+    private TaskBatchService taskBatchService;
+
+    private User owner;
+    private Task ownTask;
+    private Task foreignTask;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setId(7L);
+        owner.setUsername("testuser");
+        User other = new User();
+        other.setId(8L);
+
+        ownTask = new Task();
+        ownTask.setId(1L);
+        ownTask.setUser(owner);
+        foreignTask = new Task();
+        foreignTask.setId(2L);
+        foreignTask.setUser(other);
+    }
+
+    @Test
+    void testCreateTaskWithSubTasksInOneBatch() {
+        Task created = new Task();
+        created.setId(10L);
+        created.setUser(owner);
+        when(userRepo.getReferenceById(7L)).thenReturn(owner);
+        when(taskService.createTask(any(TaskAddDTO.class), eq(owner))).thenReturn(created);
+
+        TaskBatchOperation create = new TaskBatchOperation("createTask", null, null, "Plan", "Weekly plan",
+                LocalDate.now().plusDays(1), "10:00 AM", "HIGH", "ONGOING",
+                List.of(new TaskBatchOperation.NewSubTask("One", "INCOMPLETE"), new TaskBatchOperation.NewSubTask("Two", "INCOMPLETE")));
+
+        TaskBatchResponseDTO response = taskBatchService.apply(7L, List.of(create));
+
+        assertTrue(response.applied());
+        assertEquals(10L, response.results().get(0).id());
+        verify(subTaskService, times(2)).saveSubTask(any(SubTask.class));
+        verifyNoInteractions(taskRepo);
+    }
+
+    @Test
+    void testOwnershipIsCheckedWithOneQueryAndRejectsWholeBatch() {
+        when(taskRepo.findForBatch(anyCollection(), anyCollection())).thenReturn(List.of(ownTask, foreignTask));
+
+        TaskBatchOperation update = new TaskBatchOperation("updateTask", 1L, null, "Title", "Description",
+                LocalDate.now(), "10:00 AM", "LOW", "COMPLETED", null);
+        TaskBatchOperation deleteForeign = new TaskBatchOperation("deleteTask", 2L, null, null, null, null, null, null, null, null);
+        TaskBatchOperation deleteMissing = new TaskBatchOperation("deleteTask", 3L, null, null, null, null, null, null, null, null);
+
+        TaskBatchResponseDTO response = taskBatchService.apply(7L, List.of(update, deleteForeign, deleteMissing));
+
+        assertFalse(response.applied());
+        assertNull(response.results().get(0).error());
+        assertEquals("You are not allowed to change this task", response.results().get(1).error());
+        assertEquals("Task with ID 3 not found", response.results().get(2).error());
+        verify(taskRepo).lockForBatch(eq(7L), anyCollection(), anyCollection());
+        verify(taskRepo, times(1)).findForBatch(anyCollection(), anyCollection());
+        verify(taskService, never()).updateTask(any(TaskUpdateDTO.class), anyLong());
+        verify(taskService, never()).deleteTask(anyLong(), anyLong());
+    }
+
+    @Test
+    void testOperationsOnRowsDeletedEarlierInTheBatchAreRejected() {
+        SubTask subTask = new SubTask();
+        subTask.setId(20L);
+        subTask.setTask(ownTask);
+        ownTask.getSubTasks().add(subTask);
+        Task otherOwnTask = new Task();
+        otherOwnTask.setId(3L);
+        otherOwnTask.setUser(owner);
+        SubTask otherSubTask = new SubTask();
+        otherSubTask.setId(30L);
+        otherSubTask.setTask(otherOwnTask);
+        otherOwnTask.getSubTasks().add(otherSubTask);
+        when(taskRepo.findForBatch(anyCollection(), anyCollection())).thenReturn(List.of(ownTask, otherOwnTask));
+
+        TaskBatchOperation deleteTask = new TaskBatchOperation("deleteTask", 1L, null, null, null, null, null, null, null, null);
+        TaskBatchOperation createSubTask = new TaskBatchOperation("createSubTask", null, 1L, "Step", null, null, null, null, "INCOMPLETE", null);
+        TaskBatchOperation updateSubTask = new TaskBatchOperation("updateSubTask", 20L, null, "Step", null, null, null, null, "COMPLETED", null);
+        TaskBatchOperation deleteSubTask = new TaskBatchOperation("deleteSubTask", 30L, null, null, null, null, null, null, null, null);
+        TaskBatchOperation deleteSubTaskAgain = new TaskBatchOperation("deleteSubTask", 30L, null, null, null, null, null, null, null, null);
+
+        TaskBatchResponseDTO response = taskBatchService.apply(7L,
+                List.of(deleteTask, createSubTask, updateSubTask, deleteSubTask, deleteSubTaskAgain));
+
+        assertFalse(response.applied());
+        assertNull(response.results().get(0).error());
+        assertEquals("Task with ID 1 is deleted earlier in the batch", response.results().get(1).error());
+        assertEquals("Task with ID 1 is deleted earlier in the batch", response.results().get(2).error());
+        assertNull(response.results().get(3).error());
+        assertEquals("SubTask with ID 30 is deleted earlier in the batch", response.results().get(4).error());
+        verifyNoInteractions(taskService, subTaskService);
+    }
+
+    @Test
+    void testInvalidFieldsAreReportedPerItem() {
+        TaskBatchOperation badPriority = new TaskBatchOperation("createTask", null, null, "Title", "Description",
+                LocalDate.now().plusDays(1), "10:00 AM", "URGENT", "ONGOING", null);
+        TaskBatchOperation unknown = new TaskBatchOperation("archiveTask", 1L, null, null, null, null, null, null, null, null);
+
+        TaskBatchResponseDTO response = taskBatchService.apply(7L, List.of(badPriority, unknown));
+
+        assertFalse(response.applied());
+        assertEquals("Priority should be either LOW, MEDIUM, or HIGH", response.results().get(0).error());
+        assertEquals("Unknown operation archiveTask", response.results().get(1).error());
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void testEmptyBatchIsRejected() {
+        assertThrows(InvalidTaskException.class, () -> taskBatchService.apply(7L, Collections.emptyList()));
+    }
+}
@@ -0,0 +1,164 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import com.task.task_manager.DTO.TaskBatchOperation;
+import com.task.task_manager.DTO.TaskBatchResponseDTO;
+import com.task.task_manager.DTO.TaskSendDTO;
+import com.task.task_manager.Model.TaskStatus;
+import com.task.task_manager.Model.User;
+import com.task.task_manager.Repo.ChangeLogRepo;
+import com.task.task_manager.Repo.UserRepo;
+import com.task.task_manager.Service.TaskBatchService;
+import com.task.task_manager.Service.TaskCounterService;
+import com.task.task_manager.Service.TaskService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Pins the statements a mixed batch costs: the lock and the read of the rows it names, one JDBC batch
+// per entity type and operation, and one statement each for the counters and the change log.
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.session.events.auto=com.task.task_manager.TaskBatchStatementsTest$JdbcCounter"
+})
+class TaskBatchStatementsTest extends PostgresTest {
+
+    // Counts JDBC work on the test thread only; the schedulers share the session factory.
+    public static class JdbcCounter implements SessionEventListener {
+
+        static volatile Thread thread;
+        static final AtomicInteger prepared = new AtomicInteger();
+        static final AtomicInteger executed = new AtomicInteger();
+        static final AtomicInteger batches = new AtomicInteger();
+
+        static void start() {
+            prepared.set(0);
+            executed.set(0);
+            batches.set(0);
+            thread = Thread.currentThread();
+        }
+
+        static void stop() {
+            thread = null;
+        }
+
+        @Override
+        public void jdbcPrepareStatementStart() {
+            count(prepared);
+        }
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            count(executed);
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            count(batches);
+        }
+
+        private static void count(AtomicInteger counter) {
+            if (Thread.currentThread() == thread) {
+                counter.incrementAndGet();
+            }
+        }
+    }
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private ChangeLogRepo changeLogRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void testMixedBatchIsFlushedAsOneBatchPerStatementShape() {
+        User user = user();
+        LocalDate due = LocalDate.now().plusDays(2);
+        TaskBatchResponseDTO setup = taskBatchService.apply(user.getId(), List.of(
+                createTask(due, "A", "a1", "a2"),
+                createTask(due, "B", "b1")));
+        long a = setup.results().get(0).id();
+        long b = setup.results().get(1).id();
+        Map<String, Long> subTaskIds = new HashMap<>();
+        for (TaskSendDTO task : taskService.getTasks(user.getId(), List.of(a, b))) {
+            task.subTasks().forEach(subTask -> subTaskIds.put(subTask.title(), subTask.id()));
+        }
+        long changesBefore = changeLogRepo.count();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        JdbcCounter.start();
+        TaskBatchResponseDTO response;
+        try {
+            response = taskBatchService.apply(user.getId(), List.of(
+                    createTask(due, "X", "x1", "x2"),
+                    createTask(due, "Y"),
+                    new TaskBatchOperation("updateTask", a, null, "A", "Done", due, "10:00 AM", "HIGH", "COMPLETED", null),
+                    new TaskBatchOperation("updateSubTask", subTaskIds.get("a1"), null, "a1", null, null, null, null, "COMPLETED", null),
+                    new TaskBatchOperation("createSubTask", null, a, "a3", null, null, null, null, "INCOMPLETE", null),
+                    new TaskBatchOperation("deleteSubTask", subTaskIds.get("a2"), null, null, null, null, null, null, null, null),
+                    new TaskBatchOperation("deleteTask", b, null, null, null, null, null, null, null, null)));
+        } finally {
+            JdbcCounter.stop();
+        }
+
+        assertTrue(response.applied());
+        // Inserts: task, sub_task. Updates: task, sub_task. Deletes: sub_task (a2, b1), task.
+        assertEquals(6, JdbcCounter.batches.get());
+        // The lock, the read, the counter upsert and the change-log insert.
+        assertEquals(4, JdbcCounter.executed.get());
+        assertEquals(10, JdbcCounter.prepared.get());
+        assertEquals(5, statistics.getEntityInsertCount());
+        assertEquals(2, statistics.getEntityUpdateCount());
+        assertEquals(3, statistics.getEntityDeleteCount());
+
+        assertEquals(Map.of(TaskStatus.INCOMPLETE, 2L, TaskStatus.COMPLETED, 1L),
+                taskCounterService.countByStatus(user.getId(), due, due));
+        assertEquals(changesBefore + 9, changeLogRepo.count());
+    }
+
+    private static TaskBatchOperation createTask(LocalDate due, String title, String... subTasks) {
+        List<TaskBatchOperation.NewSubTask> newSubTasks = Arrays.stream(subTasks)
+                .map(subTask -> new TaskBatchOperation.NewSubTask(subTask, "INCOMPLETE"))
+                .toList();
+        return new TaskBatchOperation("createTask", null, null, title, "Description", due, "10:00 AM", "HIGH",
+                "INCOMPLETE", newSubTasks);
+    }
+
+    private User user() {
+        String name = "batch-" + UUID.randomUUID();
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("secret");
+        return userRepo.save(user);
+    }
+}
@@ -5,16 +5,31 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.task.task_manager.Controller.TaskController;
 import com.task.task_manager.DTO.SubTaskDTO;
 import com.task.task_manager.DTO.TaskAddDTO;
+import com.task.task_manager.DTO.TaskBatchOperation;
+import com.task.task_manager.DTO.TaskBatchRequest;
+import com.task.task_manager.DTO.TaskBatchResponseDTO;
+import com.task.task_manager.DTO.TaskBatchResultDTO;
+import com.task.task_manager.DTO.TaskPageDTO;
+import com.task.task_manager.DTO.TaskPageQuery;
 import com.task.task_manager.DTO.TaskSendDTO;
 import com.task.task_manager.DTO.TaskUpdateDTO;
+import com.task.task_manager.Exception.GlobalExceptionHandler;
+import com.task.task_manager.Exception.InvalidTaskException;
+import com.task.task_manager.Exception.NoUpcomingTasksException;
 import com.task.task_manager.Model.SubTask;
 import com.task.task_manager.Model.Task;
+import com.task.task_manager.Model.TaskPriority;
+import com.task.task_manager.Model.TaskStatus;
 import com.task.task_manager.Model.User;
-import com.task.task_manager.Repo.SubTaskRepo;
+import com.task.task_manager.Model.UserPrincipal;
 import com.task.task_manager.Repo.TaskRepo;
 import com.task.task_manager.Repo.UserRepo;
+import com.task.task_manager.Service.DataVersionService;
 import com.task.task_manager.Service.SubTaskService;
+import com.task.task_manager.Service.TaskBatchService;
+import com.task.task_manager.Service.TaskCursor;
 import com.task.task_manager.Service.TaskService;
+import com.task.task_manager.Service.TaskViewCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -24,13 +39,18 @@ import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -44,9 +64,10 @@ class TaskControllerTest {
 
     @Mock private UserRepo userRepo;
     @Mock private TaskRepo taskRepo;
-    @Mock private SubTaskRepo subTaskRepo;
     @Mock private SubTaskService subTaskService;
     @Mock private TaskService taskService;
+    @Mock private DataVersionService dataVersionService;
+    @Mock private TaskBatchService taskBatchService;
 
     @InjectMocks private TaskController taskController;
 
@@ -61,8 +82,12 @@ class TaskControllerTest {
         objectMapper.registerModule(new JavaTimeModule()); // Enables LocalDate serialization
 
         // Mock authenticated user
+        User principalUser = new User();
+        principalUser.setId(7L);
+        principalUser.setUsername("testuser");
         Authentication authentication = mock(Authentication.class);
         when(authentication.getName()).thenReturn("testuser");
+        when(authentication.getPrincipal()).thenReturn(new UserPrincipal(principalUser));
         SecurityContext context = mock(SecurityContext.class);
         when(context.getAuthentication()).thenReturn(authentication);
         SecurityContextHolder.setContext(context);
@@ -70,12 +95,12 @@ class TaskControllerTest {
 
     @Test
     void testAddTaskSuccess() throws Exception {
-        TaskAddDTO dto = new TaskAddDTO("Title", "Description", LocalDate.now().plusDays(1), "10:00 AM", "HIGH", "ONGOING");
+        TaskAddDTO dto = new TaskAddDTO("Title", "Description", LocalDate.now().plusDays(1), "10:00 AM", TaskPriority.HIGH, TaskStatus.ONGOING);
         User user = new User();
         user.setUsername("testuser");
 
-        when(userRepo.findByUsername("testuser")).thenReturn(Optional.of(user));
-        doNothing().when(taskService).createTask(any(TaskAddDTO.class), any(User.class));
+        when(userRepo.getReferenceById(7L)).thenReturn(user);
+        when(taskService.createTask(any(TaskAddDTO.class), any(User.class))).thenReturn(new Task());
 
         mockMvc.perform(post("/addTask")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -84,11 +109,39 @@ class TaskControllerTest {
                 .andExpect(content().string("Task added successfully"));
     }
 
+    @Test
+    void testAddTaskRejectsUnknownStatusWhileReadingTheBody() throws Exception {
+        String body = "{\"title\":\"Title\",\"description\":\"Description\",\"dueDate\":\"" + LocalDate.now().plusDays(1)
+                + "\",\"time\":\"10:00 AM\",\"priority\":\"HIGH\",\"status\":\"DONE\"}";
+
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(taskController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        mockMvc.perform(post("/addTask").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Task status should be either COMPLETED, INCOMPLETE, or ONGOING"));
+        verify(taskService, never()).createTask(any(), any());
+    }
+
+    @Test
+    void testUpdateTaskRejectsUnknownPriorityWhileReadingTheBody() throws Exception {
+        String body = "{\"id\":1,\"title\":\"Title\",\"description\":\"Description\",\"dueDate\":\"" + LocalDate.now().plusDays(1)
+                + "\",\"time\":\"10:00 AM\",\"priority\":\"URGENT\",\"status\":\"ONGOING\"}";
+
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(taskController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        mockMvc.perform(put("/updateTask").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Priority should be either LOW, MEDIUM, or HIGH"));
+        verify(taskService, never()).updateTask(any(), anyLong());
+    }
+
     @Test
     void testUpdateTaskSuccess() throws Exception {
-        TaskUpdateDTO dto = new TaskUpdateDTO(1L, "Title", "Description", LocalDate.now().plusDays(1), "10:00 AM", "HIGH", "ONGOING");
+        TaskUpdateDTO dto = new TaskUpdateDTO(1L, "Title", "Description", LocalDate.now().plusDays(1), "10:00 AM", TaskPriority.HIGH, TaskStatus.ONGOING);
 
-        doNothing().when(taskService).updateTask(any(TaskUpdateDTO.class), eq("testuser"));
+        doNothing().when(taskService).updateTask(any(TaskUpdateDTO.class), eq(7L));
 
         mockMvc.perform(put("/updateTask")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -99,13 +152,7 @@ class TaskControllerTest {
 
     @Test
     void testDeleteTaskSuccess() throws Exception {
-        Task task = new Task();
-        User user = new User();
-        user.setUsername("testuser");
-        task.setUser(user);
-
-        when(taskRepo.findById(1L)).thenReturn(Optional.of(task));
-        doNothing().when(taskService).deleteTask(1L);
+        doNothing().when(taskService).deleteTask(1L, 7L);
 
         mockMvc.perform(delete("/deleteTask/1"))
                 .andExpect(status().isOk())
@@ -114,10 +161,10 @@ class TaskControllerTest {
 
     @Test
     void testAddSubTaskSuccess() throws Exception {
-        SubTaskDTO dto = new SubTaskDTO(1L, "Subtask Title", "ONGOING");
+        SubTaskDTO dto = new SubTaskDTO(1L, "Subtask Title", TaskStatus.ONGOING);
         Task parentTask = new Task();
         User user = new User();
-        user.setUsername("testuser");
+        user.setId(7L);
         parentTask.setUser(user);
 
         when(taskRepo.findById(1L)).thenReturn(Optional.of(parentTask));
@@ -132,15 +179,7 @@ class TaskControllerTest {
 
     @Test
     void testDeleteSubTaskSuccess() throws Exception {
-        SubTask subTask = new SubTask();
-        Task task = new Task();
-        User user = new User();
-        user.setUsername("testuser");
-        task.setUser(user);
-        subTask.setTask(task);
-
-        when(subTaskRepo.findById(1L)).thenReturn(Optional.of(subTask));
-        doNothing().when(subTaskService).deleteSubTask(1L);
+        doNothing().when(subTaskService).deleteSubTask(1L, 7L);
 
         mockMvc.perform(delete("/deleteSubTask/1"))
                 .andExpect(status().isOk())
@@ -149,8 +188,8 @@ class TaskControllerTest {
 
     @Test
     void testGetUpcomingTasks() throws Exception {
-        TaskSendDTO dto = new TaskSendDTO(1L, "Upcoming Task", "Description", LocalDate.now().plusDays(1), "10:00 AM", "MEDIUM", "ONGOING", List.of());
-        when(taskService.getUpcomingTasks("testuser")).thenReturn(List.of(dto));
+        TaskSendDTO dto = new TaskSendDTO(1L, "Upcoming Task", "Description", LocalDate.now().plusDays(1), "10:00 AM", TaskPriority.MEDIUM, TaskStatus.ONGOING, List.of());
+        when(taskService.getUpcomingTasks(7L)).thenReturn(List.of(dto));
 
         mockMvc.perform(get("/getTask"))
                 .andExpect(status().isOk())
@@ -159,8 +198,8 @@ class TaskControllerTest {
 
     @Test
     void testGetCompletedTasks() throws Exception {
-        TaskSendDTO dto = new TaskSendDTO(2L, "Completed Task", "Description", LocalDate.now().minusDays(1), "09:00 AM", "HIGH", "COMPLETED", List.of());
-        when(taskService.getCompletedTasks("testuser")).thenReturn(List.of(dto));
+        TaskSendDTO dto = new TaskSendDTO(2L, "Completed Task", "Description", LocalDate.now().minusDays(1), "09:00 AM", TaskPriority.HIGH, TaskStatus.COMPLETED, List.of());
+        when(taskService.getCompletedTasks(7L)).thenReturn(List.of(dto));
 
         mockMvc.perform(get("/getCompletedTask"))
                 .andExpect(status().isOk())
@@ -170,11 +209,116 @@ class TaskControllerTest {
 
     @Test
     void testGetOldIncompleteTasks() throws Exception {
-        TaskSendDTO dto = new TaskSendDTO(3L, "Old Task", "Old task description", LocalDate.now().minusDays(3), "08:30 AM", "LOW", "ONGOING", List.of());
-        when(taskService.getOldOngoingAndIncompleteTasks("testuser")).thenReturn(List.of(dto));
+        TaskSendDTO dto = new TaskSendDTO(3L, "Old Task", "Old task description", LocalDate.now().minusDays(3), "08:30 AM", TaskPriority.LOW, TaskStatus.ONGOING, List.of());
+        when(taskService.getOldOngoingAndIncompleteTasks(7L)).thenReturn(List.of(dto));
 
         mockMvc.perform(get("/getOldIncompleteTask"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].title").value("Old Task"));
     }
+
+    @Test
+    void testGetUpcomingTasksPage() throws Exception {
+        TaskSendDTO dto = new TaskSendDTO(4L, "Paged Task", "Description", LocalDate.now().plusDays(2), "11:00 AM", TaskPriority.HIGH, TaskStatus.INCOMPLETE, List.of());
+        when(taskService.getUpcomingTaskPage(eq(7L), any(TaskPageQuery.class)))
+                .thenReturn(new TaskPageDTO(List.of(dto), "next-cursor"));
+
+        mockMvc.perform(get("/getTask").param("limit", "1").param("priority", "HIGH"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[0].title").value("Paged Task"))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"));
+
+        verify(taskService).getUpcomingTaskPage(eq(7L), argThat(query ->
+                query.limit() == 1 && "HIGH".equals(query.priority()) && query.cursor() == null));
+        verify(taskService, never()).getUpcomingTasks(anyLong());
+    }
+
+    @Test
+    void testGetCompletedTasksPageWithCursor() throws Exception {
+        when(taskService.getCompletedTaskPage(eq(7L), any(TaskPageQuery.class)))
+                .thenReturn(new TaskPageDTO(List.of(), null));
+
+        mockMvc.perform(get("/getCompletedTask").param("cursor", "abc").param("from", "2025-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks").isEmpty());
+
+        verify(taskService).getCompletedTaskPage(eq(7L), argThat(query ->
+                "abc".equals(query.cursor()) && LocalDate.of(2025, 1, 1).equals(query.from())));
+    }
+
+    @Test
+    void testTaskCursorRoundTrip() {
+        TaskCursor cursor = new TaskCursor(LocalDate.of(2025, 5, 1), LocalTime.of(10, 30), 42L);
+
+        assertEquals(cursor, TaskCursor.decode(cursor.encode()));
+        assertThrows(InvalidTaskException.class, () -> TaskCursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    void testUnknownFilterValuesAreRejected() {
+        TaskService realTaskService = new TaskService();
+        ReflectionTestUtils.setField(realTaskService, "taskRepo", taskRepo);
+
+        assertThrows(InvalidTaskException.class, () -> realTaskService.getUpcomingTaskPage(7L,
+                new TaskPageQuery(10, null, null, "DONE", null, null)));
+        assertThrows(InvalidTaskException.class, () -> realTaskService.getUpcomingTaskPage(7L,
+                new TaskPageQuery(10, null, "URGENT", null, null, null)));
+        verifyNoInteractions(taskRepo);
+    }
+
+    @Test
+    void testGetUpcomingTasksNotModified() throws Exception {
+        when(dataVersionService.notModified(eq(7L), any())).thenReturn(true);
+
+        mockMvc.perform(get("/getTask").header("If-None-Match", "W/\"3-2025-01-01\""))
+                .andExpect(content().string(""));
+
+        verify(taskService, never()).getUpcomingTasks(anyLong());
+    }
+
+    @Test
+    void testApplyBatchRejectedReturnsBadRequest() throws Exception {
+        TaskBatchOperation delete = new TaskBatchOperation("deleteTask", 99L, null, null, null, null, null, null, null, null);
+        when(taskBatchService.apply(eq(7L), any()))
+                .thenReturn(new TaskBatchResponseDTO(false, List.of(new TaskBatchResultDTO(0, "deleteTask", null, "Task with ID 99 not found"))));
+
+        mockMvc.perform(post("/tasks:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskBatchRequest(List.of(delete)))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.applied").value(false))
+                .andExpect(jsonPath("$.results[0].error").value("Task with ID 99 not found"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEmptyListsAreOkUnlessTheNotFoundModeIsOn() throws Exception {
+        TaskViewCache taskViewCache = mock(TaskViewCache.class);
+        when(taskViewCache.get(anyLong(), anyString(), any()))
+                .thenAnswer(invocation -> ((Supplier<List<TaskSendDTO>>) invocation.getArgument(2)).get());
+        TaskService realTaskService = new TaskService();
+        ReflectionTestUtils.setField(realTaskService, "taskRepo", taskRepo);
+        ReflectionTestUtils.setField(realTaskService, "taskViewCache", taskViewCache);
+        ReflectionTestUtils.setField(taskController, "taskService", realTaskService);
+        mockMvc = MockMvcBuilders.standaloneSetup(taskController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mockMvc.perform(get("/getTask")).andExpect(status().isOk()).andExpect(content().json("[]"));
+        mockMvc.perform(get("/getCompletedTask")).andExpect(status().isOk()).andExpect(content().json("[]"));
+        mockMvc.perform(get("/getOldIncompleteTask")).andExpect(status().isOk()).andExpect(content().json("[]"));
+
+        ReflectionTestUtils.setField(realTaskService, "emptyListNotFound", true);
+        mockMvc.perform(get("/getTask"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("No upcoming tasks found"));
+        mockMvc.perform(get("/getCompletedTask"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("No Completed tasks found"));
+        mockMvc.perform(get("/getOldIncompleteTask")).andExpect(status().isNotFound());
+
+        // What is left of the exception path skips the stack walk.
+        assertEquals(0, assertThrows(NoUpcomingTasksException.class, () -> realTaskService.getUpcomingTasks(7L))
+                .getStackTrace().length);
+    }
 }
@@ -0,0 +1,138 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.task.task_manager.DTO.TaskAddDTO;
+import com.task.task_manager.Model.TaskPriority;
+import com.task.task_manager.Model.TaskStatus;
+import com.task.task_manager.Model.User;
+import com.task.task_manager.Repo.UserRepo;
+import com.task.task_manager.Service.TaskCounterService;
+import com.task.task_manager.Service.TaskService;
+
+class TaskCounterReconcileTest extends PostgresTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testReconcileRacingATaskWriteCountsItOnce() throws Exception {
+        User user = user();
+        LocalDate due = LocalDate.now().plusDays(3);
+        taskService.createTask(task(due), user);
+
+        // The write adds a task to an existing counter row and one with a (status, due date) the user
+        // has no row for. Its counter deltas go out just before the commit; it then holds the
+        // transaction open while the rebuild starts. Without a lock the rebuild's delete waits on the
+        // first row, misses the second once the write commits, and its insert then collides with it.
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> write = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            taskService.createTask(task(due), user);
+            taskService.createTask(task(due.plusDays(1)), user);
+            // Registered after the counter flush, so it runs after it.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    written.countDown();
+                    await(release);
+                }
+            });
+        }));
+        written.await(5, TimeUnit.SECONDS);
+
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(() -> taskCounterService.reconcile(user.getId()));
+        try {
+            rebuild.get(300, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Waiting on the write's transaction, which is what the race needs.
+        }
+        release.countDown();
+        write.get(5, TimeUnit.SECONDS);
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        Map<TaskStatus, Long> counts = taskCounterService.countByStatus(user.getId(), due, due.plusDays(1));
+        assertEquals(Map.of(TaskStatus.INCOMPLETE, 3L), counts);
+    }
+
+    @Test
+    void testCountsFromADateStayRightAcrossFoldsAndRebuilds() {
+        User user = user();
+        LocalDate today = LocalDate.now();
+        LocalDate foldDate = TaskCounterService.foldDate(today);
+        taskService.createTask(task(today.minusDays(400)), user);
+        taskService.createTask(task(today.minusDays(30)), user);
+        taskService.createTask(task(today.minusDays(2)), user);
+        taskService.createTask(task(today), user);
+        taskService.createTask(task(today.plusDays(3)), user);
+        taskService.createTask(task(today.plusYears(50)), user);
+        Map<TaskStatus, Long> expected = Map.of(TaskStatus.INCOMPLETE, 3L);
+
+        // Tasks due before the fold are counted on it as they are written.
+        assertEquals(1, rowsBefore(user, foldDate.plusDays(1)));
+        assertEquals(expected, taskCounterService.countByStatusFrom(user.getId(), today));
+        assertEquals(Map.of(TaskStatus.INCOMPLETE, 4L), taskCounterService.countByStatusFrom(user.getId(), foldDate.plusDays(1)));
+
+        // A week on, the fold moves past the task due two days ago and the pending count is the same.
+        taskCounterService.fold(user.getId(), foldDate.plusDays(7));
+        assertEquals(1, rowsBefore(user, foldDate.plusDays(8)));
+        assertEquals(expected, taskCounterService.countByStatusFrom(user.getId(), today));
+
+        taskCounterService.reconcile(user.getId());
+        assertEquals(expected, taskCounterService.countByStatusFrom(user.getId(), today));
+        assertEquals(Map.of(TaskStatus.INCOMPLETE, 6L), taskCounterService.countByStatusFrom(user.getId(), foldDate));
+    }
+
+    private long rowsBefore(User user, LocalDate date) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM task_status_count WHERE user_id = ? AND due_date < ?",
+                Long.class, user.getId(), date);
+    }
+
+    private User user() {
+        String name = "reconcile-" + UUID.randomUUID();
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("secret");
+        return userRepo.save(user);
+    }
+
+    private static TaskAddDTO task(LocalDate due) {
+        return new TaskAddDTO("Title", "Description", due, "10:00 AM", TaskPriority.HIGH, TaskStatus.INCOMPLETE);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
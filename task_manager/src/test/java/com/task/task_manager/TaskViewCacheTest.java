@@ -0,0 +1,141 @@
+package com.task.task_manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.task.task_manager.DTO.TaskSendDTO;
+import com.task.task_manager.Model.TaskPriority;
+import com.task.task_manager.Model.TaskStatus;
+import com.task.task_manager.Service.DataVersionService;
+import com.task.task_manager.Service.InMemoryKeyValueStore;
+import com.task.task_manager.Service.TaskViewCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TaskViewCacheTest {
+
+    private InMemoryKeyValueStore store;
+    private SimpleMeterRegistry meterRegistry;
+    private DataVersionService dataVersionService;
+    private TaskViewCache cache;
+
+    private final TaskSendDTO task = new TaskSendDTO(1L, "Task", "Description", LocalDate.now(), "10:00 AM", TaskPriority.HIGH, TaskStatus.ONGOING, List.of());
+    private final TaskSendDTO updated = new TaskSendDTO(1L, "Updated", "Description", LocalDate.now(), "10:00 AM", TaskPriority.HIGH, TaskStatus.ONGOING, List.of());
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryKeyValueStore(Duration.ofSeconds(1), 64);
+        meterRegistry = new SimpleMeterRegistry();
+        dataVersionService = new DataVersionService(store);
+        cache = node(store, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testSecondReadIsServedFromL1() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(7L, "upcoming", () -> { loads.incrementAndGet(); return List.of(task); });
+        List<TaskSendDTO> second = cache.get(7L, "upcoming", () -> { loads.incrementAndGet(); return List.of(task); });
+
+        assertEquals(1, loads.get());
+        assertEquals(List.of(task), second);
+        assertEquals(1.0, meterRegistry.counter("task.view.cache", "tier", "l1", "result", "hit").count());
+        assertNotNull(store.hashGet("taskview:7", "upcoming:" + LocalDate.now() + ":" + dataVersionService.current(7L)));
+    }
+
+    @Test
+    void testWriteChangesTheVersionSoBothTiersMiss() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(7L, "upcoming", () -> { loads.incrementAndGet(); return List.of(task); });
+        cache.get(8L, "upcoming", () -> { loads.incrementAndGet(); return List.of(task); });
+
+        dataVersionService.bump(7L);
+        List<TaskSendDTO> reloaded = cache.get(7L, "upcoming", () -> { loads.incrementAndGet(); return List.of(updated); });
+        cache.get(8L, "upcoming", () -> { loads.incrementAndGet(); return List.of(task); });
+
+        assertEquals(List.of(updated), reloaded);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testAnotherNodesWriteIsSeenWithoutAnyMessage() {
+        AtomicInteger loads = new AtomicInteger();
+        TaskViewCache other = node(store, Duration.ofMinutes(5));
+        cache.get(7L, "upcoming", () -> { loads.incrementAndGet(); return List.of(task); });
+        other.get(7L, "upcoming", () -> { loads.incrementAndGet(); return List.of(task); });   // L2 hit
+
+        // The other node writes; this node's L1 still holds the old list, and nothing tells it.
+        new DataVersionService(store).bump(7L);
+        String version = dataVersionService.current(7L);
+        List<TaskSendDTO> served = cache.get(7L, "upcoming", () -> { loads.incrementAndGet(); return List.of(updated); });
+
+        assertEquals(List.of(updated), served);
+        assertEquals(2, loads.get());
+        assertEquals(version, dataVersionService.current(7L));   // the ETag now describes the served list
+    }
+
+    @Test
+    void testLoadRacingAWriteIsNotServedAfterIt() {
+        AtomicInteger loads = new AtomicInteger();
+
+        // The write commits and bumps while the first load still holds the old rows.
+        List<TaskSendDTO> first = cache.get(7L, "upcoming", () -> {
+            loads.incrementAndGet();
+            dataVersionService.bump(7L);
+            return List.of(task);
+        });
+        List<TaskSendDTO> second = cache.get(7L, "upcoming", () -> { loads.incrementAndGet(); return List.of(updated); });
+        List<TaskSendDTO> third = cache.get(7L, "upcoming", () -> { loads.incrementAndGet(); return List.of(updated); });
+
+        assertEquals(List.of(task), first);
+        assertEquals(List.of(updated), second);
+        assertEquals(List.of(updated), third);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testUnreadableVersionBypassesTheCache() {
+        AtomicInteger loads = new AtomicInteger();
+        InMemoryKeyValueStore down = new InMemoryKeyValueStore(Duration.ofSeconds(1), 64) {
+            @Override
+            public String get(String key) {
+                throw new IllegalStateException("down");
+            }
+        };
+        TaskViewCache node = node(down, Duration.ofMinutes(5));
+
+        node.get(7L, "upcoming", () -> { loads.incrementAndGet(); return List.of(task); });
+        node.get(7L, "upcoming", () -> { loads.incrementAndGet(); return List.of(task); });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testLaterViewsDoNotExtendTheUsersHash() throws Exception {
+        TaskViewCache shortLived = node(store, Duration.ofMillis(100));
+        shortLived.get(7L, "upcoming", () -> List.of(task));
+        Thread.sleep(60);
+        shortLived.get(7L, "completed", () -> List.of(task));
+        Thread.sleep(60);
+
+        String version = dataVersionService.current(7L);
+        assertNull(store.hashGet("taskview:7", "upcoming:" + LocalDate.now() + ":" + version));
+        assertNull(store.hashGet("taskview:7", "completed:" + LocalDate.now() + ":" + version));
+    }
+
+    private TaskViewCache node(InMemoryKeyValueStore nodeStore, Duration l2Ttl) {
+        return new TaskViewCache(nodeStore, new DataVersionService(nodeStore),
+                new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry, 1_000_000, Duration.ofMinutes(1), l2Ttl);
+    }
+}
@@ -0,0 +1,100 @@
+package com.task.task_manager.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.task.task_manager.Service.ChatBotService;
+import com.task.task_manager.Service.ChatIntent;
+
+// Classifying a batch of typical chat messages: the lowercase-and-contains chain the controller
+// used to run against the single-pass Aho-Corasick automaton. Most messages fall near the end of
+// the chain (counts, completion) or through it, which is where the chain does the most scans.
+// misspelled classifies a corpus of typos, every one of which misses the exact pass and goes
+// through the fuzzy matcher, so it is the worst case for a message.
+//   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+//       -Dexec.args="-cp %classpath org.openjdk.jmh.Main ChatIntentBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatIntentBenchmark {
+
+    private static final String[] MESSAGES = {
+            "How many tasks are pending for me right now?",
+            "what do I have to do today",
+            "Can you tell me which tasks are still in progress",
+            "mark the report as done please",
+            "I would like to create a new task for tomorrow",
+            "Hello",
+            "what's the weather like",
+            "thank you so much for the reminder about my meeting",
+    };
+
+    private static final String[] MISSPELLED = {
+            "pendng tasks",
+            "what's due todya",
+            "how do I delte a task",
+            "creat a new task",
+            "show me incompleet work",
+            "ongoign tasks",
+            "remoev this",
+            "thnaks a lot",
+    };
+
+    private ChatBotService chatBotService;
+
+    @Setup
+    public void setUp() {
+        chatBotService = new ChatBotService(null, null);
+    }
+
+    @Benchmark
+    public void containsChain(Blackhole blackhole) {
+        for (String message : MESSAGES) {
+            blackhole.consume(containsChain(message));
+        }
+    }
+
+    @Benchmark
+    public void automaton(Blackhole blackhole) {
+        for (String message : MESSAGES) {
+            blackhole.consume(chatBotService.classify(message));
+        }
+    }
+
+    @Benchmark
+    public void misspelled(Blackhole blackhole) {
+        for (String message : MISSPELLED) {
+            blackhole.consume(chatBotService.classify(message));
+        }
+    }
+
+    private static ChatIntent containsChain(String message) {
+        String lower = message.toLowerCase();
+        if (lower.contains("hello") || lower.contains("hi")) return ChatIntent.GREETING;
+        if (lower.contains("create") && lower.contains("task")) return ChatIntent.CREATE_TASK;
+        if (lower.contains("view") || lower.contains("show")) return ChatIntent.VIEW;
+        if (lower.contains("delete") || lower.contains("remove")) return ChatIntent.DELETE;
+        if (lower.contains("help")) return ChatIntent.HELP;
+        if (lower.contains("thanks") || lower.contains("thank you")) return ChatIntent.THANKS;
+        if (lower.contains("bye") || lower.contains("exit")) return ChatIntent.BYE;
+        if (lower.contains("today")) return ChatIntent.TODAY;
+        if (lower.contains("pending") || lower.contains("incomplete") || lower.contains("ongoing")
+                || lower.contains("in progress")) return ChatIntent.PENDING;
+        if (lower.contains("complete") || lower.contains("done")) return ChatIntent.COMPLETE;
+        return ChatIntent.UNKNOWN;
+    }
+}
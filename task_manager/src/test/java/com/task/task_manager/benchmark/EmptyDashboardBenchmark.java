@@ -0,0 +1,124 @@
+package com.task.task_manager.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.mockito.MockSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.task.task_manager.Controller.ReminderController;
+import com.task.task_manager.Controller.TaskController;
+import com.task.task_manager.Exception.GlobalExceptionHandler;
+import com.task.task_manager.Model.User;
+import com.task.task_manager.Model.UserPrincipal;
+import com.task.task_manager.Repo.ReminderRepo;
+import com.task.task_manager.Repo.TaskRepo;
+import com.task.task_manager.Repo.UserRepo;
+import com.task.task_manager.Service.DataVersionService;
+import com.task.task_manager.Service.ReminderService;
+import com.task.task_manager.Service.TaskService;
+import com.task.task_manager.Service.TaskViewCache;
+
+// A new user's dashboard load: the four list reads (/getTask, /getCompletedTask,
+// /getOldIncompleteTask, /getReminder) through MockMvc with every list empty. emptyListNotFound=true
+// is the compatibility mode, where each read throws and GlobalExceptionHandler turns it into a 404;
+// false answers 200 [] with no exception at all. Repositories and the view cache are stubs, so the
+// difference is the exception and handler dispatch. The exceptions are stackless either way; under
+// Tomcat and the filter chain a captured stack would be several times deeper than it is here.
+//   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+//       -Dexec.args="-cp %classpath org.openjdk.jmh.Main EmptyDashboardBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmptyDashboardBenchmark {
+
+    // Stub-only mocks keep no invocation history, which would otherwise grow for the whole run.
+    private static final MockSettings STUB_ONLY = withSettings().stubOnly();
+
+    private static final String[] DASHBOARD = {"/getTask", "/getCompletedTask", "/getOldIncompleteTask", "/getReminder"};
+
+    @Param({"false", "true"})
+    public boolean emptyListNotFound;
+
+    private MockMvc mockMvc;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        User user = new User();
+        user.setId(7L);
+        // The benchmark threads are not the setup thread.
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new UserPrincipal(user), null, List.of()));
+
+        UserRepo userRepo = mock(UserRepo.class, STUB_ONLY);
+        when(userRepo.getReferenceById(7L)).thenReturn(user);
+        DataVersionService dataVersionService = mock(DataVersionService.class, STUB_ONLY);
+        TaskViewCache taskViewCache = mock(TaskViewCache.class, STUB_ONLY);
+        when(taskViewCache.get(anyLong(), anyString(), any()))
+                .thenAnswer(invocation -> ((Supplier<List<?>>) invocation.getArgument(2)).get());
+
+        TaskService taskService = new TaskService();
+        ReflectionTestUtils.setField(taskService, "taskRepo", mock(TaskRepo.class, STUB_ONLY));
+        ReflectionTestUtils.setField(taskService, "taskViewCache", taskViewCache);
+        ReflectionTestUtils.setField(taskService, "emptyListNotFound", emptyListNotFound);
+        ReminderService reminderService = new ReminderService();
+        ReflectionTestUtils.setField(reminderService, "reminderRepo", mock(ReminderRepo.class, STUB_ONLY));
+        ReflectionTestUtils.setField(reminderService, "emptyListNotFound", emptyListNotFound);
+
+        TaskController taskController = new TaskController();
+        ReflectionTestUtils.setField(taskController, "taskService", taskService);
+        ReflectionTestUtils.setField(taskController, "dataVersionService", dataVersionService);
+        ReminderController reminderController = new ReminderController();
+        ReflectionTestUtils.setField(reminderController, "reminderService", reminderService);
+        ReflectionTestUtils.setField(reminderController, "userRepo", userRepo);
+        ReflectionTestUtils.setField(reminderController, "dataVersionService", dataVersionService);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(taskController, reminderController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_THREADLOCAL);
+    }
+
+    @Benchmark
+    public void dashboard(Blackhole blackhole) throws Exception {
+        for (String path : DASHBOARD) {
+            blackhole.consume(mockMvc.perform(get(path)).andReturn().getResponse().getStatus());
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.task.task_manager.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.task.task_manager.TaskManagerApplication;
+import com.task.task_manager.DTO.HabitTrackerAddDTO;
+import com.task.task_manager.DTO.TaskBatchOperation;
+import com.task.task_manager.DTO.TaskBatchResponseDTO;
+import com.task.task_manager.Model.ActivityLog;
+import com.task.task_manager.Model.User;
+import com.task.task_manager.Repo.ActivityLogRepo;
+import com.task.task_manager.Repo.UserRepo;
+import com.task.task_manager.Service.HabitTrackerService;
+import com.task.task_manager.Service.TaskBatchService;
+
+// Bulk inserts through the application's own paths, in one transaction each: activity logs through
+// ActivityLogRepo, habits through HabitTrackerService.createHabit (with its change-log and chat-stats
+// writes) and a /tasks:batch of createTask operations through TaskBatchService. POOLED_SEQUENCE is the
+// mapping as shipped; IDENTITY loads benchmark/identity-ids.orm.xml, which puts those entities back on
+// IDENTITY ids as before V6, so Hibernate inserts them one statement per row.
+//
+// Boots the application (no web server, in-memory key-value store) against a Postgres whose schema the
+// Flyway migrations bring up to date. It writes rows for one throwaway user and deletes them after
+// each iteration:
+//   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+//       -Dexec.args="-Dbench.jdbc.url=jdbc:postgresql://localhost/task_manager -Dbench.jdbc.username=... \
+//           -Dbench.jdbc.password=... -cp %classpath org.openjdk.jmh.Main InsertBatchingBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InsertBatchingBenchmark {
+
+    private static final int SUBTASKS_PER_TASK = 5;
+
+    @Param({"IDENTITY", "POOLED_SEQUENCE"})
+    public String idStrategy;
+
+    @Param({"300"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private ActivityLogRepo activityLogRepo;
+    private HabitTrackerService habitTrackerService;
+    private TaskBatchService taskBatchService;
+    private User user;
+    private List<TaskBatchOperation> createTasks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> properties = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + System.getProperty("bench.jdbc.url", "jdbc:postgresql://localhost/task_manager"),
+                "--spring.datasource.username=" + System.getProperty("bench.jdbc.username", "postgres"),
+                "--spring.datasource.password=" + System.getProperty("bench.jdbc.password", "postgres"),
+                "--app.kv.backend=memory",
+                "--management.health.redis.enabled=false",
+                "--spring.data.redis.host=localhost",
+                "--spring.data.redis.port=6379",
+                "--spring.data.redis.password=",
+                "--spring.mail.host=localhost",
+                "--spring.mail.username=bench",
+                "--spring.mail.password=bench"));
+        if ("IDENTITY".equals(idStrategy)) {
+            properties.add("--spring.jpa.mapping-resources=benchmark/identity-ids.orm.xml");
+        }
+        context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(properties.toArray(String[]::new));
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        activityLogRepo = context.getBean(ActivityLogRepo.class);
+        habitTrackerService = context.getBean(HabitTrackerService.class);
+        taskBatchService = context.getBean(TaskBatchService.class);
+
+        String name = "bench-" + UUID.randomUUID();
+        User created = new User();
+        created.setUsername(name);
+        created.setEmail(name + "@example.com");
+        created.setPassword("secret");
+        user = context.getBean(UserRepo.class).save(created);
+
+        LocalDate dueDate = LocalDate.now().plusDays(1);
+        List<TaskBatchOperation.NewSubTask> subTasks = Collections.nCopies(SUBTASKS_PER_TASK,
+                new TaskBatchOperation.NewSubTask("Subtask", "INCOMPLETE"));
+        createTasks = Collections.nCopies(rows / (SUBTASKS_PER_TASK + 1), new TaskBatchOperation("createTask",
+                null, null, "Task", "Description", dueDate, "10:00 AM", "HIGH", "INCOMPLETE", subTasks));
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteRows() {
+        long userId = user.getId();
+        jdbcTemplate.update("DELETE FROM activity_logs WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM habit_tracker WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM sub_task WHERE task_id IN (SELECT id FROM task WHERE user_id = ?)", userId);
+        jdbcTemplate.update("DELETE FROM task WHERE user_id = ?", userId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        deleteRows();
+        context.close();
+    }
+
+    // What ActivityLogAspect writes, one row per mutating request, here for many requests at once.
+    @Benchmark
+    public void activityLogs() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ActivityLog> logs = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            logs.add(ActivityLog.builder().user(user).action("Created a new task").timestamp(now).build());
+        }
+        transactionTemplate.executeWithoutResult(status -> activityLogRepo.saveAll(logs));
+    }
+
+    @Benchmark
+    public void habits() {
+        HabitTrackerAddDTO habit = new HabitTrackerAddDTO("Habit");
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < rows; i++) {
+                habitTrackerService.createHabit(habit, user);
+            }
+        });
+    }
+
+    // A /tasks:batch of createTask operations, each with five subtasks.
+    @Benchmark
+    public TaskBatchResponseDTO batchTaskCreation() {
+        return taskBatchService.apply(user.getId(), createTasks);
+    }
+}
@@ -0,0 +1,122 @@
+package com.task.task_manager.benchmark;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.task.task_manager.Service.InMemoryKeyValueStore;
+import com.task.task_manager.Service.InMemoryOtpStore;
+import com.task.task_manager.Service.KeyValueStore;
+import com.task.task_manager.Service.OtpStore;
+import com.task.task_manager.Service.OtpStore.Purpose;
+import com.task.task_manager.Service.RedisKeyValueStore;
+import com.task.task_manager.Service.RedisNearCache;
+import com.task.task_manager.Service.RedisOtpStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// The hot key-value paths on each backend: the per-write version bump, the version read behind
+// every list GET, an L2 task view write and read, and one OTP issued and verified. Keys are spread
+// over 10,000 users, four threads at a time. redis-near is Redis with the near cache on.
+//
+// Runs the in-memory backend by default. Add Redis (it only touches bench:* and otp:* keys):
+//   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+//       -Dexec.args="-Dbench.redis.host=localhost -cp %classpath org.openjdk.jmh.Main KeyValueStoreBenchmark -p backend=memory,redis,redis-near"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class KeyValueStoreBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final Duration TTL = Duration.ofMinutes(2);
+    private static final String VIEW = "[{\"id\":1,\"title\":\"Task\",\"description\":\"Description\",\"subTasks\":[]}]";
+
+    @Param({"memory"})
+    public String backend;
+
+    private KeyValueStore store;
+    private OtpStore otpStore;
+    private LettuceConnectionFactory connectionFactory;
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (backend.startsWith("redis")) {
+            connectionFactory = new LettuceConnectionFactory(System.getProperty("bench.redis.host", "localhost"),
+                    Integer.getInteger("bench.redis.port", 6379));
+            connectionFactory.afterPropertiesSet();
+            connectionFactory.start();
+            StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+            listenerContainer = new RedisMessageListenerContainer();
+            listenerContainer.setConnectionFactory(connectionFactory);
+            listenerContainer.afterPropertiesSet();
+            RedisNearCache nearCache = new RedisNearCache(redisTemplate, connectionFactory, new SimpleMeterRegistry(),
+                    backend.equals("redis-near"), List.of("bench:dataversion:"), 100_000, Duration.ofMinutes(10));
+            store = new RedisKeyValueStore(redisTemplate, listenerContainer, nearCache);
+            otpStore = new RedisOtpStore(redisTemplate);
+        } else {
+            InMemoryKeyValueStore memory = new InMemoryKeyValueStore(Duration.ofSeconds(1), 512);
+            store = memory;
+            otpStore = new InMemoryOtpStore(memory);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (connectionFactory != null) {
+            listenerContainer.destroy();
+            connectionFactory.destroy();
+        }
+    }
+
+    @Benchmark
+    public long bumpVersion() {
+        return store.increment("bench:dataversion:" + user());
+    }
+
+    @Benchmark
+    public String readVersion() {
+        return store.get("bench:dataversion:" + user());
+    }
+
+    @Benchmark
+    public String writeAndReadView() {
+        String key = "bench:taskview:" + user();
+        store.hashPut(key, "upcoming", VIEW, TTL);
+        return store.hashGet(key, "upcoming");
+    }
+
+    @Benchmark
+    public OtpStore.Status issueAndVerifyOtp() {
+        String email = "bench" + user() + "@gmail.com";
+        otpStore.reissue(Purpose.REGISTRATION, email, "123456", "{}", TTL);
+        return otpStore.verify(Purpose.REGISTRATION, email, "123456").status();
+    }
+
+    private static int user() {
+        return ThreadLocalRandom.current().nextInt(USERS);
+    }
+}